@@ -0,0 +1,32 @@
+package com.clickhouse.client.arrow;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import com.clickhouse.client.ClickHouseChecker;
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseDataProcessor;
+import com.clickhouse.client.ClickHouseDataStreamFactory;
+import com.clickhouse.client.ClickHouseFormat;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseOutputStream;
+
+/**
+ * Data stream factory adds support of {@link ClickHouseFormat#ArrowStream} on
+ * top of the default one. It's loaded by {@link java.util.ServiceLoader}, so
+ * it takes effect as soon as this module is added into classpath.
+ */
+public class ClickHouseArrowDataStreamFactory extends ClickHouseDataStreamFactory {
+    @Override
+    public ClickHouseDataProcessor getProcessor(ClickHouseConfig config, ClickHouseInputStream input,
+            ClickHouseOutputStream output, Map<String, Serializable> settings, List<ClickHouseColumn> columns)
+            throws IOException {
+        if (ClickHouseChecker.nonNull(config, ClickHouseConfig.TYPE_NAME).getFormat() == ClickHouseFormat.ArrowStream) {
+            return new ClickHouseArrowProcessor(config, input, output, columns, settings);
+        }
+        return super.getProcessor(config, input, output, settings, columns);
+    }
+}
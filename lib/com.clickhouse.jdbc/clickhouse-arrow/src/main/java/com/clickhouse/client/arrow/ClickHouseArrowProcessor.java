@@ -0,0 +1,447 @@
+package com.clickhouse.client.arrow;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseDataProcessor;
+import com.clickhouse.client.ClickHouseDeserializer;
+import com.clickhouse.client.ClickHouseFormat;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.ClickHouseRecord;
+import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.client.ClickHouseSerializer;
+import com.clickhouse.client.ClickHouseUtils;
+import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.data.ClickHouseSimpleRecord;
+import com.clickhouse.client.data.ClickHouseStreamResponse;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.WriteChannel;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Data processor for {@link ClickHouseFormat#ArrowStream} format. Record
+ * batches are loaded into off-heap vectors, which can be accessed directly as
+ * {@link VectorSchemaRoot} through {@link #batches()}, or row by row through
+ * {@link #records()} and {@link #values()}. On the other hand, it buffers
+ * values passed to {@link #write(ClickHouseValue)} in vectors and sends them
+ * as a record batch every {@link #DEFAULT_BATCH_SIZE} rows, while existing
+ * vectors can be sent as they are using {@link #write(VectorSchemaRoot)}.
+ *
+ * <p>
+ * Off-heap memory is released once all batches have been read. When writing,
+ * {@link #close()} must be called at the end to send remaining rows as well as
+ * end-of-stream marker.
+ */
+public class ClickHouseArrowProcessor extends ClickHouseDataProcessor implements Closeable {
+    static final class BatchIterator implements Iterator<VectorSchemaRoot> {
+        private final ClickHouseArrowProcessor processor;
+
+        BatchIterator(ClickHouseArrowProcessor processor) {
+            this.processor = processor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return processor.hasMoreToRead();
+        }
+
+        @Override
+        public VectorSchemaRoot next() {
+            return processor.nextBatch();
+        }
+    }
+
+    /**
+     * Maximum number of rows buffered by {@link #write(ClickHouseValue)} before
+     * sending them as a record batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 8192;
+
+    static final BufferAllocator rootAllocator = new RootAllocator();
+
+    /**
+     * Gets record batches of the given response. Same as {@link #batches()}, it
+     * should not be mixed with {@link ClickHouseResponse#records()}.
+     *
+     * @param response non-null response in {@link ClickHouseFormat#ArrowStream}
+     *                 format
+     * @return non-null iterable record batches
+     * @throws IllegalArgumentException when the response was not deserialized by
+     *                                  this processor
+     */
+    public static Iterable<VectorSchemaRoot> batches(ClickHouseResponse response) {
+        ClickHouseDataProcessor processor = response instanceof ClickHouseStreamResponse
+                ? ((ClickHouseStreamResponse) response).getProcessor()
+                : null;
+        if (!(processor instanceof ClickHouseArrowProcessor)) {
+            throw new IllegalArgumentException(
+                    "Record batches are only available for response in ArrowStream format, but we got processor: "
+                            + (processor == null ? null : processor.getClass().getName()));
+        }
+        return ((ClickHouseArrowProcessor) processor).batches();
+    }
+
+    // fields below are initialized on demand, and readColumns() may set them
+    // during instantiation, so no initializer please
+    private BufferAllocator allocator;
+    private boolean closed;
+
+    private ArrowStreamReader reader;
+    private FieldVector[] vectors;
+    private ValueVector[] dictionaries;
+    private int rowCount;
+    private int rowIndex;
+
+    private WriteChannel channel;
+    private Schema schema;
+    private VectorSchemaRoot buffer;
+    private int bufferedRows;
+
+    private BufferAllocator getAllocator() {
+        if (allocator == null) {
+            allocator = rootAllocator.newChildAllocator(getClass().getSimpleName(), 0L, Long.MAX_VALUE);
+        }
+        return allocator;
+    }
+
+    private ArrowStreamReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new ArrowStreamReader(input, getAllocator());
+            List<FieldVector> list = reader.getVectorSchemaRoot().getFieldVectors();
+            int size = list.size();
+            vectors = list.toArray(new FieldVector[size]);
+            dictionaries = new ValueVector[size];
+            for (int i = 0; i < size; i++) {
+                DictionaryEncoding encoding = vectors[i].getField().getDictionary();
+                if (encoding != null) {
+                    dictionaries[i] = reader.lookup(encoding.getId()).getVector();
+                }
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * Loads next non-empty record batch.
+     *
+     * @return true if a batch was loaded; false when there's no more batch
+     * @throws IOException when failed to read record batch
+     */
+    private boolean loadNextBatch() throws IOException {
+        if (closed || input.isClosed()) {
+            return false;
+        }
+
+        ArrowStreamReader r = getReader();
+        if (vectors.length != columns.length) {
+            throw new IOException(ClickHouseUtils.format("Expect %d columns but got %d from schema: %s",
+                    columns.length, vectors.length, r.getVectorSchemaRoot().getSchema()));
+        }
+        while (r.loadNextBatch()) {
+            rowIndex = 0;
+            if ((rowCount = r.getVectorSchemaRoot().getRowCount()) > 0) {
+                return true;
+            }
+        }
+        rowCount = 0;
+        rowIndex = 0;
+        return false;
+    }
+
+    private VectorSchemaRoot nextBatch() throws NoSuchElementException, UncheckedIOException {
+        if (!hasMoreToRead()) {
+            throw new NoSuchElementException("No more record batch");
+        }
+
+        // mark all rows in current batch as read
+        rowIndex = rowCount;
+        readPosition = 0;
+        try {
+            return reader.getVectorSchemaRoot();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void read(int pos, ClickHouseValue value) throws IOException {
+        ValueVector vector = vectors[pos];
+        int row = rowIndex;
+        ValueVector dict = dictionaries[pos];
+        if (dict != null && !vector.isNull(row)) {
+            row = (int) ((BaseIntVector) vector).getValueAsLong(row);
+            vector = dict;
+        }
+        ClickHouseArrowValues.read(config, columns[pos], vector, row, value);
+    }
+
+    private void writeBatch(VectorSchemaRoot root) throws IOException {
+        if (channel == null) {
+            schema = root.getSchema();
+            channel = new WriteChannel(Channels.newChannel(output));
+            MessageSerializer.serialize(channel, schema);
+        } else if (root != buffer && !schema.equals(root.getSchema())) {
+            throw new IllegalArgumentException(
+                    ClickHouseUtils.format("Expect schema %s but got %s", schema, root.getSchema()));
+        }
+
+        try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch()) {
+            MessageSerializer.serialize(channel, batch);
+        }
+    }
+
+    @Override
+    protected boolean hasMoreToRead() throws UncheckedIOException {
+        if (rowIndex < rowCount) {
+            return true;
+        }
+
+        try {
+            if (loadNextBatch()) {
+                return true;
+            }
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return false;
+    }
+
+    @Override
+    protected ClickHouseRecord createRecord() {
+        return ClickHouseSimpleRecord.of(getColumns(), templates);
+    }
+
+    @Override
+    protected void readAndFill(ClickHouseRecord r) throws IOException {
+        if (rowIndex >= rowCount && !loadNextBatch()) {
+            throw new EOFException();
+        }
+
+        for (int i = readPosition, len = columns.length; i < len; i++) {
+            readPosition = i;
+            read(i, r.getValue(i));
+        }
+        readPosition = 0;
+        rowIndex++;
+    }
+
+    @Override
+    protected void readAndFill(ClickHouseValue value) throws IOException {
+        int pos = readPosition;
+        if (rowIndex >= rowCount && !loadNextBatch()) {
+            throw new EOFException();
+        }
+
+        read(pos, value);
+        if (++pos >= columns.length) {
+            readPosition = 0;
+            rowIndex++;
+        } else {
+            readPosition = pos;
+        }
+    }
+
+    @Override
+    protected List<ClickHouseColumn> readColumns() throws IOException {
+        if (input.available() < 1) {
+            input.close();
+            return Collections.emptyList();
+        }
+
+        ArrowStreamReader r = getReader();
+        List<ClickHouseColumn> list = new ArrayList<>(vectors.length);
+        for (FieldVector v : vectors) {
+            list.add(ClickHouseArrowTypes.toColumn(v.getField(), r));
+        }
+        return list;
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param config   non-null confinguration contains information like format
+     * @param input    input stream for deserialization, can be null when
+     *                 {@code output} is available
+     * @param output   outut stream for serialization, can be null when
+     *                 {@code input} is available
+     * @param columns  nullable columns
+     * @param settings nullable settings
+     * @throws IOException when failed to read columns from input stream
+     */
+    public ClickHouseArrowProcessor(ClickHouseConfig config, ClickHouseInputStream input,
+            ClickHouseOutputStream output, List<ClickHouseColumn> columns, Map<String, Serializable> settings)
+            throws IOException {
+        super(config, input, output, columns, settings);
+    }
+
+    /**
+     * Returns an iterable collection of record batches, which can be walked
+     * through in a foreach-loop. Vectors are not copied, so the returned
+     * {@link VectorSchemaRoot} is only valid until next call of
+     * {@link Iterator#hasNext()}, and it's reused for all batches. Similar to
+     * {@link #records()}, it's not supposed to be mixed with other methods for
+     * reading, and the input stream will be closed at the end of reading.
+     *
+     * @return non-null iterable record batches
+     * @throws UncheckedIOException when failed to read data from input stream
+     */
+    public Iterable<VectorSchemaRoot> batches() {
+        if (input == null) {
+            throw new IllegalStateException("No input stream available to read");
+        }
+        return () -> new BatchIterator(this);
+    }
+
+    @Override
+    public ClickHouseDeserializer getDeserializer(ClickHouseConfig config, ClickHouseColumn column) {
+        // values are copied from vectors in readAndFill()
+        return ClickHouseDeserializer.NOT_SUPPORTED;
+    }
+
+    @Override
+    public ClickHouseSerializer getSerializer(ClickHouseConfig config, ClickHouseColumn column) {
+        // values are buffered in vectors in write()
+        return ClickHouseSerializer.NOT_SUPPORTED;
+    }
+
+    @Override
+    public void write(ClickHouseValue value) throws IOException {
+        if (output == null) {
+            throw new IllegalStateException("No output stream available to write");
+        }
+        int len = columns.length;
+        int pos = writePosition;
+        if (len == 0 || pos >= len) {
+            throw new IllegalStateException(
+                    ClickHouseUtils.format("No column to write(total=%d, writePosition=%d)", len, pos));
+        }
+        if (value == null) {
+            value = config.isReuseValueWrapper() ? templates[pos] : templates[pos].copy();
+        }
+        if (buffer == null) {
+            buffer = VectorSchemaRoot.create(ClickHouseArrowTypes.toSchema(getColumns()), getAllocator());
+            buffer.allocateNew();
+        }
+
+        ClickHouseArrowValues.write(config, columns[pos], buffer.getVector(pos), bufferedRows, value);
+        if (++pos < len) {
+            writePosition = pos;
+        } else {
+            writePosition = 0;
+            if (++bufferedRows >= DEFAULT_BATCH_SIZE) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Writes the given vectors as a record batch. Schema of the vectors must be
+     * same as previous batches, and same as the one generated from
+     * {@link #getColumns()} when {@link #write(ClickHouseValue)} is also used.
+     *
+     * @param root non-null vectors to write
+     * @throws IOException when failed to write data to output stream
+     */
+    public void write(VectorSchemaRoot root) throws IOException {
+        if (output == null) {
+            throw new IllegalStateException("No output stream available to write");
+        } else if (writePosition != 0) {
+            throw new IllegalStateException(ClickHouseUtils
+                    .format("Cannot write record batch in the middle of a row(writePosition=%d)", writePosition));
+        }
+
+        flush();
+        writeBatch(root);
+    }
+
+    /**
+     * Sends values buffered by {@link #write(ClickHouseValue)}, if any, as a
+     * record batch, and then flushes the output stream.
+     *
+     * @throws IOException when failed to write data to output stream
+     */
+    public void flush() throws IOException {
+        if (output == null) {
+            return;
+        }
+
+        if (bufferedRows > 0) {
+            buffer.setRowCount(bufferedRows);
+            writeBatch(buffer);
+            for (FieldVector v : buffer.getFieldVectors()) {
+                v.reset();
+            }
+            bufferedRows = 0;
+        }
+        output.flush();
+    }
+
+    /**
+     * Releases off-heap memory. When writing, it also sends remaining values and
+     * end-of-stream marker, but the output stream will remain open.
+     *
+     * @throws IOException when failed to write data to output stream or close
+     *                     input stream
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            if (output != null) {
+                flush();
+                if (channel == null && columns.length > 0) {
+                    schema = ClickHouseArrowTypes.toSchema(getColumns());
+                    channel = new WriteChannel(Channels.newChannel(output));
+                    MessageSerializer.serialize(channel, schema);
+                }
+                if (channel != null) {
+                    ArrowStreamWriter.writeEndOfStream(channel, IpcOption.DEFAULT);
+                    output.flush();
+                }
+            }
+        } finally {
+            try {
+                if (buffer != null) {
+                    buffer.close();
+                }
+                if (reader != null) {
+                    reader.close();
+                }
+            } finally {
+                if (allocator != null) {
+                    allocator.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.clickhouse.client.arrow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseDataType;
+
+import org.apache.arrow.vector.complex.MapVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * Utility class for mapping between {@link ClickHouseDataType} and
+ * {@link ArrowType}. It follows the mapping used by ClickHouse server whenever
+ * possible, for instance: {@code String} is mapped to {@code Binary};
+ * {@code Enum8} and {@code Enum16} are mapped to signed integers; while
+ * {@code UUID}, {@code IPv6} and wide integers are mapped to
+ * {@code FixedSizeBinary} in little-endian byte order. Arrow types without
+ * counterpart in ClickHouse, like {@code Time} and {@code Interval}, are mapped
+ * to {@code String}.
+ */
+public final class ClickHouseArrowTypes {
+    static final String ITEM_NAME = "item";
+
+    static final ClickHouseColumn POINT = ClickHouseColumn.of("", ClickHouseDataType.Point.name());
+    static final ClickHouseColumn RING = ClickHouseColumn.of("", ClickHouseDataType.Ring.name());
+    static final ClickHouseColumn POLYGON = ClickHouseColumn.of("", ClickHouseDataType.Polygon.name());
+
+    private static final int MAX_DECIMAL128_PRECISION = 38;
+
+    /**
+     * Gets nested column of the given array-like column, which is either an
+     * {@code Array} or one of the geo types.
+     *
+     * @param column non-null array-like column
+     * @return nested column, or the column itself when it's {@code Nested}
+     */
+    static ClickHouseColumn getElementColumn(ClickHouseColumn column) {
+        switch (column.getDataType()) {
+            case Ring:
+                return POINT;
+            case Polygon:
+                return RING;
+            case MultiPolygon:
+                return POLYGON;
+            case Array:
+                return column.getNestedColumns().get(0);
+            default:
+                return column;
+        }
+    }
+
+    static String getElementName(ClickHouseColumn column, int index) {
+        String name = column.getColumnName();
+        return name == null || name.isEmpty() ? String.valueOf(index + 1) : name;
+    }
+
+    static Field newField(String name, ArrowType type, boolean nullable, Field... children) {
+        return new Field(name, new FieldType(nullable, type, null),
+                children.length == 0 ? Collections.emptyList() : Arrays.asList(children));
+    }
+
+    static Field newPointField(String name) {
+        ArrowType type = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+        return newField(name, ArrowType.Struct.INSTANCE, false, newField("1", type, false),
+                newField("2", type, false));
+    }
+
+    static Field newTupleField(String name, List<ClickHouseColumn> nestedColumns) {
+        int size = nestedColumns.size();
+        Field[] children = new Field[size];
+        for (int i = 0; i < size; i++) {
+            ClickHouseColumn c = nestedColumns.get(i);
+            children[i] = toField(getElementName(c, i), c);
+        }
+        return newField(name, ArrowType.Struct.INSTANCE, false, children);
+    }
+
+    static TimeUnit getTimeUnit(int scale) {
+        if (scale <= 0) {
+            return TimeUnit.SECOND;
+        } else if (scale <= 3) {
+            return TimeUnit.MILLISECOND;
+        } else if (scale <= 6) {
+            return TimeUnit.MICROSECOND;
+        } else {
+            return TimeUnit.NANOSECOND;
+        }
+    }
+
+    static int getScale(TimeUnit unit) {
+        switch (unit) {
+            case MILLISECOND:
+                return 3;
+            case MICROSECOND:
+                return 6;
+            case NANOSECOND:
+                return 9;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Converts the given column to Arrow field.
+     *
+     * @param column non-null column
+     * @return non-null field
+     * @throws IllegalArgumentException when the data type is not supported
+     */
+    public static Field toField(ClickHouseColumn column) {
+        return toField(column.getColumnName(), column);
+    }
+
+    /**
+     * Converts the given column to Arrow field.
+     *
+     * @param name   non-null field name
+     * @param column non-null column
+     * @return non-null field
+     * @throws IllegalArgumentException when the data type is not supported
+     */
+    @SuppressWarnings("squid:S3776")
+    public static Field toField(String name, ClickHouseColumn column) {
+        final ClickHouseDataType dataType = column.getDataType();
+        final boolean nullable = column.isNullable();
+        final ArrowType type;
+        switch (dataType) {
+            case Bool:
+                type = ArrowType.Bool.INSTANCE;
+                break;
+            case Int8:
+            case UInt8:
+            case Int16:
+            case UInt16:
+            case Int32:
+            case UInt32:
+            case Int64:
+            case UInt64:
+                type = new ArrowType.Int(dataType.getByteLength() * Byte.SIZE, dataType.isSigned());
+                break;
+            case IntervalYear:
+            case IntervalQuarter:
+            case IntervalMonth:
+            case IntervalWeek:
+            case IntervalDay:
+            case IntervalHour:
+            case IntervalMinute:
+            case IntervalSecond:
+            case IntervalMicrosecond:
+            case IntervalMillisecond:
+            case IntervalNanosecond:
+                type = new ArrowType.Int(Long.SIZE, true);
+                break;
+            case Enum8:
+                type = new ArrowType.Int(Byte.SIZE, true);
+                break;
+            case Enum16:
+                type = new ArrowType.Int(Short.SIZE, true);
+                break;
+            case IPv4:
+                type = new ArrowType.Int(Integer.SIZE, false);
+                break;
+            case Int128:
+            case UInt128:
+            case Int256:
+            case UInt256:
+            case UUID:
+            case IPv6:
+                type = new ArrowType.FixedSizeBinary(dataType.getByteLength());
+                break;
+            case FixedString:
+                type = new ArrowType.FixedSizeBinary(column.getPrecision());
+                break;
+            case Float32:
+                type = new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+                break;
+            case Float64:
+                type = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+                break;
+            case Decimal:
+            case Decimal32:
+            case Decimal64:
+            case Decimal128:
+            case Decimal256:
+                type = new ArrowType.Decimal(column.getPrecision(), column.getScale(),
+                        column.getPrecision() > MAX_DECIMAL128_PRECISION ? 256 : 128);
+                break;
+            case Date:
+            case Date32:
+                type = new ArrowType.Date(DateUnit.DAY);
+                break;
+            case DateTime:
+            case DateTime32:
+            case DateTime64:
+                type = new ArrowType.Timestamp(getTimeUnit(column.getScale()),
+                        column.hasTimeZone() ? column.getTimeZone().getID() : null);
+                break;
+            case String:
+            case AggregateFunction:
+                type = ArrowType.Binary.INSTANCE;
+                break;
+            case JSON:
+            case Object:
+                type = ArrowType.Utf8.INSTANCE;
+                break;
+            case Nothing:
+                return newField(name, ArrowType.Null.INSTANCE, true);
+            case SimpleAggregateFunction:
+                return toField(name, column.getNestedColumns().get(0));
+            case Point:
+                return newPointField(name);
+            case Ring:
+            case Polygon:
+            case MultiPolygon:
+            case Array:
+                return newField(name, ArrowType.List.INSTANCE, false, toField(ITEM_NAME, getElementColumn(column)));
+            case Nested:
+                return newField(name, ArrowType.List.INSTANCE, false,
+                        newTupleField(ITEM_NAME, column.getNestedColumns()));
+            case Tuple:
+                return newTupleField(name, column.getNestedColumns());
+            case Map:
+                return newField(name, new ArrowType.Map(false), false,
+                        newField(MapVector.DATA_VECTOR_NAME, ArrowType.Struct.INSTANCE, false,
+                                toField(MapVector.KEY_NAME, column.getKeyInfo()),
+                                toField(MapVector.VALUE_NAME, column.getValueInfo())));
+            default:
+                throw new IllegalArgumentException("Unsupported data type: " + dataType.name());
+        }
+        return newField(name, type, nullable);
+    }
+
+    /**
+     * Converts the given columns to Arrow schema.
+     *
+     * @param columns non-null columns
+     * @return non-null schema
+     * @throws IllegalArgumentException when any of the data types is not supported
+     */
+    public static Schema toSchema(List<ClickHouseColumn> columns) {
+        List<Field> fields = new ArrayList<>(columns.size());
+        for (ClickHouseColumn column : columns) {
+            fields.add(toField(column));
+        }
+        return new Schema(fields);
+    }
+
+    /**
+     * Converts the given Arrow field to column.
+     *
+     * @param field    non-null field
+     * @param provider optional dictionary provider for resolving
+     *                 dictionary-encoded field as {@code LowCardinality}
+     * @return non-null column
+     */
+    public static ClickHouseColumn toColumn(Field field, DictionaryProvider provider) {
+        return ClickHouseColumn.of(field.getName(), toTypeName(field, provider));
+    }
+
+    /**
+     * Gets ClickHouse native data type name of the given Arrow field.
+     *
+     * @param field    non-null field
+     * @param provider optional dictionary provider for resolving
+     *                 dictionary-encoded field as {@code LowCardinality}
+     * @return non-null data type name
+     */
+    @SuppressWarnings("squid:S3776")
+    public static String toTypeName(Field field, DictionaryProvider provider) {
+        DictionaryEncoding encoding = field.getDictionary();
+        Dictionary dict = encoding != null && provider != null ? provider.lookup(encoding.getId()) : null;
+        if (dict != null) {
+            Field f = dict.getVector().getField();
+            return new StringBuilder("LowCardinality(").append(toTypeName(new Field(field.getName(),
+                    new FieldType(field.isNullable(), f.getType(), null), f.getChildren()), provider)).append(')')
+                    .toString();
+        }
+
+        final ArrowType type = field.getType();
+        final List<Field> children = field.getChildren();
+        final String name;
+        switch (type.getTypeID()) {
+            case Null:
+                return "Nullable(Nothing)";
+            case Int: {
+                ArrowType.Int t = (ArrowType.Int) type;
+                name = (t.getIsSigned() ? "Int" : "UInt") + t.getBitWidth();
+                break;
+            }
+            case FloatingPoint:
+                name = ((ArrowType.FloatingPoint) type).getPrecision() == FloatingPointPrecision.DOUBLE
+                        ? ClickHouseDataType.Float64.name()
+                        : ClickHouseDataType.Float32.name();
+                break;
+            case Bool:
+                name = ClickHouseDataType.Bool.name();
+                break;
+            case FixedSizeBinary:
+                name = "FixedString(" + ((ArrowType.FixedSizeBinary) type).getByteWidth() + ")";
+                break;
+            case Decimal: {
+                ArrowType.Decimal t = (ArrowType.Decimal) type;
+                name = "Decimal(" + t.getPrecision() + "," + t.getScale() + ")";
+                break;
+            }
+            case Date:
+                name = ClickHouseDataType.Date32.name();
+                break;
+            case Timestamp: {
+                ArrowType.Timestamp t = (ArrowType.Timestamp) type;
+                String tz = t.getTimezone();
+                StringBuilder builder = new StringBuilder();
+                if (t.getUnit() == TimeUnit.SECOND) {
+                    builder.append(ClickHouseDataType.DateTime.name());
+                    if (tz != null && !tz.isEmpty()) {
+                        builder.append("('").append(tz).append("')");
+                    }
+                } else {
+                    builder.append(ClickHouseDataType.DateTime64.name()).append('(').append(getScale(t.getUnit()));
+                    if (tz != null && !tz.isEmpty()) {
+                        builder.append(",'").append(tz).append('\'');
+                    }
+                    builder.append(')');
+                }
+                name = builder.toString();
+                break;
+            }
+            case List:
+            case LargeList:
+            case FixedSizeList:
+                return "Array(" + toTypeName(children.get(0), provider) + ")";
+            case Struct: {
+                StringBuilder builder = new StringBuilder("Tuple(");
+                for (Field f : children) {
+                    builder.append(toTypeName(f, provider)).append(',');
+                }
+                builder.setLength(builder.length() - 1);
+                return builder.append(')').toString();
+            }
+            case Map: {
+                List<Field> entries = children.get(0).getChildren();
+                return "Map(" + toTypeName(entries.get(0), provider) + "," + toTypeName(entries.get(1), provider)
+                        + ")";
+            }
+            default: // Utf8, Binary and types without counterpart in ClickHouse
+                name = ClickHouseDataType.String.name();
+                break;
+        }
+        return field.isNullable() ? "Nullable(" + name + ")" : name;
+    }
+
+    private ClickHouseArrowTypes() {
+    }
+}
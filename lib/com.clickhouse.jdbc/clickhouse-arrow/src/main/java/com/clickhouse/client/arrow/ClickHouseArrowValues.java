@@ -0,0 +1,552 @@
+package com.clickhouse.client.arrow;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseDataType;
+import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.data.ClickHouseStringValue;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.Decimal256Vector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.FloatingPointVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.LargeVarBinaryVector;
+import org.apache.arrow.vector.LargeVarCharVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.UInt1Vector;
+import org.apache.arrow.vector.UInt2Vector;
+import org.apache.arrow.vector.UInt4Vector;
+import org.apache.arrow.vector.UInt8Vector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.MapVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.util.Text;
+
+/**
+ * Helper class for copying values between Arrow vectors and
+ * {@link ClickHouseValue}.
+ */
+final class ClickHouseArrowValues {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    static ByteBuffer wrap(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static byte[] getBytes(ValueVector vector, int row) {
+        switch (vector.getMinorType()) {
+            case VARBINARY:
+                return ((VarBinaryVector) vector).get(row);
+            case LARGEVARBINARY:
+                return ((LargeVarBinaryVector) vector).get(row);
+            case VARCHAR:
+                return ((VarCharVector) vector).get(row);
+            case LARGEVARCHAR:
+                return ((LargeVarCharVector) vector).get(row);
+            default:
+                return ((FixedSizeBinaryVector) vector).get(row);
+        }
+    }
+
+    static BigInteger toBigInteger(byte[] bytes, boolean signed) {
+        int len = bytes.length;
+        byte[] reversed = new byte[len];
+        for (int i = 0; i < len; i++) {
+            reversed[i] = bytes[len - 1 - i];
+        }
+        return signed ? new BigInteger(reversed) : new BigInteger(1, reversed);
+    }
+
+    static byte[] toBytes(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] result = new byte[length];
+        if (value.signum() < 0) {
+            Arrays.fill(result, (byte) 0xFF);
+        }
+        for (int i = 0, len = Math.min(bytes.length, length); i < len; i++) {
+            result[i] = bytes[bytes.length - 1 - i];
+        }
+        return result;
+    }
+
+    static long toEpoch(Instant instant, TimeUnit unit) {
+        long seconds = instant.getEpochSecond();
+        int nanos = instant.getNano();
+        switch (unit) {
+            case MILLISECOND:
+                return seconds * 1_000L + nanos / 1_000_000;
+            case MICROSECOND:
+                return seconds * 1_000_000L + nanos / 1_000;
+            case NANOSECOND:
+                return seconds * NANOS_PER_SECOND + nanos;
+            default:
+                return seconds;
+        }
+    }
+
+    static Instant toInstant(long value, TimeUnit unit) {
+        switch (unit) {
+            case MILLISECOND:
+                return Instant.ofEpochMilli(value);
+            case MICROSECOND:
+                return Instant.ofEpochSecond(Math.floorDiv(value, 1_000_000L),
+                        Math.floorMod(value, 1_000_000L) * 1_000L);
+            case NANOSECOND:
+                return Instant.ofEpochSecond(Math.floorDiv(value, NANOS_PER_SECOND),
+                        Math.floorMod(value, NANOS_PER_SECOND));
+            default:
+                return Instant.ofEpochSecond(value);
+        }
+    }
+
+    static void readBinary(ClickHouseConfig config, ClickHouseColumn column, byte[] bytes, ClickHouseValue value)
+            throws IOException {
+        ClickHouseDataType dataType = column.getDataType();
+        switch (dataType) {
+            case UUID: {
+                ByteBuffer buffer = wrap(bytes);
+                value.update(new UUID(buffer.getLong(), buffer.getLong()));
+                break;
+            }
+            case IPv6:
+                value.update(InetAddress.getByAddress(bytes));
+                break;
+            case Int128:
+            case UInt128:
+            case Int256:
+            case UInt256:
+                value.update(toBigInteger(bytes, dataType.isSigned()));
+                break;
+            default:
+                if (config.isUseBinaryString() && value instanceof ClickHouseStringValue) {
+                    value.update(bytes);
+                } else {
+                    value.update(new String(bytes, StandardCharsets.UTF_8));
+                }
+                break;
+        }
+    }
+
+    static byte[] writeBinary(ClickHouseColumn column, ClickHouseValue value, int length) {
+        final byte[] bytes;
+        switch (column.getDataType()) {
+            case UUID: {
+                UUID uuid = value.asUuid();
+                bytes = new byte[length];
+                wrap(bytes).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+                return bytes;
+            }
+            case IPv6:
+                return value.asInet6Address().getAddress();
+            case Int128:
+            case UInt128:
+            case Int256:
+            case UInt256:
+                return toBytes(value.asBigInteger(), length);
+            default:
+                bytes = value instanceof ClickHouseStringValue ? ((ClickHouseStringValue) value).asBinary()
+                        : value.asString().getBytes(StandardCharsets.UTF_8);
+                break;
+        }
+        return length > 0 && bytes.length != length ? Arrays.copyOf(bytes, length) : bytes;
+    }
+
+    static List<Object> readTuple(ClickHouseConfig config, List<ClickHouseColumn> columns, ValueVector vector, int row)
+            throws IOException {
+        StructVector struct = (StructVector) vector;
+        int size = columns.size();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readObject(config, columns.get(i), struct.getChildByOrdinal(i), row));
+        }
+        return list;
+    }
+
+    /**
+     * Reads value at the given row as Java object, which can be used to update
+     * value of the given column.
+     *
+     * @param config non-null configuration
+     * @param column non-null column
+     * @param vector non-null vector
+     * @param row    row index
+     * @return value in Java object, could be null
+     * @throws IOException when failed to convert the value
+     */
+    @SuppressWarnings("squid:S3776")
+    static Object readObject(ClickHouseConfig config, ClickHouseColumn column, ValueVector vector, int row)
+            throws IOException {
+        if (vector.isNull(row)) {
+            return null;
+        }
+
+        final ClickHouseDataType dataType = column.getDataType();
+        switch (dataType) {
+            case Ring:
+            case Polygon:
+            case MultiPolygon:
+            case Array:
+            case Nested:
+                if (vector instanceof ListVector) {
+                    ListVector list = (ListVector) vector;
+                    ValueVector child = list.getDataVector();
+                    ClickHouseColumn element = ClickHouseArrowTypes.getElementColumn(column);
+                    final Class<?> clazz;
+                    if (dataType == ClickHouseDataType.Ring) {
+                        clazz = double[].class;
+                    } else if (dataType == ClickHouseDataType.Polygon) {
+                        clazz = double[][].class;
+                    } else if (dataType == ClickHouseDataType.MultiPolygon) {
+                        clazz = double[][][].class;
+                    } else if (dataType == ClickHouseDataType.Nested) {
+                        clazz = Object[].class;
+                    } else {
+                        clazz = element.getObjectClass(config);
+                    }
+                    int start = list.getElementStartIndex(row);
+                    int len = list.getElementEndIndex(row) - start;
+                    Object[] array = (Object[]) java.lang.reflect.Array.newInstance(clazz, len);
+                    for (int i = 0; i < len; i++) {
+                        array[i] = dataType == ClickHouseDataType.Nested
+                                ? readTuple(config, column.getNestedColumns(), child, start + i).toArray()
+                                : readObject(config, element, child, start + i);
+                    }
+                    return array;
+                }
+                break;
+            case Point:
+                if (vector instanceof StructVector) {
+                    StructVector struct = (StructVector) vector;
+                    return new double[] { ((FloatingPointVector) struct.getChildByOrdinal(0)).getValueAsDouble(row),
+                            ((FloatingPointVector) struct.getChildByOrdinal(1)).getValueAsDouble(row) };
+                }
+                break;
+            case Tuple:
+                if (vector instanceof StructVector) {
+                    return readTuple(config, column.getNestedColumns(), vector, row);
+                }
+                break;
+            case Map:
+                if (vector instanceof MapVector) {
+                    MapVector map = (MapVector) vector;
+                    StructVector entries = (StructVector) map.getDataVector();
+                    ValueVector keys = entries.getChildByOrdinal(0);
+                    ValueVector values = entries.getChildByOrdinal(1);
+                    int start = map.getElementStartIndex(row);
+                    int end = map.getElementEndIndex(row);
+                    Map<Object, Object> m = new LinkedHashMap<>();
+                    for (int i = start; i < end; i++) {
+                        m.put(readObject(config, column.getKeyInfo(), keys, i),
+                                readObject(config, column.getValueInfo(), values, i));
+                    }
+                    return m;
+                }
+                break;
+            default:
+                break;
+        }
+
+        ClickHouseValue value = column.newValue(config);
+        read(config, column, vector, row, value);
+        return value.asObject();
+    }
+
+    /**
+     * Reads value at the given row and updates the given {@link ClickHouseValue}.
+     *
+     * @param config non-null configuration
+     * @param column non-null column
+     * @param vector non-null vector
+     * @param row    row index
+     * @param value  non-null value to update
+     * @throws IOException when failed to convert the value
+     */
+    @SuppressWarnings("squid:S3776")
+    static void read(ClickHouseConfig config, ClickHouseColumn column, ValueVector vector, int row,
+            ClickHouseValue value) throws IOException {
+        if (vector.isNull(row)) {
+            value.resetToNullOrEmpty();
+            return;
+        }
+
+        switch (vector.getMinorType()) {
+            case TINYINT:
+                value.update(((TinyIntVector) vector).get(row));
+                break;
+            case SMALLINT:
+                value.update(((SmallIntVector) vector).get(row));
+                break;
+            case INT:
+                value.update(((IntVector) vector).get(row));
+                break;
+            case BIGINT:
+                value.update(((BigIntVector) vector).get(row));
+                break;
+            case UINT1:
+                value.update(((UInt1Vector) vector).get(row) & 0xFF);
+                break;
+            case UINT2:
+                value.update((int) ((UInt2Vector) vector).get(row));
+                break;
+            case UINT4:
+                value.update(((UInt4Vector) vector).get(row) & 0xFFFFFFFFL);
+                break;
+            case UINT8:
+                value.update(((UInt8Vector) vector).get(row));
+                break;
+            case FLOAT4:
+                value.update(((Float4Vector) vector).get(row));
+                break;
+            case FLOAT8:
+                value.update(((Float8Vector) vector).get(row));
+                break;
+            case BIT:
+                value.update(((BitVector) vector).get(row) != 0);
+                break;
+            case DECIMAL:
+                value.update(((DecimalVector) vector).getObject(row));
+                break;
+            case DECIMAL256:
+                value.update(((Decimal256Vector) vector).getObject(row));
+                break;
+            case DATEDAY:
+                value.update(LocalDate.ofEpochDay(((DateDayVector) vector).get(row)));
+                break;
+            case DATEMILLI:
+                value.update(LocalDate.ofEpochDay(Math.floorDiv(((DateMilliVector) vector).get(row), MILLIS_PER_DAY)));
+                break;
+            case TIMESTAMPSEC:
+            case TIMESTAMPMILLI:
+            case TIMESTAMPMICRO:
+            case TIMESTAMPNANO:
+            case TIMESTAMPSECTZ:
+            case TIMESTAMPMILLITZ:
+            case TIMESTAMPMICROTZ:
+            case TIMESTAMPNANOTZ: {
+                ArrowType.Timestamp type = (ArrowType.Timestamp) vector.getField().getType();
+                String tz = type.getTimezone();
+                value.update(LocalDateTime.ofInstant(toInstant(((TimeStampVector) vector).get(row), type.getUnit()),
+                        tz == null || tz.isEmpty() ? ZoneOffset.UTC : ZoneId.of(tz)));
+                break;
+            }
+            case VARBINARY:
+            case LARGEVARBINARY:
+            case VARCHAR:
+            case LARGEVARCHAR:
+            case FIXEDSIZEBINARY:
+                readBinary(config, column, getBytes(vector, row), value);
+                break;
+            case NULL:
+                value.resetToNullOrEmpty();
+                break;
+            case LIST:
+            case STRUCT:
+            case MAP:
+                value.update(readObject(config, column, vector, row));
+                break;
+            default: {
+                Object obj = vector.getObject(row);
+                value.update(obj instanceof Text ? obj.toString() : obj);
+                break;
+            }
+        }
+    }
+
+    static void writeTuple(ClickHouseConfig config, List<ClickHouseColumn> columns, StructVector struct, int row,
+            Object[] values) {
+        for (int i = 0, len = columns.size(); i < len; i++) {
+            ClickHouseColumn c = columns.get(i);
+            write(config, c, (FieldVector) struct.getChildByOrdinal(i), row,
+                    c.newValue(config).update(i < values.length ? values[i] : null));
+        }
+        struct.setIndexDefined(row);
+    }
+
+    /**
+     * Writes the given {@link ClickHouseValue} into vector at the given row. Null
+     * value is written by skipping the row, so vectors must be reset before
+     * reuse.
+     *
+     * @param config non-null configuration
+     * @param column non-null column
+     * @param vector non-null vector
+     * @param row    row index
+     * @param value  non-null value to write
+     */
+    @SuppressWarnings("squid:S3776")
+    static void write(ClickHouseConfig config, ClickHouseColumn column, FieldVector vector, int row,
+            ClickHouseValue value) {
+        if (value.isNullOrEmpty() && (column.isNullable() || vector.getField().isNullable())) {
+            return;
+        }
+
+        switch (vector.getMinorType()) {
+            case TINYINT:
+                ((TinyIntVector) vector).setSafe(row, value.asByte());
+                break;
+            case SMALLINT:
+                ((SmallIntVector) vector).setSafe(row, value.asShort());
+                break;
+            case INT:
+                ((IntVector) vector).setSafe(row, value.asInteger());
+                break;
+            case BIGINT:
+                ((BigIntVector) vector).setSafe(row, value.asLong());
+                break;
+            case UINT1:
+                ((UInt1Vector) vector).setSafe(row, value.asInteger());
+                break;
+            case UINT2:
+                ((UInt2Vector) vector).setSafe(row, value.asInteger());
+                break;
+            case UINT4:
+                ((UInt4Vector) vector).setSafe(row, (int) value.asLong());
+                break;
+            case UINT8:
+                ((UInt8Vector) vector).setSafe(row, value.asLong());
+                break;
+            case FLOAT4:
+                ((Float4Vector) vector).setSafe(row, value.asFloat());
+                break;
+            case FLOAT8:
+                ((Float8Vector) vector).setSafe(row, value.asDouble());
+                break;
+            case BIT:
+                ((BitVector) vector).setSafe(row, value.asBoolean() ? 1 : 0);
+                break;
+            case DECIMAL: {
+                DecimalVector v = (DecimalVector) vector;
+                v.setSafe(row, value.asBigDecimal(v.getScale()));
+                break;
+            }
+            case DECIMAL256: {
+                Decimal256Vector v = (Decimal256Vector) vector;
+                v.setSafe(row, value.asBigDecimal(v.getScale()));
+                break;
+            }
+            case DATEDAY:
+                ((DateDayVector) vector).setSafe(row, (int) value.asDate().toEpochDay());
+                break;
+            case TIMESTAMPSEC:
+            case TIMESTAMPMILLI:
+            case TIMESTAMPMICRO:
+            case TIMESTAMPNANO:
+            case TIMESTAMPSECTZ:
+            case TIMESTAMPMILLITZ:
+            case TIMESTAMPMICROTZ:
+            case TIMESTAMPNANOTZ: {
+                ArrowType.Timestamp type = (ArrowType.Timestamp) vector.getField().getType();
+                String tz = type.getTimezone();
+                LocalDateTime dt = value.asDateTime(ClickHouseArrowTypes.getScale(type.getUnit()));
+                Instant instant = tz == null || tz.isEmpty() ? dt.toInstant(ZoneOffset.UTC)
+                        : dt.atZone(ZoneId.of(tz)).toInstant();
+                ((TimeStampVector) vector).setSafe(row, toEpoch(instant, type.getUnit()));
+                break;
+            }
+            case VARBINARY:
+                ((VarBinaryVector) vector).setSafe(row, writeBinary(column, value, 0));
+                break;
+            case VARCHAR:
+                ((VarCharVector) vector).setSafe(row, writeBinary(column, value, 0));
+                break;
+            case FIXEDSIZEBINARY: {
+                FixedSizeBinaryVector v = (FixedSizeBinaryVector) vector;
+                v.setSafe(row, writeBinary(column, value, v.getByteWidth()));
+                break;
+            }
+            case LIST: {
+                ListVector list = (ListVector) vector;
+                FieldVector child = list.getDataVector();
+                ClickHouseColumn element = ClickHouseArrowTypes.getElementColumn(column);
+                Object[] elements = value.asArray();
+                int start = list.startNewValue(row);
+                if (column.getDataType() == ClickHouseDataType.Nested) {
+                    for (int i = 0, len = elements.length; i < len; i++) {
+                        writeTuple(config, column.getNestedColumns(), (StructVector) child, start + i,
+                                (Object[]) elements[i]);
+                    }
+                } else {
+                    ClickHouseValue v = element.newValue(config);
+                    for (int i = 0, len = elements.length; i < len; i++) {
+                        write(config, element, child, start + i, v.update(elements[i]));
+                    }
+                }
+                list.endValue(row, elements.length);
+                break;
+            }
+            case STRUCT: {
+                StructVector struct = (StructVector) vector;
+                if (column.getDataType() == ClickHouseDataType.Point) {
+                    double[] point = (double[]) value.asObject();
+                    ((Float8Vector) struct.getChildByOrdinal(0)).setSafe(row, point[0]);
+                    ((Float8Vector) struct.getChildByOrdinal(1)).setSafe(row, point[1]);
+                    struct.setIndexDefined(row);
+                } else {
+                    writeTuple(config, column.getNestedColumns(), struct, row, value.asArray());
+                }
+                break;
+            }
+            case MAP: {
+                MapVector map = (MapVector) vector;
+                StructVector entries = (StructVector) map.getDataVector();
+                FieldVector keys = (FieldVector) entries.getChildByOrdinal(0);
+                FieldVector values = (FieldVector) entries.getChildByOrdinal(1);
+                ClickHouseColumn keyInfo = column.getKeyInfo();
+                ClickHouseColumn valueInfo = column.getValueInfo();
+                ClickHouseValue k = keyInfo.newValue(config);
+                ClickHouseValue v = valueInfo.newValue(config);
+                int index = map.startNewValue(row);
+                Map<Object, Object> m = value.asMap();
+                for (Entry<Object, Object> e : m.entrySet()) {
+                    write(config, keyInfo, keys, index, k.update(e.getKey()));
+                    write(config, valueInfo, values, index, v.update(e.getValue()));
+                    entries.setIndexDefined(index++);
+                }
+                map.endValue(row, m.size());
+                break;
+            }
+            case NULL:
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported vector type: " + vector.getMinorType());
+        }
+    }
+
+    private ClickHouseArrowValues() {
+    }
+}
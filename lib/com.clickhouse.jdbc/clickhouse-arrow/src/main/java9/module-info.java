@@ -0,0 +1,10 @@
+module com.clickhouse.client.arrow {
+    exports com.clickhouse.client.arrow;
+
+    provides com.clickhouse.client.ClickHouseDataStreamFactory
+            with com.clickhouse.client.arrow.ClickHouseArrowDataStreamFactory;
+
+    requires transitive com.clickhouse.client;
+    requires transitive arrow.memory.core;
+    requires transitive arrow.vector;
+}
@@ -0,0 +1,254 @@
+package com.clickhouse.client.arrow;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseDataProcessor;
+import com.clickhouse.client.ClickHouseDataStreamFactory;
+import com.clickhouse.client.ClickHouseFormat;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.ClickHouseRecord;
+import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.config.ClickHouseOption;
+import com.clickhouse.client.data.ClickHouseLongValue;
+import com.clickhouse.client.data.ClickHouseStreamResponse;
+import com.clickhouse.client.data.ClickHouseStringValue;
+import com.clickhouse.client.data.ClickHouseTabSeparatedProcessor;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseArrowProcessorTest {
+    private static ClickHouseConfig newConfig(ClickHouseFormat format) {
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseClientOption.FORMAT, format);
+        return new ClickHouseConfig(options, null, null, null);
+    }
+
+    private static String toString(List<ClickHouseColumn> columns) {
+        StringBuilder builder = new StringBuilder();
+        for (ClickHouseColumn c : columns) {
+            builder.append(c.getColumnName()).append(' ').append(c.getOriginalTypeName()).append(',');
+        }
+        return builder.toString();
+    }
+
+    private static Object[] newRow(int i) {
+        return new Object[] { (byte) (i % 128 - 64), i == 0 ? 255 : i % 256, i == 0 ? -1L : i,
+                i % 3 == 0 ? null : "s" + i, BigDecimal.valueOf(i, 2), LocalDate.of(2022, 1, 1).plusDays(i),
+                LocalDateTime.of(2022, 3, 4, 5, 6, 7, 123000000).plusSeconds(i), new int[] { i, -i },
+                Arrays.asList("t" + i, i % 65536), Collections.singletonMap("k", (long) i), new UUID(i, -i),
+                BigInteger.ONE.shiftLeft(100).negate().add(BigInteger.valueOf(i)), "abc", i % 2 == 0, i * 0.5D,
+                i % 2 + 1, "192.168.1." + (i % 256), new double[][] { { 1D, i }, { 3D, 4D } }, null };
+    }
+
+    private static final String COLUMNS = "i8 Int8, u8 UInt8, u64 UInt64, s Nullable(String), d Decimal(10,2), "
+            + "dt Date, ts DateTime64(3,'Asia/Shanghai'), arr Array(Int32), t Tuple(String, UInt16), "
+            + "m Map(String, Int64), id UUID, i128 Int128, fs FixedString(3), b Bool, f Float64, "
+            + "e Enum8('a'=1,'b'=2), ip IPv4, r Ring, n Nullable(Int32)";
+
+    @Test(groups = { "unit" })
+    public void testFactory() throws IOException {
+        Assert.assertEquals(ClickHouseDataStreamFactory.getInstance().getClass(),
+                ClickHouseArrowDataStreamFactory.class);
+        ClickHouseOutputStream out = ClickHouseOutputStream.of(new ByteArrayOutputStream());
+        Assert.assertEquals(ClickHouseDataStreamFactory.getInstance().getProcessor(
+                newConfig(ClickHouseFormat.ArrowStream), null, out, null, ClickHouseColumn.parse("a String"))
+                .getClass(), ClickHouseArrowProcessor.class);
+        Assert.assertEquals(ClickHouseDataStreamFactory.getInstance().getProcessor(
+                newConfig(ClickHouseFormat.TabSeparated), null, out, null, ClickHouseColumn.parse("a String"))
+                .getClass(), ClickHouseTabSeparatedProcessor.class);
+        Assert.assertNull(ClickHouseDataStreamFactory.getInstance().getProcessor(newConfig(ClickHouseFormat.Arrow),
+                null, out, null, ClickHouseColumn.parse("a String")));
+    }
+
+    @Test(groups = { "unit" })
+    public void testEmptyInput() throws IOException {
+        ClickHouseArrowProcessor p = new ClickHouseArrowProcessor(newConfig(ClickHouseFormat.ArrowStream),
+                ClickHouseInputStream.of(new byte[0]), null, null, null);
+        Assert.assertEquals(p.getColumns(), Collections.emptyList());
+        Assert.assertFalse(p.records().iterator().hasNext());
+        Assert.assertFalse(p.batches().iterator().hasNext());
+
+        // schema and end-of-stream marker only
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ClickHouseConfig config = newConfig(ClickHouseFormat.ArrowStream);
+        try (ClickHouseArrowProcessor w = new ClickHouseArrowProcessor(config, null,
+                ClickHouseOutputStream.of(bytes), ClickHouseColumn.parse("a Int32"), null)) {
+            Assert.assertNotNull(w);
+        }
+        p = new ClickHouseArrowProcessor(config, ClickHouseInputStream.of(bytes.toByteArray()), null, null, null);
+        Assert.assertEquals(toString(p.getColumns()), "a Int32,");
+        Assert.assertFalse(p.records().iterator().hasNext());
+    }
+
+    @Test(groups = { "unit" })
+    public void testWriteAndRead() throws IOException {
+        ClickHouseConfig config = newConfig(ClickHouseFormat.ArrowStream);
+        List<ClickHouseColumn> columns = ClickHouseColumn.parse(COLUMNS);
+        int rows = ClickHouseArrowProcessor.DEFAULT_BATCH_SIZE + 3;
+        List<String[]> expected = new ArrayList<>(rows);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ClickHouseArrowProcessor p = new ClickHouseArrowProcessor(config, null,
+                ClickHouseOutputStream.of(bytes), columns, null)) {
+            for (int i = 0; i < rows; i++) {
+                Object[] row = newRow(i);
+                String[] values = new String[row.length];
+                for (int j = 0; j < row.length; j++) {
+                    ClickHouseValue v = columns.get(j).newValue(config).update(row[j]);
+                    values[j] = v.asString();
+                    p.write(v);
+                }
+                expected.add(values);
+            }
+        }
+
+        // read with given columns
+        ClickHouseArrowProcessor p = new ClickHouseArrowProcessor(config,
+                ClickHouseInputStream.of(bytes.toByteArray()), null, columns, null);
+        int count = 0;
+        for (ClickHouseRecord r : p.records()) {
+            String[] values = expected.get(count++);
+            for (int i = 0; i < values.length; i++) {
+                Assert.assertEquals(r.getValue(i).asString(), values[i], columns.get(i).getColumnName());
+            }
+        }
+        Assert.assertEquals(count, rows);
+
+        ClickHouseRecord first = new ClickHouseArrowProcessor(config, ClickHouseInputStream.of(bytes.toByteArray()),
+                null, columns, null).records().iterator().next();
+        Assert.assertEquals(first.getValue("u8").asInteger(), 255);
+        Assert.assertEquals(first.getValue("u64").asString(), "18446744073709551615");
+        Assert.assertTrue(first.getValue("s").isNullOrEmpty());
+        Assert.assertEquals(first.getValue("ts").asDateTime(3), LocalDateTime.of(2022, 3, 4, 5, 6, 7, 123000000));
+        Assert.assertEquals(first.getValue("id").asUuid(), new UUID(0L, 0L));
+        Assert.assertEquals(first.getValue("i128").asBigInteger(), BigInteger.ONE.shiftLeft(100).negate());
+        Assert.assertEquals(first.getValue("e").asString(), "a");
+        Assert.assertEquals(first.getValue("r").asObject(), new double[][] { { 1D, 0D }, { 3D, 4D } });
+        Assert.assertTrue(first.getValue("n").isNullOrEmpty());
+
+        // read with columns from schema, and one value at a time
+        p = new ClickHouseArrowProcessor(config, ClickHouseInputStream.of(bytes.toByteArray()), null, null, null);
+        Assert.assertEquals(toString(p.getColumns()), "i8 Int8,u8 UInt8,u64 UInt64,s Nullable(String),"
+                + "d Decimal(10,2),dt Date32,ts DateTime64(3,'Asia/Shanghai'),arr Array(Int32),"
+                + "t Tuple(String,UInt16),m Map(String,Int64),id FixedString(16),i128 FixedString(16),"
+                + "fs FixedString(3),b Bool,f Float64,e Int8,ip UInt32,r Array(Tuple(Float64,Float64)),"
+                + "n Nullable(Int32),");
+        count = 0;
+        Iterator<ClickHouseValue> it = p.values().iterator();
+        while (it.hasNext()) {
+            String[] values = expected.get(count++);
+            Assert.assertEquals(it.next().asString(), values[0]);
+            for (int i = 1; i < values.length; i++) {
+                ClickHouseValue v = it.next();
+                if (i == 3 || i == 4 || i == 5 || i == 7 || i == 9 || i == 12 || i == 13 || i == 14) {
+                    Assert.assertEquals(v.asString(), values[i], columns.get(i).getColumnName());
+                }
+            }
+        }
+        Assert.assertEquals(count, rows);
+    }
+
+    @Test(groups = { "unit" })
+    public void testBatches() throws IOException {
+        ClickHouseConfig config = newConfig(ClickHouseFormat.ArrowStream);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BufferAllocator allocator = new RootAllocator();
+                IntVector x = new IntVector("x", allocator);
+                VarCharVector y = new VarCharVector("y", allocator);
+                VectorSchemaRoot root = VectorSchemaRoot.of(x, y);
+                ClickHouseArrowProcessor p = new ClickHouseArrowProcessor(config, null,
+                        ClickHouseOutputStream.of(bytes), null, null)) {
+            for (int i = 0; i < 2; i++) {
+                root.allocateNew();
+                for (int j = 0; j < 3; j++) {
+                    x.setSafe(j, i * 3 + j);
+                    if (j != 1) {
+                        y.setSafe(j, ("v" + (i * 3 + j)).getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                root.setRowCount(3);
+                p.write(root);
+            }
+        }
+
+        ClickHouseResponse response = ClickHouseStreamResponse.of(config,
+                ClickHouseInputStream.of(bytes.toByteArray()));
+        Assert.assertEquals(toString(response.getColumns()), "x Nullable(Int32),y Nullable(String),");
+        VectorSchemaRoot last = null;
+        int batches = 0;
+        for (VectorSchemaRoot root : ClickHouseArrowProcessor.batches(response)) {
+            Assert.assertTrue(last == null || last == root, "Vectors should be reused");
+            Assert.assertEquals(root.getRowCount(), 3);
+            Assert.assertEquals(((IntVector) root.getVector("x")).get(2), batches * 3 + 2);
+            Assert.assertTrue(root.getVector("y").isNull(1));
+            last = root;
+            batches++;
+        }
+        Assert.assertEquals(batches, 2);
+        Assert.assertTrue(response.getInputStream().isClosed());
+
+        ClickHouseDataProcessor p = new ClickHouseArrowProcessor(config,
+                ClickHouseInputStream.of(bytes.toByteArray()), null, null, null);
+        List<String> values = new ArrayList<>();
+        for (ClickHouseRecord r : p.records()) {
+            values.add(r.getValue(0).asString() + ":" + r.getValue(1).asString());
+        }
+        Assert.assertEquals(values, Arrays.asList("0:v0", "1:null", "2:v2", "3:v3", "4:null", "5:v5"));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> ClickHouseArrowProcessor
+                .batches(ClickHouseStreamResponse.of(newConfig(ClickHouseFormat.TabSeparated),
+                        ClickHouseInputStream.of("1\n"))));
+    }
+
+    @Test(groups = { "unit" })
+    public void testCloseResponse() throws IOException {
+        ClickHouseConfig config = newConfig(ClickHouseFormat.ArrowStream);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ClickHouseArrowProcessor p = new ClickHouseArrowProcessor(config, null,
+                ClickHouseOutputStream.of(bytes), ClickHouseColumn.parse("a Int64, b String"), null)) {
+            for (int i = 0; i < 20000; i++) {
+                p.write(ClickHouseLongValue.of(i));
+                p.write(ClickHouseStringValue.of("v" + i));
+            }
+        }
+
+        long allocated = ClickHouseArrowProcessor.rootAllocator.getAllocatedMemory();
+        int children = ClickHouseArrowProcessor.rootAllocator.getChildAllocators().size();
+        ClickHouseResponse response = ClickHouseStreamResponse.of(config,
+                ClickHouseInputStream.of(bytes.toByteArray()));
+        Assert.assertEquals(response.records().iterator().next().getValue(1).asString(), "v0");
+        Assert.assertTrue(ClickHouseArrowProcessor.rootAllocator.getAllocatedMemory() > allocated);
+        Assert.assertEquals(ClickHouseArrowProcessor.rootAllocator.getChildAllocators().size(), children + 1);
+
+        // abandon the response after reading one record
+        response.close();
+        Assert.assertTrue(response.getInputStream().isClosed());
+        Assert.assertEquals(ClickHouseArrowProcessor.rootAllocator.getAllocatedMemory(), allocated);
+        Assert.assertEquals(ClickHouseArrowProcessor.rootAllocator.getChildAllocators().size(), children);
+    }
+}
@@ -0,0 +1,78 @@
+package com.clickhouse.client.arrow;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseDataType;
+
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseArrowTypesTest {
+    private static String convert(String typeName) {
+        return ClickHouseArrowTypes.toTypeName(ClickHouseArrowTypes.toField(ClickHouseColumn.of("a", typeName)),
+                null);
+    }
+
+    @Test(groups = { "unit" })
+    public void testAllDataTypes() {
+        Map<ClickHouseDataType, String> samples = new EnumMap<>(ClickHouseDataType.class);
+        samples.put(ClickHouseDataType.AggregateFunction, "AggregateFunction(uniq, String)");
+        samples.put(ClickHouseDataType.SimpleAggregateFunction, "SimpleAggregateFunction(max, UInt64)");
+        samples.put(ClickHouseDataType.Array, "Array(String)");
+        samples.put(ClickHouseDataType.DateTime64, "DateTime64(3)");
+        samples.put(ClickHouseDataType.Decimal, "Decimal(10,2)");
+        samples.put(ClickHouseDataType.Decimal32, "Decimal32(2)");
+        samples.put(ClickHouseDataType.Decimal64, "Decimal64(2)");
+        samples.put(ClickHouseDataType.Decimal128, "Decimal128(2)");
+        samples.put(ClickHouseDataType.Decimal256, "Decimal256(2)");
+        samples.put(ClickHouseDataType.Enum8, "Enum8('a'=1)");
+        samples.put(ClickHouseDataType.Enum16, "Enum16('a'=1)");
+        samples.put(ClickHouseDataType.FixedString, "FixedString(2)");
+        samples.put(ClickHouseDataType.Map, "Map(String,UInt8)");
+        samples.put(ClickHouseDataType.Nested, "Nested(a String, b Int8)");
+        samples.put(ClickHouseDataType.Object, "Object('json')");
+        samples.put(ClickHouseDataType.Tuple, "Tuple(String, Int8)");
+
+        for (ClickHouseDataType t : ClickHouseDataType.values()) {
+            Field f = ClickHouseArrowTypes.toField(ClickHouseColumn.of("a", samples.getOrDefault(t, t.name())));
+            Assert.assertEquals(f.getName(), "a");
+            Assert.assertNotNull(ClickHouseArrowTypes.toTypeName(f, null), t.name());
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testRoundTrip() {
+        for (String type : new String[] { "Bool", "Int8", "UInt8", "Int16", "UInt16", "Int32", "UInt32", "Int64",
+                "UInt64", "Float32", "Float64", "Nullable(String)", "FixedString(3)", "Decimal(10,2)",
+                "Decimal(76,10)", "DateTime", "DateTime('Asia/Shanghai')", "DateTime64(3,'UTC')", "DateTime64(9)",
+                "Array(Nullable(Int32))", "Array(Array(String))", "Tuple(String,UInt16)", "Map(String,Int64)" }) {
+            Assert.assertEquals(convert(type), type);
+        }
+
+        Assert.assertEquals(convert("Date"), "Date32");
+        Assert.assertEquals(convert("DateTime64(2)"), "DateTime64(3)");
+        Assert.assertEquals(convert("UUID"), "FixedString(16)");
+        Assert.assertEquals(convert("Int256"), "FixedString(32)");
+        Assert.assertEquals(convert("IPv4"), "UInt32");
+        Assert.assertEquals(convert("Enum16('a'=1)"), "Int16");
+        Assert.assertEquals(convert("IntervalDay"), "Int64");
+        Assert.assertEquals(convert("Nothing"), "Nullable(Nothing)");
+        Assert.assertEquals(convert("Point"), "Tuple(Float64,Float64)");
+        Assert.assertEquals(convert("MultiPolygon"), "Array(Array(Array(Tuple(Float64,Float64))))");
+        Assert.assertEquals(convert("Nested(a String, b Int8)"), "Array(Tuple(String,Int8))");
+        Assert.assertEquals(convert("SimpleAggregateFunction(max, UInt64)"), "UInt64");
+        Assert.assertEquals(convert("LowCardinality(Nullable(String))"), "Nullable(String)");
+
+        Assert.assertEquals(ClickHouseArrowTypes
+                .toTypeName(new Field("a", FieldType.nullable(ArrowType.Utf8.INSTANCE), null), null),
+                "Nullable(String)");
+        Assert.assertEquals(ClickHouseArrowTypes.toTypeName(
+                new Field("a", FieldType.notNullable(new ArrowType.Time(TimeUnit.SECOND, 32)), null), null), "String");
+    }
+}
@@ -0,0 +1,76 @@
+package com.clickhouse.benchmark.misc;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.clickhouse.client.ClickHouseCache;
+import com.clickhouse.client.cache.JdkClockCache;
+import com.clickhouse.client.cache.JdkLruCache;
+
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = -1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CacheBenchmark {
+    @State(Scope.Benchmark)
+    public static class CacheState {
+        @Param(value = { "JdkLruCache", "JdkClockCache", "ClickHouseCache" })
+        private String cacheType;
+
+        // number of distinct keys compared to cache capacity
+        @Param(value = { "50", "200" })
+        private int keyPercentage;
+
+        public int capacity;
+        public String[] keys;
+        public ClickHouseCache<String, String> cache;
+
+        @Setup(Level.Trial)
+        public void setupCache() {
+            capacity = 100;
+            int size = capacity * keyPercentage / 100;
+            keys = new String[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = "21.3." + i + ".1";
+            }
+
+            Function<String, String> loadFunc = String::trim;
+            switch (cacheType) {
+                case "JdkLruCache":
+                    cache = JdkLruCache.create(capacity, loadFunc);
+                    break;
+                case "JdkClockCache":
+                    cache = JdkClockCache.create(capacity, 300L, loadFunc);
+                    break;
+                case "ClickHouseCache":
+                    cache = ClickHouseCache.create(capacity, 300L, loadFunc);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported cache type: " + cacheType);
+            }
+        }
+    }
+
+    @Benchmark
+    public void get(CacheState state, Blackhole consumer) {
+        String[] keys = state.keys;
+        consumer.consume(state.cache.get(keys[ThreadLocalRandom.current().nextInt(keys.length)]));
+    }
+}
@@ -0,0 +1,95 @@
+package com.clickhouse.benchmark.misc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.clickhouse.benchmark.BaseState;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.config.ClickHouseChecksumMode;
+import com.clickhouse.client.data.ClickHouseCityHash;
+import com.clickhouse.client.stream.Lz4InputStream;
+import com.clickhouse.client.stream.Lz4OutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures CityHash128 on blocks of different sizes, as well as reading lz4
+ * compressed response using different checksum modes.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = -1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChecksumBenchmark {
+    @State(Scope.Thread)
+    public static class BlockState extends BaseState {
+        @Param(value = { "65536", "262144", "1048576" })
+        private int blockSize;
+
+        public byte[] block;
+
+        @Setup(Level.Trial)
+        public void setupSamples() {
+            Random random = new Random();
+            // half random and half zeros to make the data compressible
+            block = new byte[blockSize];
+            for (int i = 0, len = blockSize / 2; i < len; i++) {
+                block[i] = (byte) random.nextInt(16);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CompressedState extends BlockState {
+        @Param(value = { "SYNC", "ASYNC", "NONE" })
+        private String mode;
+
+        public byte[] compressed;
+        public ClickHouseChecksumMode checksumMode;
+
+        @Setup(Level.Trial)
+        public void setupCompressedSamples() throws IOException {
+            int blocks = Integer.getInteger("blocks", 16);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (Lz4OutputStream lz4 = new Lz4OutputStream(out, block.length, null)) {
+                for (int i = 0; i < blocks; i++) {
+                    lz4.write(block);
+                }
+            }
+            compressed = out.toByteArray();
+            checksumMode = ClickHouseChecksumMode.valueOf(mode);
+        }
+    }
+
+    @Benchmark
+    public void cityHash128(BlockState state, Blackhole consumer) {
+        consumer.consume(ClickHouseCityHash.cityHash128(state.block, 0, state.block.length));
+    }
+
+    @Benchmark
+    public void decompress(CompressedState state, Blackhole consumer) throws IOException {
+        try (ClickHouseInputStream in = new Lz4InputStream(null, new ByteArrayInputStream(state.compressed),
+                state.checksumMode, null)) {
+            consumer.consume(in.skip(Long.MAX_VALUE));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.clickhouse.benchmark.misc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.clickhouse.benchmark.BaseState;
+import com.clickhouse.client.stream.Lz4OutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures writing lz4 compressed request in current thread and in parallel.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CompressBenchmark {
+    static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) throws IOException {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            count += len;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CompressState extends BaseState {
+        @Param(value = { "65536", "1048576" })
+        private int blockSize;
+        @Param(value = { "1", "2", "4" })
+        private int parallelism;
+
+        public byte[][] data;
+
+        @Setup(Level.Trial)
+        public void setupSamples() {
+            int batches = Integer.getInteger("batches", 64);
+            Random random = new Random();
+            data = new byte[batches][];
+            for (int i = 0; i < batches; i++) {
+                // half random and half zeros to make the data compressible
+                byte[] bytes = new byte[blockSize];
+                for (int j = 0, len = blockSize / 2; j < len; j++) {
+                    bytes[j] = (byte) random.nextInt(16);
+                }
+                data[i] = bytes;
+            }
+        }
+    }
+
+    @Benchmark
+    public void compress(CompressState state, Blackhole consumer) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (Lz4OutputStream lz4 = new Lz4OutputStream(null, out, state.blockSize, state.parallelism, 0L, null)) {
+            for (byte[] bytes : state.data) {
+                lz4.write(bytes);
+            }
+        }
+        consumer.consume(out.count);
+    }
+}
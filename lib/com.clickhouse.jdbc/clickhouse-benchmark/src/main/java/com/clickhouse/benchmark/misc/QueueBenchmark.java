@@ -2,7 +2,6 @@ package com.clickhouse.benchmark.misc;
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -14,6 +13,7 @@ import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -31,6 +31,7 @@ import com.clickhouse.client.ClickHousePipedOutputStream;
 import com.clickhouse.client.config.ClickHouseBufferingMode;
 import com.clickhouse.client.config.ClickHouseClientOption;
 import com.clickhouse.client.config.ClickHouseOption;
+import com.clickhouse.client.config.ClickHouseWaitStrategy;
 import com.clickhouse.client.data.BinaryStreamUtils;
 
 @State(Scope.Benchmark)
@@ -43,11 +44,17 @@ import com.clickhouse.client.data.BinaryStreamUtils;
 public class QueueBenchmark {
     @State(Scope.Thread)
     public static class CompareState extends BaseState {
+        // latency vs. CPU usage, use "-prof perfnorm" or watch CPU time to compare the latter
+        @Param(value = { "SPIN", "YIELD", "PARK" })
+        private String waitStrategy;
+
         public long samples;
+        public ClickHouseWaitStrategy strategy;
 
         @Setup(Level.Trial)
         public void setupSamples() {
             samples = 5000000L;
+            strategy = ClickHouseWaitStrategy.valueOf(waitStrategy);
         }
 
         @Setup(Level.Iteration)
@@ -75,6 +82,7 @@ public class QueueBenchmark {
         // options.put(ClickHouseClientOption.MAX_QUEUED_BUFFERS, 0);
         // options.put(ClickHouseClientOption.SOCKET_TIMEOUT, 0);
         options.put(ClickHouseClientOption.USE_BLOCKING_QUEUE, false);
+        options.put(ClickHouseClientOption.QUEUE_WAIT_STRATEGY, state.strategy);
         final ClickHouseConfig config = new ClickHouseConfig(options);
         final ClickHousePipedOutputStream stream = ClickHouseDataStreamFactory.getInstance().createPipedOutputStream(
                 config, null);
@@ -97,8 +105,10 @@ public class QueueBenchmark {
 
     @Benchmark
     public void nonBlocking(CompareState state, Blackhole consumer) throws Exception {
-        final ClickHouseConfig config = new ClickHouseConfig(Collections
-                .singletonMap(ClickHouseClientOption.RESPONSE_BUFFERING, ClickHouseBufferingMode.PERFORMANCE));
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseClientOption.RESPONSE_BUFFERING, ClickHouseBufferingMode.PERFORMANCE);
+        options.put(ClickHouseClientOption.QUEUE_WAIT_STRATEGY, state.strategy);
+        final ClickHouseConfig config = new ClickHouseConfig(options);
         final ClickHousePipedOutputStream stream = ClickHouseDataStreamFactory.getInstance().createPipedOutputStream(
                 config, null);
         CompletableFuture<Long> future = ClickHouseClient.submit(() -> {
@@ -19,6 +19,7 @@ import com.clickhouse.client.ClickHouseOutputStream;
 import com.clickhouse.client.config.ClickHouseBufferingMode;
 import com.clickhouse.client.config.ClickHouseClientOption;
 import com.clickhouse.client.config.ClickHouseOption;
+import com.clickhouse.client.config.ClickHouseWaitStrategy;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -81,6 +82,9 @@ public class StreamBenchmark {
                     Boolean.parseBoolean(System.getProperty("compress", "false")));
             options.put(ClickHouseClientOption.USE_BLOCKING_QUEUE,
                     Boolean.parseBoolean(System.getProperty("blocking", "true")));
+            options.put(ClickHouseClientOption.QUEUE_WAIT_STRATEGY, ClickHouseWaitStrategy.valueOf(
+                    System.getProperty("wait", ClickHouseClientOption.QUEUE_WAIT_STRATEGY.getDefaultValue().toString())
+                            .toUpperCase()));
             config = new ClickHouseConfig(options, null, null, null);
         }
 
@@ -0,0 +1,93 @@
+package com.clickhouse.benchmark.misc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.clickhouse.benchmark.BaseState;
+import com.clickhouse.client.data.tsv.ByteFragment;
+import com.clickhouse.client.data.tsv.ByteScanner;
+import com.clickhouse.client.data.tsv.StreamSplitter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares byte-by-byte and SWAR search of separators, as well as splitting
+ * TSV response into rows and columns.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = -1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TsvBenchmark {
+    @State(Scope.Thread)
+    public static class TsvState extends BaseState {
+        // narrow rows with numbers only, or wide rows with text
+        @Param(value = { "numbers", "text" })
+        private String payload;
+
+        public byte[] data;
+
+        @Setup(Level.Trial)
+        public void setupSamples() {
+            int rows = Integer.getInteger("rows", 10000);
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < rows; i++) {
+                builder.append(i).append('\t').append(getRandomNumber(Integer.MAX_VALUE)).append('\t');
+                if ("text".equals(payload)) {
+                    builder.append("https://clickhouse.com/docs/en/interfaces/formats/#tabseparated?row=").append(i)
+                            .append('\t').append("Escaped\\tvalue\\nwith new line").append('\t')
+                            .append("2022-10-19 12:34:56").append('\t').append("\\N");
+                } else {
+                    builder.append(getRandomNumber(256)).append('\t').append(i * 0.5D);
+                }
+                builder.append('\n');
+            }
+            data = builder.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public void indexOfByteByByte(TsvState state, Blackhole consumer) {
+        byte[] data = state.data;
+        for (int i = 0, len = data.length; i < len; i++) {
+            if (data[i] == '\t') {
+                consumer.consume(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void indexOfSwar(TsvState state, Blackhole consumer) {
+        byte[] data = state.data;
+        for (int i = 0, len = data.length; (i = ByteScanner.indexOf(data, (byte) '\t', i, len)) >= 0; i++) {
+            consumer.consume(i);
+        }
+    }
+
+    @Benchmark
+    public void splitRowsAndColumns(TsvState state, Blackhole consumer) throws IOException {
+        StreamSplitter ss = new StreamSplitter(new ByteArrayInputStream(state.data), (byte) '\n');
+        ByteFragment row;
+        while ((row = ss.next()) != null) {
+            consumer.consume(row.split((byte) '\t'));
+        }
+    }
+}
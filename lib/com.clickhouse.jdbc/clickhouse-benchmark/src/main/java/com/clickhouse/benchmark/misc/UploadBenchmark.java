@@ -0,0 +1,140 @@
+package com.clickhouse.benchmark.misc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.clickhouse.benchmark.BaseState;
+import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.config.ClickHouseOption;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares two ways of writing request body: copying through an intermediate
+ * buffer, which is how request entity used to work, and piping buffers of the
+ * input stream into the request output stream directly. Request body is a
+ * query followed by batches of data, same as what's being sent over http.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 10, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = -1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UploadBenchmark {
+    static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) throws IOException {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            count += len;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class UploadState extends BaseState {
+        @Param(value = { "false", "true" })
+        private String async;
+
+        public int batches;
+        public long length;
+
+        public byte[] query;
+        public byte[][] data;
+        public ClickHouseConfig config;
+
+        @Setup(Level.Trial)
+        public void setupSamples() {
+            int bufferSize = Integer.getInteger("buffer", (int) ClickHouseClientOption.BUFFER_SIZE.getDefaultValue());
+            batches = Integer.getInteger("batches", 64);
+
+            query = "insert into test_upload format RowBinary\n".getBytes(StandardCharsets.US_ASCII);
+            data = new byte[batches][];
+            Random random = new Random();
+            length = query.length;
+            for (int i = 0; i < batches; i++) {
+                data[i] = new byte[bufferSize];
+                random.nextBytes(data[i]);
+                length += bufferSize;
+            }
+
+            Map<ClickHouseOption, Serializable> options = new HashMap<>();
+            options.put(ClickHouseClientOption.ASYNC, Boolean.parseBoolean(async));
+            options.put(ClickHouseClientOption.BUFFER_SIZE, bufferSize);
+            config = new ClickHouseConfig(options, null, null, null);
+        }
+
+        ClickHouseInputStream newInputStream() {
+            List<InputStream> parts = new ArrayList<>(2);
+            parts.add(ClickHouseInputStream.of(query));
+            parts.add(ClickHouseInputStream.of(data));
+            return ClickHouseInputStream.of(parts, InputStream.class, null, null);
+        }
+
+        void verify(CountingOutputStream out) {
+            if (out.count != length) {
+                throw new IllegalStateException(String.format("Expect %d bytes but got %d", length, out.count));
+            }
+        }
+    }
+
+    @Benchmark
+    public void copy(UploadState state, Blackhole consumer) throws IOException {
+        CountingOutputStream bao = new CountingOutputStream();
+        try (ClickHouseInputStream in = state.newInputStream();
+                ClickHouseOutputStream out = ClickHouseClient.getAsyncRequestOutputStream(state.config, bao, null)) {
+            byte[] buffer = new byte[state.config.getBufferSize()];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            out.flush();
+        }
+        state.verify(bao);
+        consumer.consume(bao);
+    }
+
+    @Benchmark
+    public void pipe(UploadState state, Blackhole consumer) throws IOException {
+        CountingOutputStream bao = new CountingOutputStream();
+        try (ClickHouseInputStream in = state.newInputStream();
+                ClickHouseOutputStream out = ClickHouseClient.getAsyncRequestOutputStream(state.config, bao, null)) {
+            in.pipe(out);
+            out.flush();
+        }
+        state.verify(bao);
+        consumer.consume(bao);
+    }
+}
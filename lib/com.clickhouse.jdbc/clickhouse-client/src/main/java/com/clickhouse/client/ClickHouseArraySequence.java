@@ -45,6 +45,17 @@ public interface ClickHouseArraySequence extends ClickHouseValue {
      */
     int length();
 
+    /**
+     * Checks whether value at the specified position in this array is null.
+     *
+     * @param index index which is greater than or equal to zero and it's always
+     *              smaller than {@link #length()}
+     * @return true if the value is null; false otherwise
+     */
+    default boolean isNull(int index) {
+        return false;
+    }
+
     /**
      * Gets value at the specified position in this array.
      *
@@ -3,7 +3,7 @@ package com.clickhouse.client;
 import java.util.function.Function;
 
 import com.clickhouse.client.cache.CaffeineCache;
-import com.clickhouse.client.cache.JdkLruCache;
+import com.clickhouse.client.cache.JdkClockCache;
 
 /**
  * Wrapper interface depicts essential methods required by a client-side cache.
@@ -15,7 +15,8 @@ public interface ClickHouseCache<K, V> {
     static final int DEFAULT_CACHE_SIZE = 50;
 
     /**
-     * Creates a cache with specific capacity and load function.
+     * Creates a cache with specific capacity and load function. Caffeine will be
+     * used when it's available in classpath, or {@link JdkClockCache} otherwise.
      *
      * @param <K>           type of key
      * @param <V>           type of value
@@ -32,7 +33,7 @@ public interface ClickHouseCache<K, V> {
             cache = CaffeineCache.create(capacity, expireSeconds, loadFunc);
         } catch (Throwable e) {
             // ignore
-            cache = JdkLruCache.create(capacity, loadFunc);
+            cache = JdkClockCache.create(capacity, expireSeconds, loadFunc);
         }
         return cache;
     }
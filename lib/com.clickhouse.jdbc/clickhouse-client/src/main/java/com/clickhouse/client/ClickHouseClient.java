@@ -79,7 +79,7 @@ public interface ClickHouseClient extends AutoCloseable {
         }
 
         return ClickHouseOutputStream.of(output, config.getWriteBufferSize(), config.getRequestCompressAlgorithm(),
-                postCloseAction);
+                config.getRequestCompressParallelism(), config.getRequestCompressMemoryLimit(), postCloseAction);
     }
 
     /**
@@ -147,7 +147,7 @@ public interface ClickHouseClient extends AutoCloseable {
         }
 
         return ClickHouseInputStream.of(input, config.getReadBufferSize(), config.getResponseCompressAlgorithm(),
-                postCloseAction);
+                config.getResponseChecksumMode(), postCloseAction);
     }
 
     /**
@@ -183,7 +183,8 @@ public interface ClickHouseClient extends AutoCloseable {
             wrappedInput = getResponseInputStream(config, decompressedStream.getInputStream(), postCloseAction);
             submit(() -> {
                 try (ClickHouseInputStream in = ClickHouseInputStream.of(input, config.getReadBufferSize(),
-                        config.getResponseCompressAlgorithm(), null); ClickHouseOutputStream out = decompressedStream) {
+                        config.getResponseCompressAlgorithm(), config.getResponseChecksumMode(), null);
+                        ClickHouseOutputStream out = decompressedStream) {
                     in.pipe(out);
                 }
                 return null;
@@ -19,9 +19,11 @@ import com.clickhouse.client.data.ClickHouseBoolValue;
 import com.clickhouse.client.data.ClickHouseByteValue;
 import com.clickhouse.client.data.ClickHouseDateTimeValue;
 import com.clickhouse.client.data.ClickHouseDateValue;
+import com.clickhouse.client.data.ClickHouseDecimalValue;
 import com.clickhouse.client.data.ClickHouseDoubleValue;
 import com.clickhouse.client.data.ClickHouseEmptyValue;
 import com.clickhouse.client.data.ClickHouseEnumValue;
+import com.clickhouse.client.data.ClickHouseFlatMapValue;
 import com.clickhouse.client.data.ClickHouseFloatValue;
 import com.clickhouse.client.data.ClickHouseGeoMultiPolygonValue;
 import com.clickhouse.client.data.ClickHouseGeoPointValue;
@@ -31,6 +33,7 @@ import com.clickhouse.client.data.ClickHouseIntegerValue;
 import com.clickhouse.client.data.ClickHouseIpv4Value;
 import com.clickhouse.client.data.ClickHouseIpv6Value;
 import com.clickhouse.client.data.ClickHouseLongValue;
+import com.clickhouse.client.data.ClickHouseLowCardinalityStringValue;
 import com.clickhouse.client.data.ClickHouseMapValue;
 import com.clickhouse.client.data.ClickHouseNestedValue;
 import com.clickhouse.client.data.ClickHouseOffsetDateTimeValue;
@@ -38,6 +41,7 @@ import com.clickhouse.client.data.ClickHouseShortValue;
 import com.clickhouse.client.data.ClickHouseStringValue;
 import com.clickhouse.client.data.ClickHouseTupleValue;
 import com.clickhouse.client.data.ClickHouseUuidValue;
+import com.clickhouse.client.data.ClickHouseWideIntegerValue;
 import com.clickhouse.client.data.array.ClickHouseBoolArrayValue;
 import com.clickhouse.client.data.array.ClickHouseByteArrayValue;
 import com.clickhouse.client.data.array.ClickHouseDoubleArrayValue;
@@ -65,6 +69,11 @@ public final class ClickHouseColumn implements Serializable {
     private static final String KEYWORD_OBJECT = ClickHouseDataType.Object.name();
     private static final String KEYWORD_MAP = ClickHouseDataType.Map.name();
     private static final String KEYWORD_NESTED = ClickHouseDataType.Nested.name();
+    private static final String KEYWORD_NAME_PLACEHOLDER = "_";
+
+    // parsed columns without name, which should be never changed
+    private static final ClickHouseCache<String, ClickHouseColumn> typeCache = ClickHouseCache.create(1000, 300,
+            ClickHouseColumn::parseType);
 
     private int columnCount;
     private int columnIndex;
@@ -524,11 +533,7 @@ public final class ClickHouseColumn implements Serializable {
                 new ClickHouseColumn(dataType, columnName, null, nullable, false, null, Arrays.asList(nestedColumns)));
     }
 
-    public static ClickHouseColumn of(String columnName, String columnType) {
-        if (columnName == null || columnType == null) {
-            throw new IllegalArgumentException("Non-null columnName and columnType are required");
-        }
-
+    private static ClickHouseColumn readColumn(String columnName, String columnType) {
         List<ClickHouseColumn> list = new ArrayList<>(1);
         readColumn(columnType, 0, columnType.length(), columnName, list);
         if (list.size() != 1) { // should not happen
@@ -537,6 +542,32 @@ public final class ClickHouseColumn implements Serializable {
         return list.get(0);
     }
 
+    private static ClickHouseColumn parseType(String columnType) {
+        // non-empty name is required, otherwise column name will be extracted from
+        // the given type, for example: "k1 Int8"
+        return readColumn(KEYWORD_NAME_PLACEHOLDER, columnType);
+    }
+
+    /**
+     * Creates a column using the given name and type. Parsed column types are
+     * cached when column name is not empty, so that the same type will not be
+     * parsed again and again in query responses.
+     *
+     * @param columnName non-null column name
+     * @param columnType non-null column type, for example:
+     *                   {@code Array(Nullable(String))}
+     * @return non-null column
+     * @throws IllegalArgumentException when failed to parse the column type
+     */
+    public static ClickHouseColumn of(String columnName, String columnType) {
+        if (columnName == null || columnType == null) {
+            throw new IllegalArgumentException("Non-null columnName and columnType are required");
+        }
+
+        return columnName.isEmpty() ? readColumn(columnName, columnType)
+                : new ClickHouseColumn(typeCache.get(columnType), columnName);
+    }
+
     public static List<ClickHouseColumn> parse(String args) {
         if (args == null || args.isEmpty()) {
             return Collections.emptyList();
@@ -606,6 +637,34 @@ public final class ClickHouseColumn implements Serializable {
         this.estimatedByteLength = 0;
     }
 
+    private ClickHouseColumn(ClickHouseColumn column, String columnName) {
+        this.columnCount = column.columnCount;
+        this.columnIndex = column.columnIndex;
+        this.columnName = columnName == null ? "" : columnName;
+        this.originalTypeName = column.originalTypeName;
+
+        this.aggFuncType = column.aggFuncType;
+        this.dataType = column.dataType;
+        this.nullable = column.nullable;
+        this.lowCardinality = column.lowCardinality;
+        this.lowCardinalityDisabled = column.lowCardinalityDisabled;
+        this.timeZone = column.timeZone;
+        this.precision = column.precision;
+        this.scale = column.scale;
+        // both lists are unmodifiable
+        this.nested = column.nested;
+        this.parameters = column.parameters;
+        this.enumConstants = column.enumConstants;
+
+        this.arrayLevel = column.arrayLevel;
+        this.arrayBaseColumn = column.arrayBaseColumn;
+
+        this.fixedByteLength = column.fixedByteLength;
+        this.estimatedByteLength = column.estimatedByteLength;
+
+        this.template = column.template;
+    }
+
     /**
      * Sets zero-based column index and column count.
      * 
@@ -804,6 +863,22 @@ public final class ClickHouseColumn implements Serializable {
     public ClickHouseArraySequence newArrayValue(ClickHouseConfig config) {
         int level = arrayLevel;
         ClickHouseArraySequence value;
+        if (level == 1 && arrayBaseColumn != null && arrayBaseColumn.nullable
+                && config.isUsePrimitivesInNullableArray() && !config.isUseObjectsInArray()) {
+            switch (arrayBaseColumn.dataType) {
+                case Int32:
+                    return ClickHouseIntArrayValue.ofNullableEmpty();
+                case Int64:
+                    return ClickHouseLongArrayValue.ofNullableEmpty();
+                case Float32:
+                    return ClickHouseFloatArrayValue.ofNullableEmpty();
+                case Float64:
+                    return ClickHouseDoubleArrayValue.ofNullableEmpty();
+                default:
+                    break;
+            }
+        }
+
         if (level < 1 || arrayBaseColumn == null || arrayBaseColumn.nullable || config.isUseObjectsInArray()) {
             value = arrayBaseColumn == null ? ClickHouseArrayValue.ofEmpty()
                     : ClickHouseArrayValue.ofEmpty(arrayBaseColumn.getObjectClass(config));
@@ -860,7 +935,18 @@ public final class ClickHouseColumn implements Serializable {
     }
 
     public ClickHouseValue newValue(ClickHouseConfig config) {
-        if (template != null) {
+        if (dataType == ClickHouseDataType.String && isLowCardinality() && config.getMaxDictionarySize() > 0
+                && !config.isUseBinaryString()) {
+            return ClickHouseLowCardinalityStringValue.ofNull();
+        } else if (config.isUseLongDecimal() && (dataType == ClickHouseDataType.Decimal32
+                || dataType == ClickHouseDataType.Decimal64 || (dataType == ClickHouseDataType.Decimal
+                        && precision <= ClickHouseDataType.Decimal64.getMaxScale()))) {
+            return ClickHouseDecimalValue.ofNull(scale);
+        } else if (config.isUsePrimitivesForWideIntegers() && (dataType == ClickHouseDataType.Int128
+                || dataType == ClickHouseDataType.UInt128 || dataType == ClickHouseDataType.Int256
+                || dataType == ClickHouseDataType.UInt256)) {
+            return ClickHouseWideIntegerValue.ofNull(dataType.getByteLength() * Byte.SIZE, !dataType.isSigned());
+        } else if (template != null) {
             return template.copy();
         }
 
@@ -903,8 +989,13 @@ public final class ClickHouseColumn implements Serializable {
                 value = newArrayValue(config);
                 break;
             case Map:
-                value = ClickHouseMapValue.ofEmpty(getKeyInfo().getObjectClass(config),
-                        getValueInfo().getObjectClass(config));
+                if (config.isUseFlatMap() && ClickHouseFlatMapValue.isSupported(config, getKeyInfo(), getValueInfo())) {
+                    value = ClickHouseFlatMapValue.ofEmpty(getKeyInfo().getObjectClass(config),
+                            getValueInfo().getObjectClass(config));
+                } else {
+                    value = ClickHouseMapValue.ofEmpty(getKeyInfo().getObjectClass(config),
+                            getValueInfo().getObjectClass(config));
+                }
                 break;
             default:
                 break;
@@ -15,10 +15,12 @@ import java.util.TimeZone;
 import java.util.Map.Entry;
 
 import com.clickhouse.client.config.ClickHouseBufferingMode;
+import com.clickhouse.client.config.ClickHouseChecksumMode;
 import com.clickhouse.client.config.ClickHouseClientOption;
 import com.clickhouse.client.config.ClickHouseOption;
 import com.clickhouse.client.config.ClickHouseDefaults;
 import com.clickhouse.client.config.ClickHouseSslMode;
+import com.clickhouse.client.config.ClickHouseWaitStrategy;
 
 /**
  * An immutable class holding client-specific options like
@@ -171,20 +173,27 @@ public class ClickHouseConfig implements Serializable {
     private final boolean compressRequest;
     private final ClickHouseCompression compressAlgorithm;
     private final int compressLevel;
+    private final int compressParallelism;
+    private final long compressMemoryLimit;
     private final boolean decompressResponse;
     private final ClickHouseCompression decompressAlgorithm;
     private final int decompressLevel;
+    private final ClickHouseChecksumMode checksumMode;
     private final int connectionTimeout;
     private final String database;
     private final ClickHouseFormat format;
     private final int maxBufferSize;
     private final int bufferSize;
     private final int bufferQueueVariation;
+    private final boolean adaptiveBuffer;
+    private final int adaptiveBufferInterval;
+    private final int minBufferSize;
     private final int readBufferSize;
     private final int writeBufferSize;
     private final int requestChunkSize;
     private final ClickHouseBufferingMode requestBuffering;
     private final ClickHouseBufferingMode responseBuffering;
+    private final int maxDictionarySize;
     private final int maxExecutionTime;
     private final int maxQueuedBuffers;
     private final int maxQueuedRequests;
@@ -210,7 +219,16 @@ public class ClickHouseConfig implements Serializable {
     private final boolean widenUnsignedTypes;
     private final boolean useBinaryString;
     private final boolean useBlockingQueue;
+    private final ClickHouseWaitStrategy queueWaitStrategy;
+    private final boolean spillToDisk;
+    private final long maxSpillSize;
+    private final boolean useFlatMap;
+    private final boolean useJsonProcessor;
+    private final boolean useLongDecimal;
+    private final boolean useMutableBitmap;
     private final boolean useObjectsInArray;
+    private final boolean usePrimitivesInNullableArray;
+    private final boolean usePrimitivesForWideIntegers;
     private final boolean useNoProxy;
     private final boolean useServerTimeZone;
     private final boolean useServerTimeZoneForDates;
@@ -275,9 +293,13 @@ public class ClickHouseConfig implements Serializable {
         this.compressRequest = getBoolOption(ClickHouseClientOption.DECOMPRESS);
         this.compressAlgorithm = getOption(ClickHouseClientOption.DECOMPRESS_ALGORITHM, ClickHouseCompression.class);
         this.compressLevel = getIntOption(ClickHouseClientOption.DECOMPRESS_LEVEL);
+        int parallelism = getIntOption(ClickHouseClientOption.DECOMPRESS_PARALLELISM);
+        this.compressParallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.compressMemoryLimit = getLongOption(ClickHouseClientOption.DECOMPRESS_MEMORY_LIMIT);
         this.decompressResponse = getBoolOption(ClickHouseClientOption.COMPRESS);
         this.decompressAlgorithm = getOption(ClickHouseClientOption.COMPRESS_ALGORITHM, ClickHouseCompression.class);
         this.decompressLevel = getIntOption(ClickHouseClientOption.COMPRESS_LEVEL);
+        this.checksumMode = getOption(ClickHouseClientOption.CHECKSUM_MODE, ClickHouseChecksumMode.class);
         this.connectionTimeout = getIntOption(ClickHouseClientOption.CONNECTION_TIMEOUT);
         this.database = (String) getOption(ClickHouseClientOption.DATABASE, ClickHouseDefaults.DATABASE);
         this.format = (ClickHouseFormat) getOption(ClickHouseClientOption.FORMAT, ClickHouseDefaults.FORMAT);
@@ -285,6 +307,9 @@ public class ClickHouseConfig implements Serializable {
                 -1);
         this.bufferSize = getIntOption(ClickHouseClientOption.BUFFER_SIZE);
         this.bufferQueueVariation = getIntOption(ClickHouseClientOption.BUFFER_QUEUE_VARIATION);
+        this.adaptiveBuffer = getBoolOption(ClickHouseClientOption.ADAPTIVE_BUFFER);
+        this.adaptiveBufferInterval = getIntOption(ClickHouseClientOption.ADAPTIVE_BUFFER_INTERVAL);
+        this.minBufferSize = getIntOption(ClickHouseClientOption.MIN_BUFFER_SIZE);
         this.readBufferSize = getIntOption(ClickHouseClientOption.READ_BUFFER_SIZE);
         this.writeBufferSize = getIntOption(ClickHouseClientOption.WRITE_BUFFER_SIZE);
         this.requestChunkSize = getIntOption(ClickHouseClientOption.REQUEST_CHUNK_SIZE);
@@ -292,6 +317,7 @@ public class ClickHouseConfig implements Serializable {
                 ClickHouseDefaults.BUFFERING);
         this.responseBuffering = (ClickHouseBufferingMode) getOption(ClickHouseClientOption.RESPONSE_BUFFERING,
                 ClickHouseDefaults.BUFFERING);
+        this.maxDictionarySize = getIntOption(ClickHouseClientOption.MAX_DICTIONARY_SIZE);
         this.maxExecutionTime = getIntOption(ClickHouseClientOption.MAX_EXECUTION_TIME);
         this.maxQueuedBuffers = getIntOption(ClickHouseClientOption.MAX_QUEUED_BUFFERS);
         this.maxQueuedRequests = getIntOption(ClickHouseClientOption.MAX_QUEUED_REQUESTS);
@@ -320,7 +346,16 @@ public class ClickHouseConfig implements Serializable {
         this.widenUnsignedTypes = getBoolOption(ClickHouseClientOption.WIDEN_UNSIGNED_TYPES);
         this.useBinaryString = getBoolOption(ClickHouseClientOption.USE_BINARY_STRING);
         this.useBlockingQueue = getBoolOption(ClickHouseClientOption.USE_BLOCKING_QUEUE);
+        this.queueWaitStrategy = getOption(ClickHouseClientOption.QUEUE_WAIT_STRATEGY, ClickHouseWaitStrategy.class);
+        this.spillToDisk = getBoolOption(ClickHouseClientOption.SPILL_TO_DISK);
+        this.maxSpillSize = getLongOption(ClickHouseClientOption.MAX_SPILL_SIZE);
+        this.useFlatMap = getBoolOption(ClickHouseClientOption.USE_FLAT_MAP);
+        this.useJsonProcessor = getBoolOption(ClickHouseClientOption.USE_JSON_PROCESSOR);
+        this.useLongDecimal = getBoolOption(ClickHouseClientOption.USE_LONG_DECIMAL);
+        this.useMutableBitmap = getBoolOption(ClickHouseClientOption.USE_MUTABLE_BITMAP);
         this.useObjectsInArray = getBoolOption(ClickHouseClientOption.USE_OBJECTS_IN_ARRAYS);
+        this.usePrimitivesInNullableArray = getBoolOption(ClickHouseClientOption.USE_PRIMITIVES_IN_NULLABLE_ARRAYS);
+        this.usePrimitivesForWideIntegers = getBoolOption(ClickHouseClientOption.USE_PRIMITIVES_FOR_WIDE_INTEGERS);
         this.useNoProxy = getBoolOption(ClickHouseClientOption.USE_NO_PROXY);
         this.useServerTimeZone = getBoolOption(ClickHouseClientOption.USE_SERVER_TIME_ZONE);
         this.useServerTimeZoneForDates = getBoolOption(ClickHouseClientOption.USE_SERVER_TIME_ZONE_FOR_DATES);
@@ -386,6 +421,21 @@ public class ClickHouseConfig implements Serializable {
         return decompressResponse ? decompressLevel : 0;
     }
 
+    /**
+     * Gets checksum mode for verifying compressed server response.
+     * {@link ClickHouseChecksumMode#SKIP_ON_SSL} is resolved to either
+     * {@link ClickHouseChecksumMode#NONE} or {@link ClickHouseChecksumMode#SYNC}
+     * depending on {@link #isSsl()}.
+     *
+     * @return non-null checksum mode
+     */
+    public ClickHouseChecksumMode getResponseChecksumMode() {
+        if (checksumMode == ClickHouseChecksumMode.SKIP_ON_SSL) {
+            return ssl ? ClickHouseChecksumMode.NONE : ClickHouseChecksumMode.SYNC;
+        }
+        return checksumMode;
+    }
+
     /**
      * Checks if client's output, aka. client request, should be compressed or not.
      *
@@ -415,6 +465,26 @@ public class ClickHouseConfig implements Serializable {
         return compressRequest ? compressLevel : 0;
     }
 
+    /**
+     * Gets number of blocks to compress concurrently for client request.
+     *
+     * @return parallelism, one means compressing in the writer's thread
+     */
+    public int getRequestCompressParallelism() {
+        return compressParallelism;
+    }
+
+    /**
+     * Gets maximum memory in bytes for buffering blocks being compressed in
+     * parallel.
+     *
+     * @return memory limit in bytes, zero or negative number means two blocks per
+     *         thread
+     */
+    public long getRequestCompressMemoryLimit() {
+        return compressMemoryLimit;
+    }
+
     public int getConnectionTimeout() {
         return connectionTimeout;
     }
@@ -460,6 +530,35 @@ public class ClickHouseConfig implements Serializable {
         return bufferQueueVariation;
     }
 
+    /**
+     * Checks whether buffer size and queue length of piped streams should be
+     * adjusted at runtime.
+     *
+     * @return true if adaptive buffer is enabled; false otherwise
+     */
+    public boolean isAdaptiveBuffer() {
+        return adaptiveBuffer;
+    }
+
+    /**
+     * Gets expected time in milliseconds to fill up one buffer, when adaptive
+     * buffer is enabled.
+     *
+     * @return expected time in milliseconds to fill up one buffer
+     */
+    public int getAdaptiveBufferInterval() {
+        return adaptiveBufferInterval;
+    }
+
+    /**
+     * Gets minimum buffer size in byte, when adaptive buffer is enabled.
+     *
+     * @return minimum buffer size in byte
+     */
+    public int getMinBufferSize() {
+        return ClickHouseUtils.getBufferSize(minBufferSize, getBufferSize(), getMaxBufferSize());
+    }
+
     /**
      * Gets read buffer size in byte.
      *
@@ -505,6 +604,16 @@ public class ClickHouseConfig implements Serializable {
         return responseBuffering;
     }
 
+    /**
+     * Gets maximum number of distinct values kept in the dictionary of each
+     * {@code LowCardinality(String)} column.
+     *
+     * @return maximum number of distinct values, zero means no dictionary
+     */
+    public int getMaxDictionarySize() {
+        return maxDictionarySize < 0 ? 0 : maxDictionarySize;
+    }
+
     public int getMaxExecutionTime() {
         return maxExecutionTime;
     }
@@ -606,10 +715,58 @@ public class ClickHouseConfig implements Serializable {
         return useBlockingQueue;
     }
 
+    public ClickHouseWaitStrategy getQueueWaitStrategy() {
+        return queueWaitStrategy;
+    }
+
+    /**
+     * Checks whether buffers should be spilled into a temporary file when the
+     * queue is full.
+     *
+     * @return true if spill to disk is enabled; false otherwise
+     */
+    public boolean isSpillToDisk() {
+        return spillToDisk;
+    }
+
+    /**
+     * Gets maximum size in byte of the temporary file, when spill to disk is
+     * enabled.
+     *
+     * @return maximum size in byte, zero means no limit
+     */
+    public long getMaxSpillSize() {
+        return maxSpillSize < 0L ? 0L : maxSpillSize;
+    }
+
+    public boolean isUseFlatMap() {
+        return useFlatMap;
+    }
+
+    public boolean isUseJsonProcessor() {
+        return useJsonProcessor;
+    }
+
+    public boolean isUseLongDecimal() {
+        return useLongDecimal;
+    }
+
+    public boolean isUseMutableBitmap() {
+        return useMutableBitmap;
+    }
+
     public boolean isUseObjectsInArray() {
         return useObjectsInArray;
     }
 
+    public boolean isUsePrimitivesInNullableArray() {
+        return usePrimitivesInNullableArray;
+    }
+
+    public boolean isUsePrimitivesForWideIntegers() {
+        return usePrimitivesForWideIntegers;
+    }
+
     public boolean isUseNoProxy() {
         return useNoProxy;
     }
@@ -7,8 +7,11 @@ import java.util.Map;
 
 import com.clickhouse.client.config.ClickHouseBufferingMode;
 import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.data.ClickHouseJsonProcessor;
 import com.clickhouse.client.data.ClickHouseRowBinaryProcessor;
 import com.clickhouse.client.data.ClickHouseTabSeparatedProcessor;
+import com.clickhouse.client.stream.AdaptiveBufferPolicy;
+import com.clickhouse.client.stream.AdaptiveQueue;
 import com.clickhouse.client.stream.BlockingPipedOutputStream;
 import com.clickhouse.client.stream.CapacityPolicy;
 import com.clickhouse.client.stream.NonBlockingPipedOutputStream;
@@ -54,6 +57,8 @@ public class ClickHouseDataStreamFactory {
         ClickHouseDataProcessor processor = null;
         if (ClickHouseFormat.RowBinary == format || ClickHouseFormat.RowBinaryWithNamesAndTypes == format) {
             processor = new ClickHouseRowBinaryProcessor(config, input, output, columns, settings);
+        } else if (config.isUseJsonProcessor() && ClickHouseJsonProcessor.isSupported(format)) {
+            processor = new ClickHouseJsonProcessor(config, input, output, columns, settings);
         } else if (format.isText()) {
             processor = new ClickHouseTabSeparatedProcessor(config, input, output, columns, settings);
         }
@@ -70,6 +75,7 @@ public class ClickHouseDataStreamFactory {
      */
     public ClickHousePipedOutputStream createPipedOutputStream(ClickHouseConfig config, Runnable postCloseAction) {
         final int bufferSize = ClickHouseChecker.nonNull(config, ClickHouseConfig.TYPE_NAME).getWriteBufferSize();
+        final AdaptiveBufferPolicy adaptivePolicy = AdaptiveBufferPolicy.of(config);
         final boolean blocking;
         final int queue;
         final CapacityPolicy policy;
@@ -83,13 +89,19 @@ public class ClickHouseDataStreamFactory {
         } else {
             blocking = config.isUseBlockingQueue();
             queue = config.getMaxQueuedBuffers();
-            policy = config.getBufferQueueVariation() < 1 ? CapacityPolicy.fixedCapacity(queue)
-                    : CapacityPolicy.linearDynamicCapacity(1, queue, config.getBufferQueueVariation());
+            if (adaptivePolicy != null) {
+                policy = adaptivePolicy;
+            } else {
+                policy = config.getBufferQueueVariation() < 1 ? CapacityPolicy.fixedCapacity(queue)
+                        : CapacityPolicy.linearDynamicCapacity(1, queue, config.getBufferQueueVariation());
+            }
             timeout = config.getSocketTimeout();
         }
         return blocking
-                ? new BlockingPipedOutputStream(bufferSize, queue, timeout, postCloseAction)
-                : new NonBlockingPipedOutputStream(bufferSize, queue, timeout, policy, postCloseAction);
+                ? new BlockingPipedOutputStream(bufferSize, queue, timeout, adaptivePolicy,
+                        config.isSpillToDisk() ? config.getMaxSpillSize() : -1L, postCloseAction)
+                : new NonBlockingPipedOutputStream(AdaptiveQueue.create(policy), bufferSize, queue, timeout,
+                        config.getQueueWaitStrategy(), adaptivePolicy, postCloseAction);
     }
 
     public ClickHousePipedOutputStream createPipedOutputStream(int bufferSize, int queueSize, int timeout,
@@ -11,6 +11,12 @@ import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -25,6 +31,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.zip.GZIPInputStream;
 
+import com.clickhouse.client.config.ClickHouseChecksumMode;
 import com.clickhouse.client.config.ClickHouseClientOption;
 import com.clickhouse.client.stream.BlockingInputStream;
 import com.clickhouse.client.stream.DeferredInputStream;
@@ -50,6 +57,12 @@ public abstract class ClickHouseInputStream extends InputStream {
     protected static final String ERROR_REUSE_BUFFER = "Please pass a different byte array instead of the same internal buffer for reading";
     protected static final String ERROR_STREAM_CLOSED = "Input stream has been closed";
 
+    /**
+     * Maximum number of bytes decoded at a time by bulk methods like
+     * {@link #readInt32Array(int[], int, int)}.
+     */
+    protected static final int MAX_BULK_LENGTH = 8192;
+
     /**
      * Wraps the given input stream.
      *
@@ -64,6 +77,27 @@ public abstract class ClickHouseInputStream extends InputStream {
      */
     public static ClickHouseInputStream wrap(ClickHouseFile file, InputStream input, int bufferSize,
             Runnable postCloseAction, ClickHouseCompression compression, int compressionLevel) {
+        return wrap(file, input, bufferSize, postCloseAction, compression, compressionLevel,
+                ClickHouseChecksumMode.SYNC);
+    }
+
+    /**
+     * Wraps the given input stream.
+     *
+     * @param file             wrapped file, could be null
+     * @param input            non-null input stream
+     * @param bufferSize       buffer size
+     * @param postCloseAction  custom action will be performed right after closing
+     *                         the wrapped input stream
+     * @param compression      compression algorithm
+     * @param compressionLevel compression level
+     * @param checksumMode     how to verify checksum of compressed blocks, null
+     *                         is treated as {@link ClickHouseChecksumMode#SYNC}
+     * @return non-null wrapped input stream
+     */
+    public static ClickHouseInputStream wrap(ClickHouseFile file, InputStream input, int bufferSize,
+            Runnable postCloseAction, ClickHouseCompression compression, int compressionLevel,
+            ClickHouseChecksumMode checksumMode) {
         final ClickHouseInputStream chInput;
         if (compression == null || compression == ClickHouseCompression.NONE) {
             chInput = input != EmptyInputStream.INSTANCE && input instanceof ClickHouseInputStream
@@ -79,7 +113,7 @@ public abstract class ClickHouseInputStream extends InputStream {
                     }
                     break;
                 case LZ4:
-                    chInput = new Lz4InputStream(file, input, postCloseAction);
+                    chInput = new Lz4InputStream(file, input, checksumMode, postCloseAction);
                     break;
                 default:
                     throw new UnsupportedOperationException("Unsupported compression algorithm: " + compression);
@@ -240,12 +274,33 @@ public abstract class ClickHouseInputStream extends InputStream {
      */
     public static ClickHouseInputStream of(InputStream input, int bufferSize, ClickHouseCompression compression,
             Runnable postCloseAction) {
+        return of(input, bufferSize, compression, ClickHouseChecksumMode.SYNC, postCloseAction);
+    }
+
+    /**
+     * Wraps the given input stream.
+     *
+     * @param input           input stream
+     * @param bufferSize      buffer size which is always greater than zero(usually
+     *                        8192 or larger)
+     * @param compression     compression algorithm, null or
+     *                        {@link ClickHouseCompression#NONE} means no
+     *                        compression
+     * @param checksumMode    how to verify checksum of compressed blocks, null is
+     *                        treated as {@link ClickHouseChecksumMode#SYNC}
+     * @param postCloseAction custom action will be performed right after closing
+     *                        the input stream
+     * @return wrapped input, or the same input if it's instance of
+     *         {@link ClickHouseInputStream}
+     */
+    public static ClickHouseInputStream of(InputStream input, int bufferSize, ClickHouseCompression compression,
+            ClickHouseChecksumMode checksumMode, Runnable postCloseAction) {
         if (input == null) {
             return EmptyInputStream.INSTANCE;
         } else if (input != EmptyInputStream.INSTANCE && input instanceof ClickHouseInputStream) {
             return (ClickHouseInputStream) input;
         }
-        return wrap(null, input, bufferSize, postCloseAction, compression, 0);
+        return wrap(null, input, bufferSize, postCloseAction, compression, 0, checksumMode);
     }
 
     /**
@@ -724,6 +779,163 @@ public abstract class ClickHouseInputStream extends InputStream {
         return bytes;
     }
 
+    /**
+     * Reads {@code length} bytes as a byte buffer. Unlike {@link #readBuffer(int)},
+     * content of the returned buffer will not be changed by further reads, so it
+     * can be kept for later use. Input stream, which never reuses its internal
+     * buffer, may return a view of the buffer without creating a copy, hence the
+     * returned buffer should be treated as read-only.
+     *
+     * @param length number of bytes to read
+     * @return non-null byte buffer with exactly {@code length} bytes remaining
+     * @throws IOException when failed to read bytes from input stream, not able to
+     *                     retrieve all bytes, or reached end of the stream
+     */
+    public ByteBuffer readByteBuffer(int length) throws IOException {
+        return ByteBuffer.wrap(readBytes(length));
+    }
+
+    /**
+     * Reads a run of fixed-size elements as a little-endian byte buffer. It's used
+     * by bulk methods like {@link #readInt32Array(int[], int, int)}, and the
+     * returned buffer is only valid until next read.
+     *
+     * @param elementSize byte length of each element, should be greater than zero
+     * @param count       maximum number of elements to read, should be greater
+     *                    than zero
+     * @return non-null little-endian byte buffer holding at least one and at most
+     *         {@code count} elements
+     * @throws IOException when failed to read bytes from input stream, not able to
+     *                     retrieve all bytes, or reached end of the stream
+     */
+    protected ByteBuffer readElements(int elementSize, int count) throws IOException {
+        int len = Math.min(count, Math.max(1, MAX_BULK_LENGTH / elementSize)) * elementSize;
+        ClickHouseByteBuffer buf = readBuffer(len);
+        return ByteBuffer.wrap(buf.array(), buf.position(), len).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Reads {@code length} little-endian 16-bit integers into given array. It's
+     * much faster than reading values one by one, as all bytes are decoded in bulk.
+     *
+     * @param dst    non-null array to store values
+     * @param offset start offset in {@code dst}
+     * @param length number of values to read
+     * @throws IOException when failed to read value from input stream, not able to
+     *                     retrieve all bytes, or reached end of the stream
+     */
+    public void readInt16Array(short[] dst, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > dst.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            ShortBuffer b = readElements(Short.BYTES, length).asShortBuffer();
+            int n = b.remaining();
+            b.get(dst, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Reads {@code length} little-endian 32-bit integers into given array. It's
+     * much faster than reading values one by one, as all bytes are decoded in bulk.
+     *
+     * @param dst    non-null array to store values
+     * @param offset start offset in {@code dst}
+     * @param length number of values to read
+     * @throws IOException when failed to read value from input stream, not able to
+     *                     retrieve all bytes, or reached end of the stream
+     */
+    public void readInt32Array(int[] dst, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > dst.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            IntBuffer b = readElements(Integer.BYTES, length).asIntBuffer();
+            int n = b.remaining();
+            b.get(dst, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Reads {@code length} little-endian 64-bit integers into given array. It's
+     * much faster than reading values one by one, as all bytes are decoded in bulk.
+     *
+     * @param dst    non-null array to store values
+     * @param offset start offset in {@code dst}
+     * @param length number of values to read
+     * @throws IOException when failed to read value from input stream, not able to
+     *                     retrieve all bytes, or reached end of the stream
+     */
+    public void readInt64Array(long[] dst, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > dst.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            LongBuffer b = readElements(Long.BYTES, length).asLongBuffer();
+            int n = b.remaining();
+            b.get(dst, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Reads {@code length} little-endian 32-bit floating point numbers into given
+     * array. It's much faster than reading values one by one, as all bytes are
+     * decoded in bulk.
+     *
+     * @param dst    non-null array to store values
+     * @param offset start offset in {@code dst}
+     * @param length number of values to read
+     * @throws IOException when failed to read value from input stream, not able to
+     *                     retrieve all bytes, or reached end of the stream
+     */
+    public void readFloat32Array(float[] dst, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > dst.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            FloatBuffer b = readElements(Float.BYTES, length).asFloatBuffer();
+            int n = b.remaining();
+            b.get(dst, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Reads {@code length} little-endian 64-bit floating point numbers into given
+     * array. It's much faster than reading values one by one, as all bytes are
+     * decoded in bulk.
+     *
+     * @param dst    non-null array to store values
+     * @param offset start offset in {@code dst}
+     * @param length number of values to read
+     * @throws IOException when failed to read value from input stream, not able to
+     *                     retrieve all bytes, or reached end of the stream
+     */
+    public void readFloat64Array(double[] dst, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > dst.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            DoubleBuffer b = readElements(Double.BYTES, length).asDoubleBuffer();
+            int n = b.remaining();
+            b.get(dst, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
     /**
      * Reads bytes using custom reader. Stream will be closed automatically when it
      * reached end of stream. However, unlike {@link #readBuffer(int)}, this method
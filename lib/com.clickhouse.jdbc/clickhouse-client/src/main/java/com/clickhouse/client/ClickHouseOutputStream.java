@@ -4,7 +4,9 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.zip.GZIPOutputStream;
@@ -24,6 +26,12 @@ public abstract class ClickHouseOutputStream extends OutputStream {
     protected static final String ERROR_REUSE_BUFFER = "Please pass a different byte array instead of the same internal buffer for reading";
     protected static final String ERROR_STREAM_CLOSED = "Output stream has been closed";
 
+    /**
+     * Maximum number of bytes encoded at a time by bulk methods like
+     * {@link #writeInt32Array(int[], int, int)}.
+     */
+    protected static final int MAX_BULK_LENGTH = 8192;
+
     /**
      * Wraps the given output stream.
      *
@@ -38,6 +46,29 @@ public abstract class ClickHouseOutputStream extends OutputStream {
      */
     static ClickHouseOutputStream wrap(ClickHouseFile file, OutputStream output, int bufferSize,
             Runnable postCloseAction, ClickHouseCompression compression, int compressionLevel) {
+        return wrap(file, output, bufferSize, postCloseAction, compression, compressionLevel, 1, 0L);
+    }
+
+    /**
+     * Wraps the given output stream.
+     *
+     * @param file             wrapped file, could be null
+     * @param output           non-null output stream
+     * @param bufferSize       buffer size
+     * @param postCloseAction  custom action will be performed right after closing
+     *                         the wrapped output stream
+     * @param compression      compression algorithm
+     * @param compressionLevel compression level
+     * @param parallelism      number of blocks to compress concurrently, one or
+     *                         less means compressing in current thread
+     * @param memoryLimit      maximum memory in bytes for buffering blocks being
+     *                         compressed in parallel, zero or negative number
+     *                         means two blocks per thread
+     * @return non-null wrapped output stream
+     */
+    static ClickHouseOutputStream wrap(ClickHouseFile file, OutputStream output, int bufferSize,
+            Runnable postCloseAction, ClickHouseCompression compression, int compressionLevel, int parallelism,
+            long memoryLimit) {
         final ClickHouseOutputStream chOutput;
         if (compression == null || compression == ClickHouseCompression.NONE) {
             chOutput = new WrappedOutputStream(file, output, bufferSize, postCloseAction);
@@ -52,7 +83,8 @@ public abstract class ClickHouseOutputStream extends OutputStream {
                     }
                     break;
                 case LZ4:
-                    chOutput = new Lz4OutputStream(file, output, bufferSize, postCloseAction);
+                    chOutput = new Lz4OutputStream(file, output, bufferSize, parallelism, memoryLimit,
+                            postCloseAction);
                     break;
                 default:
                     throw new UnsupportedOperationException("Unsupported compression algorithm: " + compression);
@@ -133,6 +165,30 @@ public abstract class ClickHouseOutputStream extends OutputStream {
      */
     public static ClickHouseOutputStream of(OutputStream output, int bufferSize, ClickHouseCompression compression,
             Runnable postCloseAction) {
+        return of(output, bufferSize, compression, 1, 0L, postCloseAction);
+    }
+
+    /**
+     * Wraps the given output stream.
+     *
+     * @param output          output stream
+     * @param bufferSize      buffer size which is always greater than zero(usually
+     *                        8192 or larger)
+     * @param compression     compression algorithm, null or
+     *                        {@link ClickHouseCompression#NONE} means no
+     *                        compression
+     * @param parallelism     number of blocks to compress concurrently, one or less
+     *                        means compressing in current thread
+     * @param memoryLimit     maximum memory in bytes for buffering blocks being
+     *                        compressed in parallel, zero or negative number means
+     *                        two blocks per thread
+     * @param postCloseAction custom action will be performed right after closing
+     *                        the output stream
+     * @return wrapped output, or the same output if it's instance of
+     *         {@link ClickHouseOutputStream}
+     */
+    public static ClickHouseOutputStream of(OutputStream output, int bufferSize, ClickHouseCompression compression,
+            int parallelism, long memoryLimit, Runnable postCloseAction) {
         final ClickHouseOutputStream chOutput;
         if (output == null) {
             chOutput = EmptyOutputStream.INSTANCE;
@@ -141,7 +197,7 @@ public abstract class ClickHouseOutputStream extends OutputStream {
                     ? (ClickHouseOutputStream) output
                     : new WrappedOutputStream(null, output, bufferSize, postCloseAction);
         } else {
-            chOutput = wrap(null, output, bufferSize, postCloseAction, compression, 0);
+            chOutput = wrap(null, output, bufferSize, postCloseAction, compression, 0, parallelism, memoryLimit);
         }
         return chOutput;
     }
@@ -185,7 +241,9 @@ public abstract class ClickHouseOutputStream extends OutputStream {
     }
 
     /**
-     * Transfer bytes into output stream without creating a copy.
+     * Transfer bytes into output stream without creating a copy. Bytes are read
+     * from current position of the given buffer, which will be advanced by
+     * {@code length} afterwards.
      *
      * @param buffer non-null byte buffer
      * @param length bytes to write
@@ -194,18 +252,23 @@ public abstract class ClickHouseOutputStream extends OutputStream {
      *                     to sent all bytes, or opereate on a closed stream
      */
     public ClickHouseOutputStream transferBytes(ByteBuffer buffer, int length) throws IOException {
-        if (buffer == null || length < 0) {
+        if (buffer == null || length < 0 || length > buffer.remaining()) {
             throw new IllegalArgumentException("Non-null ByteBuffer and positive length are required");
         }
 
         byte[] bytes;
+        int offset;
         if (buffer.hasArray()) {
             bytes = buffer.array();
+            int position = buffer.position();
+            offset = buffer.arrayOffset() + position;
+            ((Buffer) buffer).position(position + length);
         } else {
             bytes = new byte[length];
+            offset = 0;
             buffer.get(bytes);
         }
-        return transferBytes(bytes, 0, length);
+        return transferBytes(bytes, offset, length);
     }
 
     /**
@@ -356,6 +419,178 @@ public abstract class ClickHouseOutputStream extends OutputStream {
      */
     public abstract ClickHouseOutputStream writeCustom(ClickHouseDataUpdater writer) throws IOException;
 
+    /**
+     * Gets a little-endian byte buffer for encoding a run of fixed-size elements,
+     * which will be written into the output stream by
+     * {@link #commitElements(ByteBuffer)}. It's used by bulk methods like
+     * {@link #writeInt32Array(int[], int, int)}.
+     *
+     * @param elementSize byte length of each element, should be greater than zero
+     * @param count       maximum number of elements to write, should be greater
+     *                    than zero
+     * @return non-null little-endian byte buffer, with room for at least one and
+     *         at most {@code count} elements between its position and limit
+     * @throws IOException when failed to write value into output stream, not able
+     *                     to sent all bytes, or opereate on a closed stream
+     */
+    protected ByteBuffer nextElements(int elementSize, int count) throws IOException {
+        int len = Math.min(count, Math.max(1, MAX_BULK_LENGTH / elementSize)) * elementSize;
+        return ByteBuffer.wrap(new byte[len]).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes elements encoded in the byte buffer returned from
+     * {@link #nextElements(int, int)}.
+     *
+     * @param elements non-null byte buffer returned from
+     *                 {@link #nextElements(int, int)}
+     * @throws IOException when failed to write value into output stream, not able
+     *                     to sent all bytes, or opereate on a closed stream
+     */
+    protected void commitElements(ByteBuffer elements) throws IOException {
+        writeBytes(elements.array(), elements.arrayOffset() + elements.position(), elements.remaining());
+    }
+
+    /**
+     * Writes {@code length} 16-bit integers from given array in little-endian byte order.
+     * It's much faster than writing values one by one, as all bytes are encoded in
+     * bulk.
+     *
+     * @param values non-null array of values
+     * @param offset start offset in {@code values}
+     * @param length number of values to write
+     * @return this output stream
+     * @throws IOException when failed to write value into output stream, not able
+     *                     to sent all bytes, or opereate on a closed stream
+     */
+    public ClickHouseOutputStream writeInt16Array(short[] values, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > values.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            ByteBuffer b = nextElements(Short.BYTES, length);
+            int n = b.remaining() / Short.BYTES;
+            b.asShortBuffer().put(values, offset, n);
+            commitElements(b);
+            offset += n;
+            length -= n;
+        }
+        return this;
+    }
+
+    /**
+     * Writes {@code length} 32-bit integers from given array in little-endian byte order.
+     * It's much faster than writing values one by one, as all bytes are encoded in
+     * bulk.
+     *
+     * @param values non-null array of values
+     * @param offset start offset in {@code values}
+     * @param length number of values to write
+     * @return this output stream
+     * @throws IOException when failed to write value into output stream, not able
+     *                     to sent all bytes, or opereate on a closed stream
+     */
+    public ClickHouseOutputStream writeInt32Array(int[] values, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > values.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            ByteBuffer b = nextElements(Integer.BYTES, length);
+            int n = b.remaining() / Integer.BYTES;
+            b.asIntBuffer().put(values, offset, n);
+            commitElements(b);
+            offset += n;
+            length -= n;
+        }
+        return this;
+    }
+
+    /**
+     * Writes {@code length} 64-bit integers from given array in little-endian byte order.
+     * It's much faster than writing values one by one, as all bytes are encoded in
+     * bulk.
+     *
+     * @param values non-null array of values
+     * @param offset start offset in {@code values}
+     * @param length number of values to write
+     * @return this output stream
+     * @throws IOException when failed to write value into output stream, not able
+     *                     to sent all bytes, or opereate on a closed stream
+     */
+    public ClickHouseOutputStream writeInt64Array(long[] values, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > values.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            ByteBuffer b = nextElements(Long.BYTES, length);
+            int n = b.remaining() / Long.BYTES;
+            b.asLongBuffer().put(values, offset, n);
+            commitElements(b);
+            offset += n;
+            length -= n;
+        }
+        return this;
+    }
+
+    /**
+     * Writes {@code length} 32-bit floating point numbers from given array in little-endian byte order.
+     * It's much faster than writing values one by one, as all bytes are encoded in
+     * bulk.
+     *
+     * @param values non-null array of values
+     * @param offset start offset in {@code values}
+     * @param length number of values to write
+     * @return this output stream
+     * @throws IOException when failed to write value into output stream, not able
+     *                     to sent all bytes, or opereate on a closed stream
+     */
+    public ClickHouseOutputStream writeFloat32Array(float[] values, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > values.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            ByteBuffer b = nextElements(Float.BYTES, length);
+            int n = b.remaining() / Float.BYTES;
+            b.asFloatBuffer().put(values, offset, n);
+            commitElements(b);
+            offset += n;
+            length -= n;
+        }
+        return this;
+    }
+
+    /**
+     * Writes {@code length} 64-bit floating point numbers from given array in little-endian byte order.
+     * It's much faster than writing values one by one, as all bytes are encoded in
+     * bulk.
+     *
+     * @param values non-null array of values
+     * @param offset start offset in {@code values}
+     * @param length number of values to write
+     * @return this output stream
+     * @throws IOException when failed to write value into output stream, not able
+     *                     to sent all bytes, or opereate on a closed stream
+     */
+    public ClickHouseOutputStream writeFloat64Array(double[] values, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || length > values.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (length > 0) {
+            ByteBuffer b = nextElements(Double.BYTES, length);
+            int n = b.remaining() / Double.BYTES;
+            b.asDoubleBuffer().put(values, offset, n);
+            commitElements(b);
+            offset += n;
+            length -= n;
+        }
+        return this;
+    }
+
     /**
      * Writes string into the output stream. Nothing will happen when {@code value}
      * is
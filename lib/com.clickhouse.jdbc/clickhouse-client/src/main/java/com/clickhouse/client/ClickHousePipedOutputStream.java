@@ -1,5 +1,9 @@
 package com.clickhouse.client;
 
+import java.util.Optional;
+
+import com.clickhouse.client.stream.AdaptiveBufferPolicy;
+
 /**
  * SPSC(Single-producer single-consumer) channel for streaming.
  */
@@ -8,6 +12,16 @@ public abstract class ClickHousePipedOutputStream extends ClickHouseOutputStream
         super(null, postCloseAction);
     }
 
+    /**
+     * Gets adaptive buffer policy, which also provides metrics like current buffer
+     * size, queue capacity, and observed throughput.
+     *
+     * @return adaptive buffer policy, empty when buffer size is fixed
+     */
+    public Optional<AdaptiveBufferPolicy> getAdaptiveBufferPolicy() {
+        return Optional.empty();
+    }
+
     /**
      * Gets input stream to reada data being written into the output stream.
      *
@@ -0,0 +1,34 @@
+package com.clickhouse.client;
+
+/**
+ * Listener of query progress. It's called whenever the summary of the query is
+ * updated, including each time a chunk of the response is received, which may
+ * increase read bytes and rows of the summary, and it may cancel the query by
+ * returning {@code false}, for instance, when the query reads more rows than
+ * expected.
+ */
+@FunctionalInterface
+public interface ClickHouseProgressListener {
+    /**
+     * Creates a listener to cancel the query when it reads too many rows or bytes.
+     *
+     * @param maxReadRows  maximum rows to read, zero or negative number means no
+     *                     limit
+     * @param maxReadBytes maximum bytes to read, zero or negative number means no
+     *                     limit
+     * @return non-null progress listener
+     */
+    static ClickHouseProgressListener of(long maxReadRows, long maxReadBytes) {
+        return (queryId, summary) -> (maxReadRows <= 0L || summary.getReadRows() <= maxReadRows)
+                && (maxReadBytes <= 0L || summary.getReadBytes() <= maxReadBytes);
+    }
+
+    /**
+     * Triggered when progress of the query was updated.
+     *
+     * @param queryId query id, which may or may not be null
+     * @param summary non-null summary of the query, which has been updated
+     * @return true to continue; false to cancel the query
+     */
+    boolean onProgress(String queryId, ClickHouseResponseSummary summary);
+}
@@ -75,6 +75,7 @@ public class ClickHouseRequest<SelfT extends ClickHouseRequest<SelfT>> implement
 
             this.changeListener = request.changeListener;
             this.serverListener = request.serverListener;
+            this.progressListener = request.progressListener;
         }
 
         @Override
@@ -327,7 +328,7 @@ public class ClickHouseRequest<SelfT extends ClickHouseRequest<SelfT>> implement
                 req.namedParameters.putAll(namedParameters);
 
                 req.input = input;
-                req.queryId = queryId;
+                req.queryId = queryId != null || progressListener == null ? queryId : getManager().createQueryId();
                 req.sql = sql;
 
                 req.preparedQuery = preparedQuery;
@@ -373,6 +374,7 @@ public class ClickHouseRequest<SelfT extends ClickHouseRequest<SelfT>> implement
 
     protected transient ClickHouseConfigChangeListener<ClickHouseRequest<?>> changeListener;
     protected transient BiConsumer<ClickHouseNode, ClickHouseNode> serverListener;
+    protected transient ClickHouseProgressListener progressListener;
 
     // cache
     protected transient ClickHouseConfig config;
@@ -474,6 +476,7 @@ public class ClickHouseRequest<SelfT extends ClickHouseRequest<SelfT>> implement
         req.txRef.set(txRef.get());
         req.changeListener = changeListener;
         req.serverListener = serverListener;
+        req.progressListener = progressListener;
         return req;
     }
 
@@ -584,6 +587,10 @@ public class ClickHouseRequest<SelfT extends ClickHouseRequest<SelfT>> implement
         return this.serverListener;
     }
 
+    public final ClickHouseProgressListener getProgressListener() {
+        return this.progressListener;
+    }
+
     /**
      * Gets input stream.
      *
@@ -1748,6 +1755,22 @@ public class ClickHouseRequest<SelfT extends ClickHouseRequest<SelfT>> implement
         return (SelfT) this;
     }
 
+    /**
+     * Sets thread-safe progress listener, which will be copied to the sealed
+     * request for execution. A query id will be generated when sealing the
+     * request, if it's not set, so that the query can be cancelled by the
+     * listener.
+     *
+     * @param listener thread-safe progress listener which may or may not be null
+     * @return the request itself
+     * @see ClickHouseProgressListener#of(long, long)
+     */
+    @SuppressWarnings("unchecked")
+    public final SelfT setProgressListener(ClickHouseProgressListener listener) {
+        this.progressListener = listener;
+        return (SelfT) this;
+    }
+
     /**
      * Sets target table. Same as {@code table(table, null)}.
      *
@@ -1962,6 +1985,7 @@ public class ClickHouseRequest<SelfT extends ClickHouseRequest<SelfT>> implement
         this.namedParameters.clear();
 
         this.serverListener = null;
+        this.progressListener = null;
 
         if (changeListener == null) {
             this.options.clear();
@@ -1998,7 +2022,8 @@ public class ClickHouseRequest<SelfT extends ClickHouseRequest<SelfT>> implement
 
     /**
      * Creates a sealed request, which is an immutable copy of the current request.
-     * Listeners won't be copied to the sealed instance, because it's immutable.
+     * Listeners won't be copied to the sealed instance, because it's immutable,
+     * except progress listener which is needed during execution.
      *
      * @return sealed request, an immutable copy of the current request
      */
@@ -2015,11 +2040,12 @@ public class ClickHouseRequest<SelfT extends ClickHouseRequest<SelfT>> implement
 
             req.input = input;
             req.output = output;
-            req.queryId = queryId;
+            req.queryId = queryId != null || progressListener == null ? queryId : getManager().createQueryId();
             req.sql = sql;
             req.preparedQuery = preparedQuery;
             req.managerRef.set(managerRef.get());
             req.txRef.set(txRef.get());
+            req.progressListener = progressListener;
         }
 
         return req;
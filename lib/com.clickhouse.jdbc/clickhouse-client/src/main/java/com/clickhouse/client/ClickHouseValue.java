@@ -353,6 +353,34 @@ public interface ClickHouseValue extends Serializable {
                 .convertToInstant(asBigDecimal(ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, 9)));
     }
 
+    /**
+     * Gets value as milliseconds since epoch.
+     *
+     * @return milliseconds since epoch, zero when the value is null
+     */
+    default long asEpochMilli() {
+        if (isNullOrEmpty()) {
+            return 0L;
+        }
+
+        return asInstant(3).toEpochMilli();
+    }
+
+    /**
+     * Gets value as nanoseconds since epoch.
+     *
+     * @return nanoseconds since epoch, zero when the value is null
+     * @throws ArithmeticException when the value does not fit into a long
+     */
+    default long asEpochNano() {
+        if (isNullOrEmpty()) {
+            return 0L;
+        }
+
+        Instant instant = asInstant(9);
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1000000000L), instant.getNano());
+    }
+
     /**
      * Gets value as {@link java.time.OffsetDateTime}.
      *
@@ -0,0 +1,210 @@
+package com.clickhouse.client.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import com.clickhouse.client.ClickHouseCache;
+
+/**
+ * A thread-safe cache based on {@link ConcurrentHashMap}, which requires no
+ * extra dependency. Unlike {@link JdkLruCache}, cache hits do not acquire any
+ * lock. When the cache is full, entries are evicted using CLOCK(second chance)
+ * algorithm, which approximates LRU. Entries are also expired after being idle
+ * for a given period of time.
+ */
+public class JdkClockCache<K, V> implements ClickHouseCache<K, V> {
+    // minimum interval to update access time, to avoid writing on every hit
+    private static final long ACCESS_TIME_GRANULARITY = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    static final class Entry<V> {
+        final V value;
+
+        volatile long accessTime;
+        volatile boolean referenced;
+
+        Entry(V value, long accessTime) {
+            this.value = value;
+            this.accessTime = accessTime;
+            this.referenced = false;
+        }
+    }
+
+    /**
+     * Creates a cache with given capacity, expiration and load function.
+     *
+     * @param <K>           type of the key
+     * @param <V>           type of the value
+     * @param capacity      capacity of the cache, zero or negative number will be
+     *                      treated as {@link ClickHouseCache#DEFAULT_CACHE_SIZE}
+     * @param expireSeconds seconds to expire after access, zero or negative
+     *                      number means never expire
+     * @param loadFunc      non-null load function
+     * @return cache
+     */
+    public static <K, V> ClickHouseCache<K, V> create(int capacity, long expireSeconds, Function<K, V> loadFunc) {
+        return new JdkClockCache<>(capacity, expireSeconds, loadFunc);
+    }
+
+    private final int capacity;
+    private final long expireNanos;
+    private final Function<K, V> loadFunc;
+    private final ConcurrentHashMap<K, Entry<V>> cache;
+
+    private final ReentrantLock evictionLock;
+    // clock hand, guarded by evictionLock
+    private Iterator<Map.Entry<K, Entry<V>>> hand;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    protected JdkClockCache(int capacity, long expireSeconds, Function<K, V> loadFunc) {
+        this.capacity = capacity > 0 ? capacity : DEFAULT_CACHE_SIZE;
+        this.expireNanos = expireSeconds > 0L ? TimeUnit.SECONDS.toNanos(expireSeconds) : 0L;
+        this.loadFunc = Objects.requireNonNull(loadFunc, "Non-null load function is required");
+        this.cache = new ConcurrentHashMap<>(Math.min(this.capacity, 1024));
+
+        this.evictionLock = new ReentrantLock();
+        this.hand = null;
+
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return expireNanos > 0L && now - entry.accessTime >= expireNanos;
+    }
+
+    private void evict(long now) {
+        // check again after unlocking, as entries added while evicting might be
+        // skipped by other threads
+        while (cache.size() > capacity && evictionLock.tryLock()) { // or someone else is working on it
+            evictEntries(now);
+        }
+    }
+
+    private void evictEntries(long now) {
+        try {
+            // give up second chance after two rounds, in case all entries are hot
+            int maxAttempts = (cache.size() << 1) + 1;
+            for (int i = 0; cache.size() > capacity; i++) {
+                if (hand == null || !hand.hasNext()) {
+                    hand = cache.entrySet().iterator();
+                    if (!hand.hasNext()) {
+                        break;
+                    }
+                }
+
+                Map.Entry<K, Entry<V>> e = hand.next();
+                Entry<V> entry = e.getValue();
+                if (entry.referenced && i < maxAttempts && !isExpired(entry, now)) {
+                    entry.referenced = false;
+                } else if (cache.remove(e.getKey(), entry)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        final long now = expireNanos > 0L ? System.nanoTime() : 0L;
+
+        Entry<V> entry = cache.get(key);
+        if (entry != null) {
+            if (!isExpired(entry, now)) {
+                if (!entry.referenced) {
+                    entry.referenced = true;
+                }
+                if (expireNanos > 0L && now - entry.accessTime >= ACCESS_TIME_GRANULARITY) {
+                    entry.accessTime = now;
+                }
+                hits.increment();
+                return entry.value;
+            } else if (cache.remove(key, entry)) {
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        entry = cache.computeIfAbsent(key, k -> new Entry<>(loadFunc.apply(k), now));
+        if (cache.size() > capacity) {
+            evict(now);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Gets capacity of the cache.
+     *
+     * @return capacity of the cache
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets estimated number of entries in the cache.
+     *
+     * @return estimated number of entries
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Gets number of cache hits.
+     *
+     * @return number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets number of cache misses, which is same as number of loads.
+     *
+     * @return number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets number of entries evicted from the cache, including expired ones.
+     *
+     * @return number of evicted entries
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes all entries from the cache. Statistics are not reset.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> clazz) {
+        Objects.requireNonNull(clazz, "Non-null class is required");
+        return clazz.isInstance(this) ? clazz.cast(this) : clazz.cast(cache);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder().append(getClass().getSimpleName()).append("(capacity=").append(capacity)
+                .append(", size=").append(cache.size()).append(", hits=").append(hits.sum()).append(", misses=")
+                .append(misses.sum()).append(", evictions=").append(evictions.sum()).append(')').toString();
+    }
+}
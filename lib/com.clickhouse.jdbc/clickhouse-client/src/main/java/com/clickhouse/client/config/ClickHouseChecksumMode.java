@@ -0,0 +1,27 @@
+package com.clickhouse.client.config;
+
+/**
+ * Defines how checksum of compressed blocks in server response is verified.
+ */
+public enum ClickHouseChecksumMode {
+    /**
+     * Verify checksum of each block before decompressing it, in the thread
+     * reading the response. This is the safest mode.
+     */
+    SYNC,
+    /**
+     * Verify checksum in a background thread while the block is being
+     * decompressed and consumed. Mismatch is reported on the next read, so data
+     * of a corrupted block may have been consumed.
+     */
+    ASYNC,
+    /**
+     * Same as {@link #SYNC} for plain connections, but skip verification when
+     * SSL/TLS is enabled, since the connection has its own integrity check.
+     */
+    SKIP_ON_SSL,
+    /**
+     * Do not verify checksum.
+     */
+    NONE
+}
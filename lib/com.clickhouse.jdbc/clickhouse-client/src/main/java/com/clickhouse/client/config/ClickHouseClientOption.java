@@ -83,6 +83,26 @@ public enum ClickHouseClientOption implements ClickHouseOption {
      */
     BUFFER_QUEUE_VARIATION("buffer_queue_variation", 100,
             "Number of times the buffer queue is filled up before increasing capacity of buffer queue. Zero or negative value means the queue length is fixed."),
+    /**
+     * Whether to adjust buffer size and queue length of piped streams at runtime,
+     * based on observed throughput and consumer lag. When enabled, buffer size
+     * starts from {@link #MIN_BUFFER_SIZE} and grows up to
+     * {@link #MAX_BUFFER_SIZE}, while queue length starts from one and grows up to
+     * {@link #MAX_QUEUED_BUFFERS}.
+     */
+    ADAPTIVE_BUFFER("adaptive_buffer", false,
+            "Whether to adjust buffer size and queue length of piped streams at runtime, based on observed throughput and consumer lag."),
+    /**
+     * Expected time in milliseconds to fill up one buffer when
+     * {@link #ADAPTIVE_BUFFER} is enabled. Larger value means larger buffers for
+     * the same throughput.
+     */
+    ADAPTIVE_BUFFER_INTERVAL("adaptive_buffer_interval", 10,
+            "Expected time in milliseconds to fill up one buffer when adaptive_buffer is enabled."),
+    /**
+     * Minimum buffer size in byte when {@link #ADAPTIVE_BUFFER} is enabled.
+     */
+    MIN_BUFFER_SIZE("min_buffer_size", 1024, "Minimum buffer size in byte when adaptive_buffer is enabled."),
     /**
      * Read buffer size in byte. It's mainly for input stream(e.g. reading data from
      * server response). Its value defaults to {@link #BUFFER_SIZE}, and it will be
@@ -145,6 +165,24 @@ public enum ClickHouseClientOption implements ClickHouseOption {
      * Compression level for decompress client request.
      */
     DECOMPRESS_LEVEL("decompress_level", 3, "Compression level for request, from 0 to 9(low to high)"),
+    /**
+     * Number of blocks compressed concurrently when compressing client request.
+     */
+    DECOMPRESS_PARALLELISM("decompress_parallelism", 1,
+            "Number of blocks to compress concurrently for request, one means compressing in the writer's thread, "
+                    + "and zero or negative number means number of available processors."),
+    /**
+     * Maximum memory in bytes used for buffering blocks being compressed.
+     */
+    DECOMPRESS_MEMORY_LIMIT("decompress_memory_limit", 0L,
+            "Maximum memory in bytes for buffering blocks being compressed in parallel, "
+                    + "zero or negative number means two blocks per thread."),
+    /**
+     * How to verify checksum of compressed blocks in server response.
+     */
+    CHECKSUM_MODE("checksum_mode", ClickHouseChecksumMode.SYNC,
+            "How to verify checksum of compressed blocks in server response. ASYNC verifies in a background thread, "
+                    + "and SKIP_ON_SSL skips verification when SSL/TLS is enabled."),
 
     /**
      * Connection timeout in milliseconds.
@@ -176,6 +214,15 @@ public enum ClickHouseClientOption implements ClickHouseOption {
      */
     MAX_BUFFER_SIZE("max_buffer_size", 1024 * 1024 * 1024,
             "Maximum buffer size in byte can be used for streaming."),
+    /**
+     * Maximum number of distinct values kept in the dictionary of each
+     * {@code LowCardinality(String)} column, so that identical values read from
+     * the response share one {@link String} instance. Zero or negative number
+     * disables the dictionary.
+     */
+    MAX_DICTIONARY_SIZE("max_dictionary_size", 0,
+            "Maximum number of distinct values kept in the dictionary of each LowCardinality(String) column, "
+                    + "zero or negative number disables the dictionary."),
     /**
      * Maximum query execution time in seconds.
      */
@@ -295,6 +342,77 @@ public enum ClickHouseClientOption implements ClickHouseOption {
      * Whether to use blocking queue for buffering.
      */
     USE_BLOCKING_QUEUE("use_blocking_queue", true, "Whether to use blocking queue for buffering."),
+    /**
+     * Strategy for waiting on non-blocking queue.
+     */
+    QUEUE_WAIT_STRATEGY("queue_wait_strategy", ClickHouseWaitStrategy.PARK,
+            "Strategy for waiting on non-blocking queue, only works when use_blocking_queue is false. "
+                    + "SPIN has lowest latency but burns CPU, while PARK spins, yields and then parks the thread."),
+    /**
+     * Whether to spill buffers into a temporary file, instead of waiting for the
+     * reader, when there are already {@link #MAX_QUEUED_BUFFERS} buffers in the
+     * queue. Only works when {@link #USE_BLOCKING_QUEUE} is true.
+     */
+    SPILL_TO_DISK("spill_to_disk", false,
+            "Whether to spill buffers into a temporary file, instead of waiting for the reader, when the queue is full. "
+                    + "Only works when use_blocking_queue is true and max_queued_buffers is greater than zero."),
+    /**
+     * Maximum size in byte of the temporary file when {@link #SPILL_TO_DISK} is
+     * enabled. Writer will wait for the reader once the file is full.
+     */
+    MAX_SPILL_SIZE("max_spill_size", 1024L * 1024L * 1024L,
+            "Maximum size in byte of the temporary file when spill_to_disk is enabled, "
+                    + "zero or negative number means no limit."),
+    /**
+     * Whether to read {@code Map} columns into flat primitive arrays, which are
+     * reused across rows, instead of {@link java.util.Map}. Only applies to maps
+     * with {@code String} or integer keys and non-nullable {@code String} or
+     * numeric values.
+     */
+    USE_FLAT_MAP("use_flat_map", false,
+            "Whether to read Map columns with String or integer keys and non-nullable String or numeric values "
+                    + "into flat primitive arrays reused across rows, instead of java.util.Map."),
+    /**
+     * Whether to use streaming JSON processor for row-based JSON formats like
+     * {@code JSONEachRow} and {@code JSONCompactEachRow}, instead of treating each
+     * row as a single string value.
+     */
+    USE_JSON_PROCESSOR("use_json_processor", false,
+            "Whether to use streaming JSON processor for row-based JSON formats like JSONEachRow and "
+                    + "JSONCompactEachRow, instead of treating each row as a single string value."),
+    /**
+     * Whether to keep {@code Decimal32} and {@code Decimal64} values as unscaled
+     * {@code long} along with scale, and only create {@link java.math.BigDecimal}
+     * on demand.
+     */
+    USE_LONG_DECIMAL("use_long_decimal", false,
+            "Whether to keep Decimal32 and Decimal64 values as unscaled long along with scale, "
+                    + "and only create BigDecimal on demand."),
+    /**
+     * Whether to deserialize bitmap into mutable {@code RoaringBitmap} or
+     * {@code Roaring64NavigableMap}, instead of read-only view of the response
+     * buffer.
+     */
+    USE_MUTABLE_BITMAP("use_mutable_bitmap", false,
+            "Whether to deserialize bitmap into mutable RoaringBitmap or Roaring64NavigableMap, "
+                    + "instead of read-only view of the response buffer."),
+    /**
+     * Whether to use primitive arrays along with positions of null elements, instead
+     * of Object[], for arrays of nullable {@code Int32}, {@code Int64},
+     * {@code Float32} and {@code Float64}. It has no effect when
+     * {@link #USE_OBJECTS_IN_ARRAYS} is enabled.
+     */
+    USE_PRIMITIVES_IN_NULLABLE_ARRAYS("use_primitives_in_nullable_arrays", false,
+            "Whether to use primitive arrays along with positions of null elements, instead of Object[], "
+                    + "for arrays of nullable Int32, Int64, Float32 and Float64."),
+    /**
+     * Whether to keep {@code Int128}, {@code UInt128}, {@code Int256} and
+     * {@code UInt256} values in 2 or 4 {@code long}s, and only create
+     * {@link java.math.BigInteger} on demand.
+     */
+    USE_PRIMITIVES_FOR_WIDE_INTEGERS("use_primitives_for_wide_integers", false,
+            "Whether to keep Int128, UInt128, Int256 and UInt256 values in 2 or 4 longs, "
+                    + "and only create BigInteger on demand."),
     /**
      * Whether Object[] should be used instead of primitive arrays.
      */
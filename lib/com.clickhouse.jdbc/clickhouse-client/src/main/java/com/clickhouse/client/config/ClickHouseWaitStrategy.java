@@ -0,0 +1,27 @@
+package com.clickhouse.client.config;
+
+/**
+ * Strategy for waiting on a non-blocking queue, when it's empty(for reader) or
+ * full(for writer). Each strategy includes the one(s) before it, for example
+ * {@link #PARK} spins for a while, then yields, and eventually parks the
+ * thread.
+ */
+public enum ClickHouseWaitStrategy {
+    /**
+     * Keep spinning until the queue is ready. This provides lowest latency but
+     * burns a CPU core while waiting, so it's only suitable when there are
+     * enough idle cores.
+     */
+    SPIN,
+    /**
+     * Spin for a short period of time and then keep yielding the processor to
+     * other threads.
+     */
+    YIELD,
+    /**
+     * Spin, yield, and then park the thread until it's woken up by the other
+     * side of the queue or timed out. This provides good balance between
+     * latency and CPU usage, which makes it ideal as default strategy.
+     */
+    PARK
+}
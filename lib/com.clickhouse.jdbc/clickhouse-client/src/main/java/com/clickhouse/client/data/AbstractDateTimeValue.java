@@ -0,0 +1,471 @@
+package com.clickhouse.client.data;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.TimeZone;
+
+import com.clickhouse.client.ClickHouseChecker;
+import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.ClickHouseValues;
+
+/**
+ * Base class of DateTime and DateTime64 values. Instead of holding a
+ * {@link LocalDateTime} or {@link OffsetDateTime} object, it stores seconds
+ * since epoch and nano of second as primitives, and the object returned by
+ * {@link #getValue()} is created on demand.
+ */
+public abstract class AbstractDateTimeValue<T> implements ClickHouseValue {
+    private static final int[] BASES = new int[] { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000,
+            1000000000 };
+
+    private static final long NANOS_IN_SECOND = 1000000000L;
+    private static final long SECONDS_IN_DAY = 86400L;
+
+    private final int scale;
+    private final TimeZone tz;
+    // not serializable, rebuilt from tz on deserialization
+    private transient ClickHouseZoneRules rules;
+
+    private boolean isNull;
+    private long epochSecond;
+    private int nanos;
+    // materialized value, null when it's not created yet
+    private T value;
+
+    protected AbstractDateTimeValue(int scale, TimeZone tz) {
+        this.scale = ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, 9);
+        this.tz = tz != null ? tz : ClickHouseValues.UTC_TIMEZONE;
+        this.rules = ClickHouseZoneRules.of(this.tz);
+
+        this.isNull = true;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.rules = ClickHouseZoneRules.of(tz);
+    }
+
+    /**
+     * Creates value object based on the given instant.
+     *
+     * @param epochSecond seconds since epoch
+     * @param nanos       nano of second
+     * @return non-null value object
+     */
+    protected abstract T create(long epochSecond, int nanos);
+
+    protected AbstractDateTimeValue<T> set(long epochSecond, int nanos, T value) {
+        this.isNull = false;
+        this.epochSecond = epochSecond;
+        this.nanos = nanos;
+        this.value = value;
+        return this;
+    }
+
+    protected AbstractDateTimeValue<T> set(AbstractDateTimeValue<?> v) {
+        if (v.isNull) {
+            return resetToNullOrEmpty();
+        }
+
+        return set(v.epochSecond, v.nanos, null);
+    }
+
+    /**
+     * Sets ticks, which is seconds since epoch multiplied by {@code 10^scale}.
+     *
+     * @param ticks ticks since epoch
+     * @return this object
+     */
+    protected AbstractDateTimeValue<T> setTicks(long ticks) {
+        if (scale == 0) {
+            return set(ticks, 0, null);
+        }
+
+        int factor = BASES[scale];
+        return set(Math.floorDiv(ticks, factor), (int) Math.floorMod(ticks, factor) * BASES[9 - scale], null);
+    }
+
+    /**
+     * Gets rules of the time zone.
+     *
+     * @return non-null rules of the time zone
+     */
+    public ClickHouseZoneRules getZoneRules() {
+        return rules;
+    }
+
+    /**
+     * Gets value. Same as {@link #asObject()}.
+     *
+     * @return value, could be null
+     */
+    public final T getValue() {
+        if (isNull) {
+            return null;
+        } else if (value == null) {
+            value = create(epochSecond, nanos);
+        }
+        return value;
+    }
+
+    /**
+     * Gets scale.
+     *
+     * @return scale, between 0 and 9 inclusive
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Gets time zone.
+     *
+     * @return non-null time zone
+     */
+    public TimeZone getTimeZone() {
+        return tz;
+    }
+
+    /**
+     * Gets seconds since epoch.
+     *
+     * @return seconds since epoch, zero when the value is null
+     */
+    public long getEpochSecond() {
+        return isNull ? 0L : epochSecond;
+    }
+
+    /**
+     * Gets nano of second.
+     *
+     * @return nano of second, between 0 and 999,999,999 inclusive
+     */
+    public int getNanos() {
+        return isNull ? 0 : nanos;
+    }
+
+    /**
+     * Updates value using seconds since epoch and nano of second. This is more
+     * efficient than {@link #update(Instant)} or {@link #update(LocalDateTime)}, as
+     * no object is created.
+     *
+     * @param epochSecond seconds since epoch
+     * @param nanos       nano of second, between 0 and 999,999,999 inclusive
+     * @return this object
+     */
+    public AbstractDateTimeValue<T> updateEpochSecond(long epochSecond, int nanos) {
+        return set(epochSecond, nanos, null);
+    }
+
+    @Override
+    public boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) getEpochSecond();
+    }
+
+    @Override
+    public short asShort() {
+        return (short) getEpochSecond();
+    }
+
+    @Override
+    public int asInteger() {
+        return (int) getEpochSecond();
+    }
+
+    @Override
+    public long asLong() {
+        return getEpochSecond();
+    }
+
+    @Override
+    public float asFloat() {
+        return isNull ? 0F : epochSecond + nanos / ClickHouseValues.NANOS.floatValue();
+    }
+
+    @Override
+    public double asDouble() {
+        return isNull ? 0D : epochSecond + nanos / ClickHouseValues.NANOS.doubleValue();
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        return isNull ? null : BigInteger.valueOf(epochSecond);
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        BigDecimal v = null;
+        if (!isNull) {
+            v = new BigDecimal(BigInteger.valueOf(epochSecond), scale);
+            if (scale != 0 && nanos != 0) {
+                v = v.add(BigDecimal.valueOf(nanos).divide(ClickHouseValues.NANOS).setScale(scale,
+                        ClickHouseValues.ROUNDING_MODE));
+            }
+        }
+        return v;
+    }
+
+    @Override
+    public long asEpochMilli() {
+        return isNull ? 0L : epochSecond * 1000L + nanos / 1000000;
+    }
+
+    @Override
+    public long asEpochNano() {
+        return isNull ? 0L : Math.addExact(Math.multiplyExact(epochSecond, NANOS_IN_SECOND), nanos);
+    }
+
+    @Override
+    public LocalDate asDate() {
+        return isNull ? null : LocalDate.ofEpochDay(rules.toEpochDay(epochSecond));
+    }
+
+    @Override
+    public LocalTime asTime(int scale) {
+        if (isNull) {
+            return null;
+        }
+
+        long secondOfDay = Math.floorMod(epochSecond + rules.getOffset(epochSecond), SECONDS_IN_DAY);
+        return LocalTime.ofNanoOfDay(secondOfDay * NANOS_IN_SECOND + nanos);
+    }
+
+    @Override
+    public LocalDateTime asDateTime(int scale) {
+        return isNull ? null : rules.toLocalDateTime(epochSecond, nanos);
+    }
+
+    @Override
+    public Instant asInstant(int scale) {
+        return isNull ? null : Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    @Override
+    public OffsetDateTime asOffsetDateTime(int scale) {
+        if (isNull) {
+            return null;
+        }
+
+        int offset = rules.getOffset(epochSecond);
+        return OffsetDateTime.of(LocalDateTime.ofEpochSecond(epochSecond + offset, nanos, ZoneOffset.UTC),
+                ZoneOffset.ofTotalSeconds(offset));
+    }
+
+    @Override
+    public ZonedDateTime asZonedDateTime(int scale) {
+        if (isNull) {
+            return null;
+        }
+
+        int offset = rules.getOffset(epochSecond);
+        return ZonedDateTime.ofInstant(LocalDateTime.ofEpochSecond(epochSecond + offset, nanos, ZoneOffset.UTC),
+                ZoneOffset.ofTotalSeconds(offset), rules.getZoneId());
+    }
+
+    @Override
+    public Object asObject() {
+        return getValue();
+    }
+
+    @Override
+    public String asString() {
+        if (isNull) {
+            return null;
+        }
+
+        // different formatter for each scale?
+        return asDateTime(scale)
+                .format(scale > 0 ? ClickHouseValues.DATETIME_FORMATTER : ClickHouseDateTimeValue.dateTimeFormatter);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> resetToDefault() {
+        return set(ClickHouseInstantValue.DEFAULT.getEpochSecond(), ClickHouseInstantValue.DEFAULT.getNano(), null);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> resetToNullOrEmpty() {
+        this.isNull = true;
+        this.epochSecond = 0L;
+        this.nanos = 0;
+        this.value = null;
+        return this;
+    }
+
+    @Override
+    public String toSqlExpression() {
+        if (isNull) {
+            return ClickHouseValues.NULL_EXPR;
+        }
+
+        return new StringBuilder().append('\'').append(asString()).append('\'').toString();
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(byte value) {
+        return setTicks(value);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(short value) {
+        return setTicks(value);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(int value) {
+        return setTicks(value);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(long value) {
+        return setTicks(value);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(float value) {
+        return update(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(double value) {
+        return update(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(BigInteger value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        } else if (value.bitLength() < Long.SIZE) {
+            return setTicks(value.longValue());
+        }
+
+        return update(new BigDecimal(value, scale));
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(BigDecimal value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        if (value.scale() != scale) {
+            value = value.setScale(scale, ClickHouseValues.ROUNDING_MODE);
+        }
+        Instant instant = ClickHouseValues.convertToInstant(value);
+        return set(instant.getEpochSecond(), instant.getNano(), null);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(Enum<?> value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        return setTicks(value.ordinal());
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(LocalDate value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        return set(rules.getStartOfDay(value.toEpochDay()), 0, null);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(LocalTime value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        return update(LocalDateTime.of(LocalDate.now(), value));
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(LocalDateTime value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        return set(rules.toEpochSecond(value), value.getNano(), null);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(Instant value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        return set(value.getEpochSecond(), value.getNano(), null);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(OffsetDateTime value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        return set(value.toEpochSecond(), value.getNano(), null);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(ZonedDateTime value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        return set(value.toEpochSecond(), value.getNano(), null);
+    }
+
+    @Override
+    public AbstractDateTimeValue<T> update(String value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        return update(LocalDateTime.parse(value, ClickHouseValues.DATETIME_FORMATTER));
+    }
+
+    @Override
+    public ClickHouseValue update(Object value) {
+        return ClickHouseValue.super.update(value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        AbstractDateTimeValue<?> v = (AbstractDateTimeValue<?>) obj;
+        return Objects.equals(getValue(), v.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
@@ -1,17 +1,19 @@
 package com.clickhouse.client.data;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
 import java.math.BigDecimal;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TimeZone;
 
 import com.clickhouse.client.ClickHouseArraySequence;
+import com.clickhouse.client.ClickHouseByteBuffer;
 import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseColumn;
 import com.clickhouse.client.ClickHouseConfig;
@@ -22,6 +24,11 @@ import com.clickhouse.client.ClickHouseOutputStream;
 import com.clickhouse.client.ClickHouseSerializer;
 import com.clickhouse.client.ClickHouseValue;
 import com.clickhouse.client.ClickHouseValues;
+import com.clickhouse.client.data.array.ClickHouseDoubleArrayValue;
+import com.clickhouse.client.data.array.ClickHouseFloatArrayValue;
+import com.clickhouse.client.data.array.ClickHouseIntArrayValue;
+import com.clickhouse.client.data.array.ClickHouseLongArrayValue;
+import com.clickhouse.client.data.array.ClickHouseShortArrayValue;
 
 public interface BinaryDataProcessor {
     static class ArrayDeserializer extends ClickHouseDeserializer.CompositeDeserializer {
@@ -72,6 +79,8 @@ public interface BinaryDataProcessor {
     static class ArraySerializer extends ClickHouseSerializer.CompositeSerializer {
         private final long length;
         private final ClickHouseValue valValue;
+        // element type of one-dimensional non-nullable array, which may be written in bulk
+        private final ClickHouseDataType primitiveType;
 
         public ArraySerializer(ClickHouseConfig config, ClickHouseColumn column, boolean varLength,
                 ClickHouseSerializer... serializers) {
@@ -84,6 +93,52 @@ public interface BinaryDataProcessor {
 
             this.length = length;
             valValue = column.getNestedColumns().get(0).newValue(config);
+
+            ClickHouseColumn baseColumn = column.getArrayBaseColumn();
+            primitiveType = column.getArrayNestedLevel() == 1 && !baseColumn.isNullable() ? baseColumn.getDataType()
+                    : null;
+        }
+
+        private boolean serializePrimitive(ClickHouseValue value, int len, ClickHouseOutputStream output)
+                throws IOException {
+            switch (primitiveType) {
+                case Int16:
+                case UInt16:
+                    if (value instanceof ClickHouseShortArrayValue) {
+                        output.writeInt16Array(((ClickHouseShortArrayValue) value).getValue(), 0, len);
+                        return true;
+                    }
+                    break;
+                case Int32:
+                case UInt32:
+                    if (value instanceof ClickHouseIntArrayValue) {
+                        output.writeInt32Array(((ClickHouseIntArrayValue) value).getValue(), 0, len);
+                        return true;
+                    }
+                    break;
+                case Int64:
+                case UInt64:
+                    if (value instanceof ClickHouseLongArrayValue) {
+                        output.writeInt64Array(((ClickHouseLongArrayValue) value).getValue(), 0, len);
+                        return true;
+                    }
+                    break;
+                case Float32:
+                    if (value instanceof ClickHouseFloatArrayValue) {
+                        output.writeFloat32Array(((ClickHouseFloatArrayValue) value).getValue(), 0, len);
+                        return true;
+                    }
+                    break;
+                case Float64:
+                    if (value instanceof ClickHouseDoubleArrayValue) {
+                        output.writeFloat64Array(((ClickHouseDoubleArrayValue) value).getValue(), 0, len);
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return false;
         }
 
         @Override
@@ -98,6 +153,9 @@ public interface BinaryDataProcessor {
                 output.writeVarInt(len = arr.length());
             }
 
+            if (len == 0 || (primitiveType != null && len == arr.length() && serializePrimitive(value, len, output))) {
+                return;
+            }
             ClickHouseSerializer s = serializers[0];
             for (int i = 0; i < len; i++) {
                 s.serialize(arr.getValue(i, valValue), output);
@@ -105,6 +163,186 @@ public interface BinaryDataProcessor {
         }
     }
 
+    /**
+     * Deserializer of multi-dimensional array of primitive values, which reads
+     * elements of innermost arrays in bulk without wrapping each of them into
+     * {@link ClickHouseValue}.
+     */
+    static class PrimitiveArrayDeserializer implements ClickHouseDeserializer {
+        /**
+         * Checks whether the given primitive class can hold values of the given byte
+         * length without conversion.
+         *
+         * @param primitiveClass primitive class
+         * @param byteLength     byte length of the data type
+         * @return true if values can be read as is; false otherwise
+         */
+        static boolean isSupported(Class<?> primitiveClass, int byteLength) {
+            if (primitiveClass == byte.class) {
+                return byteLength == Byte.BYTES;
+            } else if (primitiveClass == short.class) {
+                return byteLength == Short.BYTES;
+            } else if (primitiveClass == int.class || primitiveClass == float.class) {
+                return byteLength == Integer.BYTES;
+            } else if (primitiveClass == long.class || primitiveClass == double.class) {
+                return byteLength == Long.BYTES;
+            }
+            return false;
+        }
+
+        private final Class<?> primitiveClass;
+        // array class of each level, for example float[][] for level 2
+        private final Class<?>[] arrayClasses;
+
+        public PrimitiveArrayDeserializer(Class<?> primitiveClass, int level) {
+            this.primitiveClass = ClickHouseChecker.nonNull(primitiveClass, ClickHouseValues.TYPE_CLASS);
+            this.arrayClasses = new Class<?>[level + 1];
+            for (int i = 1; i <= level; i++) {
+                arrayClasses[i] = ClickHouseValues.createPrimitiveArray(primitiveClass, 0, i).getClass();
+            }
+        }
+
+        protected Object read(ClickHouseInputStream input, int level) throws IOException {
+            int len = input.readVarInt();
+            if (level > 1) {
+                Object[] array = (Object[]) Array.newInstance(arrayClasses[level - 1], len);
+                for (int i = 0; i < len; i++) {
+                    array[i] = read(input, level - 1);
+                }
+                return array;
+            }
+
+            final Object array;
+            if (primitiveClass == byte.class) {
+                array = input.readBytes(len);
+            } else if (primitiveClass == short.class) {
+                short[] values = new short[len];
+                input.readInt16Array(values, 0, len);
+                array = values;
+            } else if (primitiveClass == int.class) {
+                int[] values = new int[len];
+                input.readInt32Array(values, 0, len);
+                array = values;
+            } else if (primitiveClass == long.class) {
+                long[] values = new long[len];
+                input.readInt64Array(values, 0, len);
+                array = values;
+            } else if (primitiveClass == float.class) {
+                float[] values = new float[len];
+                input.readFloat32Array(values, 0, len);
+                array = values;
+            } else if (primitiveClass == double.class) {
+                double[] values = new double[len];
+                input.readFloat64Array(values, 0, len);
+                array = values;
+            } else {
+                throw new IllegalArgumentException("Unsupported primitive type: " + primitiveClass);
+            }
+            return array;
+        }
+
+        @Override
+        public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+            return ref.update(read(input, arrayClasses.length - 1));
+        }
+    }
+
+    /**
+     * Deserializer of {@code LowCardinality(String)} with a bounded dictionary, so
+     * that identical values share one {@link String} instance and dictionary id.
+     * Values not in the dictionary are decoded as usual once it's full.
+     */
+    static class LowCardinalityStringDeserializer implements ClickHouseDeserializer {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private static int hash(byte[] bytes, int offset, int length) {
+            int h = 1;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                h = 31 * h + bytes[i];
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private static boolean equals(byte[] key, byte[] bytes, int offset) {
+            for (int i = 0, len = key.length; i < len; i++) {
+                if (key[i] != bytes[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private final int maxSize;
+
+        private int size;
+        // encoded value and decoded string of each dictionary id
+        private byte[][] keys;
+        private String[] values;
+        // open addressing hash table of dictionary id plus one
+        private int[] table;
+
+        public LowCardinalityStringDeserializer(int maxSize) {
+            this.maxSize = maxSize;
+
+            this.size = 0;
+            this.keys = new byte[INITIAL_CAPACITY][];
+            this.values = new String[INITIAL_CAPACITY];
+            this.table = new int[INITIAL_CAPACITY * 2];
+        }
+
+        private void add(byte[] key, String value, int slot) {
+            int id = size++;
+            if (id >= keys.length) {
+                int capacity = keys.length * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[id] = key;
+            values[id] = value;
+            table[slot] = id + 1;
+
+            if (size * 2 > table.length) {
+                int[] newTable = new int[table.length * 2];
+                int mask = newTable.length - 1;
+                for (int i = 0; i < size; i++) {
+                    byte[] k = keys[i];
+                    int s = hash(k, 0, k.length) & mask;
+                    while (newTable[s] != 0) {
+                        s = (s + 1) & mask;
+                    }
+                    newTable[s] = i + 1;
+                }
+                table = newTable;
+            }
+        }
+
+        @Override
+        public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+            int length = input.readVarInt();
+            ClickHouseByteBuffer buf = input.readBuffer(length);
+            byte[] bytes = buf.array();
+            int offset = buf.position();
+
+            int mask = table.length - 1;
+            int slot = hash(bytes, offset, length) & mask;
+            int id;
+            while ((id = table[slot] - 1) >= 0) {
+                byte[] key = keys[id];
+                if (key.length == length && equals(key, bytes, offset)) {
+                    return ClickHouseLowCardinalityStringValue.of(ref, values[id], id);
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            String value = buf.asUnicodeString();
+            if (size < maxSize) {
+                id = size;
+                add(Arrays.copyOfRange(bytes, offset, offset + length), value, slot);
+            }
+            return ClickHouseLowCardinalityStringValue.of(ref, value, id);
+        }
+    }
+
     static class NullableDeserializer implements ClickHouseDeserializer {
         private final ClickHouseDeserializer deserializer;
 
@@ -144,28 +382,24 @@ public interface BinaryDataProcessor {
         }
 
         protected final ZoneId zoneId;
+        protected final ClickHouseZoneRules rules;
 
         public DateSerDe(TimeZone tz) {
-            this.zoneId = tz != null ? tz.toZoneId() : ClickHouseValues.SYS_ZONE;
+            this.rules = tz != null ? ClickHouseZoneRules.of(tz) : ClickHouseZoneRules.SYSTEM;
+            this.zoneId = rules.getZoneId();
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            LocalDate d = LocalDate.ofEpochDay(input.readBuffer(2).asUnsignedShort());
-            if (!ClickHouseValues.SYS_ZONE.equals(zoneId)) {
-                d = d.atStartOfDay(ClickHouseValues.SYS_ZONE).withZoneSameInstant(zoneId).toLocalDate();
-            }
-            return ref.update(d);
+            return ref.update(LocalDate.ofEpochDay(
+                    rules.convertEpochDay(input.readBuffer(2).asUnsignedShort(), ClickHouseZoneRules.SYSTEM)));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-            LocalDate d = value.asDate();
-            if (!ClickHouseValues.SYS_ZONE.equals(zoneId)) {
-                d = d.atStartOfDay(zoneId).withZoneSameInstant(ClickHouseValues.SYS_ZONE).toLocalDate();
-            }
+            long days = ClickHouseZoneRules.SYSTEM.convertEpochDay(value.asDate().toEpochDay(), rules);
             BinaryStreamUtils.writeUnsignedInt16(output,
-                    ClickHouseChecker.between((int) d.toEpochDay(), ClickHouseValues.TYPE_DATE, 0,
+                    (int) ClickHouseChecker.between(days, ClickHouseValues.TYPE_DATE, 0L,
                             BinaryStreamUtils.U_INT16_MAX));
         }
     }
@@ -179,29 +413,24 @@ public interface BinaryDataProcessor {
         }
 
         protected final ZoneId zoneId;
+        protected final ClickHouseZoneRules rules;
 
         public Date32SerDe(TimeZone tz) {
-            this.zoneId = tz != null ? tz.toZoneId() : ClickHouseValues.SYS_ZONE;
+            this.rules = tz != null ? ClickHouseZoneRules.of(tz) : ClickHouseZoneRules.SYSTEM;
+            this.zoneId = rules.getZoneId();
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            LocalDate d = LocalDate.ofEpochDay(input.readBuffer(4).asInteger());
-            if (!ClickHouseValues.SYS_ZONE.equals(zoneId)) {
-                d = d.atStartOfDay(ClickHouseValues.SYS_ZONE).withZoneSameInstant(zoneId).toLocalDate();
-            }
-            return ref.update(d);
+            return ref.update(LocalDate.ofEpochDay(
+                    rules.convertEpochDay(input.readBuffer(4).asInteger(), ClickHouseZoneRules.SYSTEM)));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-            LocalDate d = value.asDate();
-            if (!ClickHouseValues.SYS_ZONE.equals(zoneId)) {
-                d = d.atStartOfDay(zoneId).withZoneSameInstant(ClickHouseValues.SYS_ZONE).toLocalDate();
-            }
+            long days = ClickHouseZoneRules.SYSTEM.convertEpochDay(value.asDate().toEpochDay(), rules);
             BinaryStreamUtils.writeInt32(output,
-                    ClickHouseChecker.between((int) d.toEpochDay(), ClickHouseValues.TYPE_DATE,
-                            BinaryStreamUtils.DATE32_MIN,
+                    (int) ClickHouseChecker.between(days, ClickHouseValues.TYPE_DATE, BinaryStreamUtils.DATE32_MIN,
                             BinaryStreamUtils.DATE32_MAX));
         }
     }
@@ -217,21 +446,28 @@ public interface BinaryDataProcessor {
         }
 
         protected final ZoneId zoneId;
+        protected final ClickHouseZoneRules rules;
 
         public DateTime32SerDe(TimeZone tz) {
-            this.zoneId = tz != null ? tz.toZoneId() : ClickHouseValues.UTC_ZONE;
+            this.rules = ClickHouseZoneRules.of(tz);
+            this.zoneId = rules.getZoneId();
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            return ref.update(
-                    LocalDateTime.ofInstant(Instant.ofEpochSecond(input.readBuffer(4).asUnsignedInteger()), zoneId));
+            long epochSecond = input.readBuffer(4).asUnsignedInteger();
+            if (ref instanceof AbstractDateTimeValue && ((AbstractDateTimeValue<?>) ref).getZoneRules() == rules) {
+                return ((AbstractDateTimeValue<?>) ref).updateEpochSecond(epochSecond, 0);
+            }
+            return ref.update(rules.toLocalDateTime(epochSecond, 0));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-            long time = ClickHouseValues.UTC_ZONE.equals(zoneId) ? value.asDateTime().toEpochSecond(ZoneOffset.UTC)
-                    : value.asDateTime().atZone(zoneId).toEpochSecond();
+            long time = value instanceof AbstractDateTimeValue
+                    && ((AbstractDateTimeValue<?>) value).getZoneRules() == rules && !value.isNullOrEmpty()
+                            ? ((AbstractDateTimeValue<?>) value).getEpochSecond()
+                            : rules.toEpochSecond(value.asDateTime());
 
             BinaryStreamUtils.writeUnsignedInt32(output,
                     ClickHouseChecker.between(time, ClickHouseValues.TYPE_DATE_TIME, 0L,
@@ -255,12 +491,12 @@ public interface BinaryDataProcessor {
                     : new DateTime64SerDe(scale, tz);
         }
 
-        private final ZoneId zoneId;
+        private final ClickHouseZoneRules rules;
         private final int scale;
 
         public DateTime64SerDe(int scale, TimeZone tz) {
             this.scale = ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, 9);
-            this.zoneId = tz != null ? tz.toZoneId() : ClickHouseValues.UTC_ZONE;
+            this.rules = ClickHouseZoneRules.of(tz);
         }
 
         @Override
@@ -280,20 +516,30 @@ public interface BinaryDataProcessor {
                 }
             }
 
-            return ref.update(LocalDateTime.ofInstant(Instant.ofEpochSecond(value, nanoSeconds), zoneId));
+            if (ref instanceof AbstractDateTimeValue && ((AbstractDateTimeValue<?>) ref).getZoneRules() == rules) {
+                return ((AbstractDateTimeValue<?>) ref).updateEpochSecond(value, nanoSeconds);
+            }
+            return ref.update(rules.toLocalDateTime(value, nanoSeconds));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-            LocalDateTime dt = value.asDateTime(scale);
-            long v = ClickHouseChecker.between(
-                    ClickHouseValues.UTC_ZONE.equals(zoneId) ? dt.toEpochSecond(ZoneOffset.UTC)
-                            : dt.atZone(zoneId).toEpochSecond(),
-                    ClickHouseValues.TYPE_DATE_TIME, BinaryStreamUtils.DATETIME64_MIN,
-                    BinaryStreamUtils.DATETIME64_MAX);
-            if (ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, 9) > 0) {
+            long epochSecond;
+            int nanoSeconds;
+            if (value instanceof AbstractDateTimeValue && ((AbstractDateTimeValue<?>) value).getZoneRules() == rules
+                    && !value.isNullOrEmpty()) {
+                AbstractDateTimeValue<?> v = (AbstractDateTimeValue<?>) value;
+                epochSecond = v.getEpochSecond();
+                nanoSeconds = v.getNanos();
+            } else {
+                LocalDateTime dt = value.asDateTime(scale);
+                epochSecond = rules.toEpochSecond(dt);
+                nanoSeconds = dt.getNano();
+            }
+            long v = ClickHouseChecker.between(epochSecond, ClickHouseValues.TYPE_DATE_TIME,
+                    BinaryStreamUtils.DATETIME64_MIN, BinaryStreamUtils.DATETIME64_MAX);
+            if (scale > 0) {
                 v *= BASES[scale];
-                int nanoSeconds = dt.getNano();
                 if (nanoSeconds > 0L) {
                     v += nanoSeconds / BASES[9 - scale];
                 }
@@ -352,16 +598,25 @@ public interface BinaryDataProcessor {
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            return ref.update(BigDecimal.valueOf(input.readBuffer(4).asInteger(), scale));
+            int v = input.readBuffer(4).asInteger();
+            if (ref instanceof ClickHouseDecimalValue) {
+                return ClickHouseDecimalValue.of(ref, v, scale);
+            }
+            return ref.update(BigDecimal.valueOf(v, scale));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-            BigDecimal v = value.asBigDecimal();
-            BinaryStreamUtils.writeInt32(output,
-                    ClickHouseChecker.between(scale == 0 ? v : v.multiply(BigDecimal.TEN.pow(scale)),
-                            ClickHouseValues.TYPE_BIG_DECIMAL, BinaryStreamUtils.DECIMAL32_MIN,
-                            BinaryStreamUtils.DECIMAL32_MAX).intValue());
+            long v;
+            if (value instanceof ClickHouseDecimalValue && ((ClickHouseDecimalValue) value).getScale() == scale) {
+                v = ClickHouseChecker.between(((ClickHouseDecimalValue) value).getUnscaledValue(),
+                        ClickHouseValues.TYPE_BIG_DECIMAL, BinaryStreamUtils.DECIMAL32_MIN_UNSCALED,
+                        BinaryStreamUtils.DECIMAL32_MAX_UNSCALED);
+            } else {
+                v = BinaryStreamUtils.toUnscaledLong(value.asBigDecimal(), scale,
+                        BinaryStreamUtils.DECIMAL32_MIN_UNSCALED, BinaryStreamUtils.DECIMAL32_MAX_UNSCALED);
+            }
+            BinaryStreamUtils.writeInt32(output, (int) v);
         }
     }
 
@@ -384,16 +639,25 @@ public interface BinaryDataProcessor {
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            return ref.update(BigDecimal.valueOf(input.readBuffer(8).asLong(), scale));
+            long v = input.readBuffer(8).asLong();
+            if (ref instanceof ClickHouseDecimalValue) {
+                return ClickHouseDecimalValue.of(ref, v, scale);
+            }
+            return ref.update(BigDecimal.valueOf(v, scale));
         }
 
         @Override
         public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-            BigDecimal v = value.asBigDecimal();
-            BinaryStreamUtils.writeInt64(output,
-                    ClickHouseChecker.between(scale == 0 ? v : v.multiply(BigDecimal.TEN.pow(scale)),
-                            ClickHouseValues.TYPE_BIG_DECIMAL, BinaryStreamUtils.DECIMAL64_MIN,
-                            BinaryStreamUtils.DECIMAL64_MAX).longValue());
+            long v;
+            if (value instanceof ClickHouseDecimalValue && ((ClickHouseDecimalValue) value).getScale() == scale) {
+                v = ClickHouseChecker.between(((ClickHouseDecimalValue) value).getUnscaledValue(),
+                        ClickHouseValues.TYPE_BIG_DECIMAL, BinaryStreamUtils.DECIMAL64_MIN_UNSCALED,
+                        BinaryStreamUtils.DECIMAL64_MAX_UNSCALED);
+            } else {
+                v = BinaryStreamUtils.toUnscaledLong(value.asBigDecimal(), scale,
+                        BinaryStreamUtils.DECIMAL64_MIN_UNSCALED, BinaryStreamUtils.DECIMAL64_MAX_UNSCALED);
+            }
+            BinaryStreamUtils.writeInt64(output, v);
         }
     }
 
@@ -498,23 +762,105 @@ public interface BinaryDataProcessor {
     }
 
     static ClickHouseValue readShortArray(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readBuffer(input.readVarInt() * 2).asShortArray());
+        short[] values = new short[input.readVarInt()];
+        input.readInt16Array(values, 0, values.length);
+        return ref.update(values);
     }
 
     static ClickHouseValue readIntegerArray(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readBuffer(input.readVarInt() * 4).asIntegerArray());
+        int[] values = new int[input.readVarInt()];
+        input.readInt32Array(values, 0, values.length);
+        return ref.update(values);
     }
 
     static ClickHouseValue readLongArray(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readBuffer(input.readVarInt() * 8).asLongArray());
+        long[] values = new long[input.readVarInt()];
+        input.readInt64Array(values, 0, values.length);
+        return ref.update(values);
     }
 
     static ClickHouseValue readFloatArray(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readBuffer(input.readVarInt() * 4).asFloatArray());
+        float[] values = new float[input.readVarInt()];
+        input.readFloat32Array(values, 0, values.length);
+        return ref.update(values);
     }
 
     static ClickHouseValue readDoubleArray(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-        return ref.update(input.readBuffer(input.readVarInt() * 8).asDoubleArray());
+        double[] values = new double[input.readVarInt()];
+        input.readFloat64Array(values, 0, values.length);
+        return ref.update(values);
+    }
+
+    static ClickHouseValue readNullableIntegerArray(ClickHouseValue ref, ClickHouseInputStream input)
+            throws IOException {
+        int len = input.readVarInt();
+        int[] values = new int[len];
+        BitSet nulls = null;
+        for (int i = 0; i < len; i++) {
+            if (input.readBoolean()) {
+                if (nulls == null) {
+                    nulls = new BitSet(len);
+                }
+                nulls.set(i);
+            } else {
+                values[i] = BinaryStreamUtils.readInt32(input);
+            }
+        }
+        return ClickHouseIntArrayValue.ofNullable(ref, values, nulls);
+    }
+
+    static ClickHouseValue readNullableLongArray(ClickHouseValue ref, ClickHouseInputStream input)
+            throws IOException {
+        int len = input.readVarInt();
+        long[] values = new long[len];
+        BitSet nulls = null;
+        for (int i = 0; i < len; i++) {
+            if (input.readBoolean()) {
+                if (nulls == null) {
+                    nulls = new BitSet(len);
+                }
+                nulls.set(i);
+            } else {
+                values[i] = input.readBuffer(8).asLong();
+            }
+        }
+        return ClickHouseLongArrayValue.ofNullable(ref, values, nulls);
+    }
+
+    static ClickHouseValue readNullableFloatArray(ClickHouseValue ref, ClickHouseInputStream input)
+            throws IOException {
+        int len = input.readVarInt();
+        float[] values = new float[len];
+        BitSet nulls = null;
+        for (int i = 0; i < len; i++) {
+            if (input.readBoolean()) {
+                if (nulls == null) {
+                    nulls = new BitSet(len);
+                }
+                nulls.set(i);
+            } else {
+                values[i] = input.readBuffer(4).asFloat();
+            }
+        }
+        return ClickHouseFloatArrayValue.ofNullable(ref, values, nulls);
+    }
+
+    static ClickHouseValue readNullableDoubleArray(ClickHouseValue ref, ClickHouseInputStream input)
+            throws IOException {
+        int len = input.readVarInt();
+        double[] values = new double[len];
+        BitSet nulls = null;
+        for (int i = 0; i < len; i++) {
+            if (input.readBoolean()) {
+                if (nulls == null) {
+                    nulls = new BitSet(len);
+                }
+                nulls.set(i);
+            } else {
+                values[i] = input.readBuffer(8).asDouble();
+            }
+        }
+        return ClickHouseDoubleArrayValue.ofNullable(ref, values, nulls);
     }
 
     static ClickHouseValue readBool(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
@@ -605,35 +951,73 @@ public interface BinaryDataProcessor {
     }
 
     static ClickHouseValue readInt128(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+        if (ref instanceof ClickHouseWideIntegerValue) {
+            return ((ClickHouseWideIntegerValue) ref).set(input.readBuffer(16));
+        }
         return ref.update(input.readBuffer(16).asBigInteger());
     }
 
     static void writeInt128(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeInt128(output, value.asBigInteger());
+        if (!writeWideInteger(value, 128, false, output)) {
+            BinaryStreamUtils.writeInt128(output, value.asBigInteger());
+        }
     }
 
     static ClickHouseValue readUInt128(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+        if (ref instanceof ClickHouseWideIntegerValue) {
+            return ((ClickHouseWideIntegerValue) ref).set(input.readBuffer(16));
+        }
         return ref.update(input.readBuffer(16).asUnsignedBigInteger());
     }
 
     static void writeUInt128(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeUnsignedInt128(output, value.asBigInteger());
+        if (!writeWideInteger(value, 128, true, output)) {
+            BinaryStreamUtils.writeUnsignedInt128(output, value.asBigInteger());
+        }
     }
 
     static ClickHouseValue readInt256(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+        if (ref instanceof ClickHouseWideIntegerValue) {
+            return ((ClickHouseWideIntegerValue) ref).set(input.readBuffer(32));
+        }
         return ref.update(input.readBuffer(32).asBigInteger());
     }
 
     static void writeInt256(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeInt256(output, value.asBigInteger());
+        if (!writeWideInteger(value, 256, false, output)) {
+            BinaryStreamUtils.writeInt256(output, value.asBigInteger());
+        }
     }
 
     static ClickHouseValue readUInt256(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
+        if (ref instanceof ClickHouseWideIntegerValue) {
+            return ((ClickHouseWideIntegerValue) ref).set(input.readBuffer(32));
+        }
         return ref.update(input.readBuffer(32).asUnsignedBigInteger());
     }
 
     static void writeUInt256(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
-        BinaryStreamUtils.writeUnsignedInt256(output, value.asBigInteger());
+        if (!writeWideInteger(value, 256, true, output)) {
+            BinaryStreamUtils.writeUnsignedInt256(output, value.asBigInteger());
+        }
+    }
+
+    // writes words of the value as is, only when it has same bit width and signedness as the column
+    static boolean writeWideInteger(ClickHouseValue value, int bitWidth, boolean unsigned,
+            ClickHouseOutputStream output) throws IOException {
+        if (!(value instanceof ClickHouseWideIntegerValue)) {
+            return false;
+        }
+
+        ClickHouseWideIntegerValue v = (ClickHouseWideIntegerValue) value;
+        if (v.getBitWidth() != bitWidth || v.isUnsigned() != unsigned) {
+            return false;
+        }
+
+        for (int i = 0, len = bitWidth / Long.SIZE; i < len; i++) {
+            BinaryStreamUtils.writeInt64(output, v.getLong(i));
+        }
+        return true;
     }
 
     static ClickHouseValue readIpv4(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
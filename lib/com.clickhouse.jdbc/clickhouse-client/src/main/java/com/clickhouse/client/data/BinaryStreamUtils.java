@@ -7,6 +7,7 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
@@ -14,7 +15,6 @@ import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -59,6 +59,11 @@ public final class BinaryStreamUtils {
     public static final BigDecimal DECIMAL64_MAX = new BigDecimal("1000000000000000000");
     public static final BigDecimal DECIMAL64_MIN = new BigDecimal("-1000000000000000000");
 
+    static final long DECIMAL32_MAX_UNSCALED = DECIMAL32_MAX.longValue() - 1L;
+    static final long DECIMAL32_MIN_UNSCALED = DECIMAL32_MIN.longValue() + 1L;
+    static final long DECIMAL64_MAX_UNSCALED = DECIMAL64_MAX.longValue() - 1L;
+    static final long DECIMAL64_MIN_UNSCALED = DECIMAL64_MIN.longValue() + 1L;
+
     public static final BigDecimal DECIMAL128_MAX = new BigDecimal("100000000000000000000000000000000000000");
     public static final BigDecimal DECIMAL128_MIN = new BigDecimal("-100000000000000000000000000000000000000");
 
@@ -1119,6 +1124,32 @@ public final class BinaryStreamUtils {
         }
     }
 
+    /**
+     * Gets unscaled value of the given big decimal at {@code scale}, discarding
+     * extra digits of the fraction. Unlike
+     * {@code value.multiply(BigDecimal.TEN.pow(scale))}, it does not create
+     * {@link BigInteger} when the value fits in {@code long}.
+     *
+     * @param value    non-null big decimal
+     * @param scale    non-negative scale, might be different from
+     *                 {@link java.math.BigDecimal#scale()}
+     * @param minValue minimum unscaled value, inclusive
+     * @param maxValue maximum unscaled value, inclusive
+     * @return unscaled value
+     * @throws IllegalArgumentException when the unscaled value is out of range
+     */
+    static long toUnscaledLong(BigDecimal value, int scale, long minValue, long maxValue) {
+        BigDecimal v = value.scale() == scale ? value : value.setScale(scale, RoundingMode.DOWN);
+        // Long.MAX_VALUE has 19 digits, so anything shorter is stored as a compact long
+        if (v.precision() < 19) {
+            return ClickHouseChecker.between(v.scaleByPowerOfTen(scale).longValue(), ClickHouseValues.TYPE_BIG_DECIMAL,
+                    minValue, maxValue);
+        }
+
+        return ClickHouseChecker.between(v.unscaledValue(), ClickHouseValues.TYPE_BIG_DECIMAL,
+                BigInteger.valueOf(minValue), BigInteger.valueOf(maxValue)).longValue();
+    }
+
     /**
      * Read big decimal(4 bytes) from given input stream.
      *
@@ -1145,10 +1176,10 @@ public final class BinaryStreamUtils {
      */
     public static void writeDecimal32(OutputStream output, BigDecimal value, int scale) throws IOException {
         writeInt32(output,
-                ClickHouseChecker.between(
-                        value.multiply(BigDecimal.TEN.pow(ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE,
-                                0, ClickHouseDataType.Decimal32.getMaxScale()))),
-                        ClickHouseValues.TYPE_BIG_DECIMAL, DECIMAL32_MIN, DECIMAL32_MAX).intValue());
+                (int) toUnscaledLong(value,
+                        ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0,
+                                ClickHouseDataType.Decimal32.getMaxScale()),
+                        DECIMAL32_MIN_UNSCALED, DECIMAL32_MAX_UNSCALED));
     }
 
     /**
@@ -1177,11 +1208,10 @@ public final class BinaryStreamUtils {
      */
     public static void writeDecimal64(OutputStream output, BigDecimal value, int scale) throws IOException {
         writeInt64(output,
-                ClickHouseChecker.between(
+                toUnscaledLong(value,
                         ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0,
-                                ClickHouseDataType.Decimal64.getMaxScale()) == 0 ? value
-                                        : value.multiply(BigDecimal.TEN.pow(scale)),
-                        ClickHouseValues.TYPE_BIG_DECIMAL, DECIMAL64_MIN, DECIMAL64_MAX).longValue());
+                                ClickHouseDataType.Decimal64.getMaxScale()),
+                        DECIMAL64_MIN_UNSCALED, DECIMAL64_MAX_UNSCALED));
     }
 
     /**
@@ -1261,11 +1291,9 @@ public final class BinaryStreamUtils {
      */
     public static LocalDate readDate(ClickHouseInputStream input, TimeZone tz)
             throws IOException {
-        LocalDate d = readDate(input);
-        if (tz != null && !tz.toZoneId().equals(ClickHouseValues.SYS_ZONE)) {
-            d = d.atStartOfDay(ClickHouseValues.SYS_ZONE).withZoneSameInstant(tz.toZoneId()).toLocalDate();
-        }
-        return d;
+        int days = readUnsignedInt16(input);
+        return LocalDate.ofEpochDay(
+                tz != null ? ClickHouseZoneRules.of(tz).convertEpochDay(days, ClickHouseZoneRules.SYSTEM) : days);
     }
 
     /**
@@ -1292,8 +1320,9 @@ public final class BinaryStreamUtils {
      */
     public static void writeDate(OutputStream output, LocalDate value, TimeZone tz)
             throws IOException {
-        if (tz != null && !tz.toZoneId().equals(ClickHouseValues.SYS_ZONE)) {
-            value = value.atStartOfDay(tz.toZoneId()).withZoneSameInstant(ClickHouseValues.SYS_ZONE).toLocalDate();
+        if (tz != null) {
+            value = LocalDate.ofEpochDay(
+                    ClickHouseZoneRules.SYSTEM.convertEpochDay(value.toEpochDay(), ClickHouseZoneRules.of(tz)));
         }
         writeDate(output, value);
     }
@@ -1323,11 +1352,9 @@ public final class BinaryStreamUtils {
      */
     public static LocalDate readDate32(ClickHouseInputStream input, TimeZone tz)
             throws IOException {
-        LocalDate d = readDate32(input);
-        if (tz != null && !tz.toZoneId().equals(ClickHouseValues.SYS_ZONE)) {
-            d = d.atStartOfDay(ClickHouseValues.SYS_ZONE).withZoneSameInstant(tz.toZoneId()).toLocalDate();
-        }
-        return d;
+        int days = readInt32(input);
+        return LocalDate.ofEpochDay(
+                tz != null ? ClickHouseZoneRules.of(tz).convertEpochDay(days, ClickHouseZoneRules.SYSTEM) : days);
     }
 
     /**
@@ -1354,8 +1381,9 @@ public final class BinaryStreamUtils {
      */
     public static void writeDate32(OutputStream output, LocalDate value, TimeZone tz)
             throws IOException {
-        if (tz != null && !tz.toZoneId().equals(ClickHouseValues.SYS_ZONE)) {
-            value = value.atStartOfDay(tz.toZoneId()).withZoneSameInstant(ClickHouseValues.SYS_ZONE).toLocalDate();
+        if (tz != null) {
+            value = LocalDate.ofEpochDay(
+                    ClickHouseZoneRules.SYSTEM.convertEpochDay(value.toEpochDay(), ClickHouseZoneRules.of(tz)));
         }
         writeDate32(output, value);
     }
@@ -1448,8 +1476,7 @@ public final class BinaryStreamUtils {
     public static LocalDateTime readDateTime32(ClickHouseInputStream input, TimeZone tz) throws IOException {
         long time = readUnsignedInt32(input);
 
-        return LocalDateTime.ofInstant(Instant.ofEpochSecond(time < 0L ? 0L : time),
-                tz != null ? tz.toZoneId() : ClickHouseValues.UTC_ZONE);
+        return ClickHouseZoneRules.of(tz).toLocalDateTime(time < 0L ? 0L : time, 0);
     }
 
     /**
@@ -1462,8 +1489,7 @@ public final class BinaryStreamUtils {
      *                     end of the stream
      */
     public static void writeDateTime32(OutputStream output, LocalDateTime value, TimeZone tz) throws IOException {
-        long time = tz == null || tz.equals(ClickHouseValues.UTC_TIMEZONE) ? value.toEpochSecond(ZoneOffset.UTC)
-                : value.atZone(tz.toZoneId()).toEpochSecond();
+        long time = ClickHouseZoneRules.of(tz).toEpochSecond(value);
 
         writeUnsignedInt32(output, ClickHouseChecker.between(time, ClickHouseValues.TYPE_DATE_TIME, 0L, DATETIME_MAX));
     }
@@ -1508,8 +1534,7 @@ public final class BinaryStreamUtils {
             }
         }
 
-        return LocalDateTime.ofInstant(Instant.ofEpochSecond(value, nanoSeconds),
-                tz != null ? tz.toZoneId() : ClickHouseValues.UTC_ZONE);
+        return ClickHouseZoneRules.of(tz).toLocalDateTime(value, nanoSeconds);
     }
 
     /**
@@ -1538,9 +1563,7 @@ public final class BinaryStreamUtils {
      */
     public static void writeDateTime64(OutputStream output, LocalDateTime value, int scale, TimeZone tz)
             throws IOException {
-        long v = ClickHouseChecker.between(
-                tz == null || tz.equals(ClickHouseValues.UTC_TIMEZONE) ? value.toEpochSecond(ZoneOffset.UTC)
-                        : value.atZone(tz.toZoneId()).toEpochSecond(),
+        long v = ClickHouseChecker.between(ClickHouseZoneRules.of(tz).toEpochSecond(value),
                 ClickHouseValues.TYPE_DATE_TIME, DATETIME64_MIN, DATETIME64_MAX);
         if (ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, 9) > 0) {
             v *= BASES[scale];
@@ -579,6 +579,11 @@ public class ClickHouseArrayValue<T> extends ClickHouseObjectValue<T[]> implemen
         return isNullOrEmpty() ? 0 : getValue().length;
     }
 
+    @Override
+    public boolean isNull(int index) {
+        return getValue()[index] == null;
+    }
+
     @Override
     public <V extends ClickHouseValue> V getValue(int index, V value) {
         value.update(getValue()[index]);
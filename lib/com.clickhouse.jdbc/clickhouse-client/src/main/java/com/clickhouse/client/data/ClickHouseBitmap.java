@@ -10,6 +10,7 @@ import java.io.InputStream;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.Objects;
 import org.roaringbitmap.RoaringBitmap;
 import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
@@ -17,6 +18,7 @@ import org.roaringbitmap.buffer.MutableRoaringBitmap;
 import org.roaringbitmap.longlong.Roaring64Bitmap;
 import org.roaringbitmap.longlong.Roaring64NavigableMap;
 import com.clickhouse.client.ClickHouseDataType;
+import com.clickhouse.client.ClickHouseInputStream;
 
 public abstract class ClickHouseBitmap {
     private static final int[] EMPTY_INT_ARRAY = new int[0];
@@ -214,6 +216,139 @@ public abstract class ClickHouseBitmap {
         }
     }
 
+    /**
+     * Read-only view of serialized 64-bit bitmaps. Each 32-bit bitmap is an
+     * {@link ImmutableRoaringBitmap} backed by the serialized bytes, and
+     * {@link #unwrap()} materializes a {@link Roaring64NavigableMap} on demand.
+     */
+    static class ClickHouseImmutableRoaring64Bitmap extends ClickHouseBitmap {
+        // serialized bitmaps starting from map size
+        private final ByteBuffer bytes;
+        private final int[] keys;
+        private final ImmutableRoaringBitmap[] bitmaps;
+
+        private Roaring64NavigableMap rb;
+
+        protected ClickHouseImmutableRoaring64Bitmap(ByteBuffer bytes, ClickHouseDataType innerType) {
+            super(bytes, innerType);
+
+            ByteBuffer buffer = bytes.duplicate();
+            // map size(long in little-endian byte order)
+            long size = Long.reverseBytes(buffer.getLong());
+            if (size < 0L || size > buffer.remaining() / 4) {
+                throw new IllegalStateException(
+                        "Not able to deserialize ClickHouseBitmap for too many bitmaps(" + size + ")!");
+            }
+            int len = (int) size;
+            this.bytes = bytes;
+            this.keys = new int[len];
+            this.bitmaps = new ImmutableRoaringBitmap[len];
+            for (int i = 0; i < len; i++) {
+                // same byte order as Roaring64NavigableMap.deserialize(DataInput)
+                keys[i] = buffer.getInt();
+                ImmutableRoaringBitmap b = new ImmutableRoaringBitmap(buffer.slice());
+                ((Buffer) buffer).position(buffer.position() + b.serializedSizeInBytes());
+                bitmaps[i] = b;
+            }
+        }
+
+        @Override
+        public boolean isEmpty() {
+            for (ImmutableRoaringBitmap b : bitmaps) {
+                if (!b.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int getCardinality() {
+            return (int) getLongCardinality();
+        }
+
+        @Override
+        public long getLongCardinality() {
+            long cardinality = 0L;
+            for (ImmutableRoaringBitmap b : bitmaps) {
+                cardinality += b.getLongCardinality();
+            }
+            return cardinality;
+        }
+
+        @Override
+        public void serialize(ByteBuffer buffer) {
+            buffer.put(bytes.duplicate());
+        }
+
+        @Override
+        public int serializedSizeInBytes() {
+            return (int) serializedSizeInBytesAsLong();
+        }
+
+        @Override
+        public long serializedSizeInBytesAsLong() {
+            // same as Roaring64NavigableMap, which uses boolean flag and int map size
+            return bytes.remaining() + 1L - 4L;
+        }
+
+        @Override
+        public int[] toIntArray() {
+            long[] longs = toLongArray();
+            int len = longs.length;
+            int[] ints = new int[len];
+            for (int i = 0; i < len; i++) {
+                ints[i] = (int) longs[i];
+            }
+            return ints;
+        }
+
+        @Override
+        public long[] toLongArray() {
+            long[] longs = new long[getCardinality()];
+            int index = 0;
+            for (int i = 0, len = keys.length; i < len; i++) {
+                long high = (long) keys[i] << 32;
+                for (int v : bitmaps[i].toArray()) {
+                    longs[index++] = high | (v & 0xFFFFFFFFL);
+                }
+            }
+            return longs;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            ClickHouseImmutableRoaring64Bitmap b = (ClickHouseImmutableRoaring64Bitmap) obj;
+            return Objects.equals(innerType, b.innerType) && Arrays.equals(keys, b.keys)
+                    && Arrays.equals(bitmaps, b.bitmaps);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(innerType, Arrays.hashCode(keys), Arrays.hashCode(bitmaps));
+        }
+
+        @Override
+        public synchronized Object unwrap() {
+            if (rb == null) {
+                try {
+                    rb = toRoaring64NavigableMap(bytes);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to deserialize given bitmap", e);
+                }
+            }
+            return rb;
+        }
+    }
+
     public static ClickHouseBitmap empty() {
         return empty(null);
     }
@@ -336,9 +471,56 @@ public abstract class ClickHouseBitmap {
     }
 
     public static ClickHouseBitmap deserialize(InputStream in, ClickHouseDataType innerType) throws IOException {
+        if (in instanceof ClickHouseInputStream) {
+            return deserialize((ClickHouseInputStream) in, innerType, true);
+        }
         return deserialize(in instanceof DataInputStream ? (DataInputStream) in : new DataInputStream(in), innerType);
     }
 
+    /**
+     * Deserializes bitmap from the given input stream. Read-only bitmap is a view
+     * of the bytes returned by {@link ClickHouseInputStream#readByteBuffer(int)},
+     * which avoids copying and materializing containers, while mutable bitmap is
+     * deserialized from the same bytes. Small set with no more than 32 values is
+     * always deserialized into a mutable bitmap.
+     *
+     * @param in        non-null input stream
+     * @param innerType non-null inner data type
+     * @param mutable   whether to deserialize into mutable {@link RoaringBitmap}
+     *                  or {@link Roaring64NavigableMap}, instead of
+     *                  {@link ImmutableRoaringBitmap} or its 64-bit view
+     * @return non-null bitmap
+     * @throws IOException when failed to deserialize
+     */
+    public static ClickHouseBitmap deserialize(ClickHouseInputStream in, ClickHouseDataType innerType,
+            boolean mutable) throws IOException {
+        int byteLen = byteLength(innerType);
+        int flag = in.readUnsignedByte();
+        if (flag == 0) {
+            int cardinality = in.readUnsignedByte();
+            return readSmallSet(in.readByteBuffer(byteLen * cardinality).order(ByteOrder.LITTLE_ENDIAN),
+                    cardinality, byteLen);
+        }
+
+        int len = in.readVarInt();
+        ByteBuffer buffer = in.readByteBuffer(len);
+        final ClickHouseBitmap rb;
+        if (byteLen <= 4) {
+            if (mutable) {
+                RoaringBitmap b = new RoaringBitmap();
+                b.deserialize(buffer);
+                rb = ClickHouseBitmap.wrap(b, innerType);
+            } else {
+                rb = ClickHouseBitmap.wrap(new ImmutableRoaringBitmap(buffer), innerType);
+            }
+        } else if (mutable) {
+            rb = ClickHouseBitmap.wrap(toRoaring64NavigableMap(buffer), innerType);
+        } else {
+            rb = new ClickHouseImmutableRoaring64Bitmap(buffer, innerType);
+        }
+        return rb;
+    }
+
     public static ClickHouseBitmap deserialize(DataInputStream in, ClickHouseDataType innerType) throws IOException {
         final ClickHouseBitmap rb;
 
@@ -396,32 +578,7 @@ public abstract class ClickHouseBitmap {
         buffer = (ByteBuffer) ((Buffer) buffer.put(bytes)).flip();
 
         if (buffer.get() == (byte) 0) { // small set
-            int cardinality = buffer.get();
-            if (byteLen == 1) {
-                byte[] values = new byte[cardinality];
-                for (int i = 0; i < cardinality; i++) {
-                    values[i] = buffer.get();
-                }
-                rb = ClickHouseBitmap.wrap(values);
-            } else if (byteLen == 2) {
-                short[] values = new short[cardinality];
-                for (int i = 0; i < cardinality; i++) {
-                    values[i] = buffer.getShort();
-                }
-                rb = ClickHouseBitmap.wrap(values);
-            } else if (byteLen == 4) {
-                int[] values = new int[cardinality];
-                for (int i = 0; i < cardinality; i++) {
-                    values[i] = buffer.getInt();
-                }
-                rb = ClickHouseBitmap.wrap(values);
-            } else {
-                long[] values = new long[cardinality];
-                for (int i = 0; i < cardinality; i++) {
-                    values[i] = buffer.getLong();
-                }
-                rb = ClickHouseBitmap.wrap(values);
-            }
+            rb = readSmallSet(buffer, buffer.get(), byteLen);
         } else { // serialized bitmap
             int len = BinaryStreamUtils.readVarInt(buffer);
             if (buffer.remaining() < len) {
@@ -462,6 +619,62 @@ public abstract class ClickHouseBitmap {
         return rb;
     }
 
+    private static ClickHouseBitmap readSmallSet(ByteBuffer buffer, int cardinality, int byteLen) {
+        final ClickHouseBitmap rb;
+        if (byteLen == 1) {
+            byte[] values = new byte[cardinality];
+            for (int i = 0; i < cardinality; i++) {
+                values[i] = buffer.get();
+            }
+            rb = ClickHouseBitmap.wrap(values);
+        } else if (byteLen == 2) {
+            short[] values = new short[cardinality];
+            for (int i = 0; i < cardinality; i++) {
+                values[i] = buffer.getShort();
+            }
+            rb = ClickHouseBitmap.wrap(values);
+        } else if (byteLen == 4) {
+            int[] values = new int[cardinality];
+            for (int i = 0; i < cardinality; i++) {
+                values[i] = buffer.getInt();
+            }
+            rb = ClickHouseBitmap.wrap(values);
+        } else {
+            long[] values = new long[cardinality];
+            for (int i = 0; i < cardinality; i++) {
+                values[i] = buffer.getLong();
+            }
+            rb = ClickHouseBitmap.wrap(values);
+        }
+        return rb;
+    }
+
+    /**
+     * Deserializes 64-bit bitmaps, which starts with map size(long in
+     * little-endian byte order), into {@link Roaring64NavigableMap}.
+     *
+     * @param bytes non-null serialized bitmaps
+     * @return non-null bitmap
+     * @throws IOException when failed to deserialize
+     */
+    private static Roaring64NavigableMap toRoaring64NavigableMap(ByteBuffer bytes) throws IOException {
+        ByteBuffer buffer = bytes.duplicate();
+        // replace map size with flag(boolean for signed/unsigned) and map
+        // size(integer in big-endian byte order)
+        long size = Long.reverseBytes(buffer.getLong());
+        if ((size >>> 32) != 0L) {
+            throw new IllegalStateException(
+                    "Not able to deserialize ClickHouseBitmap for too many bitmaps(>" + 0xFFFFFFFFL + ")!");
+        }
+        ByteBuffer header = ByteBuffer.allocate(5);
+        // always unsigned due to limit of CRoaring
+        header.put((byte) 0).putInt((int) size);
+
+        Roaring64NavigableMap b = new Roaring64NavigableMap();
+        b.deserialize(new DataInputStream(ClickHouseInputStream.of(flip(header), buffer)));
+        return b;
+    }
+
     private static ByteBuffer newBuffer(int capacity) {
         ByteBuffer buffer = ByteBuffer.allocate(capacity);
         if (buffer.order() != ByteOrder.LITTLE_ENDIAN) {
@@ -31,6 +31,9 @@
  */
 package com.clickhouse.client.data;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * @author tamtam180 - kirscheless at gmail.com
  * @see http://google-opensource.blogspot.jp/2011/04/introducing-cityhash.html
@@ -40,7 +43,9 @@ package com.clickhouse.client.data;
 
 /**
  * NOTE: The code is modified to be compatible with CityHash128 used in
- * ClickHouse
+ * ClickHouse. It's also rewritten to keep the state in local variables instead
+ * of short-lived arrays. On JDK 9+, little-endian longs are read through a
+ * {@link ByteBuffer} view, which is compiled into a single unaligned load.
  */
 public class ClickHouseCityHash {
 
@@ -49,44 +54,40 @@ public class ClickHouseCityHash {
     private static final long k2 = 0x9ae16a3b2f90404fL;
     private static final long k3 = 0xc949d7c7509e6557L;
 
+    private static final long kMul = 0x9ddfea08eb382d69L;
+
+    // ByteBuffer.getLong() reads one byte at a time on JDK 8, which is slower than
+    // assembling the long from bytes
+    static final boolean WORD_LOADS = !System.getProperty("java.specification.version", "").startsWith("1.");
+
     private static long toLongLE(byte[] b, int i) {
-        return 0xffffffffffffffffL & (((long) b[i + 7] << 56) + ((long) (b[i + 6] & 255) << 48)
-                + ((long) (b[i + 5] & 255) << 40) + ((long) (b[i + 4] & 255) << 32) + ((long) (b[i + 3] & 255) << 24)
-                + ((b[i + 2] & 255) << 16) + ((b[i + 1] & 255) << 8) + ((b[i + 0] & 255)));
+        return (b[i] & 0xFFL) | ((b[i + 1] & 0xFFL) << 8) | ((b[i + 2] & 0xFFL) << 16) | ((b[i + 3] & 0xFFL) << 24)
+                | ((b[i + 4] & 0xFFL) << 32) | ((b[i + 5] & 0xFFL) << 40) | ((b[i + 6] & 0xFFL) << 48)
+                | ((long) b[i + 7] << 56);
     }
 
     private static long toIntLE(byte[] b, int i) {
-        return 0xffffffffL & (((b[i + 3] & 255) << 24) + ((b[i + 2] & 255) << 16) + ((b[i + 1] & 255) << 8)
-                + ((b[i + 0] & 255)));
+        return (b[i] & 0xFFL) | ((b[i + 1] & 0xFFL) << 8) | ((b[i + 2] & 0xFFL) << 16) | ((b[i + 3] & 0xFFL) << 24);
     }
 
     private static long fetch64(byte[] s, int pos) {
-        return toLongLE(s, pos);
+        return WORD_LOADS ? ByteBuffer.wrap(s).order(ByteOrder.LITTLE_ENDIAN).getLong(pos) : toLongLE(s, pos);
     }
 
     private static long fetch32(byte[] s, int pos) {
-        return toIntLE(s, pos);
-    }
-
-    private static int staticCastToInt(byte b) {
-        return b & 0xFF;
+        return WORD_LOADS ? 0xFFFFFFFFL & ByteBuffer.wrap(s).order(ByteOrder.LITTLE_ENDIAN).getInt(pos)
+                : toIntLE(s, pos);
     }
 
     private static long rotate(long val, int shift) {
-        return shift == 0 ? val : (val >>> shift) | (val << (64 - shift));
-    }
-
-    private static long rotateByAtLeast1(long val, int shift) {
-        return (val >>> shift) | (val << (64 - shift));
+        return Long.rotateRight(val, shift);
     }
 
     private static long shiftMix(long val) {
         return val ^ (val >>> 47);
     }
 
-    private static final long kMul = 0x9ddfea08eb382d69L;
-
-    private static long hash128to64(long u, long v) {
+    private static long hashLen16(long u, long v) {
         long a = (u ^ v) * kMul;
         a ^= (a >>> 47);
         long b = (v ^ a) * kMul;
@@ -95,67 +96,45 @@ public class ClickHouseCityHash {
         return b;
     }
 
-    private static long hashLen16(long u, long v) {
-        return hash128to64(u, v);
-    }
-
     private static long hashLen0to16(byte[] s, int pos, int len) {
         if (len > 8) {
-            long a = fetch64(s, pos + 0);
+            long a = fetch64(s, pos);
             long b = fetch64(s, pos + len - 8);
-            return hashLen16(a, rotateByAtLeast1(b + len, len)) ^ b;
+            return hashLen16(a, rotate(b + len, len)) ^ b;
         }
         if (len >= 4) {
-            long a = fetch32(s, pos + 0);
+            long a = fetch32(s, pos);
             return hashLen16((a << 3) + len, fetch32(s, pos + len - 4));
         }
         if (len > 0) {
-            byte a = s[pos + 0];
-            byte b = s[pos + (len >>> 1)];
-            byte c = s[pos + len - 1];
-            int y = staticCastToInt(a) + (staticCastToInt(b) << 8);
-            int z = len + (staticCastToInt(c) << 2);
+            int a = s[pos] & 0xFF;
+            int b = s[pos + (len >>> 1)] & 0xFF;
+            int c = s[pos + len - 1] & 0xFF;
+            int y = a + (b << 8);
+            int z = len + (c << 2);
             return shiftMix(y * k2 ^ z * k3) * k2;
         }
         return k2;
     }
 
-    private static long[] weakHashLen32WithSeeds(long w, long x, long y, long z, long a, long b) {
-
-        a += w;
-        b = rotate(b + a + z, 21);
-        long c = a;
-        a += x;
-        a += y;
-        b += rotate(a, 44);
-        return new long[] { a + z, b + c };
-    }
-
-    private static long[] weakHashLen32WithSeeds(byte[] s, int pos, long a, long b) {
-        return weakHashLen32WithSeeds(fetch64(s, pos + 0), fetch64(s, pos + 8), fetch64(s, pos + 16),
-                fetch64(s, pos + 24), a, b);
-    }
-
     private static long[] cityMurmur(byte[] s, int pos, int len, long seed0, long seed1) {
-
         long a = seed0;
         long b = seed1;
-        long c = 0;
-        long d = 0;
+        long c;
+        long d;
 
         int l = len - 16;
         if (l <= 0) {
             a = shiftMix(a * k1) * k1;
             c = b * k1 + hashLen0to16(s, pos, len);
-            d = shiftMix(a + (len >= 8 ? fetch64(s, pos + 0) : c));
+            d = shiftMix(a + (len >= 8 ? fetch64(s, pos) : c));
         } else {
-
             c = hashLen16(fetch64(s, pos + len - 8) + k1, a);
             d = hashLen16(b + len, c + fetch64(s, pos + len - 16));
             a += d;
 
             do {
-                a ^= shiftMix(fetch64(s, pos + 0) * k1) * k1;
+                a ^= shiftMix(fetch64(s, pos) * k1) * k1;
                 a *= k1;
                 b ^= a;
                 c ^= shiftMix(fetch64(s, pos + 8) * k1) * k1;
@@ -177,79 +156,90 @@ public class ClickHouseCityHash {
             return cityMurmur(s, pos, len, seed0, seed1);
         }
 
-        long[] v = new long[2], w = new long[2];
+        // v, w and the weak hashes are kept in locals to avoid allocation
         long x = seed0;
         long y = seed1;
         long z = k1 * len;
-        v[0] = rotate(y ^ k1, 49) * k1 + fetch64(s, pos);
-        v[1] = rotate(v[0], 42) * k1 + fetch64(s, pos + 8);
-        w[0] = rotate(y + z, 35) * k1 + x;
-        w[1] = rotate(x + fetch64(s, pos + 88), 53) * k1;
-
-        // This is the same inner loop as CityHash64(), manually unrolled.
+        long v0 = rotate(y ^ k1, 49) * k1 + fetch64(s, pos);
+        long v1 = rotate(v0, 42) * k1 + fetch64(s, pos + 8);
+        long w0 = rotate(y + z, 35) * k1 + x;
+        long w1 = rotate(x + fetch64(s, pos + 88), 53) * k1;
+        long a;
+        long b;
+        long c;
+        long t;
+
+        // same inner loop as CityHash64(), manually unrolled
         do {
-            x = rotate(x + y + v[0] + fetch64(s, pos + 16), 37) * k1;
-            y = rotate(y + v[1] + fetch64(s, pos + 48), 42) * k1;
-
-            x ^= w[1];
-            y ^= v[0];
-
-            z = rotate(z ^ w[0], 33);
-            v = weakHashLen32WithSeeds(s, pos, v[1] * k1, x + w[0]);
-            w = weakHashLen32WithSeeds(s, pos + 32, z + w[1], y);
-
-            {
-                long swap = z;
-                z = x;
-                x = swap;
-            }
-            pos += 64;
-            x = rotate(x + y + v[0] + fetch64(s, pos + 16), 37) * k1;
-            y = rotate(y + v[1] + fetch64(s, pos + 48), 42) * k1;
-            x ^= w[1];
-            y ^= v[0];
-            z = rotate(z ^ w[0], 33);
-            v = weakHashLen32WithSeeds(s, pos, v[1] * k1, x + w[0]);
-            w = weakHashLen32WithSeeds(s, pos + 32, z + w[1], y);
-            {
-                long swap = z;
+            for (int i = 0; i < 2; i++) {
+                x = rotate(x + y + v0 + fetch64(s, pos + 16), 37) * k1;
+                y = rotate(y + v1 + fetch64(s, pos + 48), 42) * k1;
+                x ^= w1;
+                y ^= v0;
+                z = rotate(z ^ w0, 33);
+
+                // v = weakHashLen32WithSeeds(s, pos, v1 * k1, x + w0)
+                a = v1 * k1 + fetch64(s, pos);
+                b = rotate(x + w0 + a + fetch64(s, pos + 24), 21);
+                c = a;
+                a += fetch64(s, pos + 8) + fetch64(s, pos + 16);
+                v0 = a + fetch64(s, pos + 24);
+                v1 = b + rotate(a, 44) + c;
+
+                // w = weakHashLen32WithSeeds(s, pos + 32, z + w1, y)
+                a = z + w1 + fetch64(s, pos + 32);
+                b = rotate(y + a + fetch64(s, pos + 56), 21);
+                c = a;
+                a += fetch64(s, pos + 40) + fetch64(s, pos + 48);
+                w0 = a + fetch64(s, pos + 56);
+                w1 = b + rotate(a, 44) + c;
+
+                t = z;
                 z = x;
-                x = swap;
+                x = t;
+                pos += 64;
             }
-            pos += 64;
             len -= 128;
         } while (len >= 128);
 
-        y += rotate(w[0], 37) * k0 + z;
-        x += rotate(v[0] + z, 49) * k0;
+        y += rotate(w0, 37) * k0 + z;
+        x += rotate(v0 + z, 49) * k0;
 
         // If 0 < len < 128, hash up to 4 chunks of 32 bytes each from the end of s.
-        for (int tail_done = 0; tail_done < len;) {
-            tail_done += 32;
-            y = rotate(y - x, 42) * k0 + v[1];
-            w[0] += fetch64(s, pos + len - tail_done + 16);
-            x = rotate(x, 49) * k0 + w[0];
-            w[0] += v[0];
-            v = weakHashLen32WithSeeds(s, pos + len - tail_done, v[0], v[1]);
+        for (int tailDone = 0; tailDone < len;) {
+            tailDone += 32;
+            y = rotate(y - x, 42) * k0 + v1;
+            w0 += fetch64(s, pos + len - tailDone + 16);
+            x = rotate(x, 49) * k0 + w0;
+            w0 += v0;
+
+            // v = weakHashLen32WithSeeds(s, pos + len - tailDone, v0, v1)
+            int p = pos + len - tailDone;
+            a = v0 + fetch64(s, p);
+            b = rotate(v1 + a + fetch64(s, p + 24), 21);
+            c = a;
+            a += fetch64(s, p + 8) + fetch64(s, p + 16);
+            v0 = a + fetch64(s, p + 24);
+            v1 = b + rotate(a, 44) + c;
         }
 
         // At this point our 48 bytes of state should contain more than
         // enough information for a strong 128-bit hash. We use two
         // different 48-byte-to-8-byte hashes to get a 16-byte final result.
 
-        x = hashLen16(x, v[0]);
-        y = hashLen16(y, w[0]);
+        x = hashLen16(x, v0);
+        y = hashLen16(y, w0);
 
-        return new long[] { hashLen16(x + v[1], w[1]) + y, hashLen16(x + w[1], y + v[1]) };
+        return new long[] { hashLen16(x + v1, w1) + y, hashLen16(x + w1, y + v1) };
     }
 
     public static long[] cityHash128(byte[] s, int pos, int len) {
         if (len >= 16) {
             return cityHash128WithSeed(s, pos + 16, len - 16, fetch64(s, pos) ^ k3, fetch64(s, pos + 8));
         } else if (len >= 8) {
-            return cityHash128WithSeed(new byte[0], 0, 0, fetch64(s, pos) ^ (len * k0), fetch64(s, pos + len - 8) ^ k1);
+            return cityHash128WithSeed(s, 0, 0, fetch64(s, pos) ^ (len * k0), fetch64(s, pos + len - 8) ^ k1);
         } else {
             return cityHash128WithSeed(s, pos, len, k0, k1);
         }
     }
-}
\ No newline at end of file
+}
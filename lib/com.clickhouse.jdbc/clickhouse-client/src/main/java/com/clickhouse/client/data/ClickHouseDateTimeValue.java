@@ -11,14 +11,13 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.TimeZone;
-import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseValue;
 import com.clickhouse.client.ClickHouseValues;
 
 /**
  * Wrapper class of {@link LocalDateTime}.
  */
-public class ClickHouseDateTimeValue extends ClickHouseObjectValue<LocalDateTime> {
+public class ClickHouseDateTimeValue extends AbstractDateTimeValue<LocalDateTime> {
     /**
      * Default value.
      */
@@ -48,7 +47,7 @@ public class ClickHouseDateTimeValue extends ClickHouseObjectValue<LocalDateTime
      */
     public static ClickHouseDateTimeValue ofNull(ClickHouseValue ref, int scale, TimeZone tz) {
         return ref instanceof ClickHouseDateTimeValue
-                ? (ClickHouseDateTimeValue) ((ClickHouseDateTimeValue) ref).set(null)
+                ? (ClickHouseDateTimeValue) ((ClickHouseDateTimeValue) ref).resetToNullOrEmpty()
                 : new ClickHouseDateTimeValue(null, scale, tz);
     }
 
@@ -88,7 +87,7 @@ public class ClickHouseDateTimeValue extends ClickHouseObjectValue<LocalDateTime
      */
     public static ClickHouseDateTimeValue of(ClickHouseValue ref, LocalDateTime value, int scale, TimeZone tz) {
         return ref instanceof ClickHouseDateTimeValue
-                ? (ClickHouseDateTimeValue) ((ClickHouseDateTimeValue) ref).set(value)
+                ? ((ClickHouseDateTimeValue) ref).update(value)
                 : new ClickHouseDateTimeValue(value, scale, tz);
     }
 
@@ -108,265 +107,131 @@ public class ClickHouseDateTimeValue extends ClickHouseObjectValue<LocalDateTime
         return of(ref, dateTime, scale, tz);
     }
 
-    private final int scale;
-    private final TimeZone tz;
-    private final LocalDateTime defaultValue;
-
     protected ClickHouseDateTimeValue(LocalDateTime value, int scale, TimeZone tz) {
-        super(value);
-        this.scale = ClickHouseChecker.between(scale, ClickHouseValues.PARAM_SCALE, 0, 9);
-        this.tz = tz != null ? tz : ClickHouseValues.UTC_TIMEZONE;
-        this.defaultValue = this.tz.equals(ClickHouseValues.UTC_TIMEZONE) ? DEFAULT
-                : ClickHouseOffsetDateTimeValue.DEFAULT.toZonedDateTime().withZoneSameInstant(this.tz.toZoneId())
-                        .toLocalDateTime();
-    }
-
-    public int getScale() {
-        return scale;
-    }
-
-    @Override
-    public ClickHouseDateTimeValue copy(boolean deep) {
-        return new ClickHouseDateTimeValue(getValue(), scale, tz);
-    }
-
-    @Override
-    public byte asByte() {
-        return isNullOrEmpty() ? (byte) 0 : (byte) getValue().atZone(tz.toZoneId()).toEpochSecond();
-    }
-
-    @Override
-    public short asShort() {
-        return isNullOrEmpty() ? (short) 0 : (short) getValue().atZone(tz.toZoneId()).toEpochSecond();
-    }
-
-    @Override
-    public int asInteger() {
-        return isNullOrEmpty() ? 0 : (int) getValue().atZone(tz.toZoneId()).toEpochSecond();
-    }
-
-    @Override
-    public long asLong() {
-        return isNullOrEmpty() ? 0L : getValue().atZone(tz.toZoneId()).toEpochSecond();
-    }
-
-    @Override
-    public float asFloat() {
-        return isNullOrEmpty() ? 0F
-                : getValue().atZone(tz.toZoneId()).toEpochSecond()
-                        + getValue().getNano() / ClickHouseValues.NANOS.floatValue();
-    }
-
-    @Override
-    public double asDouble() {
-        return isNullOrEmpty() ? 0D
-                : getValue().atZone(tz.toZoneId()).toEpochSecond()
-                        + getValue().getNano() / ClickHouseValues.NANOS.doubleValue();
+        super(scale, tz);
+        update(value);
     }
 
     @Override
-    public BigInteger asBigInteger() {
-        return isNullOrEmpty() ? null : BigInteger.valueOf(getValue().atZone(tz.toZoneId()).toEpochSecond());
+    protected LocalDateTime create(long epochSecond, int nanos) {
+        return getZoneRules().toLocalDateTime(epochSecond, nanos);
     }
 
     @Override
-    public BigDecimal asBigDecimal(int scale) {
-        LocalDateTime value = getValue();
-        BigDecimal v = null;
-        if (value != null) {
-            int nanoSeconds = value.getNano();
-            v = new BigDecimal(BigInteger.valueOf(value.atZone(tz.toZoneId()).toEpochSecond()), scale);
-            if (scale != 0 && nanoSeconds != 0) {
-                v = v.add(BigDecimal.valueOf(nanoSeconds).divide(ClickHouseValues.NANOS).setScale(scale,
-                        ClickHouseValues.ROUNDING_MODE));
-            }
-        }
+    public ClickHouseDateTimeValue copy(boolean deep) {
+        ClickHouseDateTimeValue v = new ClickHouseDateTimeValue(null, getScale(), getTimeZone());
+        v.set(this);
         return v;
     }
 
-    @Override
-    public LocalDate asDate() {
-        return isNullOrEmpty() ? null : asDateTime(0).toLocalDate();
-    }
-
     @Override
     public LocalDateTime asDateTime(int scale) {
         return getValue();
     }
 
-    @Override
-    public Instant asInstant(int scale) {
-        return isNullOrEmpty() ? null : getValue().atZone(tz.toZoneId()).toInstant();
-    }
-
-    @Override
-    public OffsetDateTime asOffsetDateTime(int scale) {
-        if (isNullOrEmpty()) {
-            return null;
-        }
-
-        return getValue().atZone(tz.toZoneId()).toOffsetDateTime();
-    }
-
-    @Override
-    public ZonedDateTime asZonedDateTime(int scale) {
-        if (isNullOrEmpty()) {
-            return null;
-        }
-
-        return getValue().atZone(tz.toZoneId());
-    }
-
-    @Override
-    public Object asObject() {
-        return getValue();
-    }
-
-    @Override
-    public String asString() {
-        if (isNullOrEmpty()) {
-            return null;
-        }
-
-        // different formatter for each scale?
-        return getValue().format(scale > 0 ? ClickHouseValues.DATETIME_FORMATTER : dateTimeFormatter);
-    }
-
     @Override
     public ClickHouseDateTimeValue resetToDefault() {
-        set(defaultValue);
+        super.resetToDefault();
         return this;
     }
 
-    @Override
-    public String toSqlExpression() {
-        if (isNullOrEmpty()) {
-            return ClickHouseValues.NULL_EXPR;
-        }
-
-        return new StringBuilder().append('\'')
-                .append(getValue().format(scale > 0 ? ClickHouseValues.DATETIME_FORMATTER : dateTimeFormatter))
-                .append('\'').toString();
-    }
-
     @Override
     public ClickHouseDateTimeValue update(byte value) {
-        return update(BigInteger.valueOf(value));
+        super.update(value);
+        return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(short value) {
-        return update(BigInteger.valueOf(value));
+        super.update(value);
+        return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(int value) {
-        return update(BigInteger.valueOf(value));
+        super.update(value);
+        return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(long value) {
-        return update(BigInteger.valueOf(value));
+        super.update(value);
+        return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(float value) {
-        return update(BigDecimal.valueOf(value));
+        super.update(value);
+        return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(double value) {
-        return update(BigDecimal.valueOf(value));
+        super.update(value);
+        return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(BigInteger value) {
-        if (value == null) {
-            resetToNullOrEmpty();
-        } else if (scale == 0) {
-            set(ClickHouseValues.convertToDateTime(new BigDecimal(value, 0)));
-        } else {
-            set(ClickHouseValues.convertToDateTime(new BigDecimal(value, scale)));
-        }
+        super.update(value);
         return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(BigDecimal value) {
-        if (value == null) {
-            resetToNullOrEmpty();
-        } else {
-            if (value.scale() != scale) {
-                value = value.setScale(scale, ClickHouseValues.ROUNDING_MODE);
-            }
-            set(ClickHouseValues.convertToDateTime(value));
-        }
+        super.update(value);
         return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(Enum<?> value) {
-        if (value == null) {
-            resetToNullOrEmpty();
-        } else {
-            update(BigInteger.valueOf(value.ordinal()));
-        }
+        super.update(value);
         return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(LocalDate value) {
-        if (value == null) {
-            resetToNullOrEmpty();
-        } else {
-            set(LocalDateTime.of(value, LocalTime.MIN));
-        }
+        super.update(value);
         return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(LocalTime value) {
-        if (value == null) {
-            resetToNullOrEmpty();
-        } else {
-            set(LocalDateTime.of(LocalDate.now(), value));
-        }
+        super.update(value);
         return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(LocalDateTime value) {
-        set(value);
+        if (value == null) {
+            resetToNullOrEmpty();
+        } else {
+            set(getZoneRules().toEpochSecond(value), value.getNano(), value);
+        }
         return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(Instant value) {
-        if (value == null) {
-            resetToNullOrEmpty();
-        } else {
-            set(LocalDateTime.ofInstant(value, tz.toZoneId()));
-        }
+        super.update(value);
         return this;
     }
 
     @Override
-    public ClickHouseValue update(OffsetDateTime value) {
-        return update(value != null ? value.atZoneSameInstant(tz.toZoneId()).toLocalDateTime() : null);
+    public ClickHouseDateTimeValue update(OffsetDateTime value) {
+        super.update(value);
+        return this;
     }
 
     @Override
-    public ClickHouseValue update(ZonedDateTime value) {
-        return update(value != null ? LocalDateTime.ofInstant(value.toInstant(), tz.toZoneId()) : null);
+    public ClickHouseDateTimeValue update(ZonedDateTime value) {
+        super.update(value);
+        return this;
     }
 
     @Override
     public ClickHouseDateTimeValue update(String value) {
-        if (value == null) {
-            resetToNullOrEmpty();
-        } else {
-            set(LocalDateTime.parse(value, ClickHouseValues.DATETIME_FORMATTER));
-        }
+        super.update(value);
         return this;
     }
 
@@ -374,8 +239,11 @@ public class ClickHouseDateTimeValue extends ClickHouseObjectValue<LocalDateTime
     public ClickHouseDateTimeValue update(ClickHouseValue value) {
         if (value == null || value.isNullOrEmpty()) {
             resetToNullOrEmpty();
+        } else if (value instanceof AbstractDateTimeValue
+                && ((AbstractDateTimeValue<?>) value).getZoneRules() == getZoneRules()) {
+            set((AbstractDateTimeValue<?>) value);
         } else {
-            set(value.asDateTime(scale));
+            update(value.asDateTime(getScale()));
         }
         return this;
     }
@@ -383,7 +251,7 @@ public class ClickHouseDateTimeValue extends ClickHouseObjectValue<LocalDateTime
     @Override
     public ClickHouseDateTimeValue update(Object value) {
         if (value instanceof LocalDateTime) {
-            set((LocalDateTime) value);
+            update((LocalDateTime) value);
         } else if (value instanceof String) {
             update((String) value);
         } else {
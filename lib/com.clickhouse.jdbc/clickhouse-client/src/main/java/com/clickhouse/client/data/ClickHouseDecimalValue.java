@@ -0,0 +1,356 @@
+package com.clickhouse.client.data;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.ClickHouseValues;
+
+/**
+ * Wrapper class of {@code Decimal32} and {@code Decimal64}, which keeps
+ * unscaled value as {@code long} along with scale. {@link BigDecimal} is only
+ * created when it's requested, for example by {@link #asBigDecimal()}.
+ */
+public class ClickHouseDecimalValue implements ClickHouseValue {
+    static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L,
+            100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L,
+            1000000000000000000L };
+
+    // integers up to 2^53 can be represented exactly as double
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    // every double in [2^52, 2^53) is an integer, so only smaller products are trusted
+    private static final long MAX_EXACT_PRODUCT = 1L << 52;
+
+    /**
+     * Creates a new instance representing null value.
+     *
+     * @param scale scale of the decimal, between 0 and 18
+     * @return new instance representing null value
+     */
+    public static ClickHouseDecimalValue ofNull(int scale) {
+        return ofNull(null, scale);
+    }
+
+    /**
+     * Updates the given value to null or creates a new instance when {@code ref} is
+     * null.
+     *
+     * @param ref   object to update, could be null
+     * @param scale scale of the decimal, between 0 and 18
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseDecimalValue ofNull(ClickHouseValue ref, int scale) {
+        return ref instanceof ClickHouseDecimalValue ? ((ClickHouseDecimalValue) ref).set(true, 0L, scale)
+                : new ClickHouseDecimalValue(true, 0L, scale);
+    }
+
+    /**
+     * Wraps the given unscaled value.
+     *
+     * @param unscaledValue unscaled value
+     * @param scale         scale of the decimal, between 0 and 18
+     * @return object representing the value
+     */
+    public static ClickHouseDecimalValue of(long unscaledValue, int scale) {
+        return of(null, unscaledValue, scale);
+    }
+
+    /**
+     * Updates unscaled value of the given object or creates a new instance when
+     * {@code ref} is null.
+     *
+     * @param ref           object to update, could be null
+     * @param unscaledValue unscaled value
+     * @param scale         scale of the decimal, between 0 and 18
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseDecimalValue of(ClickHouseValue ref, long unscaledValue, int scale) {
+        return ref instanceof ClickHouseDecimalValue ? ((ClickHouseDecimalValue) ref).set(false, unscaledValue, scale)
+                : new ClickHouseDecimalValue(false, unscaledValue, scale);
+    }
+
+    private boolean isNull;
+    private long unscaledValue;
+    private int scale;
+    // created on demand
+    private BigDecimal value;
+
+    protected ClickHouseDecimalValue(boolean isNull, long unscaledValue, int scale) {
+        set(isNull, unscaledValue, scale);
+    }
+
+    protected final ClickHouseDecimalValue set(boolean isNull, long unscaledValue, int scale) {
+        if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Scale should be between 0 and 18 but we got " + scale);
+        }
+
+        this.isNull = isNull;
+        this.unscaledValue = isNull ? 0L : unscaledValue;
+        this.scale = scale;
+        this.value = null;
+        return this;
+    }
+
+    protected final ClickHouseDecimalValue set(long unscaledValue) {
+        this.isNull = false;
+        this.unscaledValue = unscaledValue;
+        this.value = null;
+        return this;
+    }
+
+    /**
+     * Gets unscaled value.
+     *
+     * @return unscaled value
+     */
+    public final long getUnscaledValue() {
+        return unscaledValue;
+    }
+
+    /**
+     * Gets scale of the decimal.
+     *
+     * @return scale of the decimal
+     */
+    public final int getScale() {
+        return scale;
+    }
+
+    /**
+     * Updates unscaled value, which is not affected by scale.
+     *
+     * @param unscaledValue unscaled value
+     * @return this object
+     */
+    public ClickHouseDecimalValue updateUnscaled(long unscaledValue) {
+        return set(unscaledValue);
+    }
+
+    @Override
+    public ClickHouseDecimalValue copy(boolean deep) {
+        ClickHouseDecimalValue v = new ClickHouseDecimalValue(isNull, unscaledValue, scale);
+        v.value = value;
+        return v;
+    }
+
+    @Override
+    public final boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) asLong();
+    }
+
+    @Override
+    public short asShort() {
+        return (short) asLong();
+    }
+
+    @Override
+    public int asInteger() {
+        return (int) asLong();
+    }
+
+    @Override
+    public long asLong() {
+        return scale == 0 ? unscaledValue : unscaledValue / POWERS_OF_TEN[scale];
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        if (isNull) {
+            return null;
+        } else if (scale > 0 && unscaledValue % POWERS_OF_TEN[scale] != 0L) {
+            throw new IllegalArgumentException("Failed to convert BigDecimal to BigInteger: " + asBigDecimal());
+        }
+
+        return BigInteger.valueOf(asLong());
+    }
+
+    @Override
+    public float asFloat() {
+        return isNull ? 0F : asBigDecimal().floatValue();
+    }
+
+    @Override
+    public double asDouble() {
+        if (isNull) {
+            return 0D;
+        } else if (scale == 0) {
+            return unscaledValue;
+        } else if (unscaledValue > -MAX_EXACT_DOUBLE && unscaledValue < MAX_EXACT_DOUBLE) {
+            // both operands are exact, so the quotient is correctly rounded
+            return (double) unscaledValue / POWERS_OF_TEN[scale];
+        }
+
+        return asBigDecimal().doubleValue();
+    }
+
+    @Override
+    public BigDecimal asBigDecimal() {
+        if (isNull) {
+            return null;
+        }
+
+        BigDecimal v = value;
+        if (v == null) {
+            value = v = BigDecimal.valueOf(unscaledValue, scale);
+        }
+        return v;
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        BigDecimal v = asBigDecimal();
+        if (v != null && v.scale() != scale) {
+            v = v.setScale(scale, ClickHouseValues.ROUNDING_MODE);
+        }
+        return v;
+    }
+
+    @Override
+    public Object asObject() {
+        return asBigDecimal();
+    }
+
+    @Override
+    public String asString() {
+        return isNull ? null : asBigDecimal().toString();
+    }
+
+    @Override
+    public ClickHouseDecimalValue resetToDefault() {
+        return set(0L);
+    }
+
+    @Override
+    public ClickHouseDecimalValue resetToNullOrEmpty() {
+        return set(true, 0L, scale);
+    }
+
+    @Override
+    public String toSqlExpression() {
+        return isNull ? ClickHouseValues.NULL_EXPR : asBigDecimal().toString();
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(boolean value) {
+        return update(value ? 1L : 0L);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(char value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(byte value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(short value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(int value) {
+        return update((long) value);
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(long value) {
+        return set(scale == 0 ? value : Math.multiplyExact(value, POWERS_OF_TEN[scale]));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(float value) {
+        return update(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(double value) {
+        double factor = POWERS_OF_TEN[scale];
+        double d = value * factor;
+        // the product may have been rounded, so take the shortcut only when it converts
+        // back to the same value, for example 12.5 at scale 2
+        if (d > -MAX_EXACT_PRODUCT && d < MAX_EXACT_PRODUCT && d == Math.rint(d) && d / factor == value) {
+            return set((long) d);
+        }
+
+        return update(BigDecimal.valueOf(value));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(BigInteger value) {
+        return value == null ? resetToNullOrEmpty() : update(new BigDecimal(value));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(BigDecimal value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        BigDecimal v = value.scale() == scale ? value : value.setScale(scale, ClickHouseValues.ROUNDING_MODE);
+        set(BinaryStreamUtils.toUnscaledLong(v, scale, Long.MIN_VALUE, Long.MAX_VALUE));
+        this.value = v;
+        return this;
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(Enum<?> value) {
+        return value == null ? resetToNullOrEmpty() : update((long) value.ordinal());
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(String value) {
+        return value == null ? resetToNullOrEmpty() : update(new BigDecimal(value));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return resetToNullOrEmpty();
+        } else if (value instanceof ClickHouseDecimalValue && ((ClickHouseDecimalValue) value).scale == scale) {
+            return set(((ClickHouseDecimalValue) value).unscaledValue);
+        }
+
+        return update(value.asBigDecimal(scale));
+    }
+
+    @Override
+    public ClickHouseDecimalValue update(Object value) {
+        if (value instanceof BigDecimal) {
+            return update((BigDecimal) value);
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseDecimalValue v = (ClickHouseDecimalValue) obj;
+        return isNull == v.isNull && unscaledValue == v.unscaledValue && scale == v.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        // not going to use Objects.hash(isNull, unscaledValue, scale) due to autoboxing
+        return ((31 + (isNull ? 1231 : 1237)) * 31 + (int) (unscaledValue ^ (unscaledValue >>> 32))) * 31 + scale;
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
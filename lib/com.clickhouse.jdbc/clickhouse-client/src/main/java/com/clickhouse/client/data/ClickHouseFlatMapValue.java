@@ -0,0 +1,776 @@
+package com.clickhouse.client.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.clickhouse.client.ClickHouseByteBuffer;
+import com.clickhouse.client.ClickHouseChecker;
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseDataType;
+import com.clickhouse.client.ClickHouseValue;
+
+/**
+ * Wrapper of {@code Map} which stores keys and values in parallel primitive
+ * arrays, along with offset arrays for strings. Unlike
+ * {@link ClickHouseMapValue}, there's no {@link java.util.Map} or boxed object
+ * created when reading a row, as the arrays are reused across rows. Keys and
+ * values can be accessed by index or looked up using {@link #get(Object)}, and
+ * {@link #asMap()} creates a {@link LinkedHashMap} on demand.
+ *
+ * <p>
+ * Only non-nullable {@code String}, integer(with {@link Byte}, {@link Short},
+ * {@link Integer} or {@link Long} as object class) and floating point values
+ * are supported, and keys can be either {@code String} or integer. Duplicated
+ * keys are kept as is, while {@link #get(Object)} returns value of the last one,
+ * same as {@link #asMap()}.
+ */
+public class ClickHouseFlatMapValue extends ClickHouseMapValue {
+    static final int KIND_LONG = 0;
+    static final int KIND_DOUBLE = 1;
+    static final int KIND_STRING = 2;
+
+    // use hash index instead of linear search when there are more entries
+    static final int MIN_INDEX_SIZE = 8;
+
+    static int getKind(ClickHouseColumn column, Class<?> javaClass, boolean isKey) {
+        if (column.isNullable()) {
+            return -1;
+        } else if (javaClass == String.class) {
+            return column.getDataType() == ClickHouseDataType.String ? KIND_STRING : -1;
+        } else if (javaClass == Byte.class || javaClass == Short.class || javaClass == Integer.class
+                || javaClass == Long.class) {
+            return KIND_LONG;
+        } else if (!isKey && (javaClass == Float.class || javaClass == Double.class)) {
+            return KIND_DOUBLE;
+        }
+        return -1;
+    }
+
+    static final class Entries extends AbstractMap<Object, Object> {
+        private final Class<?> keyType;
+        private final Class<?> valueType;
+        private final int keyKind;
+        private final int valueKind;
+
+        private int size;
+        private int version;
+
+        private long[] longKeys;
+        private byte[] keyBytes;
+        private int[] keyOffsets;
+
+        private long[] longValues;
+        private double[] doubleValues;
+        private byte[] valueBytes;
+        private int[] valueOffsets;
+
+        // open addressing hash table of index plus one, built on demand
+        private int[] index;
+        private int indexVersion;
+
+        private Entries(Class<?> keyType, Class<?> valueType, int keyKind, int valueKind) {
+            this.keyType = keyType;
+            this.valueType = valueType;
+            this.keyKind = keyKind;
+            this.valueKind = valueKind;
+
+            this.size = 0;
+            this.version = 0;
+
+            this.longKeys = keyKind == KIND_LONG ? new long[MIN_INDEX_SIZE] : null;
+            this.keyBytes = keyKind == KIND_STRING ? new byte[MIN_INDEX_SIZE * 8] : null;
+            this.keyOffsets = keyKind == KIND_STRING ? new int[MIN_INDEX_SIZE + 1] : null;
+            this.longValues = valueKind == KIND_LONG ? new long[MIN_INDEX_SIZE] : null;
+            this.doubleValues = valueKind == KIND_DOUBLE ? new double[MIN_INDEX_SIZE] : null;
+            this.valueBytes = valueKind == KIND_STRING ? new byte[MIN_INDEX_SIZE * 8] : null;
+            this.valueOffsets = valueKind == KIND_STRING ? new int[MIN_INDEX_SIZE + 1] : null;
+
+            this.index = null;
+            this.indexVersion = -1;
+        }
+
+        private static byte[] append(byte[] dst, int offset, byte[] src, int position, int length) {
+            int required = offset + length;
+            if (required > dst.length) {
+                dst = Arrays.copyOf(dst, Math.max(required, dst.length * 2));
+            }
+            System.arraycopy(src, position, dst, offset, length);
+            return dst;
+        }
+
+        private static int hash(long value) {
+            long h = value * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        private static int hash(byte[] bytes, int offset, int length) {
+            int h = 1;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                h = 31 * h + bytes[i];
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private int keyHash(int i) {
+            return keyKind == KIND_STRING ? hash(keyBytes, keyOffsets[i], keyOffsets[i + 1] - keyOffsets[i])
+                    : hash(longKeys[i]);
+        }
+
+        private boolean keyEquals(int i, long key, byte[] bytes) {
+            if (keyKind != KIND_STRING) {
+                return longKeys[i] == key;
+            }
+            int offset = keyOffsets[i];
+            int len = keyOffsets[i + 1] - offset;
+            if (len != bytes.length) {
+                return false;
+            }
+            for (int j = 0; j < len; j++) {
+                if (keyBytes[offset + j] != bytes[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int[] buildIndex() {
+            int[] table = index;
+            int capacity = Integer.highestOneBit(size * 2 - 1) << 1;
+            if (table == null || table.length < capacity || table.length > capacity * 4) {
+                table = new int[capacity];
+            } else {
+                Arrays.fill(table, 0);
+            }
+
+            int mask = table.length - 1;
+            for (int i = 0; i < size; i++) {
+                int slot = keyHash(i) & mask;
+                while (true) {
+                    int existing = table[slot] - 1;
+                    if (existing < 0) {
+                        table[slot] = i + 1;
+                        break;
+                    } else if (keyKind == KIND_STRING ? keyEquals(existing, i)
+                            : longKeys[existing] == longKeys[i]) {
+                        // last one wins
+                        table[slot] = i + 1;
+                        break;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+            }
+            index = table;
+            indexVersion = version;
+            return table;
+        }
+
+        private boolean keyEquals(int i, int j) {
+            int offset1 = keyOffsets[i];
+            int offset2 = keyOffsets[j];
+            int len = keyOffsets[i + 1] - offset1;
+            if (len != keyOffsets[j + 1] - offset2) {
+                return false;
+            }
+            for (int k = 0; k < len; k++) {
+                if (keyBytes[offset1 + k] != keyBytes[offset2 + k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void checkIndex(int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException("Index " + i + " is out of range [0, " + size + ")");
+            }
+        }
+
+        void clear(int capacity) {
+            size = 0;
+            version++;
+
+            if (keyKind == KIND_STRING) {
+                if (keyOffsets.length <= capacity) {
+                    keyOffsets = new int[capacity + 1];
+                }
+            } else if (longKeys.length < capacity) {
+                longKeys = new long[capacity];
+            }
+
+            if (valueKind == KIND_STRING) {
+                if (valueOffsets.length <= capacity) {
+                    valueOffsets = new int[capacity + 1];
+                }
+            } else if (valueKind == KIND_DOUBLE) {
+                if (doubleValues.length < capacity) {
+                    doubleValues = new double[capacity];
+                }
+            } else if (longValues.length < capacity) {
+                longValues = new long[capacity];
+            }
+        }
+
+        void ensureCapacity() {
+            int capacity = size + 1;
+            if (keyKind == KIND_STRING) {
+                if (keyOffsets.length <= capacity) {
+                    keyOffsets = Arrays.copyOf(keyOffsets, capacity * 2);
+                }
+            } else if (longKeys.length < capacity) {
+                longKeys = Arrays.copyOf(longKeys, capacity * 2);
+            }
+
+            if (valueKind == KIND_STRING) {
+                if (valueOffsets.length <= capacity) {
+                    valueOffsets = Arrays.copyOf(valueOffsets, capacity * 2);
+                }
+            } else if (valueKind == KIND_DOUBLE) {
+                if (doubleValues.length < capacity) {
+                    doubleValues = Arrays.copyOf(doubleValues, capacity * 2);
+                }
+            } else if (longValues.length < capacity) {
+                longValues = Arrays.copyOf(longValues, capacity * 2);
+            }
+        }
+
+        void addKey(long key) {
+            ensureCapacity();
+            longKeys[size] = key;
+        }
+
+        void addKey(byte[] bytes, int offset, int length) {
+            ensureCapacity();
+            int start = keyOffsets[size];
+            keyBytes = append(keyBytes, start, bytes, offset, length);
+            keyOffsets[size + 1] = start + length;
+        }
+
+        void addValue(long value) {
+            longValues[size++] = value;
+            version++;
+        }
+
+        void addValue(double value) {
+            doubleValues[size++] = value;
+            version++;
+        }
+
+        void addValue(byte[] bytes, int offset, int length) {
+            int start = valueOffsets[size];
+            valueBytes = append(valueBytes, start, bytes, offset, length);
+            valueOffsets[++size] = start + length;
+            version++;
+        }
+
+        void addKey(Object key) {
+            if (keyKind == KIND_STRING) {
+                byte[] bytes = String.valueOf(key).getBytes(StandardCharsets.UTF_8);
+                addKey(bytes, 0, bytes.length);
+            } else if (key instanceof Number) {
+                addKey(((Number) key).longValue());
+            } else {
+                throw new IllegalArgumentException("Unsupported key: " + key);
+            }
+        }
+
+        void addValue(Object value) {
+            if (valueKind == KIND_STRING) {
+                byte[] bytes = value == null ? ClickHouseByteBuffer.EMPTY_BYTES
+                        : value.toString().getBytes(StandardCharsets.UTF_8);
+                addValue(bytes, 0, bytes.length);
+            } else if (value == null || value instanceof Number) {
+                Number n = value == null ? 0 : (Number) value;
+                if (valueKind == KIND_DOUBLE) {
+                    addValue(n.doubleValue());
+                } else {
+                    addValue(n.longValue());
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported value: " + value);
+            }
+        }
+
+        void copyFrom(Entries e) {
+            clear(e.size);
+            for (int i = 0, len = e.size; i < len; i++) {
+                if (keyKind == KIND_STRING && e.keyKind == KIND_STRING) {
+                    addKey(e.keyBytes, e.keyOffsets[i], e.keyOffsets[i + 1] - e.keyOffsets[i]);
+                } else {
+                    addKey(e.keyAt(i));
+                }
+                if (valueKind == KIND_STRING && e.valueKind == KIND_STRING) {
+                    addValue(e.valueBytes, e.valueOffsets[i], e.valueOffsets[i + 1] - e.valueOffsets[i]);
+                } else if (valueKind == KIND_DOUBLE && e.valueKind != KIND_STRING) {
+                    addValue(e.doubleValueAt(i));
+                } else if (valueKind == KIND_LONG && e.valueKind != KIND_STRING) {
+                    addValue(e.longValueAt(i));
+                } else {
+                    addValue(e.valueAt(i));
+                }
+            }
+        }
+
+        long longKeyAt(int i) {
+            checkIndex(i);
+            if (keyKind != KIND_LONG) {
+                throw new IllegalStateException("Key is not an integer");
+            }
+            return longKeys[i];
+        }
+
+        Object keyAt(int i) {
+            checkIndex(i);
+            if (keyKind == KIND_STRING) {
+                int offset = keyOffsets[i];
+                return new String(keyBytes, offset, keyOffsets[i + 1] - offset, StandardCharsets.UTF_8);
+            }
+
+            long v = longKeys[i];
+            Object key;
+            if (keyType == Byte.class) {
+                key = (byte) v;
+            } else if (keyType == Short.class) {
+                key = (short) v;
+            } else if (keyType == Integer.class) {
+                key = (int) v;
+            } else {
+                key = v;
+            }
+            return key;
+        }
+
+        long longValueAt(int i) {
+            checkIndex(i);
+            if (valueKind == KIND_LONG) {
+                return longValues[i];
+            } else if (valueKind == KIND_DOUBLE) {
+                return (long) doubleValues[i];
+            }
+            throw new IllegalStateException("Value is not a number");
+        }
+
+        double doubleValueAt(int i) {
+            checkIndex(i);
+            if (valueKind == KIND_DOUBLE) {
+                return doubleValues[i];
+            } else if (valueKind == KIND_LONG) {
+                return longValues[i];
+            }
+            throw new IllegalStateException("Value is not a number");
+        }
+
+        Object valueAt(int i) {
+            checkIndex(i);
+            Object value;
+            if (valueKind == KIND_STRING) {
+                int offset = valueOffsets[i];
+                value = new String(valueBytes, offset, valueOffsets[i + 1] - offset, StandardCharsets.UTF_8);
+            } else if (valueKind == KIND_DOUBLE) {
+                double v = doubleValues[i];
+                value = valueType == Float.class ? (Object) (float) v : (Object) v;
+            } else {
+                long v = longValues[i];
+                if (valueType == Byte.class) {
+                    value = (byte) v;
+                } else if (valueType == Short.class) {
+                    value = (short) v;
+                } else if (valueType == Integer.class) {
+                    value = (int) v;
+                } else {
+                    value = v;
+                }
+            }
+            return value;
+        }
+
+        int indexOf(Object key) {
+            final long longKey;
+            final byte[] bytes;
+            if (keyKind == KIND_STRING) {
+                if (!(key instanceof String)) {
+                    return -1;
+                }
+                longKey = 0L;
+                bytes = ((String) key).getBytes(StandardCharsets.UTF_8);
+            } else if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+                longKey = ((Number) key).longValue();
+                bytes = null;
+            } else {
+                return -1;
+            }
+
+            if (size <= MIN_INDEX_SIZE) {
+                for (int i = size - 1; i >= 0; i--) {
+                    if (keyEquals(i, longKey, bytes)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+
+            int[] table = indexVersion == version ? index : buildIndex();
+            int mask = table.length - 1;
+            int slot = (bytes != null ? hash(bytes, 0, bytes.length) : hash(longKey)) & mask;
+            int i;
+            while ((i = table[slot] - 1) >= 0) {
+                if (keyEquals(i, longKey, bytes)) {
+                    return i;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int i = indexOf(key);
+            return i < 0 ? null : valueAt(i);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<Object, Object>> entrySet() {
+            return new AbstractSet<Entry<Object, Object>>() {
+                @Override
+                public Iterator<Entry<Object, Object>> iterator() {
+                    return new Iterator<Entry<Object, Object>>() {
+                        private final int expectedVersion = version;
+                        private int i = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return i < size;
+                        }
+
+                        @Override
+                        public Entry<Object, Object> next() {
+                            if (i >= size) {
+                                throw new NoSuchElementException();
+                            } else if (expectedVersion != version) {
+                                throw new ConcurrentModificationException();
+                            }
+                            Entry<Object, Object> e = new SimpleImmutableEntry<>(keyAt(i), valueAt(i));
+                            i++;
+                            return e;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+
+    /**
+     * Checks whether flat map can be used for the given key and value columns.
+     *
+     * @param config    non-null configuration
+     * @param keyInfo   non-null key column
+     * @param valueInfo non-null value column
+     * @return true if flat map can be used; false otherwise
+     */
+    public static boolean isSupported(ClickHouseConfig config, ClickHouseColumn keyInfo, ClickHouseColumn valueInfo) {
+        int keyKind = getKind(keyInfo, keyInfo.getObjectClass(config), true);
+        int valueKind = getKind(valueInfo, valueInfo.getObjectClass(config), false);
+        return keyKind >= 0 && valueKind >= 0
+                && (!config.isUseBinaryString() || (keyKind != KIND_STRING && valueKind != KIND_STRING));
+    }
+
+    /**
+     * Creates an empty flat map.
+     *
+     * @param keyType   non-null class of key, should be {@link String},
+     *                  {@link Byte}, {@link Short}, {@link Integer} or
+     *                  {@link Long}
+     * @param valueType non-null class of value, could be one of key types, or
+     *                  {@link Float} and {@link Double}
+     * @return empty flat map
+     */
+    public static ClickHouseFlatMapValue ofEmpty(Class<?> keyType, Class<?> valueType) {
+        return new ClickHouseFlatMapValue(keyType, valueType);
+    }
+
+    private final Entries entries;
+
+    private Map<Object, Object> map;
+    private int mapVersion;
+
+    private static Entries newEntries(Class<?> keyType, Class<?> valueType) {
+        int keyKind;
+        if (keyType == String.class) {
+            keyKind = KIND_STRING;
+        } else if (keyType == Byte.class || keyType == Short.class || keyType == Integer.class
+                || keyType == Long.class) {
+            keyKind = KIND_LONG;
+        } else {
+            throw new IllegalArgumentException("Unsupported key type: " + keyType);
+        }
+
+        int valueKind;
+        if (valueType == String.class) {
+            valueKind = KIND_STRING;
+        } else if (valueType == Float.class || valueType == Double.class) {
+            valueKind = KIND_DOUBLE;
+        } else if (valueType == Byte.class || valueType == Short.class || valueType == Integer.class
+                || valueType == Long.class) {
+            valueKind = KIND_LONG;
+        } else {
+            throw new IllegalArgumentException("Unsupported value type: " + valueType);
+        }
+        return new Entries(keyType, valueType, keyKind, valueKind);
+    }
+
+    protected ClickHouseFlatMapValue(Class<?> keyType, Class<?> valueType) {
+        this(newEntries(ClickHouseChecker.nonNull(keyType, "keyType"),
+                ClickHouseChecker.nonNull(valueType, "valueType")), keyType, valueType);
+    }
+
+    private ClickHouseFlatMapValue(Entries entries, Class<?> keyType, Class<?> valueType) {
+        super(entries, keyType, valueType);
+
+        this.entries = entries;
+        this.map = null;
+        this.mapVersion = -1;
+    }
+
+    @Override
+    protected ClickHouseFlatMapValue set(Map<?, ?> value) {
+        Map<?, ?> current = getValue();
+        if (current == null || current == value) {
+            // initialization
+            super.set(value);
+            return this;
+        }
+
+        Entries e = (Entries) current;
+        if (value instanceof Entries) {
+            e.copyFrom((Entries) value);
+        } else {
+            e.clear(ClickHouseChecker.nonNull(value, "value").size());
+            for (Map.Entry<?, ?> entry : value.entrySet()) {
+                e.addKey(entry.getKey());
+                e.addValue(entry.getValue());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Removes all entries and reserves space for the given number of entries. It's
+     * supposed to be called before adding entries for a new row.
+     *
+     * @param expectedSize expected number of entries
+     * @return this object
+     */
+    public ClickHouseFlatMapValue reset(int expectedSize) {
+        entries.clear(expectedSize);
+        return this;
+    }
+
+    /**
+     * Checks whether keys are strings.
+     *
+     * @return true if keys are strings; false if they're integers
+     */
+    public boolean isStringKey() {
+        return entries.keyKind == KIND_STRING;
+    }
+
+    /**
+     * Checks whether values are strings.
+     *
+     * @return true if values are strings; false if they're numbers
+     */
+    public boolean isStringValue() {
+        return entries.valueKind == KIND_STRING;
+    }
+
+    /**
+     * Adds a key, which must be followed by {@code addValue()}.
+     *
+     * @param key non-null key
+     * @return this object
+     */
+    public ClickHouseFlatMapValue addKey(ClickHouseValue key) {
+        if (entries.keyKind == KIND_STRING) {
+            entries.addKey(key.asString());
+        } else {
+            entries.addKey(key.asLong());
+        }
+        return this;
+    }
+
+    /**
+     * Adds a string key in UTF-8 encoding, which must be followed by
+     * {@code addValue()}.
+     *
+     * @param key non-null key
+     * @return this object
+     */
+    public ClickHouseFlatMapValue addKey(ClickHouseByteBuffer key) {
+        if (entries.keyKind != KIND_STRING) {
+            throw new IllegalStateException("Key is not a string");
+        }
+        entries.addKey(key.array(), key.position(), key.length());
+        return this;
+    }
+
+    /**
+     * Adds a value for the key added right before.
+     *
+     * @param value non-null value
+     * @return this object
+     */
+    public ClickHouseFlatMapValue addValue(ClickHouseValue value) {
+        if (entries.valueKind == KIND_STRING) {
+            entries.addValue(value.asString());
+        } else if (entries.valueKind == KIND_DOUBLE) {
+            entries.addValue(value.asDouble());
+        } else {
+            entries.addValue(value.asLong());
+        }
+        return this;
+    }
+
+    /**
+     * Adds a string value in UTF-8 encoding for the key added right before.
+     *
+     * @param value non-null value
+     * @return this object
+     */
+    public ClickHouseFlatMapValue addValue(ClickHouseByteBuffer value) {
+        if (entries.valueKind != KIND_STRING) {
+            throw new IllegalStateException("Value is not a string");
+        }
+        entries.addValue(value.array(), value.position(), value.length());
+        return this;
+    }
+
+    /**
+     * Gets number of entries.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return entries.size;
+    }
+
+    /**
+     * Gets index of the given key.
+     *
+     * @param key key
+     * @return index of the key, or -1 when not found
+     */
+    public int indexOf(Object key) {
+        return entries.indexOf(key);
+    }
+
+    /**
+     * Gets value of the given key.
+     *
+     * @param key key
+     * @return value of the key, or null when not found
+     */
+    public Object get(Object key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Gets key at the given index.
+     *
+     * @param index zero-based index
+     * @return non-null key
+     */
+    public Object keyAt(int index) {
+        return entries.keyAt(index);
+    }
+
+    /**
+     * Gets integer key at the given index, without boxing.
+     *
+     * @param index zero-based index
+     * @return key
+     */
+    public long longKeyAt(int index) {
+        return entries.longKeyAt(index);
+    }
+
+    /**
+     * Gets value at the given index.
+     *
+     * @param index zero-based index
+     * @return non-null value
+     */
+    public Object valueAt(int index) {
+        return entries.valueAt(index);
+    }
+
+    /**
+     * Gets numeric value at the given index as long, without boxing.
+     *
+     * @param index zero-based index
+     * @return value
+     */
+    public long longValueAt(int index) {
+        return entries.longValueAt(index);
+    }
+
+    /**
+     * Gets numeric value at the given index as double, without boxing.
+     *
+     * @param index zero-based index
+     * @return value
+     */
+    public double doubleValueAt(int index) {
+        return entries.doubleValueAt(index);
+    }
+
+    @Override
+    public ClickHouseFlatMapValue copy(boolean deep) {
+        ClickHouseFlatMapValue v = new ClickHouseFlatMapValue(entries.keyType, entries.valueType);
+        v.entries.copyFrom(entries);
+        return v;
+    }
+
+    @Override
+    public Map<Object, Object> asMap() {
+        if (map == null || mapVersion != entries.version) {
+            Map<Object, Object> m = new LinkedHashMap<>(entries.size * 4 / 3 + 1);
+            for (int i = 0, len = entries.size; i < len; i++) {
+                m.put(entries.keyAt(i), entries.valueAt(i));
+            }
+            map = m;
+            mapVersion = entries.version;
+        }
+        return map;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> asMap(Class<K> keyClass, Class<V> valueClass) {
+        // check compatibility
+        super.asMap(keyClass, valueClass);
+        return (Map<K, V>) asMap();
+    }
+}
@@ -0,0 +1,1237 @@
+package com.clickhouse.client.data;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.clickhouse.client.ClickHouseArraySequence;
+import com.clickhouse.client.ClickHouseByteBuffer;
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseDataProcessor;
+import com.clickhouse.client.ClickHouseDataType;
+import com.clickhouse.client.ClickHouseDeserializer;
+import com.clickhouse.client.ClickHouseFormat;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.ClickHouseRecord;
+import com.clickhouse.client.ClickHouseSerializer;
+import com.clickhouse.client.ClickHouseUtils;
+import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.ClickHouseValues;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.config.ClickHouseRenameMethod;
+import com.clickhouse.client.data.tsv.ByteFragment;
+import com.clickhouse.client.data.tsv.ByteScanner;
+
+/**
+ * Data processor for row-based JSON formats, namely {@code JSONEachRow},
+ * {@code JSONStringsEachRow}, {@code JSONCompactEachRow} and
+ * {@code JSONCompactStringsEachRow}, as well as their variants with names and
+ * types. Rows are read one at a time and tokenized directly from the bytes,
+ * so memory usage only depends on the size of a single row. Arrays, maps,
+ * tuples and geo values are parsed element by element, while nested arrays and
+ * objects of other types are passed to the value as JSON text.
+ */
+public class ClickHouseJsonProcessor extends ClickHouseDataProcessor {
+    private static final String ERROR_UNEXPECTED_CHAR = "Expect %s at position %d but got '%s'";
+
+    private static final byte[] NULL_BYTES = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE_BYTES = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE_BYTES = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    // same as ClickHouse server with output_format_json_quote_denormals enabled
+    private static final byte[] NAN_BYTES = "\"nan\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INF_BYTES = "\"inf\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NINF_BYTES = "\"-inf\"".getBytes(StandardCharsets.US_ASCII);
+
+    // kinds of tokenized value
+    private static final byte KIND_MISSING = 0;
+    private static final byte KIND_NULL = 1;
+    private static final byte KIND_TRUE = 2;
+    private static final byte KIND_FALSE = 3;
+    private static final byte KIND_NUMBER = 4;
+    private static final byte KIND_STRING = 5;
+    private static final byte KIND_ESCAPED_STRING = 6;
+    private static final byte KIND_NESTED = 7;
+
+    static class ArraySerializer extends ClickHouseSerializer.CompositeSerializer {
+        private final ClickHouseValue valValue;
+
+        public ArraySerializer(ClickHouseConfig config, ClickHouseColumn column, ClickHouseSerializer serializer) {
+            super(new ClickHouseSerializer[] { serializer });
+
+            valValue = column.getNestedColumns().get(0).newValue(config);
+        }
+
+        @Override
+        public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+            ClickHouseArraySequence arr = (ClickHouseArraySequence) value;
+            ClickHouseSerializer s = serializers[0];
+            output.writeByte((byte) '[');
+            for (int i = 0, len = arr.length(); i < len; i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                s.serialize(arr.getValue(i, valValue), output);
+            }
+            output.writeByte((byte) ']');
+        }
+    }
+
+    static class MapSerializer extends ClickHouseSerializer.CompositeSerializer {
+        private final ClickHouseValue keyValue;
+        private final ClickHouseValue valValue;
+
+        public MapSerializer(ClickHouseConfig config, ClickHouseColumn column, ClickHouseSerializer serializer) {
+            super(new ClickHouseSerializer[] { serializer });
+
+            this.keyValue = column.getKeyInfo().newValue(config);
+            this.valValue = column.getValueInfo().newValue(config);
+        }
+
+        @Override
+        public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+            ClickHouseSerializer s = serializers[0];
+            output.writeByte((byte) '{');
+            boolean first = true;
+            for (Entry<Object, Object> e : value.asMap().entrySet()) {
+                if (first) {
+                    first = false;
+                } else {
+                    output.writeByte((byte) ',');
+                }
+                // keys are always strings in JSON
+                writeString(output, keyValue.update(e.getKey()).asString());
+                output.writeByte((byte) ':');
+                s.serialize(valValue.update(e.getValue()), output);
+            }
+            output.writeByte((byte) '}');
+        }
+    }
+
+    static class TupleSerializer extends ClickHouseSerializer.CompositeSerializer {
+        private final ClickHouseValue[] values;
+
+        public TupleSerializer(ClickHouseConfig config, ClickHouseColumn column,
+                ClickHouseSerializer... serializers) {
+            super(serializers);
+
+            List<ClickHouseColumn> nestedCols = column.getNestedColumns();
+            int len = nestedCols.size();
+            if (serializers.length != len) {
+                throw new IllegalArgumentException(
+                        ClickHouseUtils.format("Expect %d serializers but got %d", len, serializers.length));
+            }
+            values = new ClickHouseValue[len];
+            for (int i = 0; i < len; i++) {
+                values[i] = nestedCols.get(i).newValue(config);
+            }
+        }
+
+        @Override
+        public void serialize(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+            List<Object> tupleValues = value.asTuple();
+            output.writeByte((byte) '[');
+            for (int i = 0, len = serializers.length; i < len; i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                serializers[i].serialize(values[i].update(tupleValues.get(i)), output);
+            }
+            output.writeByte((byte) ']');
+        }
+    }
+
+    /**
+     * Checks whether the given format is supported by this processor.
+     *
+     * @param format format to check
+     * @return true if the format is supported; false otherwise
+     */
+    public static boolean isSupported(ClickHouseFormat format) {
+        if (format == null) {
+            return false;
+        }
+
+        switch (format) {
+            case JSONEachRow:
+            case JSONLines:
+            case NDJSON:
+            case JSONStringsEachRow:
+            case JSONCompactEachRow:
+            case JSONCompactEachRowWithNames:
+            case JSONCompactEachRowWithNamesAndTypes:
+            case JSONCompactStringsEachRow:
+            case JSONCompactStringsEachRowWithNames:
+            case JSONCompactStringsEachRowWithNamesAndTypes:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static boolean isCompact(ClickHouseFormat format) {
+        return format.name().startsWith("JSONCompact");
+    }
+
+    static boolean hasNames(ClickHouseFormat format) {
+        return format.name().endsWith("WithNames") || hasTypes(format);
+    }
+
+    static boolean hasTypes(ClickHouseFormat format) {
+        return format.name().endsWith("WithNamesAndTypes");
+    }
+
+    static boolean isStrings(ClickHouseFormat format) {
+        return format == ClickHouseFormat.JSONStringsEachRow || format.name().startsWith("JSONCompactStrings");
+    }
+
+    static void writeNull(ClickHouseOutputStream output) throws IOException {
+        output.writeBytes(NULL_BYTES);
+    }
+
+    static void writeString(ClickHouseOutputStream output, String str) throws IOException {
+        if (str == null) {
+            writeNull(output);
+            return;
+        }
+
+        writeString(output, str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void writeString(ClickHouseOutputStream output, byte[] bytes) throws IOException {
+        output.writeByte((byte) '"');
+        int from = 0;
+        for (int i = 0, len = bytes.length; i < len; i++) {
+            byte b = bytes[i];
+            if (b == '"' || b == '\\' || (b >= 0 && b < 0x20)) {
+                output.writeBytes(bytes, from, i - from);
+                output.writeByte((byte) '\\');
+                switch (b) {
+                    case '\b':
+                        output.writeByte((byte) 'b');
+                        break;
+                    case '\f':
+                        output.writeByte((byte) 'f');
+                        break;
+                    case '\n':
+                        output.writeByte((byte) 'n');
+                        break;
+                    case '\r':
+                        output.writeByte((byte) 'r');
+                        break;
+                    case '\t':
+                        output.writeByte((byte) 't');
+                        break;
+                    case '"':
+                    case '\\':
+                        output.writeByte(b);
+                        break;
+                    default:
+                        output.writeByte((byte) 'u').writeByte((byte) '0').writeByte((byte) '0')
+                                .writeByte(HEX_DIGITS[b >> 4]).writeByte(HEX_DIGITS[b & 0xF]);
+                        break;
+                }
+                from = i + 1;
+            }
+        }
+        output.writeBytes(bytes, from, bytes.length - from);
+        output.writeByte((byte) '"');
+    }
+
+    static void writeNumber(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+        if (value.isNullOrEmpty()) {
+            writeNull(output);
+        } else {
+            output.writeBytes(value.asString().getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    static void writeFloat(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+        if (value.isNullOrEmpty()) {
+            writeNull(output);
+        } else if (Double.isFinite(value.asDouble())) {
+            output.writeBytes(value.asString().getBytes(StandardCharsets.US_ASCII));
+        } else {
+            writeNonFinite(output, value.asDouble());
+        }
+    }
+
+    static void writeDouble(ClickHouseOutputStream output, double value) throws IOException {
+        if (Double.isFinite(value)) {
+            output.writeBytes(Double.toString(value).getBytes(StandardCharsets.US_ASCII));
+        } else {
+            writeNonFinite(output, value);
+        }
+    }
+
+    static void writeNonFinite(ClickHouseOutputStream output, double value) throws IOException {
+        // nan and inf are not valid numbers in JSON
+        if (Double.isNaN(value)) {
+            output.writeBytes(NAN_BYTES);
+        } else {
+            output.writeBytes(value > 0D ? INF_BYTES : NINF_BYTES);
+        }
+    }
+
+    /**
+     * Writes geo value, which is a multi-dimensional array of doubles, as nested
+     * JSON arrays.
+     */
+    static void writeDoubles(ClickHouseOutputStream output, Object array) throws IOException {
+        output.writeByte((byte) '[');
+        if (array instanceof double[]) {
+            double[] values = (double[]) array;
+            for (int i = 0, len = values.length; i < len; i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                writeDouble(output, values[i]);
+            }
+        } else {
+            Object[] values = (Object[]) array;
+            for (int i = 0, len = values.length; i < len; i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                writeDoubles(output, values[i]);
+            }
+        }
+        output.writeByte((byte) ']');
+    }
+
+    static void writeGeo(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+        writeDoubles(output, value.asObject());
+    }
+
+    static void writeBoolean(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+        if (value.isNullOrEmpty()) {
+            writeNull(output);
+        } else {
+            output.writeBytes(value.asBoolean() ? TRUE_BYTES : FALSE_BYTES);
+        }
+    }
+
+    static void writeString(ClickHouseValue value, ClickHouseOutputStream output) throws IOException {
+        writeString(output, value.asString());
+    }
+
+    // initialized in readColumns() when column names are taken from the response
+    private String[] keys;
+    private byte[] pendingRow;
+
+    // state of readRecord(), which may be called multiple times for one row
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    // current row and its tokens, one slot per column
+    private byte[] row;
+    private int position;
+    private byte[] kinds;
+    private int[] starts;
+    private int[] ends;
+
+    // range of the last scanned value
+    private int tokenStart;
+    private int tokenEnd;
+
+    private byte[][] keyBytes;
+    private Map<String, Integer> keyIndex;
+    // reusable buffer for unescaping string values
+    private byte[] unescaped;
+    // reusable values of elements in arrays, maps and tuples
+    private Map<ClickHouseColumn, ClickHouseValue[]> nestedValues;
+
+    private boolean headerWritten;
+
+    /**
+     * Finds end of the current JSON object or array, which may span multiple
+     * chunks.
+     */
+    private int readRecord(byte[] bytes, int position, int limit) {
+        int i = position;
+        while (i < limit) {
+            if (!inString) {
+                byte b = bytes[i++];
+                if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth <= 0) {
+                    return i - position;
+                }
+            } else if (escaped) {
+                escaped = false;
+                i++;
+            } else {
+                int j = ByteScanner.indexOfAny(bytes, (byte) '"', (byte) '\\', i, limit);
+                if (j < 0) {
+                    break;
+                } else if (bytes[j] == '\\') {
+                    escaped = true;
+                } else {
+                    inString = false;
+                }
+                i = j + 1;
+            }
+        }
+        return -1;
+    }
+
+    private ClickHouseByteBuffer readRecord() throws IOException {
+        depth = 0;
+        inString = false;
+        escaped = false;
+        return input.readCustom(this::readRecord);
+    }
+
+    private IOException newUnexpectedCharException(String expected) {
+        String actual = position < row.length ? new String(row, position, 1, StandardCharsets.UTF_8) : "<EOF>";
+        return new IOException(ClickHouseUtils.format(ERROR_UNEXPECTED_CHAR, expected, position, actual));
+    }
+
+    private int skipWhitespaces(int end) {
+        int i = position;
+        for (byte b; i < end && ((b = row[i]) == ' ' || b == '\n' || b == '\t' || b == '\r'); i++) {
+            // skip
+        }
+        return position = i;
+    }
+
+    private void expect(byte b, int end) throws IOException {
+        if (skipWhitespaces(end) >= end || row[position] != b) {
+            throw newUnexpectedCharException("'" + (char) b + "'");
+        }
+        position++;
+    }
+
+    private boolean match(byte[] literal, int start, int end) {
+        if (end - start != literal.length) {
+            return false;
+        }
+        for (int i = 0, len = literal.length; i < len; i++) {
+            if (row[start + i] != literal[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds end of the string starting at current position(right after the
+     * opening quote), and moves current position after the closing quote.
+     *
+     * @return kind of the string
+     */
+    private byte scanString(int end) throws IOException {
+        byte kind = KIND_STRING;
+        int i = position;
+        while ((i = ByteScanner.indexOfAny(row, (byte) '"', (byte) '\\', i, end)) >= 0) {
+            if (row[i] == '"') {
+                position = i + 1;
+                return kind;
+            }
+            kind = KIND_ESCAPED_STRING;
+            i += 2;
+        }
+        position = end;
+        throw newUnexpectedCharException("'\"'");
+    }
+
+    /**
+     * Tokenizes the value at current position and stores its kind and range into
+     * the given slot, negative slot means the value should be skipped.
+     */
+    private void scanValue(int slot, int end) throws IOException {
+        byte kind = scanToken(end);
+        if (slot >= 0) {
+            kinds[slot] = kind;
+            starts[slot] = tokenStart;
+            ends[slot] = tokenEnd;
+        }
+    }
+
+    /**
+     * Tokenizes the value at current position, and moves current position after
+     * the value. Range of the value, excluding quotes of string, is kept in
+     * {@code tokenStart} and {@code tokenEnd}.
+     *
+     * @return kind of the value
+     */
+    private byte scanToken(int end) throws IOException {
+        if (skipWhitespaces(end) >= end) {
+            throw newUnexpectedCharException("value");
+        }
+
+        int start = position;
+        byte kind;
+        byte b = row[start];
+        if (b == '"') {
+            position++;
+            kind = scanString(end);
+            start++;
+            end = position - 1;
+        } else if (b == '{' || b == '[') {
+            int d = 0;
+            while (position < end) {
+                b = row[position++];
+                if (b == '"') {
+                    scanString(end);
+                } else if (b == '{' || b == '[') {
+                    d++;
+                } else if ((b == '}' || b == ']') && --d == 0) {
+                    break;
+                }
+            }
+            if (d != 0) {
+                throw newUnexpectedCharException("end of nested value");
+            }
+            kind = KIND_NESTED;
+            end = position;
+        } else {
+            while (position < end && (b = row[position]) != ',' && b != '}' && b != ']' && b != ' ' && b != '\n'
+                    && b != '\t' && b != '\r') {
+                position++;
+            }
+            end = position;
+            if (match(NULL_BYTES, start, end)) {
+                kind = KIND_NULL;
+            } else if (match(TRUE_BYTES, start, end)) {
+                kind = KIND_TRUE;
+            } else if (match(FALSE_BYTES, start, end)) {
+                kind = KIND_FALSE;
+            } else if (end > start) {
+                kind = KIND_NUMBER;
+            } else {
+                throw newUnexpectedCharException("value");
+            }
+        }
+
+        tokenStart = start;
+        tokenEnd = end;
+        return kind;
+    }
+
+    /**
+     * Gets index of the column by key, or -1 when no such column.
+     */
+    private int getColumnIndex(int start, int end, boolean escaped, int expected) {
+        if (keyBytes == null) {
+            int len = columns.length;
+            keyBytes = new byte[len][];
+            keyIndex = new HashMap<>();
+            for (int i = 0; i < len; i++) {
+                String key = keys != null ? keys[i] : columns[i].getColumnName();
+                keyBytes[i] = key.getBytes(StandardCharsets.UTF_8);
+                keyIndex.putIfAbsent(key, i);
+            }
+        }
+
+        if (!escaped && expected < keyBytes.length && match(keyBytes[expected], start, end)) {
+            return expected;
+        }
+
+        Integer index = keyIndex.get(escaped ? decodeString(start, end) : asString(start, end));
+        return index != null ? index : -1;
+    }
+
+    private String asString(int start, int end) {
+        return new String(row, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes escaped JSON string into the reusable buffer. Decoded string is
+     * never longer than the original one.
+     */
+    private String decodeString(int start, int end) {
+        byte[] buf = unescaped;
+        if (buf == null || buf.length < end - start) {
+            unescaped = buf = new byte[end - start];
+        }
+
+        int len = 0;
+        for (int i = start; i < end; i++) {
+            byte b = row[i];
+            if (b != '\\' || ++i >= end) {
+                buf[len++] = b;
+                continue;
+            }
+
+            b = row[i];
+            switch (b) {
+                case 'b':
+                    buf[len++] = '\b';
+                    break;
+                case 'f':
+                    buf[len++] = '\f';
+                    break;
+                case 'n':
+                    buf[len++] = '\n';
+                    break;
+                case 'r':
+                    buf[len++] = '\r';
+                    break;
+                case 't':
+                    buf[len++] = '\t';
+                    break;
+                case 'u':
+                    if (i + 4 < end) {
+                        int cp = Integer.parseInt(new String(row, i + 1, 4, StandardCharsets.US_ASCII), 16);
+                        i += 4;
+                        if (Character.isHighSurrogate((char) cp) && i + 6 < end && row[i + 1] == '\\'
+                                && row[i + 2] == 'u') {
+                            int low = Integer.parseInt(new String(row, i + 3, 4, StandardCharsets.US_ASCII), 16);
+                            if (Character.isLowSurrogate((char) low)) {
+                                cp = Character.toCodePoint((char) cp, (char) low);
+                                i += 6;
+                            }
+                        }
+                        len = encodeUtf8(cp, buf, len);
+                        break;
+                    }
+                    buf[len++] = b;
+                    break;
+                default: // '"', '\\', '/' and anything else as is
+                    buf[len++] = b;
+                    break;
+            }
+        }
+        return new String(buf, 0, len, StandardCharsets.UTF_8);
+    }
+
+    private static int encodeUtf8(int cp, byte[] buf, int offset) {
+        if (cp < 0x80) {
+            buf[offset++] = (byte) cp;
+        } else if (cp < 0x800) {
+            buf[offset++] = (byte) (0xC0 | (cp >> 6));
+            buf[offset++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (cp < 0x10000) {
+            buf[offset++] = (byte) (0xE0 | (cp >> 12));
+            buf[offset++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buf[offset++] = (byte) (0x80 | (cp & 0x3F));
+        } else {
+            buf[offset++] = (byte) (0xF0 | (cp >> 18));
+            buf[offset++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            buf[offset++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buf[offset++] = (byte) (0x80 | (cp & 0x3F));
+        }
+        return offset;
+    }
+
+    /**
+     * Tokenizes the given row. Only positions of the values are recorded, so that
+     * values can be filled later in any order.
+     */
+    private void tokenize(byte[] bytes, int start, int end, boolean compact) throws IOException {
+        row = bytes;
+        position = start;
+        int len = columns.length;
+        if (kinds == null || kinds.length < len) {
+            kinds = new byte[len];
+            starts = new int[len];
+            ends = new int[len];
+        } else {
+            Arrays.fill(kinds, KIND_MISSING);
+        }
+
+        if (skipWhitespaces(end) >= end) {
+            throw new EOFException();
+        }
+
+        if (compact) {
+            expect((byte) '[', end);
+            if (skipWhitespaces(end) < end && row[position] == ']') {
+                position++;
+                return;
+            }
+            for (int i = 0;; i++) {
+                scanValue(i < len ? i : -1, end);
+                if (skipWhitespaces(end) < end && row[position] == ',') {
+                    position++;
+                } else {
+                    expect((byte) ']', end);
+                    break;
+                }
+            }
+        } else {
+            expect((byte) '{', end);
+            if (skipWhitespaces(end) < end && row[position] == '}') {
+                position++;
+                return;
+            }
+            for (int i = 0;; i++) {
+                expect((byte) '"', end);
+                int keyStart = position;
+                boolean escapedKey = scanString(end) == KIND_ESCAPED_STRING;
+                int index = getColumnIndex(keyStart, position - 1, escapedKey, i);
+                expect((byte) ':', end);
+                scanValue(index, end);
+                if (skipWhitespaces(end) < end && row[position] == ',') {
+                    position++;
+                } else {
+                    expect((byte) '}', end);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void nextRow() throws IOException {
+        boolean compact = isCompact(config.getFormat());
+        byte[] bytes = pendingRow;
+        if (bytes != null) {
+            pendingRow = null;
+            tokenize(bytes, 0, bytes.length, compact);
+            return;
+        }
+
+        ClickHouseByteBuffer buf = readRecord();
+        if (buf.isEmpty()) {
+            throw new EOFException();
+        }
+        tokenize(buf.array(), buf.position(), buf.position() + buf.length(), compact);
+    }
+
+    private void fill(ClickHouseValue value, int index) throws IOException {
+        fill(value, columns[index], kinds[index], starts[index], ends[index]);
+    }
+
+    private void fill(ClickHouseValue value, ClickHouseColumn column, byte kind, int start, int end)
+            throws IOException {
+        switch (kind) {
+            case KIND_MISSING:
+                if (column.isNullable()) {
+                    value.resetToNullOrEmpty();
+                } else {
+                    value.resetToDefault();
+                }
+                break;
+            case KIND_NULL:
+                value.update((String) null);
+                break;
+            case KIND_TRUE:
+                value.update(true);
+                break;
+            case KIND_FALSE:
+                value.update(false);
+                break;
+            case KIND_NUMBER:
+            case KIND_STRING:
+                ClickHouseTabSeparatedProcessor.update(value, column.getDataType(),
+                        new ByteFragment(row, start, end - start), null);
+                break;
+            case KIND_ESCAPED_STRING:
+                value.update(decodeString(start, end));
+                break;
+            default:
+                fillNested(value, column, start, end);
+                break;
+        }
+    }
+
+    private ClickHouseValue[] getNestedValues(ClickHouseColumn column) {
+        if (nestedValues == null) {
+            nestedValues = new IdentityHashMap<>();
+        }
+        ClickHouseValue[] values = nestedValues.get(column);
+        if (values == null) {
+            List<ClickHouseColumn> nestedCols = column.getDataType() == ClickHouseDataType.Map
+                    ? Arrays.asList(column.getKeyInfo(), column.getValueInfo())
+                    : column.getNestedColumns();
+            int len = nestedCols.size();
+            values = new ClickHouseValue[len];
+            for (int i = 0; i < len; i++) {
+                values[i] = nestedCols.get(i).newValue(config);
+            }
+            nestedValues.put(column, values);
+        }
+        return values;
+    }
+
+    /**
+     * Counts elements of the array or object at current position, which is right
+     * after the opening bracket. Current position is not changed.
+     */
+    private int countElements(boolean object, int end) throws IOException {
+        int from = position;
+        byte close = object ? (byte) '}' : (byte) ']';
+        int count = 0;
+        if (skipWhitespaces(end) >= end || row[position] != close) {
+            while (true) {
+                if (object) {
+                    expect((byte) '"', end);
+                    scanString(end);
+                    expect((byte) ':', end);
+                }
+                scanToken(end);
+                count++;
+                if (skipWhitespaces(end) < end && row[position] == ',') {
+                    position++;
+                } else {
+                    expect(close, end);
+                    break;
+                }
+            }
+        }
+        position = from;
+        return count;
+    }
+
+    /**
+     * Fills value of the given column using nested array or object in range.
+     */
+    private void fillNested(ClickHouseValue value, ClickHouseColumn column, int start, int end)
+            throws IOException {
+        position = start;
+        switch (column.getDataType()) {
+            case Array:
+                if (value instanceof ClickHouseArraySequence) {
+                    readArray((ClickHouseArraySequence) value, column, end);
+                    return;
+                }
+                break;
+            case Map:
+                readMap(value, column, end);
+                return;
+            case Tuple:
+                readTuple(value, column, end);
+                return;
+            case Point:
+                value.update(readDoubles(1, end));
+                return;
+            case Ring:
+                value.update(readDoubles(2, end));
+                return;
+            case Polygon:
+                value.update(readDoubles(3, end));
+                return;
+            case MultiPolygon:
+                value.update(readDoubles(4, end));
+                return;
+            default:
+                break;
+        }
+        value.update(asString(start, end));
+    }
+
+    private void readArray(ClickHouseArraySequence arr, ClickHouseColumn column, int end) throws IOException {
+        expect((byte) '[', end);
+        int len = countElements(false, end);
+        // always start with a new array, as the old one may be referenced by outer value
+        arr.resetToNullOrEmpty();
+        if (len > 0) {
+            ClickHouseColumn nestedCol = column.getNestedColumns().get(0);
+            ClickHouseValue valValue = getNestedValues(column)[0];
+            arr.allocate(len, column.getArrayBaseColumn().getObjectClassForArray(config),
+                    column.getArrayNestedLevel());
+            for (int i = 0; i < len; i++) {
+                if (i > 0) {
+                    expect((byte) ',', end);
+                }
+                byte kind = scanToken(end);
+                int next = position;
+                fill(valValue, nestedCol, kind, tokenStart, tokenEnd);
+                position = next;
+                arr.setValue(i, valValue);
+            }
+        }
+        expect((byte) ']', end);
+    }
+
+    private void readMap(ClickHouseValue value, ClickHouseColumn column, int end) throws IOException {
+        expect((byte) '{', end);
+        int len = countElements(true, end);
+        ClickHouseColumn keyCol = column.getKeyInfo();
+        ClickHouseColumn valCol = column.getValueInfo();
+        ClickHouseValue[] values = getNestedValues(column);
+        ClickHouseValue keyValue = values[0];
+        ClickHouseValue valValue = values[1];
+        ClickHouseFlatMapValue flatMap = value instanceof ClickHouseFlatMapValue
+                ? ((ClickHouseFlatMapValue) value).reset(len)
+                : null;
+        Map<Object, Object> map = flatMap == null ? new LinkedHashMap<>(len * 4 / 3 + 1) : null;
+        for (int i = 0; i < len; i++) {
+            if (i > 0) {
+                expect((byte) ',', end);
+            }
+            expect((byte) '"', end);
+            int keyStart = position;
+            byte kind = scanString(end);
+            int next = position;
+            fill(keyValue, keyCol, kind, keyStart, next - 1);
+            position = next;
+            expect((byte) ':', end);
+            kind = scanToken(end);
+            next = position;
+            fill(valValue, valCol, kind, tokenStart, tokenEnd);
+            position = next;
+            if (flatMap != null) {
+                flatMap.addKey(keyValue).addValue(valValue);
+            } else {
+                map.put(keyValue.asObject(), valValue.asObject());
+            }
+        }
+        expect((byte) '}', end);
+        if (map != null) {
+            value.update(map);
+        }
+    }
+
+    /**
+     * Reads tuple from either an array, or an object when the tuple is named.
+     */
+    private void readTuple(ClickHouseValue value, ClickHouseColumn column, int end) throws IOException {
+        List<ClickHouseColumn> nestedCols = column.getNestedColumns();
+        ClickHouseValue[] values = getNestedValues(column);
+        int size = values.length;
+        Object[] tupleValues = new Object[size];
+        boolean[] filled = new boolean[size];
+        boolean object = skipWhitespaces(end) < end && row[position] == '{';
+        expect(object ? (byte) '{' : (byte) '[', end);
+        int len = countElements(object, end);
+        for (int i = 0; i < len; i++) {
+            if (i > 0) {
+                expect((byte) ',', end);
+            }
+            int index = i;
+            if (object) {
+                expect((byte) '"', end);
+                int keyStart = position;
+                scanString(end);
+                for (int j = 0; j < size; j++) {
+                    if (match(nestedCols.get(j).getColumnName().getBytes(StandardCharsets.UTF_8), keyStart,
+                            position - 1)) {
+                        index = j;
+                        break;
+                    }
+                }
+                expect((byte) ':', end);
+            }
+            byte kind = scanToken(end);
+            if (index < size && !filled[index]) {
+                int next = position;
+                fill(values[index], nestedCols.get(index), kind, tokenStart, tokenEnd);
+                position = next;
+                tupleValues[index] = values[index].asObject();
+                filled[index] = true;
+            }
+        }
+        expect(object ? (byte) '}' : (byte) ']', end);
+        for (int i = 0; i < size; i++) {
+            if (!filled[i]) {
+                fill(values[i], nestedCols.get(i), KIND_MISSING, 0, 0);
+                tupleValues[i] = values[i].asObject();
+            }
+        }
+        value.update(tupleValues);
+    }
+
+    /**
+     * Reads geo value as multi-dimensional array of doubles.
+     */
+    private Object readDoubles(int level, int end) throws IOException {
+        expect((byte) '[', end);
+        int len = countElements(false, end);
+        Object array = ClickHouseValues.createPrimitiveArray(double.class, len, level);
+        for (int i = 0; i < len; i++) {
+            if (i > 0) {
+                expect((byte) ',', end);
+            }
+            if (level > 1) {
+                ((Object[]) array)[i] = readDoubles(level - 1, end);
+            } else {
+                byte kind = scanToken(end);
+                ((double[]) array)[i] = kind == KIND_NULL ? 0D
+                        : new ByteFragment(row, tokenStart, tokenEnd - tokenStart).asDouble();
+            }
+        }
+        expect((byte) ']', end);
+        return array;
+    }
+
+    /**
+     * Reads a row of strings, for example names or types in header.
+     */
+    private String[] readStrings() throws IOException {
+        ClickHouseByteBuffer buf = readRecord();
+        if (buf.isEmpty()) {
+            return new String[0];
+        }
+
+        byte[] bytes = buf.array();
+        int end = buf.position() + buf.length();
+        row = bytes;
+        position = buf.position();
+        List<String> list = new ArrayList<>();
+        if (skipWhitespaces(end) >= end) {
+            return new String[0];
+        }
+        expect((byte) '[', end);
+        if (skipWhitespaces(end) < end && row[position] == ']') {
+            return new String[0];
+        }
+        do {
+            expect((byte) '"', end);
+            int start = position;
+            byte kind = scanString(end);
+            list.add(kind == KIND_ESCAPED_STRING ? decodeString(start, position - 1) : asString(start, position - 1));
+        } while (skipWhitespaces(end) < end && row[position++] == ',');
+        if (row[position - 1] != ']') {
+            position--;
+            throw newUnexpectedCharException("']'");
+        }
+        return list.toArray(new String[0]);
+    }
+
+    /**
+     * Gets keys of the given object, or generated names like {@code c1} and
+     * {@code c2} for array.
+     */
+    private String[] readKeys(byte[] bytes, boolean compact) throws IOException {
+        row = bytes;
+        position = 0;
+        int end = bytes.length;
+        if (skipWhitespaces(end) >= end) {
+            return new String[0];
+        }
+
+        List<String> list = new ArrayList<>();
+        expect(compact ? (byte) '[' : (byte) '{', end);
+        byte close = compact ? (byte) ']' : (byte) '}';
+        if (skipWhitespaces(end) < end && row[position] == close) {
+            return new String[0];
+        }
+        while (true) {
+            if (compact) {
+                list.add("c" + (list.size() + 1));
+            } else {
+                expect((byte) '"', end);
+                int start = position;
+                byte kind = scanString(end);
+                list.add(kind == KIND_ESCAPED_STRING ? decodeString(start, position - 1)
+                        : asString(start, position - 1));
+                expect((byte) ':', end);
+            }
+            scanValue(-1, end);
+            if (skipWhitespaces(end) < end && row[position] == ',') {
+                position++;
+            } else {
+                expect(close, end);
+                break;
+            }
+        }
+        return list.toArray(new String[0]);
+    }
+
+    @Override
+    protected boolean hasMoreToRead() throws UncheckedIOException {
+        if (pendingRow != null || readPosition > 0) { // first row or rest of current row
+            return true;
+        } else if (input.isClosed()) {
+            return false;
+        }
+
+        try {
+            // skip line breaks between rows, so that it won't be treated as a new row
+            for (int b = input.peek(); b == '\n' || b == '\r' || b == ' ' || b == '\t'; b = input.peek()) {
+                input.readByte();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return super.hasMoreToRead();
+    }
+
+    @Override
+    protected ClickHouseRecord createRecord() {
+        return new ClickHouseSimpleRecord(getColumns(), templates);
+    }
+
+    @Override
+    protected void readAndFill(ClickHouseRecord r) throws IOException {
+        if (readPosition == 0) {
+            nextRow();
+        }
+        for (int i = readPosition, len = columns.length; i < len; i++) {
+            fill(r.getValue(i), i);
+            readPosition = i;
+        }
+        readPosition = 0;
+    }
+
+    @Override
+    protected void readAndFill(ClickHouseValue value) throws IOException {
+        int pos = readPosition;
+        if (pos == 0) {
+            nextRow();
+        }
+        fill(value, pos);
+        readPosition = ++pos >= columns.length ? 0 : pos;
+    }
+
+    @Override
+    protected List<ClickHouseColumn> readColumns() throws IOException {
+        if (input.available() < 1) {
+            input.close();
+            return Collections.emptyList();
+        }
+
+        ClickHouseFormat format = config.getFormat();
+        String[] names;
+        String[] types = null;
+        if (hasNames(format)) {
+            names = readStrings();
+            if (hasTypes(format)) {
+                types = readStrings();
+                if (types.length != names.length) {
+                    input.close();
+                    throw new IllegalArgumentException("ClickHouse response without column types");
+                }
+            }
+        } else {
+            ClickHouseByteBuffer buf = readRecord();
+            pendingRow = Arrays.copyOfRange(buf.array(), buf.position(), buf.position() + buf.length());
+            names = readKeys(pendingRow, isCompact(format));
+        }
+
+        if (names.length == 0) {
+            input.close();
+            pendingRow = null;
+            return Collections.emptyList();
+        }
+
+        keys = names;
+        ClickHouseRenameMethod m = config.getOption(ClickHouseClientOption.RENAME_RESPONSE_COLUMN,
+                ClickHouseRenameMethod.class);
+        List<ClickHouseColumn> list = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            list.add(ClickHouseColumn.of(m.rename(names[i]), types == null ? "Nullable(String)" : types[i]));
+        }
+        return list;
+    }
+
+    public ClickHouseJsonProcessor(ClickHouseConfig config, ClickHouseInputStream input,
+            ClickHouseOutputStream output, List<ClickHouseColumn> columns, Map<String, Serializable> settings)
+            throws IOException {
+        super(config, input, output, columns, settings);
+    }
+
+    @Override
+    public void write(ClickHouseValue value) throws IOException {
+        if (output == null) {
+            throw new IllegalStateException("No output stream available to write");
+        }
+        int len = columns.length;
+        int pos = writePosition;
+        if (len == 0 || pos >= len) {
+            throw new IllegalStateException(
+                    ClickHouseUtils.format("No column to write(total=%d, writePosition=%d)", len, pos));
+        }
+        if (value == null) {
+            value = config.isReuseValueWrapper() ? templates[pos] : templates[pos].copy();
+        }
+
+        ClickHouseFormat format = config.getFormat();
+        boolean compact = isCompact(format);
+        if (pos == 0) {
+            if (!headerWritten && hasNames(format)) {
+                writeHeader(format);
+            }
+            output.writeByte(compact ? (byte) '[' : (byte) '{');
+        } else {
+            output.writeByte((byte) ',');
+        }
+        if (!compact) {
+            writeString(output, columns[pos].getColumnName());
+            output.writeByte((byte) ':');
+        }
+        serializers[pos++].serialize(value, output);
+        if (pos >= len) {
+            output.writeByte(compact ? (byte) ']' : (byte) '}');
+            output.writeByte((byte) '\n');
+            pos = 0;
+        }
+        writePosition = pos;
+    }
+
+    private void writeHeader(ClickHouseFormat format) throws IOException {
+        output.writeByte((byte) '[');
+        for (int i = 0, len = columns.length; i < len; i++) {
+            if (i > 0) {
+                output.writeByte((byte) ',');
+            }
+            writeString(output, columns[i].getColumnName());
+        }
+        output.writeByte((byte) ']').writeByte((byte) '\n');
+        if (hasTypes(format)) {
+            output.writeByte((byte) '[');
+            for (int i = 0, len = columns.length; i < len; i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                writeString(output, columns[i].getOriginalTypeName());
+            }
+            output.writeByte((byte) ']').writeByte((byte) '\n');
+        }
+        headerWritten = true;
+    }
+
+    @Override
+    public ClickHouseDeserializer getDeserializer(ClickHouseConfig config, ClickHouseColumn column) {
+        // values are tokenized row by row in readAndFill()
+        return ClickHouseDeserializer.NOT_SUPPORTED;
+    }
+
+    @Override
+    public ClickHouseSerializer getSerializer(ClickHouseConfig config, ClickHouseColumn column) {
+        if (isStrings(config.getFormat())) {
+            return ClickHouseJsonProcessor::writeString;
+        }
+        return getJsonSerializer(config, column);
+    }
+
+    private ClickHouseSerializer getJsonSerializer(ClickHouseConfig config, ClickHouseColumn column) {
+        ClickHouseDataType dt = column.getDataType();
+        switch (dt) {
+            case Bool:
+                return ClickHouseJsonProcessor::writeBoolean;
+            case Float32:
+            case Float64:
+                return ClickHouseJsonProcessor::writeFloat;
+            case Array:
+                return new ArraySerializer(config, column,
+                        getJsonSerializer(config, column.getNestedColumns().get(0)));
+            case Map:
+                return new MapSerializer(config, column, getJsonSerializer(config, column.getValueInfo()));
+            case Tuple: {
+                List<ClickHouseColumn> nestedCols = column.getNestedColumns();
+                ClickHouseSerializer[] list = new ClickHouseSerializer[nestedCols.size()];
+                for (int i = 0; i < list.length; i++) {
+                    list[i] = getJsonSerializer(config, nestedCols.get(i));
+                }
+                return new TupleSerializer(config, column, list);
+            }
+            case Point:
+            case Ring:
+            case Polygon:
+            case MultiPolygon:
+                return ClickHouseJsonProcessor::writeGeo;
+            default:
+                return Number.class.isAssignableFrom(dt.getObjectClass()) ? ClickHouseJsonProcessor::writeNumber
+                        : ClickHouseJsonProcessor::writeString;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.clickhouse.client.data;
+
+import java.util.Arrays;
+
+import com.clickhouse.client.ClickHouseValue;
+
+/**
+ * Wrapper class of {@link String} read from a {@code LowCardinality(String)}
+ * column. Identical values share the same {@link String} instance, which can be
+ * identified by {@link #getDictionaryId()}.
+ */
+public class ClickHouseLowCardinalityStringValue extends ClickHouseStringValue {
+    /**
+     * Create a new instance representing null value.
+     *
+     * @return new instance representing null value
+     */
+    public static ClickHouseLowCardinalityStringValue ofNull() {
+        return new ClickHouseLowCardinalityStringValue(null, -1);
+    }
+
+    /**
+     * Update value of the given object or create a new instance if {@code ref} is
+     * null.
+     *
+     * @param ref          object to update, could be null
+     * @param value        value
+     * @param dictionaryId zero-based dictionary id, or -1 when the value is not in
+     *                     dictionary
+     * @return same object as {@code ref} or a new instance if it's null
+     */
+    public static ClickHouseLowCardinalityStringValue of(ClickHouseValue ref, String value, int dictionaryId) {
+        return ref instanceof ClickHouseLowCardinalityStringValue
+                ? ((ClickHouseLowCardinalityStringValue) ref).set(value, dictionaryId)
+                : new ClickHouseLowCardinalityStringValue(value, dictionaryId);
+    }
+
+    private int dictionaryId;
+
+    protected ClickHouseLowCardinalityStringValue(String value, int dictionaryId) {
+        super(value);
+        this.dictionaryId = dictionaryId;
+    }
+
+    @Override
+    protected ClickHouseLowCardinalityStringValue set(String value) {
+        super.set(value);
+        this.dictionaryId = -1;
+        return this;
+    }
+
+    @Override
+    protected ClickHouseLowCardinalityStringValue set(byte[] bytes) {
+        super.set(bytes);
+        this.dictionaryId = -1;
+        return this;
+    }
+
+    protected ClickHouseLowCardinalityStringValue set(String value, int dictionaryId) {
+        super.set(value);
+        this.dictionaryId = dictionaryId;
+        return this;
+    }
+
+    /**
+     * Gets dictionary id of current value. Values with same dictionary id are
+     * identical, so it can be used for grouping without comparing strings. Ids
+     * are only meaningful within the same response.
+     *
+     * @return zero-based dictionary id, or -1 when the value is null, not read
+     *         from a response, or the dictionary was full
+     */
+    public int getDictionaryId() {
+        return dictionaryId;
+    }
+
+    @Override
+    public ClickHouseLowCardinalityStringValue copy(boolean deep) {
+        ClickHouseLowCardinalityStringValue v = new ClickHouseLowCardinalityStringValue(null, -1);
+        if (isBinary()) {
+            byte[] bytes = asBinary();
+            v.set(deep && bytes != null ? Arrays.copyOf(bytes, bytes.length) : bytes);
+        } else {
+            v.set(asString(), dictionaryId);
+        }
+        return v;
+    }
+}
@@ -34,14 +34,16 @@ import com.clickhouse.client.config.ClickHouseRenameMethod;
 public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
     public static class BitmapSerDe implements ClickHouseDeserializer, ClickHouseSerializer {
         private final ClickHouseDataType innerType;
+        private final boolean mutable;
 
         public BitmapSerDe(ClickHouseConfig config, ClickHouseColumn column) {
             this.innerType = column.getNestedColumns().get(0).getDataType();
+            this.mutable = config.isUseMutableBitmap();
         }
 
         @Override
         public ClickHouseValue deserialize(ClickHouseValue ref, ClickHouseInputStream input) throws IOException {
-            return ref.update(ClickHouseBitmap.deserialize(input, innerType));
+            return ref.update(ClickHouseBitmap.deserialize(input, innerType, mutable));
         }
 
         @Override
@@ -74,9 +76,28 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
                 return ref.resetToNullOrEmpty();
             }
 
-            Map<Object, Object> map = new LinkedHashMap<>(len * 4 / 3 + 1);
             ClickHouseDeserializer kd = deserializers[0];
             ClickHouseDeserializer vd = deserializers[1];
+            if (ref instanceof ClickHouseFlatMapValue) {
+                ClickHouseFlatMapValue flatMap = ((ClickHouseFlatMapValue) ref).reset(len);
+                boolean stringKey = flatMap.isStringKey();
+                boolean stringValue = flatMap.isStringValue();
+                for (int i = 0; i < len; i++) {
+                    if (stringKey) {
+                        flatMap.addKey(input.readBuffer(input.readVarInt()));
+                    } else {
+                        flatMap.addKey(kd.deserialize(keyValue, input));
+                    }
+                    if (stringValue) {
+                        flatMap.addValue(input.readBuffer(input.readVarInt()));
+                    } else {
+                        flatMap.addValue(vd.deserialize(valValue, input));
+                    }
+                }
+                return flatMap;
+            }
+
+            Map<Object, Object> map = new LinkedHashMap<>(len * 4 / 3 + 1);
             for (int i = 0; i < len; i++) {
                 map.put(kd.deserialize(keyValue, input).asObject(),
                         vd.deserialize(valValue, input).asObject());
@@ -458,14 +479,25 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
             case JSON:
             case Object:
             case String:
-                deserializer = config.isUseBinaryString() ? BinaryDataProcessor::readBinaryString
-                        : BinaryDataProcessor::readTextString;
+                if (config.isUseBinaryString()) {
+                    deserializer = BinaryDataProcessor::readBinaryString;
+                } else if (column.getDataType() == ClickHouseDataType.String && column.isLowCardinality()
+                        && config.getMaxDictionarySize() > 0) {
+                    deserializer = new BinaryDataProcessor.LowCardinalityStringDeserializer(
+                            config.getMaxDictionarySize());
+                } else {
+                    deserializer = BinaryDataProcessor::readTextString;
+                }
                 break;
             // nested
             case Array: {
                 ClickHouseColumn baseColumn = column.getArrayBaseColumn();
                 Class<?> javaClass = baseColumn.getObjectClassForArray(config);
-                if (column.getArrayNestedLevel() == 1 && !baseColumn.isNullable() && javaClass.isPrimitive()) {
+                int level = column.getArrayNestedLevel();
+                ClickHouseDataType baseType = baseColumn.getDataType();
+                boolean nullablePrimitives = level == 1 && baseColumn.isNullable()
+                        && config.isUsePrimitivesInNullableArray() && !config.isUseObjectsInArray();
+                if (level == 1 && !baseColumn.isNullable() && javaClass.isPrimitive()) {
                     int byteLength = baseColumn.getDataType().getByteLength();
                     if (byteLength == Byte.BYTES) { // Bool, *Int8
                         deserializer = BinaryDataProcessor::readByteArray;
@@ -483,6 +515,18 @@ public class ClickHouseRowBinaryProcessor extends ClickHouseDataProcessor {
                     } else {
                         throw new IllegalArgumentException("Unsupported primitive type: " + javaClass);
                     }
+                } else if (level > 1 && !baseColumn.isNullable() && javaClass.isPrimitive()
+                        && BinaryDataProcessor.PrimitiveArrayDeserializer.isSupported(javaClass,
+                                baseType.getByteLength())) {
+                    deserializer = new BinaryDataProcessor.PrimitiveArrayDeserializer(javaClass, level);
+                } else if (nullablePrimitives && baseType == ClickHouseDataType.Int32) {
+                    deserializer = BinaryDataProcessor::readNullableIntegerArray;
+                } else if (nullablePrimitives && baseType == ClickHouseDataType.Int64) {
+                    deserializer = BinaryDataProcessor::readNullableLongArray;
+                } else if (nullablePrimitives && baseType == ClickHouseDataType.Float32) {
+                    deserializer = BinaryDataProcessor::readNullableFloatArray;
+                } else if (nullablePrimitives && baseType == ClickHouseDataType.Float64) {
+                    deserializer = BinaryDataProcessor::readNullableDoubleArray;
                 } else {
                     deserializer = new BinaryDataProcessor.ArrayDeserializer(config, column, true,
                             getDeserializer(config, column.getNestedColumns().get(0)));
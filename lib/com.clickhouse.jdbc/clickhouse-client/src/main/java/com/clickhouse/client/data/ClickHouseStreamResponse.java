@@ -1,5 +1,6 @@
 package com.clickhouse.client.data;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collections;
@@ -101,10 +102,28 @@ public class ClickHouseStreamResponse implements ClickHouseResponse {
 
     @Override
     public void close() {
-        if (closed || input.isClosed()) {
+        if (closed) {
             return;
         }
 
+        try {
+            if (!input.isClosed()) {
+                closeInput();
+            }
+        } finally {
+            closed = true;
+            // processor may hold resources like off-heap memory until end of the stream
+            if (processor instanceof Closeable) {
+                try {
+                    ((Closeable) processor).close();
+                } catch (Exception e) {
+                    log.warn("Failed to close data processor", e);
+                }
+            }
+        }
+    }
+
+    private void closeInput() {
         try {
             long skipped = input.skip(Long.MAX_VALUE);
             if (skipped > 0L) {
@@ -118,8 +137,6 @@ public class ClickHouseStreamResponse implements ClickHouseResponse {
                 input.close();
             } catch (IOException e) {
                 log.warn("Failed to close input stream", e);
-            } finally {
-                closed = true;
             }
         }
     }
@@ -133,6 +150,17 @@ public class ClickHouseStreamResponse implements ClickHouseResponse {
         return this.config.getFormat();
     }
 
+    /**
+     * Gets data processor for deserialization, which is useful when the processor
+     * provides more than {@link #records()}, for example, direct access to
+     * columnar data.
+     *
+     * @return data processor, could be null when the format is not supported
+     */
+    public ClickHouseDataProcessor getProcessor() {
+        return processor;
+    }
+
     @Override
     public ClickHouseResponseSummary getSummary() {
         return summary;
@@ -41,6 +41,8 @@ public class ClickHouseTabSeparatedProcessor extends ClickHouseDataProcessor {
     // initialize in readColumns()
     private TextDataProcessor.TextSerDe serde;
     private ByteFragment currentRow;
+    // reusable buffer for unescaping string values
+    private byte[] unescaped;
 
     protected TextDataProcessor.TextSerDe getTextSerDe() {
         if (serde == null) {
@@ -71,13 +73,108 @@ public class ClickHouseTabSeparatedProcessor extends ClickHouseDataProcessor {
         } else {
             currentCols = new ByteFragment[] { currentRow };
         }
+        if (unescaped == null || unescaped.length < currentRow.length()) {
+            unescaped = new byte[currentRow.length()];
+        }
         for (int i = index, len = columns.length; i < len; i++) {
-            r.getValue(i).update(currentCols[i - index].asString(true));
+            ByteFragment f = currentCols[i - index];
+            ClickHouseValue v = r.getValue(i);
+            if (f.isNull()) {
+                v.update((String) null);
+            } else {
+                update(v, columns[i].getDataType(), f);
+            }
             readPosition = i;
         }
         readPosition = 0;
     }
 
+    /**
+     * Updates value by parsing the fragment according to data type. Numbers, dates
+     * and decimals are parsed directly from the bytes, so that string is only
+     * created for string and other complex types.
+     *
+     * @param value value to update
+     * @param type  data type of the column
+     * @param f     non-null fragment
+     */
+    protected void update(ClickHouseValue value, ClickHouseDataType type, ByteFragment f) {
+        update(value, type, f, unescaped);
+    }
+
+    /**
+     * Same as {@link #update(ClickHouseValue, ClickHouseDataType, ByteFragment)},
+     * but unescapes string using the given buffer.
+     *
+     * @param value  value to update
+     * @param type   data type of the column
+     * @param f      non-null fragment
+     * @param buffer reusable buffer for unescaping, could be null
+     */
+    static void update(ClickHouseValue value, ClickHouseDataType type, ByteFragment f, byte[] buffer) {
+        switch (type) {
+            case Int8:
+                updateInteger(value, f, Byte.MIN_VALUE, Byte.MAX_VALUE);
+                break;
+            case UInt8:
+                updateInteger(value, f, 0L, BinaryStreamUtils.U_INT8_MAX);
+                break;
+            case Int16:
+                updateInteger(value, f, Short.MIN_VALUE, Short.MAX_VALUE);
+                break;
+            case UInt16:
+                updateInteger(value, f, 0L, BinaryStreamUtils.U_INT16_MAX);
+                break;
+            case Int32:
+                updateInteger(value, f, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                break;
+            case UInt32:
+                updateInteger(value, f, 0L, BinaryStreamUtils.U_INT32_MAX);
+                break;
+            case Int64:
+                value.update(f.asLong());
+                break;
+            case UInt64:
+                value.update(f.asUnsignedLong());
+                break;
+            case Float32:
+                value.update(f.asFloat());
+                break;
+            case Float64:
+                value.update(f.asDouble());
+                break;
+            case Decimal:
+            case Decimal32:
+            case Decimal64:
+            case Decimal128:
+            case Decimal256:
+                value.update(f.asBigDecimal());
+                break;
+            case Date:
+            case Date32:
+                value.update(f.asDate());
+                break;
+            case DateTime:
+            case DateTime32:
+            case DateTime64:
+                value.update(f.asDateTime());
+                break;
+            default:
+                value.update(f.asString(true, buffer));
+                break;
+        }
+    }
+
+    private static void updateInteger(ClickHouseValue value, ByteFragment f, long minValue, long maxValue) {
+        long v = f.asLong();
+        if (v < minValue || v > maxValue) {
+            // let the value decide how to handle overflow
+            value.update(f.asString(true));
+        } else {
+            value.update(v);
+        }
+    }
+
     @Override
     protected void readAndFill(ClickHouseValue value) throws IOException {
         throw new UnsupportedOperationException();
@@ -0,0 +1,473 @@
+package com.clickhouse.client.data;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import com.clickhouse.client.ClickHouseByteBuffer;
+import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.ClickHouseValues;
+
+/**
+ * Wrapper class of {@code Int128}, {@code UInt128}, {@code Int256} and
+ * {@code UInt256}, which keeps the value in 2 or 4 {@code long}s(two's
+ * complement, least significant first). {@link BigInteger} is only created
+ * when it's requested, for example by {@link #asBigInteger()}.
+ */
+public class ClickHouseWideIntegerValue implements ClickHouseValue, Comparable<ClickHouseWideIntegerValue> {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final long LONG_MASK = 0xFFFFFFFFL;
+    private static final long ONE_BILLION = 1000000000L;
+
+    /**
+     * Creates a new instance representing null value.
+     *
+     * @param bitWidth number of bits, either 128 or 256
+     * @param unsigned true if the value is unsigned; false otherwise
+     * @return new instance representing null value
+     */
+    public static ClickHouseWideIntegerValue ofNull(int bitWidth, boolean unsigned) {
+        return new ClickHouseWideIntegerValue(bitWidth, unsigned);
+    }
+
+    /**
+     * Wraps the given value.
+     *
+     * @param value    value, could be null
+     * @param bitWidth number of bits, either 128 or 256
+     * @param unsigned true if the value is unsigned; false otherwise
+     * @return object representing the value
+     */
+    public static ClickHouseWideIntegerValue of(BigInteger value, int bitWidth, boolean unsigned) {
+        return new ClickHouseWideIntegerValue(bitWidth, unsigned).update(value);
+    }
+
+    private final long[] words;
+    private final boolean unsigned;
+
+    private boolean isNull;
+    // created on demand
+    private BigInteger value;
+
+    protected ClickHouseWideIntegerValue(int bitWidth, boolean unsigned) {
+        if (bitWidth != 128 && bitWidth != 256) {
+            throw new IllegalArgumentException("Bit width should be either 128 or 256 but we got " + bitWidth);
+        }
+
+        this.words = new long[bitWidth / Long.SIZE];
+        this.unsigned = unsigned;
+        this.isNull = true;
+    }
+
+    protected ClickHouseWideIntegerValue set(long value) {
+        words[0] = value;
+        long fill = value < 0L ? -1L : 0L;
+        for (int i = 1, len = words.length; i < len; i++) {
+            words[i] = fill;
+        }
+        this.isNull = false;
+        this.value = null;
+        return this;
+    }
+
+    /**
+     * Reads little-endian bytes of the value from the given buffer.
+     *
+     * @param buffer non-null buffer with exactly {@code getBitWidth() / 8} bytes
+     * @return this object
+     */
+    ClickHouseWideIntegerValue set(ClickHouseByteBuffer buffer) {
+        for (int i = 0, len = words.length; i < len; i++) {
+            words[i] = buffer.getLong(i * Long.BYTES);
+        }
+        this.isNull = false;
+        this.value = null;
+        return this;
+    }
+
+    private boolean isNegative() {
+        return !unsigned && words[words.length - 1] < 0L;
+    }
+
+    private boolean isLong() {
+        long fill = words[0] < 0L ? -1L : 0L;
+        if (unsigned && fill != 0L) {
+            return false;
+        }
+        for (int i = 1, len = words.length; i < len; i++) {
+            if (words[i] != fill) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets magnitude as big-endian unsigned 32-bit integers.
+     *
+     * @return non-null magnitude
+     */
+    private int[] getMagnitude() {
+        int len = words.length;
+        long[] w = words;
+        if (isNegative()) {
+            w = new long[len];
+            boolean carry = true;
+            for (int i = 0; i < len; i++) {
+                long l = ~words[i];
+                w[i] = carry ? l + 1L : l;
+                carry = carry && w[i] == 0L;
+            }
+        }
+
+        int[] mag = new int[len * 2];
+        for (int i = 0, j = mag.length - 1; i < len; i++) {
+            mag[j--] = (int) w[i];
+            mag[j--] = (int) (w[i] >>> 32);
+        }
+        return mag;
+    }
+
+    /**
+     * Gets number of bits, which is either 128 or 256.
+     *
+     * @return number of bits
+     */
+    public int getBitWidth() {
+        return words.length * Long.SIZE;
+    }
+
+    /**
+     * Gets the {@code index}-th 64 bits of the value, starting from the least
+     * significant bits.
+     *
+     * @param index zero-based index, less than {@code getBitWidth() / 64}
+     * @return 64 bits of the value
+     */
+    public long getLong(int index) {
+        return words[index];
+    }
+
+    /**
+     * Checks whether the value is unsigned.
+     *
+     * @return true if the value is unsigned; false otherwise
+     */
+    public boolean isUnsigned() {
+        return unsigned;
+    }
+
+    /**
+     * Gets hexadecimal representation of the value, same as
+     * {@code asBigInteger().toString(16)}.
+     *
+     * @return hexadecimal representation of the value, or null if the value is
+     *         null
+     */
+    public String toHexString() {
+        if (isNull) {
+            return null;
+        }
+
+        int[] mag = getMagnitude();
+        StringBuilder builder = new StringBuilder(mag.length * 8 + 1);
+        if (isNegative()) {
+            builder.append('-');
+        }
+        boolean leading = true;
+        for (int m : mag) {
+            for (int shift = 28; shift >= 0; shift -= 4) {
+                int digit = (m >>> shift) & 0xF;
+                if (leading && digit == 0) {
+                    continue;
+                }
+                leading = false;
+                builder.append(HEX_DIGITS[digit]);
+            }
+        }
+        return leading ? "0" : builder.toString();
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue copy(boolean deep) {
+        ClickHouseWideIntegerValue v = new ClickHouseWideIntegerValue(getBitWidth(), unsigned);
+        System.arraycopy(words, 0, v.words, 0, words.length);
+        v.isNull = isNull;
+        v.value = value;
+        return v;
+    }
+
+    @Override
+    public final boolean isNullOrEmpty() {
+        return isNull;
+    }
+
+    @Override
+    public byte asByte() {
+        return (byte) words[0];
+    }
+
+    @Override
+    public short asShort() {
+        return (short) words[0];
+    }
+
+    @Override
+    public int asInteger() {
+        return (int) words[0];
+    }
+
+    @Override
+    public long asLong() {
+        return words[0];
+    }
+
+    @Override
+    public BigInteger asBigInteger() {
+        if (isNull) {
+            return null;
+        }
+
+        BigInteger v = value;
+        if (v == null) {
+            if (isLong()) {
+                v = BigInteger.valueOf(words[0]);
+            } else {
+                byte[] bytes = new byte[words.length * Long.BYTES + (unsigned ? 1 : 0)];
+                for (int i = 0, j = bytes.length - 1, len = words.length; i < len; i++) {
+                    long l = words[i];
+                    for (int k = 0; k < Long.BYTES; k++, l >>>= 8) {
+                        bytes[j--] = (byte) l;
+                    }
+                }
+                v = new BigInteger(bytes);
+            }
+            value = v;
+        }
+        return v;
+    }
+
+    @Override
+    public float asFloat() {
+        return isNull ? 0F : (isLong() ? (float) words[0] : asBigInteger().floatValue());
+    }
+
+    @Override
+    public double asDouble() {
+        return isNull ? 0D : (isLong() ? (double) words[0] : asBigInteger().doubleValue());
+    }
+
+    @Override
+    public BigDecimal asBigDecimal(int scale) {
+        return isNull ? null : new BigDecimal(asBigInteger(), scale);
+    }
+
+    @Override
+    public Object asObject() {
+        return asBigInteger();
+    }
+
+    @Override
+    public String asString() {
+        if (isNull) {
+            return null;
+        } else if (isLong()) {
+            return Long.toString(words[0]);
+        }
+
+        // repeatedly divide magnitude by one billion, which is less than 2^32
+        int[] mag = getMagnitude();
+        char[] chars = new char[mag.length * 10 + 1];
+        int pos = chars.length;
+        int start = 0;
+        while (start < mag.length) {
+            long rem = 0L;
+            for (int i = start; i < mag.length; i++) {
+                long dividend = (rem << 32) | (mag[i] & LONG_MASK);
+                mag[i] = (int) (dividend / ONE_BILLION);
+                rem = dividend % ONE_BILLION;
+            }
+            while (start < mag.length && mag[start] == 0) {
+                start++;
+            }
+            for (int k = 0; k < 9 && (rem > 0L || start < mag.length); k++) {
+                chars[--pos] = (char) ('0' + rem % 10L);
+                rem /= 10L;
+            }
+        }
+        if (isNegative()) {
+            chars[--pos] = '-';
+        }
+        return new String(chars, pos, chars.length - pos);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue resetToDefault() {
+        return set(0L);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue resetToNullOrEmpty() {
+        Arrays.fill(words, 0L);
+        this.isNull = true;
+        this.value = null;
+        return this;
+    }
+
+    @Override
+    public String toSqlExpression() {
+        return isNull ? ClickHouseValues.NULL_EXPR : asString();
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(boolean value) {
+        return set(value ? 1L : 0L);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(char value) {
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(byte value) {
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(short value) {
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(int value) {
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(long value) {
+        return set(value);
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(float value) {
+        return update(BigDecimal.valueOf(value).toBigInteger());
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(double value) {
+        return update(BigDecimal.valueOf(value).toBigInteger());
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(BigInteger value) {
+        if (value == null) {
+            return resetToNullOrEmpty();
+        }
+
+        int bits = getBitWidth();
+        if (unsigned ? value.signum() < 0 || value.bitLength() > bits : value.bitLength() >= bits) {
+            throw new IllegalArgumentException(
+                    ClickHouseValues.TYPE_BIG_INTEGER + "(" + value + ") is out of range of " + bits + " bits");
+        }
+
+        byte[] bytes = value.toByteArray();
+        Arrays.fill(words, value.signum() < 0 ? -1L : 0L);
+        for (int i = 0, j = bytes.length - 1, len = words.length * Long.BYTES; i < len && j >= 0; i++, j--) {
+            int shift = (i % Long.BYTES) * 8;
+            int index = i / Long.BYTES;
+            words[index] = (words[index] & ~(0xFFL << shift)) | ((bytes[j] & 0xFFL) << shift);
+        }
+        this.isNull = false;
+        this.value = value;
+        return this;
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(BigDecimal value) {
+        return value == null ? resetToNullOrEmpty() : update(value.toBigIntegerExact());
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(Enum<?> value) {
+        return value == null ? resetToNullOrEmpty() : set(value.ordinal());
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(String value) {
+        return value == null ? resetToNullOrEmpty() : update(new BigInteger(value));
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(ClickHouseValue value) {
+        if (value == null || value.isNullOrEmpty()) {
+            return resetToNullOrEmpty();
+        } else if (value instanceof ClickHouseWideIntegerValue) {
+            ClickHouseWideIntegerValue v = (ClickHouseWideIntegerValue) value;
+            if (v.unsigned == unsigned && v.words.length == words.length) {
+                System.arraycopy(v.words, 0, words, 0, words.length);
+                this.isNull = false;
+                this.value = v.value;
+                return this;
+            }
+        }
+
+        return update(value.asBigInteger());
+    }
+
+    @Override
+    public ClickHouseWideIntegerValue update(Object value) {
+        if (value instanceof BigInteger) {
+            return update((BigInteger) value);
+        }
+
+        ClickHouseValue.super.update(value);
+        return this;
+    }
+
+    /**
+     * Compares with another value. Null is less than any non-null value.
+     *
+     * @param o value to compare with
+     * @return a negative integer, zero, or a positive integer as this value is
+     *         less than, equal to, or greater than the specified value
+     */
+    @Override
+    public int compareTo(ClickHouseWideIntegerValue o) {
+        if (o == null || o.isNull) {
+            return isNull ? 0 : 1;
+        } else if (isNull) {
+            return -1;
+        } else if (o.unsigned != unsigned || o.words.length != words.length) {
+            return asBigInteger().compareTo(o.asBigInteger());
+        }
+
+        int i = words.length - 1;
+        int result = unsigned ? Long.compareUnsigned(words[i], o.words[i]) : Long.compare(words[i], o.words[i]);
+        while (result == 0 && --i >= 0) {
+            result = Long.compareUnsigned(words[i], o.words[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) { // too bad this is a mutable class :<
+            return true;
+        } else if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        ClickHouseWideIntegerValue v = (ClickHouseWideIntegerValue) obj;
+        return isNull == v.isNull && unsigned == v.unsigned && Arrays.equals(words, v.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return ((31 + (isNull ? 1231 : 1237)) * 31 + (unsigned ? 1231 : 1237)) * 31 + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return ClickHouseValues.convertToString(this);
+    }
+}
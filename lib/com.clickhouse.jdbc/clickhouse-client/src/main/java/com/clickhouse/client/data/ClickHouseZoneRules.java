@@ -0,0 +1,301 @@
+package com.clickhouse.client.data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import com.clickhouse.client.ClickHouseCache;
+import com.clickhouse.client.ClickHouseChecker;
+import com.clickhouse.client.ClickHouseValues;
+
+/**
+ * Precomputed offset transition table of a time zone. It's used to convert
+ * epoch seconds to local date time and vice versa without querying
+ * {@link ZoneRules} for every single value. Transitions between
+ * {@link #MIN_EPOCH_SECOND} and {@link #MAX_EPOCH_SECOND} are kept in sorted
+ * arrays along with the index of last hit, while fixed offset time zones like
+ * UTC skip the lookup entirely. Values out of the range are handled by
+ * {@link ZoneRules}.
+ */
+public final class ClickHouseZoneRules {
+    // keyed by immutable zone id, rules of UTC and system time zone are never evicted
+    private static final ClickHouseCache<ZoneId, ClickHouseZoneRules> cache = ClickHouseCache
+            .create(ClickHouseCache.DEFAULT_CACHE_SIZE, 3600L, ClickHouseZoneRules::new);
+
+    private static final long SECONDS_IN_DAY = 86400L;
+
+    /**
+     * Minimum epoch second(1900-01-01T00:00:00Z) covered by the transition table.
+     */
+    public static final long MIN_EPOCH_SECOND = LocalDate.of(1900, 1, 1).toEpochDay() * SECONDS_IN_DAY;
+    /**
+     * Maximum epoch second(2300-01-01T00:00:00Z) covered by the transition table.
+     */
+    public static final long MAX_EPOCH_SECOND = LocalDate.of(2300, 1, 1).toEpochDay() * SECONDS_IN_DAY;
+
+    /**
+     * Rules of UTC time zone.
+     */
+    public static final ClickHouseZoneRules UTC = new ClickHouseZoneRules(ClickHouseValues.UTC_ZONE);
+    /**
+     * Rules of system default time zone.
+     */
+    public static final ClickHouseZoneRules SYSTEM = new ClickHouseZoneRules(ClickHouseValues.SYS_ZONE);
+
+    /**
+     * Gets rules of the given time zone.
+     *
+     * @param tz time zone, null is treated as UTC
+     * @return non-null rules of the time zone
+     */
+    public static ClickHouseZoneRules of(TimeZone tz) {
+        if (tz == null || tz == ClickHouseValues.UTC_TIMEZONE) {
+            return UTC;
+        } else if (tz == ClickHouseValues.SYS_TIMEZONE) {
+            return SYSTEM;
+        }
+
+        // TimeZone is mutable, so it's converted to zone id on every call
+        return of(tz.toZoneId());
+    }
+
+    /**
+     * Gets rules of the given zone.
+     *
+     * @param zoneId zone id, null is treated as UTC
+     * @return non-null rules of the zone
+     */
+    public static ClickHouseZoneRules of(ZoneId zoneId) {
+        if (zoneId == null || UTC.zoneId.equals(zoneId)) {
+            return UTC;
+        } else if (SYSTEM.zoneId.equals(zoneId)) {
+            return SYSTEM;
+        }
+
+        return cache.get(zoneId);
+    }
+
+    private final ZoneId zoneId;
+    private final ZoneRules rules;
+    private final boolean fixed;
+    private final int initialOffset;
+    // transitions in epoch seconds
+    private final long[] transitions;
+    // offset after each transition
+    private final int[] offsets;
+    // local seconds since when offset after the transition should be used, null
+    // when the table is not usable for local date time
+    private final long[] localTransitions;
+
+    // index of last hit, it's fine to be out of sync among threads
+    private int lastIndex;
+    private int lastLocalIndex;
+
+    private ClickHouseZoneRules(ZoneId zoneId) {
+        this.zoneId = ClickHouseChecker.nonNull(zoneId, "zoneId");
+        this.rules = zoneId.getRules();
+        this.fixed = rules.isFixedOffset();
+        this.initialOffset = rules.getOffset(Instant.ofEpochSecond(MIN_EPOCH_SECOND)).getTotalSeconds();
+
+        List<ZoneOffsetTransition> list = new ArrayList<>();
+        if (!fixed) {
+            ZoneOffsetTransition t = rules.nextTransition(Instant.ofEpochSecond(MIN_EPOCH_SECOND));
+            while (t != null && t.toEpochSecond() < MAX_EPOCH_SECOND) {
+                list.add(t);
+                t = rules.nextTransition(t.getInstant());
+            }
+        }
+
+        int len = list.size();
+        transitions = new long[len];
+        offsets = new int[len];
+        long[] locals = new long[len];
+        for (int i = 0; i < len; i++) {
+            ZoneOffsetTransition t = list.get(i);
+            transitions[i] = t.toEpochSecond();
+            offsets[i] = t.getOffsetAfter().getTotalSeconds();
+            locals[i] = transitions[i]
+                    + Math.max(t.getOffsetBefore().getTotalSeconds(), t.getOffsetAfter().getTotalSeconds());
+            if (i > 0 && locals[i] <= locals[i - 1]) {
+                locals = null;
+                break;
+            }
+        }
+        localTransitions = locals;
+
+        lastIndex = -1;
+        lastLocalIndex = -1;
+    }
+
+    private int indexOf(long[] table, int hint, long value) {
+        int len = table.length;
+        if (hint < len && (hint < 0 || table[hint] <= value) && (hint + 1 == len || value < table[hint + 1])) {
+            return hint;
+        }
+
+        int low = 0;
+        int high = len - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (table[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private int getOffsetBefore(int index) {
+        return index > 0 ? offsets[index - 1] : initialOffset;
+    }
+
+    /**
+     * Gets zone id.
+     *
+     * @return non-null zone id
+     */
+    public ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * Checks whether the time zone has fixed offset.
+     *
+     * @return true if the time zone has fixed offset; false otherwise
+     */
+    public boolean isFixedOffset() {
+        return fixed;
+    }
+
+    /**
+     * Gets offset in seconds at the given instant.
+     *
+     * @param epochSecond seconds since epoch
+     * @return offset in seconds
+     */
+    public int getOffset(long epochSecond) {
+        if (fixed) {
+            return initialOffset;
+        } else if (epochSecond < MIN_EPOCH_SECOND || epochSecond >= MAX_EPOCH_SECOND) {
+            return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+
+        int index = indexOf(transitions, lastIndex, epochSecond);
+        lastIndex = index;
+        return index < 0 ? initialOffset : offsets[index];
+    }
+
+    /**
+     * Gets offset in seconds of the given local date time, which is expressed in
+     * seconds since 1970-01-01T00:00:00 local time. Same as
+     * {@link java.time.ZonedDateTime#of(LocalDateTime, ZoneId)}, earlier offset
+     * is used in overlaps, and offset before the transition is used in gaps.
+     *
+     * @param localSecond local seconds since epoch
+     * @return offset in seconds
+     */
+    public int getLocalOffset(long localSecond) {
+        if (fixed) {
+            return initialOffset;
+        } else if (localTransitions == null || localSecond < MIN_EPOCH_SECOND + SECONDS_IN_DAY
+                || localSecond >= MAX_EPOCH_SECOND - SECONDS_IN_DAY) {
+            LocalDateTime dateTime = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+            List<ZoneOffset> validOffsets = rules.getValidOffsets(dateTime);
+            return (validOffsets.isEmpty() ? rules.getTransition(dateTime).getOffsetBefore() : validOffsets.get(0))
+                    .getTotalSeconds();
+        }
+
+        int index = indexOf(localTransitions, lastLocalIndex, localSecond);
+        lastLocalIndex = index;
+        return index < 0 ? initialOffset : offsets[index];
+    }
+
+    /**
+     * Converts the given instant to local date time.
+     *
+     * @param epochSecond seconds since epoch
+     * @param nanos       nano of second, between 0 and 999,999,999 inclusive
+     * @return non-null local date time
+     */
+    public LocalDateTime toLocalDateTime(long epochSecond, int nanos) {
+        return LocalDateTime.ofEpochSecond(epochSecond + getOffset(epochSecond), nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts the given instant to local date, expressed in days since epoch.
+     *
+     * @param epochSecond seconds since epoch
+     * @return days since epoch
+     */
+    public long toEpochDay(long epochSecond) {
+        return Math.floorDiv(epochSecond + getOffset(epochSecond), SECONDS_IN_DAY);
+    }
+
+    /**
+     * Converts the given local date time to seconds since epoch. Same as
+     * {@code dateTime.atZone(zoneId).toEpochSecond()}.
+     *
+     * @param dateTime non-null local date time
+     * @return seconds since epoch
+     */
+    public long toEpochSecond(LocalDateTime dateTime) {
+        long localSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+        return localSecond - getLocalOffset(localSecond);
+    }
+
+    /**
+     * Gets start of the given day in seconds since epoch. Same as
+     * {@code LocalDate.ofEpochDay(epochDay).atStartOfDay(zoneId).toEpochSecond()}.
+     *
+     * @param epochDay days since epoch
+     * @return seconds since epoch
+     */
+    public long getStartOfDay(long epochDay) {
+        long localSecond = epochDay * SECONDS_IN_DAY;
+        if (fixed) {
+            return localSecond - initialOffset;
+        } else if (localTransitions == null || localSecond < MIN_EPOCH_SECOND + SECONDS_IN_DAY
+                || localSecond >= MAX_EPOCH_SECOND - SECONDS_IN_DAY) {
+            return LocalDate.ofEpochDay(epochDay).atStartOfDay(zoneId).toEpochSecond();
+        }
+
+        int index = indexOf(localTransitions, lastLocalIndex, localSecond);
+        lastLocalIndex = index;
+        int next = index + 1;
+        if (next < transitions.length) {
+            // start of the day is in a gap, use the instant just after the gap
+            int before = getOffsetBefore(next);
+            if (offsets[next] > before && localSecond >= transitions[next] + before) {
+                return transitions[next];
+            }
+        }
+        return localSecond - (index < 0 ? initialOffset : offsets[index]);
+    }
+
+    /**
+     * Converts date in the given time zone to the same instant in this time zone.
+     * Same as
+     * {@code LocalDate.ofEpochDay(epochDay).atStartOfDay(from).withZoneSameInstant(this).toLocalDate()}.
+     *
+     * @param epochDay days since epoch
+     * @param from     non-null source time zone
+     * @return days since epoch
+     */
+    public long convertEpochDay(long epochDay, ClickHouseZoneRules from) {
+        return this == from ? epochDay : toEpochDay(from.getStartOfDay(epochDay));
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder().append(getClass().getSimpleName()).append('(').append(zoneId).append(", ")
+                .append(transitions.length).append(" transitions)").toString();
+    }
+}
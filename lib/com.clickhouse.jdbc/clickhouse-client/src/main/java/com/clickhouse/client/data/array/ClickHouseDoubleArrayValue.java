@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.LinkedHashMap;
@@ -22,12 +23,218 @@ import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseUtils;
 import com.clickhouse.client.ClickHouseValue;
 import com.clickhouse.client.ClickHouseValues;
+import com.clickhouse.client.data.ClickHouseArrayValue;
 import com.clickhouse.client.data.ClickHouseObjectValue;
 
 /**
  * Wrapper of {@code double[]}.
  */
 public class ClickHouseDoubleArrayValue extends ClickHouseObjectValue<double[]> implements ClickHouseArraySequence {
+    static final class NullableDoubleArrayValue extends ClickHouseDoubleArrayValue {
+        // positions of null elements, null when there's none
+        private BitSet nulls;
+
+        private static boolean isSame(BitSet b1, BitSet b2) {
+            if (b1 == null || b1.isEmpty()) {
+                return b2 == null || b2.isEmpty();
+            }
+            return b1.equals(b2);
+        }
+
+        @Override
+        protected NullableDoubleArrayValue set(double[] value) {
+            super.set(value);
+            nulls = null;
+            return this;
+        }
+
+        protected NullableDoubleArrayValue set(double[] value, BitSet nulls) {
+            super.set(value);
+            this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+            return this;
+        }
+
+        @Override
+        public Object asObject() {
+            return asArray();
+        }
+
+        @Override
+        public Object[] asArray() {
+            double[] v = getValue();
+            int len = v.length;
+            Double[] array = new Double[len];
+            for (int i = 0; i < len; i++) {
+                array[i] = isNull(i) ? null : Double.valueOf(v[i]);
+            }
+            return array;
+        }
+
+        @Override
+        public <E> E[] asArray(Class<E> clazz) {
+            E[] array = super.asArray(clazz);
+            if (nulls != null) {
+                for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+                    array[i] = null;
+                }
+            }
+            return array;
+        }
+
+        @Override
+        public <K, V> Map<K, V> asMap(Class<K> keyClass, Class<V> valueClass) {
+            Map<K, V> map = super.asMap(keyClass, valueClass);
+            if (nulls != null) {
+                for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+                    map.put(keyClass.cast(i + 1), null);
+                }
+            }
+            return map;
+        }
+
+        @Override
+        public String asString() {
+            return Arrays.deepToString(asArray());
+        }
+
+        @Override
+        public String toSqlExpression() {
+            return ClickHouseArrayValue.of(asArray()).toSqlExpression();
+        }
+
+        @Override
+        public NullableDoubleArrayValue copy(boolean deep) {
+            double[] value = getValue();
+            if (!deep) {
+                return new NullableDoubleArrayValue(value).set(value, nulls);
+            }
+
+            return new NullableDoubleArrayValue(value).set(Arrays.copyOf(value, value.length),
+                    nulls != null ? (BitSet) nulls.clone() : null);
+        }
+
+        @Override
+        public NullableDoubleArrayValue update(Collection<?> value) {
+            super.update(value);
+            if (value != null && !isNullOrEmpty()) {
+                int index = 0;
+                for (Object o : value) {
+                    if (o == null) {
+                        setNull(index);
+                    }
+                    index++;
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public NullableDoubleArrayValue update(String value) {
+            if (ClickHouseChecker.isNullOrBlank(value)) {
+                set(ClickHouseValues.EMPTY_DOUBLE_ARRAY);
+            } else {
+                List<String> list = ClickHouseUtils.readValueArray(value, 0, value.length());
+                if (list.isEmpty()) {
+                    set(ClickHouseValues.EMPTY_DOUBLE_ARRAY);
+                } else {
+                    double[] arr = new double[list.size()];
+                    BitSet b = new BitSet();
+                    int index = 0;
+                    for (String v : list) {
+                        if (v == null || ClickHouseValues.NULL_EXPR.equalsIgnoreCase(v)) {
+                            b.set(index++);
+                        } else {
+                            arr[index++] = Double.parseDouble(v);
+                        }
+                    }
+                    set(arr, b);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public NullableDoubleArrayValue update(ClickHouseValue value) {
+            if (value instanceof NullableDoubleArrayValue) {
+                NullableDoubleArrayValue v = (NullableDoubleArrayValue) value;
+                set(v.getValue(), v.nulls);
+            } else {
+                super.update(value);
+            }
+            return this;
+        }
+
+        @Override
+        public NullableDoubleArrayValue update(Object[] value) {
+            super.update(value);
+            if (value != null && !isNullOrEmpty()) {
+                for (int i = 0, len = value.length; i < len; i++) {
+                    if (value[i] == null) {
+                        setNull(i);
+                    }
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return super.equals(obj) && isSame(nulls, ((NullableDoubleArrayValue) obj).nulls);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + (nulls == null || nulls.isEmpty() ? 0 : nulls.hashCode());
+        }
+
+        @Override
+        public ClickHouseArraySequence allocate(int length, Class<?> clazz, int level) {
+            super.allocate(length, clazz, level);
+            nulls = null;
+            return this;
+        }
+
+        @Override
+        public boolean isNull(int index) {
+            return nulls != null && nulls.get(index);
+        }
+
+        @Override
+        public <V extends ClickHouseValue> V getValue(int index, V value) {
+            if (isNull(index)) {
+                value.resetToNullOrEmpty();
+            } else {
+                value.update(getValue()[index]);
+            }
+            return value;
+        }
+
+        @Override
+        public ClickHouseArraySequence setValue(int index, ClickHouseValue value) {
+            if (value.isNullOrEmpty()) {
+                setNull(index);
+            } else {
+                getValue()[index] = value.asDouble();
+                if (nulls != null) {
+                    nulls.clear(index);
+                }
+            }
+            return this;
+        }
+
+        void setNull(int index) {
+            getValue()[index] = 0D;
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+            nulls.set(index);
+        }
+
+        protected NullableDoubleArrayValue(double[] value) {
+            super(value);
+        }
+    }
+
     private static final String TYPE_NAME = "double[]";
 
     /**
@@ -64,6 +271,30 @@ public class ClickHouseDoubleArrayValue extends ClickHouseObjectValue<double[]>
                 : new ClickHouseDoubleArrayValue(value);
     }
 
+    /**
+     * Creates a new instance representing empty {@code Array(Nullable(Float64))}.
+     *
+     * @return new instance representing an empty array
+     */
+    public static ClickHouseDoubleArrayValue ofNullableEmpty() {
+        return new NullableDoubleArrayValue(ClickHouseValues.EMPTY_DOUBLE_ARRAY);
+    }
+
+    /**
+     * Update value of the given object or create a new instance if {@code ref} is
+     * not a nullable array.
+     *
+     * @param ref   object to update, could be null
+     * @param value non-null value
+     * @param nulls optional positions of null elements, null means there's no
+     *              null element
+     * @return same object as {@code ref} or a new instance
+     */
+    public static ClickHouseDoubleArrayValue ofNullable(ClickHouseValue ref, double[] value, BitSet nulls) {
+        return (ref instanceof NullableDoubleArrayValue ? (NullableDoubleArrayValue) ref
+                : new NullableDoubleArrayValue(ClickHouseValues.EMPTY_DOUBLE_ARRAY)).set(value, nulls);
+    }
+
     protected ClickHouseDoubleArrayValue(double[] value) {
         super(value);
     }
@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.LinkedHashMap;
@@ -22,12 +23,218 @@ import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseUtils;
 import com.clickhouse.client.ClickHouseValue;
 import com.clickhouse.client.ClickHouseValues;
+import com.clickhouse.client.data.ClickHouseArrayValue;
 import com.clickhouse.client.data.ClickHouseObjectValue;
 
 /**
  * Wrapper of {@code float[]}.
  */
 public class ClickHouseFloatArrayValue extends ClickHouseObjectValue<float[]> implements ClickHouseArraySequence {
+    static final class NullableFloatArrayValue extends ClickHouseFloatArrayValue {
+        // positions of null elements, null when there's none
+        private BitSet nulls;
+
+        private static boolean isSame(BitSet b1, BitSet b2) {
+            if (b1 == null || b1.isEmpty()) {
+                return b2 == null || b2.isEmpty();
+            }
+            return b1.equals(b2);
+        }
+
+        @Override
+        protected NullableFloatArrayValue set(float[] value) {
+            super.set(value);
+            nulls = null;
+            return this;
+        }
+
+        protected NullableFloatArrayValue set(float[] value, BitSet nulls) {
+            super.set(value);
+            this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+            return this;
+        }
+
+        @Override
+        public Object asObject() {
+            return asArray();
+        }
+
+        @Override
+        public Object[] asArray() {
+            float[] v = getValue();
+            int len = v.length;
+            Float[] array = new Float[len];
+            for (int i = 0; i < len; i++) {
+                array[i] = isNull(i) ? null : Float.valueOf(v[i]);
+            }
+            return array;
+        }
+
+        @Override
+        public <E> E[] asArray(Class<E> clazz) {
+            E[] array = super.asArray(clazz);
+            if (nulls != null) {
+                for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+                    array[i] = null;
+                }
+            }
+            return array;
+        }
+
+        @Override
+        public <K, V> Map<K, V> asMap(Class<K> keyClass, Class<V> valueClass) {
+            Map<K, V> map = super.asMap(keyClass, valueClass);
+            if (nulls != null) {
+                for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+                    map.put(keyClass.cast(i + 1), null);
+                }
+            }
+            return map;
+        }
+
+        @Override
+        public String asString() {
+            return Arrays.deepToString(asArray());
+        }
+
+        @Override
+        public String toSqlExpression() {
+            return ClickHouseArrayValue.of(asArray()).toSqlExpression();
+        }
+
+        @Override
+        public NullableFloatArrayValue copy(boolean deep) {
+            float[] value = getValue();
+            if (!deep) {
+                return new NullableFloatArrayValue(value).set(value, nulls);
+            }
+
+            return new NullableFloatArrayValue(value).set(Arrays.copyOf(value, value.length),
+                    nulls != null ? (BitSet) nulls.clone() : null);
+        }
+
+        @Override
+        public NullableFloatArrayValue update(Collection<?> value) {
+            super.update(value);
+            if (value != null && !isNullOrEmpty()) {
+                int index = 0;
+                for (Object o : value) {
+                    if (o == null) {
+                        setNull(index);
+                    }
+                    index++;
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public NullableFloatArrayValue update(String value) {
+            if (ClickHouseChecker.isNullOrBlank(value)) {
+                set(ClickHouseValues.EMPTY_FLOAT_ARRAY);
+            } else {
+                List<String> list = ClickHouseUtils.readValueArray(value, 0, value.length());
+                if (list.isEmpty()) {
+                    set(ClickHouseValues.EMPTY_FLOAT_ARRAY);
+                } else {
+                    float[] arr = new float[list.size()];
+                    BitSet b = new BitSet();
+                    int index = 0;
+                    for (String v : list) {
+                        if (v == null || ClickHouseValues.NULL_EXPR.equalsIgnoreCase(v)) {
+                            b.set(index++);
+                        } else {
+                            arr[index++] = Float.parseFloat(v);
+                        }
+                    }
+                    set(arr, b);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public NullableFloatArrayValue update(ClickHouseValue value) {
+            if (value instanceof NullableFloatArrayValue) {
+                NullableFloatArrayValue v = (NullableFloatArrayValue) value;
+                set(v.getValue(), v.nulls);
+            } else {
+                super.update(value);
+            }
+            return this;
+        }
+
+        @Override
+        public NullableFloatArrayValue update(Object[] value) {
+            super.update(value);
+            if (value != null && !isNullOrEmpty()) {
+                for (int i = 0, len = value.length; i < len; i++) {
+                    if (value[i] == null) {
+                        setNull(i);
+                    }
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return super.equals(obj) && isSame(nulls, ((NullableFloatArrayValue) obj).nulls);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + (nulls == null || nulls.isEmpty() ? 0 : nulls.hashCode());
+        }
+
+        @Override
+        public ClickHouseArraySequence allocate(int length, Class<?> clazz, int level) {
+            super.allocate(length, clazz, level);
+            nulls = null;
+            return this;
+        }
+
+        @Override
+        public boolean isNull(int index) {
+            return nulls != null && nulls.get(index);
+        }
+
+        @Override
+        public <V extends ClickHouseValue> V getValue(int index, V value) {
+            if (isNull(index)) {
+                value.resetToNullOrEmpty();
+            } else {
+                value.update(getValue()[index]);
+            }
+            return value;
+        }
+
+        @Override
+        public ClickHouseArraySequence setValue(int index, ClickHouseValue value) {
+            if (value.isNullOrEmpty()) {
+                setNull(index);
+            } else {
+                getValue()[index] = value.asFloat();
+                if (nulls != null) {
+                    nulls.clear(index);
+                }
+            }
+            return this;
+        }
+
+        void setNull(int index) {
+            getValue()[index] = 0F;
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+            nulls.set(index);
+        }
+
+        protected NullableFloatArrayValue(float[] value) {
+            super(value);
+        }
+    }
+
     private static final String TYPE_NAME = "float[]";
 
     /**
@@ -64,6 +271,30 @@ public class ClickHouseFloatArrayValue extends ClickHouseObjectValue<float[]> im
                 : new ClickHouseFloatArrayValue(value);
     }
 
+    /**
+     * Creates a new instance representing empty {@code Array(Nullable(Float32))}.
+     *
+     * @return new instance representing an empty array
+     */
+    public static ClickHouseFloatArrayValue ofNullableEmpty() {
+        return new NullableFloatArrayValue(ClickHouseValues.EMPTY_FLOAT_ARRAY);
+    }
+
+    /**
+     * Update value of the given object or create a new instance if {@code ref} is
+     * not a nullable array.
+     *
+     * @param ref   object to update, could be null
+     * @param value non-null value
+     * @param nulls optional positions of null elements, null means there's no
+     *              null element
+     * @return same object as {@code ref} or a new instance
+     */
+    public static ClickHouseFloatArrayValue ofNullable(ClickHouseValue ref, float[] value, BitSet nulls) {
+        return (ref instanceof NullableFloatArrayValue ? (NullableFloatArrayValue) ref
+                : new NullableFloatArrayValue(ClickHouseValues.EMPTY_FLOAT_ARRAY)).set(value, nulls);
+    }
+
     protected ClickHouseFloatArrayValue(float[] value) {
         super(value);
     }
@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.LinkedHashMap;
@@ -22,6 +23,7 @@ import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseUtils;
 import com.clickhouse.client.ClickHouseValue;
 import com.clickhouse.client.ClickHouseValues;
+import com.clickhouse.client.data.ClickHouseArrayValue;
 import com.clickhouse.client.data.ClickHouseObjectValue;
 import com.clickhouse.client.data.UnsignedLong;
 
@@ -29,6 +31,211 @@ import com.clickhouse.client.data.UnsignedLong;
  * Wrapper of {@code long[]}.
  */
 public class ClickHouseLongArrayValue extends ClickHouseObjectValue<long[]> implements ClickHouseArraySequence {
+    static final class NullableLongArrayValue extends ClickHouseLongArrayValue {
+        // positions of null elements, null when there's none
+        private BitSet nulls;
+
+        private static boolean isSame(BitSet b1, BitSet b2) {
+            if (b1 == null || b1.isEmpty()) {
+                return b2 == null || b2.isEmpty();
+            }
+            return b1.equals(b2);
+        }
+
+        @Override
+        protected NullableLongArrayValue set(long[] value) {
+            super.set(value);
+            nulls = null;
+            return this;
+        }
+
+        protected NullableLongArrayValue set(long[] value, BitSet nulls) {
+            super.set(value);
+            this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+            return this;
+        }
+
+        @Override
+        public Object asObject() {
+            return asArray();
+        }
+
+        @Override
+        public Object[] asArray() {
+            long[] v = getValue();
+            int len = v.length;
+            Long[] array = new Long[len];
+            for (int i = 0; i < len; i++) {
+                array[i] = isNull(i) ? null : Long.valueOf(v[i]);
+            }
+            return array;
+        }
+
+        @Override
+        public <E> E[] asArray(Class<E> clazz) {
+            E[] array = super.asArray(clazz);
+            if (nulls != null) {
+                for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+                    array[i] = null;
+                }
+            }
+            return array;
+        }
+
+        @Override
+        public <K, V> Map<K, V> asMap(Class<K> keyClass, Class<V> valueClass) {
+            Map<K, V> map = super.asMap(keyClass, valueClass);
+            if (nulls != null) {
+                for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+                    map.put(keyClass.cast(i + 1), null);
+                }
+            }
+            return map;
+        }
+
+        @Override
+        public String asString() {
+            return Arrays.deepToString(asArray());
+        }
+
+        @Override
+        public String toSqlExpression() {
+            return ClickHouseArrayValue.of(asArray()).toSqlExpression();
+        }
+
+        @Override
+        public NullableLongArrayValue copy(boolean deep) {
+            long[] value = getValue();
+            if (!deep) {
+                return new NullableLongArrayValue(value).set(value, nulls);
+            }
+
+            return new NullableLongArrayValue(value).set(Arrays.copyOf(value, value.length),
+                    nulls != null ? (BitSet) nulls.clone() : null);
+        }
+
+        @Override
+        public NullableLongArrayValue update(Collection<?> value) {
+            super.update(value);
+            if (value != null && !isNullOrEmpty()) {
+                int index = 0;
+                for (Object o : value) {
+                    if (o == null) {
+                        setNull(index);
+                    }
+                    index++;
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public NullableLongArrayValue update(String value) {
+            if (ClickHouseChecker.isNullOrBlank(value)) {
+                set(ClickHouseValues.EMPTY_LONG_ARRAY);
+            } else {
+                List<String> list = ClickHouseUtils.readValueArray(value, 0, value.length());
+                if (list.isEmpty()) {
+                    set(ClickHouseValues.EMPTY_LONG_ARRAY);
+                } else {
+                    long[] arr = new long[list.size()];
+                    BitSet b = new BitSet();
+                    int index = 0;
+                    for (String v : list) {
+                        if (v == null || ClickHouseValues.NULL_EXPR.equalsIgnoreCase(v)) {
+                            b.set(index++);
+                        } else {
+                            arr[index++] = Long.parseLong(v);
+                        }
+                    }
+                    set(arr, b);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public NullableLongArrayValue update(ClickHouseValue value) {
+            if (value instanceof NullableLongArrayValue) {
+                NullableLongArrayValue v = (NullableLongArrayValue) value;
+                set(v.getValue(), v.nulls);
+            } else {
+                super.update(value);
+            }
+            return this;
+        }
+
+        @Override
+        public NullableLongArrayValue update(Object[] value) {
+            super.update(value);
+            if (value != null && !isNullOrEmpty()) {
+                for (int i = 0, len = value.length; i < len; i++) {
+                    if (value[i] == null) {
+                        setNull(i);
+                    }
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return super.equals(obj) && isSame(nulls, ((NullableLongArrayValue) obj).nulls);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + (nulls == null || nulls.isEmpty() ? 0 : nulls.hashCode());
+        }
+
+        @Override
+        public ClickHouseArraySequence allocate(int length, Class<?> clazz, int level) {
+            super.allocate(length, clazz, level);
+            nulls = null;
+            return this;
+        }
+
+        @Override
+        public boolean isNull(int index) {
+            return nulls != null && nulls.get(index);
+        }
+
+        @Override
+        public <V extends ClickHouseValue> V getValue(int index, V value) {
+            if (isNull(index)) {
+                value.resetToNullOrEmpty();
+            } else {
+                value.update(getValue()[index]);
+            }
+            return value;
+        }
+
+        @Override
+        public ClickHouseArraySequence setValue(int index, ClickHouseValue value) {
+            if (value.isNullOrEmpty()) {
+                setNull(index);
+            } else {
+                getValue()[index] = value.asLong();
+                if (nulls != null) {
+                    nulls.clear(index);
+                }
+            }
+            return this;
+        }
+
+        void setNull(int index) {
+            getValue()[index] = 0L;
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+            nulls.set(index);
+        }
+
+        protected NullableLongArrayValue(long[] value) {
+            super(value);
+        }
+    }
+
     static final class UnsignedLongArrayValue extends ClickHouseLongArrayValue {
         @Override
         public Object[] asArray() {
@@ -150,6 +357,30 @@ public class ClickHouseLongArrayValue extends ClickHouseObjectValue<long[]> impl
                 : new ClickHouseLongArrayValue(value);
     }
 
+    /**
+     * Creates a new instance representing empty {@code Array(Nullable(Int64))}.
+     *
+     * @return new instance representing an empty array
+     */
+    public static ClickHouseLongArrayValue ofNullableEmpty() {
+        return new NullableLongArrayValue(ClickHouseValues.EMPTY_LONG_ARRAY);
+    }
+
+    /**
+     * Update value of the given object or create a new instance if {@code ref} is
+     * not a nullable array.
+     *
+     * @param ref   object to update, could be null
+     * @param value non-null value
+     * @param nulls optional positions of null elements, null means there's no
+     *              null element
+     * @return same object as {@code ref} or a new instance
+     */
+    public static ClickHouseLongArrayValue ofNullable(ClickHouseValue ref, long[] value, BitSet nulls) {
+        return (ref instanceof NullableLongArrayValue ? (NullableLongArrayValue) ref
+                : new NullableLongArrayValue(ClickHouseValues.EMPTY_LONG_ARRAY)).set(value, nulls);
+    }
+
     protected ClickHouseLongArrayValue(long[] value) {
         super(value);
     }
@@ -3,7 +3,13 @@ package com.clickhouse.client.data.tsv;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.clickhouse.client.ClickHouseValues;
 
 public class ByteFragment {
 
@@ -12,6 +18,17 @@ public class ByteFragment {
     protected final int len;
     private static final ByteFragment EMPTY = new ByteFragment(new byte[0], 0, 0);
 
+    // long can hold any 18-digit number, and integers below 2^53(or 2^24) are
+    // exact in double(or float), as well as powers of ten up to 10^22(or 10^10)
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+    private static final double[] DOUBLE_POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+    private static final float[] FLOAT_POWERS_OF_TEN = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f,
+            1e10f };
+    private static final int[] NANO_FACTORS = { 0, 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1 };
+
     public ByteFragment(byte[] buf, int start, int len) {
         this.buf = buf;
         this.start = start;
@@ -29,14 +46,279 @@ public class ByteFragment {
     }
 
     public String asString(boolean unescape) {
-        if (unescape) {
-            if (isNull()) {
-                return null;
-            }
-            return new String(unescape(), StandardCharsets.UTF_8);
-        } else {
+        return asString(unescape, null);
+    }
+
+    /**
+     * Gets string, optionally unescaped. When there's nothing to unescape, the
+     * string is created directly from underlying bytes, otherwise the given buffer
+     * is used to hold unescaped bytes as long as it's big enough.
+     *
+     * @param unescape whether to unescape the bytes
+     * @param buffer   reusable buffer for unescaped bytes, could be null
+     * @return string, could be null when {@code unescape} is true and the fragment
+     *         represents null
+     */
+    public String asString(boolean unescape, byte[] buffer) {
+        if (!unescape) {
             return asString();
+        } else if (isNull()) {
+            return null;
+        } else if (indexOf((byte) 92) < 0) { // no slash character
+            return asString();
+        } else if (buffer == null || buffer.length < len) {
+            return new String(unescape(), StandardCharsets.UTF_8);
+        }
+
+        return new String(buffer, 0, unescape(buffer), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the fragment as signed decimal integer, same as
+     * {@code Long.parseLong(asString(true))}.
+     *
+     * @return long value
+     * @throws NumberFormatException when the fragment is not a parsable long
+     */
+    public long asLong() {
+        int i = start;
+        int end = start + len;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i++] == '-';
+        }
+
+        long v = end - i <= MAX_LONG_DIGITS ? parseDigits(i, end, false) : -1L;
+        if (v < 0L) {
+            return Long.parseLong(asString(true));
+        }
+        return negative ? -v : v;
+    }
+
+    /**
+     * Parses the fragment as unsigned decimal integer, same as
+     * {@code Long.parseUnsignedLong(asString(true))}.
+     *
+     * @return unsigned long value
+     * @throws NumberFormatException when the fragment is not a parsable unsigned
+     *                               long
+     */
+    public long asUnsignedLong() {
+        int i = start;
+        int end = start + len;
+        if (i < end && buf[i] == '+') {
+            i++;
+        }
+
+        long v = end - i <= MAX_LONG_DIGITS ? parseDigits(i, end, false) : -1L;
+        return v < 0L ? Long.parseUnsignedLong(asString(true)) : v;
+    }
+
+    /**
+     * Parses the fragment as double, same as
+     * {@code Double.parseDouble(asString(true))} except that {@code nan},
+     * {@code inf} and {@code -inf} written by ClickHouse are also recognized.
+     *
+     * @return double value
+     * @throws NumberFormatException when the fragment is not a parsable double
+     */
+    public double asDouble() {
+        int i = start;
+        int end = start + len;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i++] == '-';
+        }
+
+        long m = parseDigits(i, end, true);
+        int scale = m < 0L ? -1 : getScale(i, end);
+        if (m < 0L || m >= MAX_EXACT_DOUBLE || scale >= DOUBLE_POWERS_OF_TEN.length) {
+            return isNonFinite(i, end) ? toNonFinite(i, negative) : Double.parseDouble(asString(true));
+        }
+
+        // both operands are exact, so the quotient is correctly rounded
+        double d = m / DOUBLE_POWERS_OF_TEN[scale];
+        return negative ? -d : d;
+    }
+
+    /**
+     * Parses the fragment as float, same as
+     * {@code Float.parseFloat(asString(true))} except that {@code nan},
+     * {@code inf} and {@code -inf} written by ClickHouse are also recognized.
+     *
+     * @return float value
+     * @throws NumberFormatException when the fragment is not a parsable float
+     */
+    public float asFloat() {
+        int i = start;
+        int end = start + len;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i++] == '-';
+        }
+
+        long m = parseDigits(i, end, true);
+        int scale = m < 0L ? -1 : getScale(i, end);
+        if (m < 0L || m >= MAX_EXACT_FLOAT || scale >= FLOAT_POWERS_OF_TEN.length) {
+            return isNonFinite(i, end) ? (float) toNonFinite(i, negative) : Float.parseFloat(asString(true));
+        }
+
+        float f = m / FLOAT_POWERS_OF_TEN[scale];
+        return negative ? -f : f;
+    }
+
+    /**
+     * Parses the fragment as big decimal, same as
+     * {@code new BigDecimal(asString(true))}.
+     *
+     * @return non-null big decimal
+     * @throws NumberFormatException when the fragment is not a parsable big
+     *                               decimal
+     */
+    public BigDecimal asBigDecimal() {
+        int i = start;
+        int end = start + len;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i++] == '-';
+        }
+
+        long m = parseDigits(i, end, true);
+        if (m < 0L) {
+            return new BigDecimal(asString(true));
+        }
+        return BigDecimal.valueOf(negative ? -m : m, getScale(i, end));
+    }
+
+    /**
+     * Parses the fragment as date, same as
+     * {@code LocalDate.parse(asString(true), ClickHouseValues.DATE_FORMATTER)}.
+     *
+     * @return non-null date
+     * @throws DateTimeException when the fragment is not a parsable date
+     */
+    public LocalDate asDate() {
+        if (len == 10 && buf[start + 4] == '-' && buf[start + 7] == '-') {
+            int year = parseDigits(start, 4);
+            int month = parseDigits(start + 5, 2);
+            int day = parseDigits(start + 8, 2);
+            if (year > 0 && month >= 0 && day >= 0) {
+                try {
+                    return LocalDate.of(year, month, day);
+                } catch (DateTimeException e) {
+                    // let the formatter decide
+                }
+            }
+        }
+
+        return LocalDate.parse(asString(true), ClickHouseValues.DATE_FORMATTER);
+    }
+
+    /**
+     * Parses the fragment as date time, same as
+     * {@code LocalDateTime.parse(asString(true), ClickHouseValues.DATETIME_FORMATTER)}.
+     *
+     * @return non-null date time
+     * @throws DateTimeException when the fragment is not a parsable date time
+     */
+    public LocalDateTime asDateTime() {
+        if (len >= 19 && len != 20 && len <= 29 && buf[start + 4] == '-' && buf[start + 7] == '-'
+                && buf[start + 10] == ' ' && buf[start + 13] == ':' && buf[start + 16] == ':'
+                && (len == 19 || buf[start + 19] == '.')) {
+            int year = parseDigits(start, 4);
+            int month = parseDigits(start + 5, 2);
+            int day = parseDigits(start + 8, 2);
+            int hour = parseDigits(start + 11, 2);
+            int minute = parseDigits(start + 14, 2);
+            int second = parseDigits(start + 17, 2);
+            int nano = len == 19 ? 0 : parseDigits(start + 20, len - 20);
+            if (year > 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0 && second >= 0 && nano >= 0) {
+                try {
+                    return LocalDateTime.of(year, month, day, hour, minute, second,
+                            len == 19 ? 0 : nano * NANO_FACTORS[len - 20]);
+                } catch (DateTimeException e) {
+                    // let the formatter decide
+                }
+            }
+        }
+
+        return LocalDateTime.parse(asString(true), ClickHouseValues.DATETIME_FORMATTER);
+    }
+
+    // parses up to 18 digits with an optional dot, returns -1 when there's nothing
+    // or anything else
+    private long parseDigits(int from, int end, boolean allowDot) {
+        long v = 0L;
+        int digits = 0;
+        boolean dot = !allowDot;
+        for (int i = from; i < end; i++) {
+            int d = buf[i] - '0';
+            if (d >= 0 && d <= 9) {
+                if (++digits > MAX_LONG_DIGITS) {
+                    return -1L;
+                }
+                v = v * 10 + d;
+            } else if (buf[i] == '.' && !dot) {
+                dot = true;
+            } else {
+                return -1L;
+            }
+        }
+        return digits > 0 ? v : -1L;
+    }
+
+    // checks if it's nan, inf or infinity in any case, which is not recognized by
+    // Double.parseDouble()
+    private boolean isNonFinite(int from, int end) {
+        int n = end - from;
+        if (n == 3) {
+            return matchIgnoreCase(from, "nan") || matchIgnoreCase(from, "inf");
+        }
+        return n == 8 && matchIgnoreCase(from, "infinity");
+    }
+
+    private boolean matchIgnoreCase(int from, String str) {
+        for (int i = 0, len = str.length(); i < len; i++) {
+            if ((buf[from + i] | 0x20) != str.charAt(i)) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    private double toNonFinite(int from, boolean negative) {
+        if ((buf[from] | 0x20) == 'n') {
+            return Double.NaN;
+        }
+        return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+    }
+
+    // parses exactly count digits, returns -1 when there's anything else
+    private int parseDigits(int from, int count) {
+        int v = 0;
+        for (int i = from, end = from + count; i < end; i++) {
+            int d = buf[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    // number of digits after the dot
+    private int getScale(int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buf[i] == '.') {
+                return end - i - 1;
+            }
+        }
+        return 0;
+    }
+
+    private int indexOf(byte b) {
+        int i = ByteScanner.indexOf(buf, b, start, start + len);
+        return i < 0 ? i : i - start;
     }
 
     public boolean isNull() {
@@ -70,20 +352,19 @@ public class ByteFragment {
     }
 
     public ByteFragment[] split(byte sep) {
-        StreamSplitter ss = new StreamSplitter(this, sep);
+        // same as splitting by StreamSplitter, but without copying the bytes
+        int end = start + len;
         int c = count(sep) + 1;
         ByteFragment[] res = new ByteFragment[c];
-        try {
-            int i = 0;
-            ByteFragment next = null;
-            while ((next = ss.next()) != null) {
-                res[i++] = next;
-            }
-        } catch (IOException ignore) {
-        }
-        if (res[c - 1] == null) {
-            res[c - 1] = ByteFragment.EMPTY;
+        int[] indexes = new int[c - 1];
+        ByteScanner.indexesOf(buf, sep, start, end, indexes);
+        int from = start;
+        for (int i = 0, n = c - 1; i < n; i++) {
+            int pos = indexes[i];
+            res[i] = new ByteFragment(buf, from, pos - from);
+            from = pos + 1;
         }
+        res[c - 1] = from < end ? new ByteFragment(buf, from, end - from) : ByteFragment.EMPTY;
         return res;
     }
 
@@ -109,13 +390,7 @@ public class ByteFragment {
     }
 
     private int count(byte sep) {
-        int res = 0;
-        for (int i = start; i < start + len; i++) {
-            if (buf[i] == sep) {
-                res++;
-            }
-        }
-        return res;
+        return ByteScanner.count(buf, sep, start, start + len);
     }
 
     public int getLen() {
@@ -193,6 +468,29 @@ public class ByteFragment {
         return res;
     }
 
+    /**
+     * Unescapes bytes into the given array.
+     *
+     * @param target non-null array, which should have at least {@link #length()}
+     *               bytes
+     * @return number of bytes written into {@code target}
+     */
+    public int unescape(byte[] target) {
+        int index = 0;
+        boolean prevSlash = false;
+        for (int i = start; i < start + len; i++) {
+            if (prevSlash) {
+                prevSlash = false;
+                target[index++] = convert[buf[i]];
+            } else if (buf[i] == 92) { // slash character
+                prevSlash = true;
+            } else {
+                target[index++] = buf[i];
+            }
+        }
+        return index;
+    }
+
     final static byte[] reverse;
     static {
         reverse = new byte[convert.length];
@@ -0,0 +1,185 @@
+package com.clickhouse.client.data.tsv;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Utility class for searching bytes in a byte array. Instead of comparing one
+ * byte at a time, it loads 8 bytes into a {@code long} and checks all of them
+ * at once(SWAR - SIMD within a register). It falls back to simple loop for
+ * short ranges, the remaining tail, and JDK 8 where loading a word from byte
+ * array is too slow to pay off.
+ */
+public final class ByteScanner {
+    // ranges shorter than this are not worthy of the setup
+    static final int MIN_SWAR_LENGTH = 16;
+    // ByteBuffer.getLong() reads one byte at a time on JDK 8, which makes SWAR
+    // slower than simple loop
+    static final boolean SWAR_SUPPORTED = !System.getProperty("java.specification.version", "").startsWith("1.");
+
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    /**
+     * Gets a word with the given byte repeated 8 times.
+     *
+     * @param b byte to repeat
+     * @return word with the given byte in all 8 positions
+     */
+    static long broadcast(byte b) {
+        return LOW_BITS * (b & 0xFF);
+    }
+
+    /**
+     * Gets a mask having the highest bit set for each zero byte in the given word,
+     * and all other bits cleared. Unlike the well-known
+     * {@code (x - 0x01..) & ~x & 0x80..}, it has no false positive caused by
+     * borrow, so the result can be used for counting as well.
+     *
+     * @param word word to check
+     * @return mask of zero bytes, or 0 when there's no zero byte
+     */
+    static long zeroBytes(long word) {
+        long t = (word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+        return ~(t | word | LOW_SEVEN_BITS);
+    }
+
+    static ByteBuffer wrap(byte[] array) {
+        return ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Finds the first occurrence of {@code target} in the given range.
+     *
+     * @param array  non-null byte array
+     * @param target byte to search
+     * @param start  inclusive start index
+     * @param end    exclusive end index
+     * @return index of the first occurrence, or -1 when not found
+     */
+    public static int indexOf(byte[] array, byte target, int start, int end) {
+        int i = start;
+        if (SWAR_SUPPORTED && end - start >= MIN_SWAR_LENGTH) {
+            ByteBuffer b = wrap(array);
+            long pattern = broadcast(target);
+            for (int limit = end - Long.BYTES; i <= limit; i += Long.BYTES) {
+                long mask = zeroBytes(b.getLong(i) ^ pattern);
+                if (mask != 0L) {
+                    return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+                }
+            }
+        }
+
+        for (; i < end; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first occurrence of either {@code target1} or {@code target2} in
+     * the given range, for example separator or escape character.
+     *
+     * @param array   non-null byte array
+     * @param target1 byte to search
+     * @param target2 another byte to search
+     * @param start   inclusive start index
+     * @param end     exclusive end index
+     * @return index of the first occurrence, or -1 when not found
+     */
+    public static int indexOfAny(byte[] array, byte target1, byte target2, int start, int end) {
+        int i = start;
+        if (SWAR_SUPPORTED && end - start >= MIN_SWAR_LENGTH) {
+            ByteBuffer b = wrap(array);
+            long pattern1 = broadcast(target1);
+            long pattern2 = broadcast(target2);
+            for (int limit = end - Long.BYTES; i <= limit; i += Long.BYTES) {
+                long word = b.getLong(i);
+                long mask = zeroBytes(word ^ pattern1) | zeroBytes(word ^ pattern2);
+                if (mask != 0L) {
+                    return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+                }
+            }
+        }
+
+        for (; i < end; i++) {
+            byte v = array[i];
+            if (v == target1 || v == target2) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Counts occurrences of {@code target} in the given range.
+     *
+     * @param array  non-null byte array
+     * @param target byte to count
+     * @param start  inclusive start index
+     * @param end    exclusive end index
+     * @return number of occurrences
+     */
+    public static int count(byte[] array, byte target, int start, int end) {
+        int count = 0;
+        int i = start;
+        if (SWAR_SUPPORTED && end - start >= MIN_SWAR_LENGTH) {
+            ByteBuffer b = wrap(array);
+            long pattern = broadcast(target);
+            for (int limit = end - Long.BYTES; i <= limit; i += Long.BYTES) {
+                count += Long.bitCount(zeroBytes(b.getLong(i) ^ pattern));
+            }
+        }
+
+        for (; i < end; i++) {
+            if (array[i] == target) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds indexes of {@code target} in the given range, until the range is
+     * exhausted or {@code indexes} is full.
+     *
+     * @param array   non-null byte array
+     * @param target  byte to search
+     * @param start   inclusive start index
+     * @param end     exclusive end index
+     * @param indexes non-null array to store indexes
+     * @return number of indexes found
+     */
+    public static int indexesOf(byte[] array, byte target, int start, int end, int[] indexes) {
+        int count = 0;
+        int max = indexes.length;
+        int i = start;
+        if (SWAR_SUPPORTED && end - start >= MIN_SWAR_LENGTH) {
+            ByteBuffer b = wrap(array);
+            long pattern = broadcast(target);
+            for (int limit = end - Long.BYTES; i <= limit; i += Long.BYTES) {
+                long mask = zeroBytes(b.getLong(i) ^ pattern);
+                while (mask != 0L) {
+                    if (count == max) {
+                        return count;
+                    }
+                    indexes[count++] = i + (Long.numberOfTrailingZeros(mask) >>> 3);
+                    // clear the lowest bit
+                    mask &= mask - 1L;
+                }
+            }
+        }
+
+        for (; i < end && count < max; i++) {
+            if (array[i] == target) {
+                indexes[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    private ByteScanner() {
+    }
+}
@@ -56,9 +56,11 @@ public class StreamSplitter {
                 return null;
             }
         }
-        // looking for the separator
+        // looking for the separator, bytes already scanned will not be checked again
         int positionSep;
-        while ((positionSep = indexOf(buf, sep, posNext, posRead)) < posNext) {
+        int scanned = 0;
+        while ((positionSep = ByteScanner.indexOf(buf, sep, posNext + scanned, posRead)) < 0) {
+            scanned = posRead - posNext;
             // read from stream till we find the separator
             int readBytes = readFromStream();
             if (readBytes <= 0) {
@@ -118,15 +120,6 @@ public class StreamSplitter {
         }
     }
 
-    private static int indexOf(byte[] array, byte target, int start, int end) {
-        for (int i = start; i < end; i++) {
-            if (array[i] == target) {
-                return i;
-            }
-        }
-        return -1;
-    }
-
     public void close() throws IOException {
         closed = true;
         delegate.close();
@@ -3,6 +3,8 @@ package com.clickhouse.client.stream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.LinkedList;
 
 import com.clickhouse.client.ClickHouseByteBuffer;
@@ -173,6 +175,20 @@ public abstract class AbstractByteArrayInputStream extends ClickHouseInputStream
         return byteBuffer;
     }
 
+    @Override
+    protected ByteBuffer readElements(int elementSize, int count) throws IOException {
+        ensureOpen();
+
+        int n = Math.min(count, (limit - position) / elementSize);
+        if (n < 1) { // end of stream or element spanning across buffers
+            return super.readElements(elementSize, 1);
+        }
+        int len = n * elementSize;
+        ByteBuffer b = ByteBuffer.wrap(buffer, position, len).order(ByteOrder.LITTLE_ENDIAN);
+        position += len;
+        return b;
+    }
+
     @Override
     public ClickHouseByteBuffer readCustom(ClickHouseDataUpdater reader) throws IOException {
         if (reader == null) {
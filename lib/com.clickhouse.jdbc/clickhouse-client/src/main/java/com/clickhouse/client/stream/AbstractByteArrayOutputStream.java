@@ -1,13 +1,15 @@
 package com.clickhouse.client.stream;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import com.clickhouse.client.ClickHouseDataUpdater;
 import com.clickhouse.client.ClickHouseFile;
 import com.clickhouse.client.ClickHouseOutputStream;
 
 public abstract class AbstractByteArrayOutputStream extends ClickHouseOutputStream {
-    protected final byte[] buffer;
+    protected byte[] buffer;
 
     protected int position;
 
@@ -26,6 +28,34 @@ public abstract class AbstractByteArrayOutputStream extends ClickHouseOutputStre
         position = 0;
     }
 
+    @Override
+    protected ByteBuffer nextElements(int elementSize, int count) throws IOException {
+        ensureOpen();
+
+        int limit = buffer.length;
+        if (limit < elementSize) {
+            return super.nextElements(elementSize, count);
+        } else if (limit - position < elementSize) {
+            flushBuffer();
+        }
+        // encode elements directly into the buffer
+        int len = Math.min(count, (limit - position) / elementSize) * elementSize;
+        return ByteBuffer.wrap(buffer, position, len).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    protected void commitElements(ByteBuffer elements) throws IOException {
+        if (elements.array() != buffer) {
+            super.commitElements(elements);
+            return;
+        }
+
+        position = elements.limit();
+        if (position >= buffer.length) {
+            flushBuffer();
+        }
+    }
+
     @Override
     public ClickHouseOutputStream transferBytes(byte[] bytes, int offset, int length) throws IOException {
         if (bytes == null) {
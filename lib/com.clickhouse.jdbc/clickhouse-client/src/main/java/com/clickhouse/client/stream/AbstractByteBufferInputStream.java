@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.LinkedList;
 
 import com.clickhouse.client.ClickHouseByteBuffer;
@@ -15,11 +16,21 @@ import com.clickhouse.client.ClickHouseOutputStream;
 import com.clickhouse.client.ClickHouseUtils;
 
 /**
- * {@link java.nio.ByteBuffer} backed input stream.
+ * {@link java.nio.ByteBuffer} backed input stream. Besides heap buffers, it
+ * reads direct and read-only buffers in place, and only copies bytes when
+ * {@link #readBuffer(int)} has to return a {@link ClickHouseByteBuffer}.
  */
 public abstract class AbstractByteBufferInputStream extends ClickHouseInputStream {
+    /**
+     * Maximum length of value, for instance Int256, to be read into the reusable
+     * scratch array by {@link #readBuffer(int)}.
+     */
+    static final int MAX_SCRATCH_LENGTH = 32;
+
     protected ByteBuffer buffer;
 
+    private byte[] scratch;
+
     protected AbstractByteBufferInputStream(ClickHouseFile file, OutputStream copyTo, Runnable postCloseAction) {
         super(file, copyTo, postCloseAction);
 
@@ -88,7 +99,7 @@ public abstract class AbstractByteBufferInputStream extends ClickHouseInputStrea
             while (b != ClickHouseByteBuffer.EMPTY_BUFFER) {
                 if (remain > 0) {
                     if (b.hasArray()) {
-                        output.transferBytes(b.array(), b.position(), remain);
+                        output.transferBytes(b.array(), b.arrayOffset() + b.position(), remain);
                         ((Buffer) b).limit(b.position());
                     } else {
                         byte[] bytes = new byte[remain];
@@ -117,7 +128,7 @@ public abstract class AbstractByteBufferInputStream extends ClickHouseInputStrea
     public int read(byte[] b, int off, int len) throws IOException {
         if (b == null) {
             throw new NullPointerException(ERROR_NULL_BYTES);
-        } else if (buffer != null && buffer.hasArray() && buffer.array() == b) {
+        } else if ((buffer != null && buffer.hasArray() && buffer.array() == b) || scratch == b) {
             // in case b is the byte array return from ClickHouseByteBuffer.array()
             throw new IllegalArgumentException(ERROR_REUSE_BUFFER);
         } else if (off < 0 || len < 0 || len > b.length - off) {
@@ -161,14 +172,65 @@ public abstract class AbstractByteBufferInputStream extends ClickHouseInputStrea
             throw new EOFException();
         } else if (buffer.remaining() >= length && buffer.hasArray()) {
             int position = buffer.position();
-            byteBuffer.update(buffer.array(), position, length);
+            byteBuffer.update(buffer.array(), buffer.arrayOffset() + position, length);
             ((Buffer) buffer).position(position + length);
+        } else if (buffer.remaining() >= length && length <= MAX_SCRATCH_LENGTH) {
+            // direct or read-only buffer, copy small value into scratch array instead of
+            // allocating a new one each time
+            byte[] bytes = scratch;
+            if (bytes == null) {
+                scratch = bytes = new byte[MAX_SCRATCH_LENGTH];
+            }
+            buffer.get(bytes, 0, length);
+            byteBuffer.update(bytes, 0, length);
         } else {
             byteBuffer.update(readBytes(length));
         }
         return byteBuffer;
     }
 
+    /**
+     * Reads {@code length} bytes as a view of current buffer when possible, or a
+     * copy when the bytes span across buffers. It's only for sub-classes which
+     * never reuse buffers, to implement {@link #readByteBuffer(int)}.
+     *
+     * @param length number of bytes to read
+     * @return non-null byte buffer with exactly {@code length} bytes remaining
+     * @throws IOException when failed to read bytes from input stream, not able to
+     *                     retrieve all bytes, or reached end of the stream
+     */
+    protected ByteBuffer sliceBuffer(int length) throws IOException {
+        if (length < 1) {
+            return ByteBuffer.wrap(ClickHouseByteBuffer.EMPTY_BYTES);
+        }
+        ensureOpen();
+
+        if (buffer.remaining() < length) {
+            return super.readByteBuffer(length);
+        }
+        int position = buffer.position();
+        ByteBuffer b = buffer.slice();
+        ((Buffer) b).limit(length);
+        ((Buffer) buffer).position(position + length);
+        return b;
+    }
+
+    @Override
+    protected ByteBuffer readElements(int elementSize, int count) throws IOException {
+        ensureOpen();
+
+        int n = Math.min(count, buffer.remaining() / elementSize);
+        if (n < 1) { // end of stream or element spanning across buffers
+            return super.readElements(elementSize, 1);
+        }
+        int position = buffer.position();
+        int newPosition = position + n * elementSize;
+        ByteBuffer b = buffer.duplicate();
+        ((Buffer) b).limit(newPosition);
+        ((Buffer) buffer).position(newPosition);
+        return b.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
     @Override
     public ClickHouseByteBuffer readCustom(ClickHouseDataUpdater reader) throws IOException {
         if (reader == null) {
@@ -191,7 +253,7 @@ public abstract class AbstractByteBufferInputStream extends ClickHouseInputStrea
                 int limit = buffer.limit();
                 int endPos = limit;
                 byte[] bytes;
-                if (buffer.hasArray() && buffer.capacity() == buffer.limit()) {
+                if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.capacity() == buffer.limit()) {
                     bytes = buffer.array();
                     if (bytes.length > remain) {
                         byte[] newBytes = new byte[remain];
@@ -240,6 +302,73 @@ public abstract class AbstractByteBufferInputStream extends ClickHouseInputStrea
         return buffer.get();
     }
 
+    @Override
+    public int readVarInt() throws IOException {
+        ensureOpen();
+
+        ByteBuffer b = buffer;
+        // slow path for varint across buffers
+        if (b.remaining() < 10) {
+            return super.readVarInt();
+        }
+
+        int position = b.position();
+        int v = b.get(position++);
+        if (v >= 0) {
+            ((Buffer) b).position(position);
+            return v;
+        }
+
+        int result = v & 0x7F;
+        for (int shift = 7; shift <= 28; shift += 7) {
+            if ((v = b.get(position++)) >= 0) {
+                result |= v << shift;
+                break;
+            } else {
+                result |= (v & 0x7F) << shift;
+            }
+        }
+        // consume a few more bytes - readVarLong() should be called instead
+        if (v < 0) {
+            for (int shift = 35; shift <= 63; shift += 7) {
+                if (b.get(position++) >= 0) {
+                    break;
+                }
+            }
+        }
+        ((Buffer) b).position(position);
+        return result;
+    }
+
+    @Override
+    public long readVarLong() throws IOException {
+        ensureOpen();
+
+        ByteBuffer b = buffer;
+        if (b.remaining() < 10) {
+            return super.readVarLong();
+        }
+
+        int position = b.position();
+        long v = b.get(position++);
+        if (v >= 0L) {
+            ((Buffer) b).position(position);
+            return v;
+        }
+
+        long result = v & 0x7F;
+        for (int shift = 7; shift <= 63; shift += 7) {
+            if ((v = b.get(position++)) >= 0) {
+                result |= v << shift;
+                break;
+            } else {
+                result |= (v & 0x7F) << shift;
+            }
+        }
+        ((Buffer) b).position(position);
+        return result;
+    }
+
     @Override
     public byte[] readBytes(int length) throws IOException {
         if (length < 1) {
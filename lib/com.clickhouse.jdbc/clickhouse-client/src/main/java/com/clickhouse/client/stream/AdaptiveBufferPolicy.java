@@ -0,0 +1,253 @@
+package com.clickhouse.client.stream;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseUtils;
+import com.clickhouse.client.logging.Logger;
+import com.clickhouse.client.logging.LoggerFactory;
+
+/**
+ * Capacity policy which also decides buffer size of a piped stream, based on
+ * observed throughput and consumer lag. Buffer size follows the number of bytes
+ * written within {@code interval} milliseconds, rounded to power of two and
+ * bounded by minimum and maximum buffer size. Queue capacity grows by one when
+ * the queue keeps being full(consumer is behind), and shrinks by one when the
+ * queue keeps being empty(consumer is catching up), bounded by one and maximum
+ * queue length.
+ *
+ * <p>
+ * It's supposed to be updated by the writer thread only, but all metrics can be
+ * retrieved from any thread.
+ */
+public class AdaptiveBufferPolicy implements CapacityPolicy {
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveBufferPolicy.class);
+
+    // number of intervals to sample before making decision
+    static final int SAMPLE_INTERVALS = 4;
+
+    /**
+     * Creates adaptive buffer policy according to the given configuration.
+     *
+     * @param config non-null configuration
+     * @return adaptive buffer policy, or null when adaptive buffer is disabled
+     */
+    public static AdaptiveBufferPolicy of(ClickHouseConfig config) {
+        if (config == null || !config.isAdaptiveBuffer()) {
+            return null;
+        }
+
+        return new AdaptiveBufferPolicy(config.getMinBufferSize(), config.getMaxBufferSize(),
+                config.getMaxQueuedBuffers(), config.getBufferQueueVariation(), config.getAdaptiveBufferInterval());
+    }
+
+    private final int minBufferSize;
+    private final int maxBufferSize;
+    private final int maxQueueLength;
+    private final int variation;
+    private final long sampleNanos;
+    private final long interval;
+
+    // below are only updated by writer
+    private long sampleStart;
+    private long sampleBytes;
+    private int sampleWaits;
+    private int fullCount;
+    private int emptyCount;
+
+    private volatile int bufferSize;
+    private volatile int capacity;
+    private volatile long throughput;
+    private volatile long totalBytes;
+    private volatile int bufferResizes;
+    private volatile int queueResizes;
+    private volatile int waits;
+
+    static int normalize(long size, int minSize, int maxSize) {
+        if (size <= minSize) {
+            return minSize;
+        } else if (size >= maxSize) {
+            return maxSize;
+        }
+        int s = Integer.highestOneBit((int) size);
+        return s < size ? Math.min(s << 1, maxSize) : s;
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param minBufferSize  minimum buffer size in byte, which is also the initial
+     *                       buffer size
+     * @param maxBufferSize  maximum buffer size in byte
+     * @param maxQueueLength maximum queue length, zero or negative number means no
+     *                       limit
+     * @param variation      number of times the queue is observed full or empty
+     *                       before changing its capacity, zero or negative number
+     *                       is treated as 100
+     * @param interval       expected time in milliseconds to fill up one buffer,
+     *                       zero or negative number is treated as 1
+     */
+    public AdaptiveBufferPolicy(int minBufferSize, int maxBufferSize, int maxQueueLength, int variation,
+            int interval) {
+        this.maxBufferSize = ClickHouseUtils.getBufferSize(maxBufferSize, -1, -1);
+        this.minBufferSize = ClickHouseUtils.getBufferSize(minBufferSize, -1, this.maxBufferSize);
+        this.maxQueueLength = maxQueueLength < 1 ? Integer.MAX_VALUE : maxQueueLength;
+        this.variation = variation < 1 ? 100 : variation;
+        this.interval = interval < 1 ? 1L : interval;
+        this.sampleNanos = this.interval * SAMPLE_INTERVALS * 1000000L;
+
+        this.sampleStart = System.nanoTime();
+        this.sampleBytes = 0L;
+        this.sampleWaits = 0;
+        this.fullCount = 0;
+        this.emptyCount = 0;
+
+        this.bufferSize = this.minBufferSize;
+        this.capacity = 1;
+        this.throughput = 0L;
+        this.totalBytes = 0L;
+        this.bufferResizes = 0;
+        this.queueResizes = 0;
+        this.waits = 0;
+    }
+
+    @Override
+    public boolean ensureCapacity(int current) {
+        if (current < capacity) {
+            fullCount = 0;
+            if (current == 0 && capacity > 1 && ++emptyCount >= variation) { // NOSONAR
+                emptyCount = 0;
+                capacity--; // NOSONAR
+                queueResizes++; // NOSONAR
+                log.debug("Shrank queue capacity to %d", capacity);
+            }
+            return true;
+        }
+
+        emptyCount = 0;
+        if (capacity < maxQueueLength && ++fullCount >= variation) { // NOSONAR
+            fullCount = 0;
+            capacity++; // NOSONAR
+            queueResizes++; // NOSONAR
+            log.debug("Grew queue capacity to %d", capacity);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a buffer handed over to the consumer, and adjusts buffer size as
+     * needed.
+     *
+     * @param bytes  number of bytes in the buffer
+     * @param waited whether the writer had to wait for the consumer, because the
+     *               queue was full
+     * @return buffer size for next buffer
+     */
+    public int update(int bytes, boolean waited) {
+        return update(bytes, waited, System.nanoTime());
+    }
+
+    int update(int bytes, boolean waited, long now) {
+        if (bytes > 0) {
+            totalBytes += bytes; // NOSONAR
+            sampleBytes += bytes;
+        }
+        if (waited) {
+            waits++; // NOSONAR
+            sampleWaits++;
+        }
+
+        long elapsed = now - sampleStart;
+        if (elapsed < sampleNanos) {
+            return bufferSize;
+        }
+
+        long rate = sampleBytes * 1000000000L / elapsed;
+        int size = bufferSize;
+        int target = normalize(rate * interval / 1000L, minBufferSize, maxBufferSize);
+        // grow only when the consumer keeps up, as larger buffer does not help
+        // when it's already behind; shrink when target is less than half
+        if ((target > size && sampleWaits == 0) || target < size / 2) {
+            log.debug("Resize buffer from %d to %d (throughput: %d bytes/s, waits: %d)", size, target, rate,
+                    sampleWaits);
+            bufferSize = size = target;
+            bufferResizes++; // NOSONAR
+        }
+        throughput = rate;
+        sampleStart = now;
+        sampleBytes = 0L;
+        sampleWaits = 0;
+        return size;
+    }
+
+    /**
+     * Gets current buffer size.
+     *
+     * @return buffer size in byte
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Gets current queue capacity.
+     *
+     * @return queue capacity
+     */
+    public int getQueueCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets throughput observed in last sampling period.
+     *
+     * @return throughput in bytes per second
+     */
+    public long getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Gets total number of bytes handed over to the consumer.
+     *
+     * @return total bytes
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Gets number of times buffer size has been changed.
+     *
+     * @return number of buffer resizes
+     */
+    public int getBufferResizes() {
+        return bufferResizes;
+    }
+
+    /**
+     * Gets number of times queue capacity has been changed.
+     *
+     * @return number of queue resizes
+     */
+    public int getQueueResizes() {
+        return queueResizes;
+    }
+
+    /**
+     * Gets number of times the writer had to wait for the consumer.
+     *
+     * @return number of waits
+     */
+    public int getWaits() {
+        return waits;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder().append(getClass().getSimpleName()).append("(bufferSize=").append(bufferSize)
+                .append(", queueCapacity=").append(capacity).append(", throughput=").append(throughput)
+                .append(", totalBytes=").append(totalBytes).append(", bufferResizes=").append(bufferResizes)
+                .append(", queueResizes=").append(queueResizes).append(", waits=").append(waits).append(')')
+                .toString();
+    }
+}
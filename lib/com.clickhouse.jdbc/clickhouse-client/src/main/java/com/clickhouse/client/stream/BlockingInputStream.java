@@ -6,6 +6,7 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
+import com.clickhouse.client.ClickHouseByteBuffer;
 import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseUtils;
 import com.clickhouse.client.logging.Logger;
@@ -20,12 +21,18 @@ public class BlockingInputStream extends AbstractByteBufferInputStream {
 
     private final BlockingQueue<ByteBuffer> queue;
     private final int timeout;
+    private final SpillFile spill;
 
     public BlockingInputStream(BlockingQueue<ByteBuffer> queue, int timeout, Runnable postCloseAction) {
+        this(queue, timeout, null, postCloseAction);
+    }
+
+    BlockingInputStream(BlockingQueue<ByteBuffer> queue, int timeout, SpillFile spill, Runnable postCloseAction) {
         super(null, null, postCloseAction);
 
         this.queue = ClickHouseChecker.nonNull(queue, "Queue");
         this.timeout = timeout > 0 ? timeout : 0;
+        this.spill = spill;
     }
 
     @Override
@@ -39,23 +46,29 @@ public class BlockingInputStream extends AbstractByteBufferInputStream {
 
     @Override
     protected int updateBuffer() throws IOException {
-        ByteBuffer b;
+        // spilled buffers must be taken in order, before waiting on the queue
+        ByteBuffer b = spill != null ? spill.poll() : null;
         try {
-            if (timeout > 0) {
-                b = queue.poll(timeout, TimeUnit.MILLISECONDS);
-                if (b == null) {
-                    throw new IOException(ClickHouseUtils.format("Read timed out after %d ms", timeout));
+            if (b == null) {
+                if (timeout > 0) {
+                    b = queue.poll(timeout, TimeUnit.MILLISECONDS);
+                    if (b == null) {
+                        throw new IOException(ClickHouseUtils.format("Read timed out after %d ms", timeout));
+                    }
+                } else {
+                    b = queue.take();
                 }
-            } else {
-                b = queue.take();
             }
 
             buffer = b;
+            if (spill != null && b == ClickHouseByteBuffer.EMPTY_BUFFER) {
+                spill.close();
+            }
             int remain = b.remaining();
             if (remain > 0 && copyTo != null) {
                 int position = b.position();
                 if (b.hasArray()) {
-                    copyTo.write(b.array(), position, remain);
+                    copyTo.write(b.array(), b.arrayOffset() + position, remain);
                 } else {
                     byte[] bytes = new byte[remain];
                     b.get(bytes);
@@ -69,4 +82,21 @@ public class BlockingInputStream extends AbstractByteBufferInputStream {
             throw new IOException("Thread was interrupted when getting next buffer from queue", e);
         }
     }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (spill != null) {
+                spill.close();
+            }
+        }
+    }
+
+    @Override
+    public ByteBuffer readByteBuffer(int length) throws IOException {
+        // buffers are handed over by the writer and never reused
+        return sliceBuffer(length);
+    }
 }
@@ -3,6 +3,7 @@ package com.clickhouse.client.stream;
 import java.io.IOException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -25,21 +26,65 @@ import com.clickhouse.client.config.ClickHouseClientOption;
 public class BlockingPipedOutputStream extends ClickHousePipedOutputStream {
     protected final BlockingQueue<ByteBuffer> queue;
 
-    private final int bufferSize;
+    private final AdaptiveBufferPolicy adaptivePolicy;
+    final SpillFile spill;
     private final int timeout;
 
+    private int bufferSize;
     private ByteBuffer buffer;
 
     public BlockingPipedOutputStream(int bufferSize, int queueLength, int timeout, Runnable postCloseAction) {
+        this(bufferSize, queueLength, timeout, null, postCloseAction);
+    }
+
+    /**
+     * Creates a piped output stream, which may adjust buffer size at runtime.
+     *
+     * @param bufferSize      buffer size, ignored when {@code adaptivePolicy} is
+     *                        not null
+     * @param queueLength     maximum number of buffers in the queue, zero or
+     *                        negative number means no limit
+     * @param timeout         read and write timeout in milliseconds
+     * @param adaptivePolicy  optional policy for adjusting buffer size, could be
+     *                        null
+     * @param postCloseAction custom action will be performed right after closing
+     *                        the output stream
+     */
+    public BlockingPipedOutputStream(int bufferSize, int queueLength, int timeout, AdaptiveBufferPolicy adaptivePolicy,
+            Runnable postCloseAction) {
+        this(bufferSize, queueLength, timeout, adaptivePolicy, -1L, postCloseAction);
+    }
+
+    /**
+     * Creates a piped output stream, which may spill buffers into a temporary
+     * file instead of waiting for the reader, when the queue is full.
+     *
+     * @param bufferSize      buffer size, ignored when {@code adaptivePolicy} is
+     *                        not null
+     * @param queueLength     maximum number of buffers in the queue, zero or
+     *                        negative number means no limit
+     * @param timeout         read and write timeout in milliseconds
+     * @param adaptivePolicy  optional policy for adjusting buffer size, could be
+     *                        null
+     * @param maxSpillSize    maximum size in byte of the temporary file, zero
+     *                        means no limit and negative number disables spilling
+     * @param postCloseAction custom action will be performed right after closing
+     *                        the output stream
+     */
+    public BlockingPipedOutputStream(int bufferSize, int queueLength, int timeout, AdaptiveBufferPolicy adaptivePolicy,
+            long maxSpillSize, Runnable postCloseAction) {
         super(postCloseAction);
 
         // DisruptorBlockingQueue? Did not see much difference here...
         this.queue = queueLength <= 0 ? new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(queueLength);
 
-        // may need an initialBufferSize and a monitor to update bufferSize in runtime
-        this.bufferSize = ClickHouseUtils.getBufferSize(bufferSize,
-                (int) ClickHouseClientOption.BUFFER_SIZE.getDefaultValue(),
-                (int) ClickHouseClientOption.MAX_BUFFER_SIZE.getDefaultValue());
+        this.adaptivePolicy = adaptivePolicy;
+        // nothing to spill when the queue is unbounded
+        this.spill = maxSpillSize < 0L || queueLength <= 0 ? null : new SpillFile(queue, maxSpillSize);
+        this.bufferSize = adaptivePolicy != null ? adaptivePolicy.getBufferSize()
+                : ClickHouseUtils.getBufferSize(bufferSize,
+                        (int) ClickHouseClientOption.BUFFER_SIZE.getDefaultValue(),
+                        (int) ClickHouseClientOption.MAX_BUFFER_SIZE.getDefaultValue());
         this.timeout = timeout;
 
         this.buffer = ByteBuffer.allocate(this.bufferSize);
@@ -60,6 +105,26 @@ public class BlockingPipedOutputStream extends ClickHousePipedOutputStream {
     }
 
     private void updateBuffer(ByteBuffer b) throws IOException {
+        final AdaptiveBufferPolicy policy = adaptivePolicy;
+        if (spill != null) {
+            int length = b.remaining();
+            spill.put(b, timeout);
+            if (policy != null) {
+                bufferSize = policy.update(length, false);
+            }
+        } else if (policy != null) {
+            int length = b.remaining();
+            boolean waited = !queue.offer(b);
+            if (waited) {
+                putBuffer(b);
+            }
+            bufferSize = policy.update(length, waited);
+        } else {
+            putBuffer(b);
+        }
+    }
+
+    private void putBuffer(ByteBuffer b) throws IOException {
         try {
             if (timeout > 0) {
                 if (!queue.offer(b, timeout, TimeUnit.MILLISECONDS)) {
@@ -74,9 +139,14 @@ public class BlockingPipedOutputStream extends ClickHousePipedOutputStream {
         }
     }
 
+    @Override
+    public Optional<AdaptiveBufferPolicy> getAdaptiveBufferPolicy() {
+        return Optional.ofNullable(adaptivePolicy);
+    }
+
     @Override
     public ClickHouseInputStream getInputStream(Runnable postCloseAction) {
-        return new BlockingInputStream(queue, timeout, postCloseAction);
+        return new BlockingInputStream(queue, timeout, spill, postCloseAction);
     }
 
     @Override
@@ -91,7 +161,9 @@ public class BlockingPipedOutputStream extends ClickHousePipedOutputStream {
 
         buffer = ClickHouseByteBuffer.EMPTY_BUFFER;
         try {
-            if (timeout > 0) {
+            if (spill != null) {
+                spill.put(buffer, timeout);
+            } else if (timeout > 0) {
                 if (!queue.offer(buffer, timeout, TimeUnit.MILLISECONDS)) {
                     throw new IOException(ClickHouseUtils.format("Close stream timed out after %d ms", timeout));
                 }
@@ -138,6 +210,29 @@ public class BlockingPipedOutputStream extends ClickHousePipedOutputStream {
         return this;
     }
 
+    @Override
+    public ClickHouseOutputStream transferBytes(ByteBuffer src, int length) throws IOException {
+        if (src == null || length < 0 || length > src.remaining()) {
+            throw new IllegalArgumentException("Non-null ByteBuffer and positive length are required");
+        } else if (length == 0) {
+            return this;
+        } else if (src.hasArray()) {
+            return super.transferBytes(src, length);
+        }
+        ensureOpen();
+
+        if (buffer.position() > 0) {
+            updateBuffer(true);
+        }
+        // hand over read-only or direct buffer as is
+        ByteBuffer b = src.slice();
+        ((Buffer) b).limit(length);
+        ((Buffer) src).position(src.position() + length);
+        updateBuffer(b);
+
+        return this;
+    }
+
     @Override
     public ClickHouseOutputStream writeByte(byte b) throws IOException {
         ensureOpen();
@@ -1,6 +1,7 @@
 package com.clickhouse.client.stream;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 
 import com.clickhouse.client.ClickHouseByteBuffer;
@@ -34,4 +35,20 @@ public class IterableByteArrayInputStream extends AbstractByteArrayInputStream {
         buffer = ClickHouseByteBuffer.EMPTY_BYTES;
         return limit = 0;
     }
+
+    @Override
+    public ByteBuffer readByteBuffer(int length) throws IOException {
+        if (length < 1) {
+            return ByteBuffer.wrap(ClickHouseByteBuffer.EMPTY_BYTES);
+        }
+        ensureOpen();
+
+        if (limit - position < length) {
+            return super.readByteBuffer(length);
+        }
+        // byte arrays are provided by caller and never reused
+        ByteBuffer b = ByteBuffer.wrap(buffer, position, length).slice();
+        position += length;
+        return b;
+    }
 }
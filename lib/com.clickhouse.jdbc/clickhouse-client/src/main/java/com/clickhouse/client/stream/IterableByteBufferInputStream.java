@@ -26,7 +26,7 @@ public class IterableByteBufferInputStream extends AbstractByteBufferInputStream
                 if (copyTo != null) {
                     int position = bytes.position();
                     if (bytes.hasArray()) {
-                        copyTo.write(bytes.array(), position, bytes.remaining());
+                        copyTo.write(bytes.array(), bytes.arrayOffset() + position, bytes.remaining());
                     } else {
                         byte[] b = new byte[bytes.remaining()];
                         bytes.get(b);
@@ -40,4 +40,10 @@ public class IterableByteBufferInputStream extends AbstractByteBufferInputStream
         buffer = ClickHouseByteBuffer.EMPTY_BUFFER;
         return 0;
     }
+
+    @Override
+    public ByteBuffer readByteBuffer(int length) throws IOException {
+        // buffers are handed over by the writer and never reused
+        return sliceBuffer(length);
+    }
 }
@@ -161,10 +161,15 @@ public final class IterableMultipleInputStream<T> extends AbstractByteArrayInput
                 position = limit;
             }
 
-            count += pipe(in, output, buffer);
+            // let each input stream transfer its own buffers whenever possible
+            if (!in.isClosed()) {
+                count += in.pipe(output);
+            }
             while (it.hasNext()) {
                 InputStream i = func.apply(it.next());
-                if (i != null) {
+                if (i instanceof ClickHouseInputStream) {
+                    count += ((ClickHouseInputStream) i).pipe(output);
+                } else if (i != null) {
                     count += pipe(i, output, buffer);
                 }
             }
@@ -2,31 +2,86 @@ package com.clickhouse.client.stream;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.clickhouse.client.ClickHouseByteBuffer;
 import com.clickhouse.client.ClickHouseChecker;
+import com.clickhouse.client.ClickHouseClient;
 import com.clickhouse.client.ClickHouseFile;
 import com.clickhouse.client.ClickHouseUtils;
+import com.clickhouse.client.config.ClickHouseChecksumMode;
 import com.clickhouse.client.data.BinaryStreamUtils;
 import com.clickhouse.client.data.ClickHouseCityHash;
 
+import net.jpountz.lz4.LZ4Exception;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
+import net.jpountz.lz4.LZ4SafeDecompressor;
 
 /**
  * Reader from clickhouse in lz4.
  */
 public class Lz4InputStream extends AbstractByteArrayInputStream {
+    /**
+     * Dedicated daemon threads for verifying checksum in async mode. Readers wait
+     * for the verification, so it must not share the pool running
+     * {@link ClickHouseClient#getExecutorService()} tasks, which may be the
+     * readers themselves.
+     */
+    static final class ChecksumPool {
+        static final ExecutorService executor = ClickHouseUtils.newThreadPool("ClickHouseChecksumWorker",
+                Runtime.getRuntime().availableProcessors(), 0);
+
+        private ChecksumPool() {
+        }
+    }
+
     private static final LZ4Factory factory = LZ4Factory.fastestInstance();
 
     static final byte MAGIC = (byte) 0x82;
     static final int HEADER_LENGTH = 25;
 
+    static final String ERROR_CHECKSUM_MISMATCH = "Checksum doesn't match: corrupted data.";
+
+    private final ClickHouseChecksumMode checksumMode;
     private final LZ4FastDecompressor decompressor;
+    private final LZ4SafeDecompressor safeDecompressor;
     private final InputStream stream;
     private final byte[] header;
 
     private byte[] compressedBlock;
+    // only used in async mode, while the other one is being verified
+    private byte[] spareBlock;
+    private CompletableFuture<Boolean> pendingChecksum;
+
+    private static boolean verifyChecksum(byte[] block, int length, long low, long high) {
+        long[] real = ClickHouseCityHash.cityHash128(block, 0, length);
+        return real[0] == low && real[1] == high;
+    }
+
+    private void awaitChecksum() throws IOException {
+        CompletableFuture<Boolean> future = pendingChecksum;
+        if (future == null) {
+            return;
+        }
+
+        pendingChecksum = null;
+        boolean matched;
+        try {
+            matched = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Thread was interrupted when verifying checksum", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to verify checksum", e.getCause());
+        }
+        if (!matched) {
+            throw new IOException(ERROR_CHECKSUM_MISMATCH);
+        }
+    }
 
     private boolean readFully(byte[] b, int off, int len) throws IOException {
         int n = 0;
@@ -50,6 +105,7 @@ public class Lz4InputStream extends AbstractByteArrayInputStream {
 
         // checksum(16 bytes) + 1 magic byte + header(8 bytes)
         if (!readFully(header, 0, HEADER_LENGTH)) {
+            awaitChecksum();
             buffer = ClickHouseByteBuffer.EMPTY_BYTES;
             return limit = 0;
         } else if (header[16] != MAGIC) {
@@ -73,13 +129,46 @@ public class Lz4InputStream extends AbstractByteArrayInputStream {
             throw new IOException(ClickHouseUtils.format(ERROR_INCOMPLETE_READ, 0, compressedSizeWithHeader - offset));
         }
 
-        long[] real = ClickHouseCityHash.cityHash128(block, 0, compressedSizeWithHeader);
-        if (real[0] != BinaryStreamUtils.toInt64(header, 0) || real[1] != BinaryStreamUtils.toInt64(header, 8)) {
-            throw new IOException("Checksum doesn't match: corrupted data.");
-        }
-
+        final long low = BinaryStreamUtils.toInt64(header, 0);
+        final long high = BinaryStreamUtils.toInt64(header, 8);
         final byte[] buf = buffer.length >= uncompressedSize ? buffer : (buffer = new byte[uncompressedSize]);
-        decompressor.decompress(block, offset, buf, 0, uncompressedSize);
+        if (checksumMode == ClickHouseChecksumMode.SYNC) {
+            if (!verifyChecksum(block, compressedSizeWithHeader, low, high)) {
+                throw new IOException(ERROR_CHECKSUM_MISMATCH);
+            }
+            decompressor.decompress(block, offset, buf, 0, uncompressedSize);
+        } else {
+            // checksum of previous block must be verified before moving on
+            awaitChecksum();
+            if (checksumMode == ClickHouseChecksumMode.ASYNC) {
+                try {
+                    pendingChecksum = CompletableFuture.supplyAsync(
+                            () -> verifyChecksum(block, compressedSizeWithHeader, low, high), ChecksumPool.executor);
+                    // read next block into the other array
+                    compressedBlock = spareBlock;
+                    spareBlock = block;
+                } catch (RejectedExecutionException e) {
+                    if (!verifyChecksum(block, compressedSizeWithHeader, low, high)) {
+                        throw new IOException(ERROR_CHECKSUM_MISMATCH);
+                    }
+                }
+            }
+
+            // data is not verified yet so it has to be decompressed safely
+            int decompressed;
+            try {
+                decompressed = safeDecompressor.decompress(block, offset, compressedSizeWithHeader - offset, buf, 0,
+                        uncompressedSize);
+            } catch (LZ4Exception e) {
+                awaitChecksum();
+                throw new IOException("Failed to decompress block", e);
+            }
+            if (decompressed != uncompressedSize) {
+                awaitChecksum();
+                throw new IOException(ClickHouseUtils.format("Expect %d bytes after decompression but got %d",
+                        uncompressedSize, decompressed));
+            }
+        }
         if (copyTo != null) {
             copyTo.write(buf);
         }
@@ -91,18 +180,32 @@ public class Lz4InputStream extends AbstractByteArrayInputStream {
     }
 
     public Lz4InputStream(ClickHouseFile file, InputStream stream, Runnable postCloseAction) {
+        this(file, stream, ClickHouseChecksumMode.SYNC, postCloseAction);
+    }
+
+    public Lz4InputStream(ClickHouseFile file, InputStream stream, ClickHouseChecksumMode checksumMode,
+            Runnable postCloseAction) {
         super(file, null, postCloseAction);
 
+        if (checksumMode == null || checksumMode == ClickHouseChecksumMode.SKIP_ON_SSL) {
+            checksumMode = ClickHouseChecksumMode.SYNC;
+        }
+        this.checksumMode = checksumMode;
         this.decompressor = factory.fastDecompressor();
+        this.safeDecompressor = checksumMode != ClickHouseChecksumMode.SYNC ? factory.safeDecompressor() : null;
         this.stream = ClickHouseChecker.nonNull(stream, "InputStream");
         this.header = new byte[HEADER_LENGTH];
 
         this.compressedBlock = ClickHouseByteBuffer.EMPTY_BYTES;
+        this.spareBlock = ClickHouseByteBuffer.EMPTY_BYTES;
+        this.pendingChecksum = null;
     }
 
     @Override
     public void close() throws IOException {
         if (!closed) {
+            // no one is waiting for the result any more
+            pendingChecksum = null;
             try {
                 stream.close();
             } finally {
@@ -1,53 +1,194 @@
 package com.clickhouse.client.stream;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 
 import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseFile;
+import com.clickhouse.client.ClickHouseUtils;
 import com.clickhouse.client.data.BinaryStreamUtils;
 import com.clickhouse.client.data.ClickHouseCityHash;
 
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
 
+/**
+ * Output stream for writing lz4 compressed blocks along with CityHash128
+ * checksum. When parallelism is greater than one, filled blocks are compressed
+ * by a dedicated worker pool and then written to the underlying output stream
+ * in order, with at most a few blocks in flight.
+ */
 public class Lz4OutputStream extends AbstractByteArrayOutputStream {
     private static final LZ4Factory factory = LZ4Factory.fastestInstance();
 
-    private final OutputStream output;
+    /**
+     * Lazily initialized worker pool shared by all parallel streams. It's separated
+     * from the client's executor, so that writer running in the latter will never
+     * wait for compression tasks queued behind itself.
+     */
+    static final class WorkerPool {
+        static final ExecutorService executor = ClickHouseUtils.newThreadPool("ClickHouseCompressWorker",
+                Runtime.getRuntime().availableProcessors(), 0);
 
-    private final LZ4Compressor compressor;
-    private final byte[] compressedBlock;
+        private WorkerPool() {
+        }
+    }
 
-    @Override
-    protected void flushBuffer() throws IOException {
-        byte[] block = compressedBlock;
+    /**
+     * Block being compressed, which holds both raw and compressed bytes.
+     */
+    static final class Block {
+        final byte[] raw;
+        final int length;
+        final byte[] compressed;
+
+        int size;
+
+        Block(byte[] raw, int length, byte[] compressed) {
+            this.raw = raw;
+            this.length = length;
+            this.compressed = compressed;
+        }
+
+        Block compress(LZ4Compressor compressor) {
+            size = Lz4OutputStream.compress(compressor, raw, 0, length, compressed);
+            return this;
+        }
+    }
+
+    static int compress(LZ4Compressor compressor, byte[] bytes, int offset, int length, byte[] block) {
         block[16] = Lz4InputStream.MAGIC;
-        int compressed = compressor.compress(buffer, 0, position, block, 25);
+        int compressed = compressor.compress(bytes, offset, length, block, 25);
         int compressedSizeWithHeader = compressed + 9;
         BinaryStreamUtils.setInt32(block, 17, compressedSizeWithHeader); // compressed size with header
-        BinaryStreamUtils.setInt32(block, 21, position); // uncompressed size
+        BinaryStreamUtils.setInt32(block, 21, length); // uncompressed size
         long[] hash = ClickHouseCityHash.cityHash128(block, 16, compressedSizeWithHeader);
         BinaryStreamUtils.setInt64(block, 0, hash[0]);
         BinaryStreamUtils.setInt64(block, 8, hash[1]);
-        output.write(block, 0, compressed + 25);
-        position = 0;
+        return compressed + 25;
+    }
+
+    private final OutputStream output;
+
+    private final LZ4Compressor compressor;
+    private final byte[] compressedBlock;
+
+    // below are only used in parallel mode
+    private final int parallelism;
+    private final int window;
+    private final Deque<CompletableFuture<Block>> pending;
+    private final Deque<byte[]> rawBlocks;
+    private final Deque<byte[]> compressedBlocks;
+
+    private byte[] nextRawBlock() {
+        byte[] block = rawBlocks.pollFirst();
+        return block != null ? block : new byte[buffer.length];
+    }
+
+    private byte[] nextCompressedBlock() {
+        byte[] block = compressedBlocks.pollFirst();
+        return block != null ? block : new byte[compressedBlock.length];
+    }
+
+    private void writeBlock(CompletableFuture<Block> future) throws IOException {
+        final Block block;
+        try {
+            block = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelPendingBlocks();
+            throw new InterruptedIOException("Interrupted while waiting for compressed block");
+        } catch (CancellationException | ExecutionException e) {
+            cancelPendingBlocks();
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof IOException ? (IOException) cause
+                    : new IOException("Failed to compress block", cause);
+        }
+
+        try {
+            output.write(block.compressed, 0, block.size);
+        } catch (IOException e) {
+            cancelPendingBlocks();
+            throw e;
+        }
+        rawBlocks.addLast(block.raw);
+        compressedBlocks.addLast(block.compressed);
+    }
+
+    private void cancelPendingBlocks() {
+        CompletableFuture<Block> future;
+        while ((future = pending.pollFirst()) != null) {
+            future.cancel(false);
+        }
+    }
+
+    private void submitBlock(byte[] raw, int length) throws IOException {
+        // wait for the eldest block when the window is full or enough blocks are
+        // being compressed
+        while (pending.size() >= window || (!pending.isEmpty() && countRunningBlocks() >= parallelism)) {
+            writeBlock(pending.pollFirst());
+        }
+
+        final Block block = new Block(raw, length, nextCompressedBlock());
+        pending.addLast(CompletableFuture.supplyAsync(() -> block.compress(compressor), WorkerPool.executor));
+
+        // write out completed blocks without waiting
+        while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+            writeBlock(pending.pollFirst());
+        }
+    }
+
+    private int countRunningBlocks() {
+        int count = 0;
+        for (CompletableFuture<Block> future : pending) {
+            if (!future.isDone()) {
+                count++;
+            }
+        }
+        return count;
     }
 
     @Override
-    protected void flushBuffer(byte[] bytes, int offset, int length) throws IOException {
-        int maxLen = compressor.maxCompressedLength(length) + 15;
-        byte[] block = maxLen <= compressedBlock.length ? compressedBlock : new byte[maxLen];
-        block[16] = Lz4InputStream.MAGIC;
+    protected void flushBuffer() throws IOException {
+        if (parallelism > 1) {
+            // hand over the whole buffer instead of making a copy
+            byte[] raw = buffer;
+            int length = position;
+            buffer = nextRawBlock();
+            position = 0;
+            submitBlock(raw, length);
+        } else {
+            output.write(compressedBlock, 0, compress(compressor, buffer, 0, position, compressedBlock));
+            position = 0;
+        }
+    }
 
-        int compressed = compressor.compress(bytes, offset, length, block, 25);
-        int compressedSizeWithHeader = compressed + 9;
-        BinaryStreamUtils.setInt32(block, 17, compressedSizeWithHeader);
-        BinaryStreamUtils.setInt32(block, 21, length);
-        long[] hash = ClickHouseCityHash.cityHash128(block, 16, compressedSizeWithHeader);
-        BinaryStreamUtils.setInt64(block, 0, hash[0]);
-        BinaryStreamUtils.setInt64(block, 8, hash[1]);
-        output.write(block, 0, compressed + 25);
+    @Override
+    protected void flushBuffer(byte[] bytes, int offset, int length) throws IOException {
+        if (parallelism > 1) {
+            // caller may reuse the given byte array right after this call, so it has to
+            // be copied into one or more blocks
+            int blockSize = buffer.length;
+            while (length > 0) {
+                int len = Math.min(length, blockSize);
+                byte[] raw = nextRawBlock();
+                System.arraycopy(bytes, offset, raw, 0, len);
+                submitBlock(raw, len);
+                offset += len;
+                length -= len;
+            }
+        } else {
+            int maxLen = compressor.maxCompressedLength(length) + 25;
+            byte[] block = maxLen <= compressedBlock.length ? compressedBlock : new byte[maxLen];
+            output.write(block, 0, compress(compressor, bytes, offset, length, block));
+        }
     }
 
     public Lz4OutputStream(OutputStream stream, int maxCompressBlockSize, Runnable postCloseAction) {
@@ -56,13 +197,49 @@ public class Lz4OutputStream extends AbstractByteArrayOutputStream {
 
     public Lz4OutputStream(ClickHouseFile file, OutputStream stream, int maxCompressBlockSize,
             Runnable postCloseAction) {
+        this(file, stream, maxCompressBlockSize, 1, 0L, postCloseAction);
+    }
+
+    /**
+     * Constructs an output stream which may compress blocks in parallel.
+     *
+     * @param file                 wrapped file, could be null
+     * @param stream               non-null output stream
+     * @param maxCompressBlockSize maximum size of uncompressed block
+     * @param parallelism          number of blocks to compress concurrently, one
+     *                             or less means compressing in current thread
+     * @param memoryLimit          maximum memory in bytes for buffering blocks
+     *                             being compressed, zero or negative number means
+     *                             two blocks per thread
+     * @param postCloseAction      custom action will be performed right after
+     *                             closing the output stream
+     */
+    public Lz4OutputStream(ClickHouseFile file, OutputStream stream, int maxCompressBlockSize, int parallelism,
+            long memoryLimit, Runnable postCloseAction) {
         super(file, maxCompressBlockSize, postCloseAction);
 
         output = ClickHouseChecker.nonNull(stream, "OutputStream");
 
         compressor = factory.fastCompressor();
-        // reserve the first 9 bytes for calculating checksum
-        compressedBlock = new byte[compressor.maxCompressedLength(maxCompressBlockSize) + 15];
+        // reserve the first 25 bytes for checksum and header
+        compressedBlock = new byte[compressor.maxCompressedLength(maxCompressBlockSize) + 25];
+
+        if (parallelism > 1) {
+            // each block in the window takes one raw and one compressed byte array
+            long blockMemory = (long) maxCompressBlockSize + compressedBlock.length;
+            long maxBlocks = memoryLimit > 0L ? memoryLimit / blockMemory : parallelism * 2L;
+            this.window = (int) Math.max(1L, Math.min(maxBlocks, Integer.MAX_VALUE));
+            this.parallelism = parallelism;
+            this.pending = new ArrayDeque<>(this.window);
+            this.rawBlocks = new ArrayDeque<>(this.window);
+            this.compressedBlocks = new ArrayDeque<>(this.window);
+        } else {
+            this.window = 1;
+            this.parallelism = 1;
+            this.pending = null;
+            this.rawBlocks = null;
+            this.compressedBlocks = null;
+        }
     }
 
     @Override
@@ -72,6 +249,12 @@ public class Lz4OutputStream extends AbstractByteArrayOutputStream {
         if (position > 0) {
             flushBuffer();
         }
+        if (pending != null) {
+            CompletableFuture<Block> future;
+            while ((future = pending.pollFirst()) != null) {
+                writeBlock(future);
+            }
+        }
         output.flush();
     }
 }
@@ -10,6 +10,7 @@ import com.clickhouse.client.ClickHouseDataUpdater;
 import com.clickhouse.client.ClickHouseInputStream;
 import com.clickhouse.client.ClickHouseOutputStream;
 import com.clickhouse.client.ClickHouseUtils;
+import com.clickhouse.client.config.ClickHouseWaitStrategy;
 import com.clickhouse.client.logging.Logger;
 import com.clickhouse.client.logging.LoggerFactory;
 
@@ -18,20 +19,32 @@ public class NonBlockingInputStream extends ClickHouseInputStream {
 
     private final AdaptiveQueue<byte[]> queue;
     private final int timeout;
+    // waiting for data from writer
+    private final QueueWaiter notEmpty;
+    // writer waiting for free space, if any
+    private final QueueWaiter notFull;
 
     private byte[] buffer;
     private int position;
 
-    public NonBlockingInputStream(AdaptiveQueue<byte[]> queue, int timeout, Runnable postCloseAction) {
+    NonBlockingInputStream(AdaptiveQueue<byte[]> queue, int timeout, QueueWaiter notEmpty, QueueWaiter notFull,
+            Runnable postCloseAction) {
         super(null, null, postCloseAction);
 
         this.queue = ClickHouseChecker.nonNull(queue, "Queue");
         this.timeout = timeout > 0 ? timeout : 0;
+        this.notEmpty = ClickHouseChecker.nonNull(notEmpty, "Waiter");
+        this.notFull = ClickHouseChecker.nonNull(notFull, "Waiter");
 
         this.buffer = null;
         this.position = 0;
     }
 
+    public NonBlockingInputStream(AdaptiveQueue<byte[]> queue, int timeout, Runnable postCloseAction) {
+        this(queue, timeout, new QueueWaiter(ClickHouseWaitStrategy.PARK),
+                new QueueWaiter(ClickHouseWaitStrategy.PARK), postCloseAction);
+    }
+
     @Override
     protected void ensureOpen() throws IOException {
         if (closed) {
@@ -57,13 +70,19 @@ public class NonBlockingInputStream extends ClickHouseInputStream {
         long t = timeout;
         long startTime = t < 1L ? 0L : System.currentTimeMillis();
         byte[] b;
+        int attempts = 0;
         while ((b = q.poll()) == null) {
             if (closed) {
+                notEmpty.reset();
                 throw new IOException("Cannot operate on a closed input stream");
             } else if (t > 0L && System.currentTimeMillis() - startTime >= t) {
+                notEmpty.reset();
                 throw new IOException(ClickHouseUtils.format("Read timed out after %d ms", t));
             }
+            attempts = notEmpty.await(attempts);
         }
+        notEmpty.reset();
+        notFull.signal();
 
         buffer = b;
         position = 0;
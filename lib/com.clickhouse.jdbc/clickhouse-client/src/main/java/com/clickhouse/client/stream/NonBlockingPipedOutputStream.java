@@ -1,14 +1,17 @@
 package com.clickhouse.client.stream;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import com.clickhouse.client.ClickHouseByteBuffer;
+import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseDataUpdater;
 import com.clickhouse.client.ClickHouseInputStream;
 import com.clickhouse.client.ClickHouseOutputStream;
 import com.clickhouse.client.ClickHousePipedOutputStream;
 import com.clickhouse.client.ClickHouseUtils;
 import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.config.ClickHouseWaitStrategy;
 
 /**
  * A combination of {@link java.io.PipedOutputStream} and
@@ -18,11 +21,16 @@ import com.clickhouse.client.config.ClickHouseClientOption;
  */
 public class NonBlockingPipedOutputStream extends ClickHousePipedOutputStream {
     protected final AdaptiveQueue<byte[]> queue;
+    // reader waiting for data
+    private final QueueWaiter notEmpty;
+    // writer waiting for free space
+    private final QueueWaiter notFull;
 
-    protected final int bufferSize;
+    protected final AdaptiveBufferPolicy adaptivePolicy;
     protected final int timeout;
     protected final byte[][] buckets;
 
+    protected int bufferSize;
     protected int current;
 
     protected byte[] buffer;
@@ -33,7 +41,7 @@ public class NonBlockingPipedOutputStream extends ClickHousePipedOutputStream {
         byte[] b;
         if (buckets.length - queue.size() > 1) {
             b = buckets[current];
-            if (b == null) {
+            if (b == null || b.length != bufferSize) {
                 b = new byte[bufferSize];
                 buckets[current] = b;
             }
@@ -71,23 +79,85 @@ public class NonBlockingPipedOutputStream extends ClickHousePipedOutputStream {
         long startTime = t < 1L ? 0L : System.currentTimeMillis();
 
         // wait as needed
+        int attempts = 0;
+        boolean waited = false;
         while (!q.offer(b)) {
+            waited = true;
             if (t > 0L && System.currentTimeMillis() - startTime >= t) {
+                notFull.reset();
                 throw new IOException(ClickHouseUtils.format("Write timed out after %d ms", t));
             }
+            attempts = notFull.await(attempts);
+        }
+        notFull.reset();
+        notEmpty.signal();
+
+        if (adaptivePolicy != null) {
+            bufferSize = adaptivePolicy.update(length, waited);
         }
     }
 
     public NonBlockingPipedOutputStream(int bufferSize, int queueLength, int timeout, CapacityPolicy policy,
             Runnable postCloseAction) {
+        this(bufferSize, queueLength, timeout, policy, ClickHouseWaitStrategy.PARK, postCloseAction);
+    }
+
+    public NonBlockingPipedOutputStream(int bufferSize, int queueLength, int timeout, CapacityPolicy policy,
+            ClickHouseWaitStrategy strategy, Runnable postCloseAction) {
+        this(AdaptiveQueue.create(policy), bufferSize, queueLength, timeout, strategy,
+                policy instanceof AdaptiveBufferPolicy ? (AdaptiveBufferPolicy) policy : null, postCloseAction);
+    }
+
+    /**
+     * Creates a piped output stream on top of the given queue. This is useful
+     * when you need to know when the reader takes a buffer from the queue, for
+     * instance, to apply back pressure on a data source which cannot be blocked.
+     *
+     * @param queue           non-null queue shared by writer and reader
+     * @param bufferSize      buffer size
+     * @param queueLength     number of buffers to reuse, less than 2 means no
+     *                        reuse
+     * @param timeout         read and write timeout in milliseconds
+     * @param strategy        wait strategy, null means
+     *                        {@link ClickHouseWaitStrategy#PARK}
+     * @param postCloseAction custom action will be performed right after closing
+     *                        the output stream
+     */
+    public NonBlockingPipedOutputStream(AdaptiveQueue<byte[]> queue, int bufferSize, int queueLength, int timeout,
+            ClickHouseWaitStrategy strategy, Runnable postCloseAction) {
+        this(queue, bufferSize, queueLength, timeout, strategy, null, postCloseAction);
+    }
+
+    /**
+     * Creates a piped output stream on top of the given queue, which may adjust
+     * buffer size at runtime.
+     *
+     * @param queue           non-null queue shared by writer and reader
+     * @param bufferSize      buffer size, ignored when {@code adaptivePolicy} is
+     *                        not null
+     * @param queueLength     number of buffers to reuse, less than 2 means no
+     *                        reuse
+     * @param timeout         read and write timeout in milliseconds
+     * @param strategy        wait strategy, null means
+     *                        {@link ClickHouseWaitStrategy#PARK}
+     * @param adaptivePolicy  optional policy for adjusting buffer size, could be
+     *                        null
+     * @param postCloseAction custom action will be performed right after closing
+     *                        the output stream
+     */
+    public NonBlockingPipedOutputStream(AdaptiveQueue<byte[]> queue, int bufferSize, int queueLength, int timeout,
+            ClickHouseWaitStrategy strategy, AdaptiveBufferPolicy adaptivePolicy, Runnable postCloseAction) {
         super(postCloseAction);
 
-        this.queue = AdaptiveQueue.create(policy);
+        this.queue = ClickHouseChecker.nonNull(queue, "Queue");
+        this.notEmpty = new QueueWaiter(strategy);
+        this.notFull = new QueueWaiter(strategy);
 
-        // may need an initialBufferSize and a monitor to update bufferSize in runtime
-        this.bufferSize = ClickHouseUtils.getBufferSize(bufferSize,
-                (int) ClickHouseClientOption.BUFFER_SIZE.getDefaultValue(),
-                (int) ClickHouseClientOption.MAX_BUFFER_SIZE.getDefaultValue());
+        this.adaptivePolicy = adaptivePolicy;
+        this.bufferSize = adaptivePolicy != null ? adaptivePolicy.getBufferSize()
+                : ClickHouseUtils.getBufferSize(bufferSize,
+                        (int) ClickHouseClientOption.BUFFER_SIZE.getDefaultValue(),
+                        (int) ClickHouseClientOption.MAX_BUFFER_SIZE.getDefaultValue());
         this.timeout = timeout;
         this.buckets = queueLength < 2 ? new byte[0][] : new byte[queueLength][];
 
@@ -95,9 +165,14 @@ public class NonBlockingPipedOutputStream extends ClickHousePipedOutputStream {
         this.buffer = allocateBuffer();
     }
 
+    @Override
+    public Optional<AdaptiveBufferPolicy> getAdaptiveBufferPolicy() {
+        return Optional.ofNullable(adaptivePolicy);
+    }
+
     @Override
     public ClickHouseInputStream getInputStream(Runnable postCloseAction) {
-        return new NonBlockingInputStream(queue, timeout, postCloseAction);
+        return new NonBlockingInputStream(queue, timeout, notEmpty, notFull, postCloseAction);
     }
 
     @Override
@@ -112,6 +187,7 @@ public class NonBlockingPipedOutputStream extends ClickHousePipedOutputStream {
             }
         } finally {
             queue.add(buffer = ClickHouseByteBuffer.EMPTY_BYTES);
+            notEmpty.signal();
             for (int i = 0, len = buckets.length; i < len; i++) {
                 buckets[i] = null;
             }
@@ -0,0 +1,91 @@
+package com.clickhouse.client.stream;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.clickhouse.client.config.ClickHouseWaitStrategy;
+
+/**
+ * Waiter for one side of a non-blocking queue, for example: reader waiting for
+ * data or writer waiting for free space. It's designed for single waiting
+ * thread, which is the case of {@link NonBlockingPipedOutputStream} and
+ * {@link NonBlockingInputStream}. Typical usage:
+ *
+ * <pre>
+ * int attempts = 0;
+ * while ((b = queue.poll()) == null) {
+ *     attempts = waiter.await(attempts);
+ * }
+ * waiter.reset();
+ * </pre>
+ *
+ * and the other side should call {@link #signal()} after updating the queue.
+ */
+final class QueueWaiter {
+    // number of attempts before yielding
+    static final int SPIN_ATTEMPTS = 100;
+    // number of attempts before parking
+    static final int YIELD_ATTEMPTS = SPIN_ATTEMPTS + 50;
+    // maximum time to park, so that timeout and closed flag are checked in time
+    static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+
+    private final ClickHouseWaitStrategy strategy;
+
+    // thread to unpark, only set after spinning and yielding
+    private volatile Thread waiter;
+
+    QueueWaiter(ClickHouseWaitStrategy strategy) {
+        this.strategy = strategy != null ? strategy : ClickHouseWaitStrategy.PARK;
+        this.waiter = null;
+    }
+
+    /**
+     * Waits a bit before checking the queue again. Current thread will be
+     * registered for {@link #signal()} before being parked, so the caller must
+     * check the queue at least once between registration and parking, which is
+     * guaranteed by the loop shown above.
+     *
+     * @param attempts number of attempts so far, starts from zero
+     * @return number of attempts, which should be passed to next call
+     */
+    int await(int attempts) {
+        if (attempts < SPIN_ATTEMPTS || strategy == ClickHouseWaitStrategy.SPIN) {
+            // Thread.onSpinWait() is not available in Java 8
+            return attempts < SPIN_ATTEMPTS ? attempts + 1 : attempts;
+        } else if (attempts < YIELD_ATTEMPTS || strategy == ClickHouseWaitStrategy.YIELD) {
+            Thread.yield();
+            return attempts < YIELD_ATTEMPTS ? attempts + 1 : attempts;
+        }
+
+        if (waiter == null) {
+            // register first and let the caller check the queue again
+            waiter = Thread.currentThread();
+        } else {
+            LockSupport.parkNanos(this, MAX_PARK_NANOS);
+        }
+        return attempts;
+    }
+
+    /**
+     * Resets the waiter after the queue is ready.
+     */
+    void reset() {
+        if (waiter != null) {
+            waiter = null;
+        }
+    }
+
+    /**
+     * Wakes up the waiting thread, if any.
+     */
+    void signal() {
+        Thread t = waiter;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    ClickHouseWaitStrategy getStrategy() {
+        return strategy;
+    }
+}
@@ -0,0 +1,240 @@
+package com.clickhouse.client.stream;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+
+import com.clickhouse.client.ClickHouseByteBuffer;
+import com.clickhouse.client.ClickHouseUtils;
+import com.clickhouse.client.logging.Logger;
+import com.clickhouse.client.logging.LoggerFactory;
+
+/**
+ * Temporary file holding buffers which cannot be put into the in-memory queue
+ * without blocking. Buffers are appended to the file as segments, and handed
+ * over to the reader in the same order, after all buffers in the queue. The
+ * file is used as a ring when it's size is limited, so that space released by
+ * the reader can be reused by the writer. Once the reader caught up, the file
+ * will be truncated, and the writer switches back to the in-memory queue. The
+ * file is created on first spill, and deleted when it's closed.
+ */
+final class SpillFile {
+    private static final Logger log = LoggerFactory.getLogger(SpillFile.class);
+
+    // maximum time in milliseconds to wait before checking again
+    static final long MAX_WAIT_TIME = 100L;
+
+    private final BlockingQueue<ByteBuffer> queue;
+    private final long maxSize;
+    // position and length of each segment
+    private final Deque<long[]> segments;
+
+    private FileChannel channel;
+    private long writePosition;
+    private long size;
+    private long spilledBytes;
+    private boolean closed;
+
+    /**
+     * Gets position for writing a segment of the given length.
+     *
+     * @param length length of the segment
+     * @return position in the file, or -1 when there's no room
+     */
+    private long getWritePosition(int length) {
+        if (segments.isEmpty()) {
+            return length <= maxSize ? 0L : -1L;
+        }
+
+        long readPosition = segments.peekFirst()[0];
+        if (writePosition > readPosition || (writePosition == readPosition && size == 0L)) {
+            if (writePosition + length <= maxSize) {
+                return writePosition;
+            }
+            // wrap around
+            return length <= readPosition ? 0L : -1L;
+        }
+        return writePosition + length <= readPosition ? writePosition : -1L;
+    }
+
+    private void append(ByteBuffer buffer, long position) throws IOException {
+        int length = buffer.remaining();
+        if (length > 0) {
+            if (channel == null) {
+                Path path = Files.createTempFile("chc", "spill");
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+                log.debug("Spilling buffers into [%s]", path);
+            }
+
+            ByteBuffer b = buffer.duplicate();
+            long p = position;
+            while (b.hasRemaining()) {
+                p += channel.write(b, p);
+            }
+            writePosition = p;
+            size += length;
+            spilledBytes += length;
+        }
+        segments.addLast(new long[] { position, length });
+    }
+
+    private ByteBuffer next() throws IOException {
+        long[] segment = segments.removeFirst();
+        int length = (int) segment[1];
+        if (length == 0) {
+            return ClickHouseByteBuffer.EMPTY_BUFFER;
+        }
+
+        ByteBuffer b = ByteBuffer.allocate(length);
+        long position = segment[0];
+        while (b.hasRemaining()) {
+            int read = channel.read(b, position);
+            if (read < 0) {
+                throw new IOException(ClickHouseUtils.format("Failed to read %d bytes from spill file at %d", length,
+                        segment[0]));
+            }
+            position += read;
+        }
+        ((Buffer) b).flip();
+
+        size -= length;
+        if (segments.isEmpty()) {
+            // reader caught up, reclaim disk space
+            channel.truncate(0L);
+            writePosition = 0L;
+        }
+        return b;
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param queue   non-null in-memory queue
+     * @param maxSize maximum size in byte of the file, zero or negative number
+     *                means no limit
+     */
+    SpillFile(BlockingQueue<ByteBuffer> queue, long maxSize) {
+        this.queue = queue;
+        this.maxSize = maxSize < 1L ? Long.MAX_VALUE : maxSize;
+        this.segments = new ArrayDeque<>();
+
+        this.channel = null;
+        this.writePosition = 0L;
+        this.size = 0L;
+        this.spilledBytes = 0L;
+        this.closed = false;
+    }
+
+    /**
+     * Puts the given buffer into the in-memory queue, or the file when the queue
+     * is full or the file is not empty. It waits only when the file is full.
+     *
+     * @param buffer  non-null buffer, {@link ClickHouseByteBuffer#EMPTY_BUFFER}
+     *                means end of stream
+     * @param timeout timeout in milliseconds, zero or negative number means no
+     *                timeout
+     * @throws IOException when failed to write into the file, timed out, or the
+     *                     reader has been closed
+     */
+    synchronized void put(ByteBuffer buffer, int timeout) throws IOException {
+        final boolean isEnd = buffer == ClickHouseByteBuffer.EMPTY_BUFFER;
+        final long startTime = timeout > 0 ? System.currentTimeMillis() : 0L;
+        while (true) {
+            if (closed) {
+                if (isEnd) {
+                    return;
+                }
+                throw new IOException("Input stream has been closed");
+            } else if (segments.isEmpty() && queue.offer(buffer)) {
+                return;
+            }
+
+            long position = isEnd ? writePosition : getWritePosition(buffer.remaining());
+            if (position >= 0L) {
+                append(buffer, position);
+                return;
+            }
+
+            long waitTime = MAX_WAIT_TIME;
+            if (timeout > 0) {
+                long elapsed = System.currentTimeMillis() - startTime;
+                if (elapsed >= timeout) {
+                    throw new IOException(ClickHouseUtils.format("Write timed out after %d ms", timeout));
+                }
+                waitTime = Math.min(waitTime, timeout - elapsed);
+            }
+            try {
+                wait(waitTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Thread was interrupted when waiting for free space", e);
+            }
+        }
+    }
+
+    /**
+     * Retrieves next buffer from either the in-memory queue or the file without
+     * blocking.
+     *
+     * @return next buffer, or null when both queue and file are empty
+     * @throws IOException when failed to read from the file
+     */
+    synchronized ByteBuffer poll() throws IOException {
+        ByteBuffer b = queue.poll();
+        if (b == null && !segments.isEmpty()) {
+            b = next();
+        }
+        if (b != null) {
+            notifyAll();
+        }
+        return b;
+    }
+
+    /**
+     * Gets total number of bytes spilled into the file.
+     *
+     * @return total number of bytes spilled
+     */
+    synchronized long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * Gets number of bytes in the file, which are not yet read.
+     *
+     * @return number of bytes not yet read
+     */
+    synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Closes and deletes the file.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        segments.clear();
+        size = 0L;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close spill file", e);
+            }
+            channel = null;
+        }
+        notifyAll();
+    }
+}
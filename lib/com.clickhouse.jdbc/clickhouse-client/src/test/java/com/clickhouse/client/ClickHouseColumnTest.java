@@ -307,4 +307,32 @@ public class ClickHouseColumnTest {
             }
         }
     }
+
+    @Test(groups = { "unit" })
+    public void testCachedType() {
+        String type = "Array(Tuple(LowCardinality(Nullable(String)), Map(String, Decimal(38,10))))";
+        ClickHouseColumn c1 = ClickHouseColumn.of("a", type);
+        ClickHouseColumn c2 = ClickHouseColumn.of("b", type);
+        Assert.assertNotSame(c1, c2);
+        Assert.assertEquals(c1.getColumnName(), "a");
+        Assert.assertEquals(c2.getColumnName(), "b");
+        Assert.assertEquals(c1.getOriginalTypeName(), type);
+        Assert.assertEquals(c2.getOriginalTypeName(), type);
+        Assert.assertSame(c1.getNestedColumns(), c2.getNestedColumns());
+        Assert.assertSame(c1.getArrayBaseColumn(), c2.getArrayBaseColumn());
+        Assert.assertEquals(c1.getArrayNestedLevel(), 1);
+        Assert.assertEquals(c1.getArrayBaseColumn().getNestedColumns().get(1).getValueInfo().getScale(), 10);
+
+        c1.setColumnIndex(1, 3);
+        c1.disableLowCardinality();
+        Assert.assertEquals(c1.getColumnIndex(), 1);
+        Assert.assertEquals(c2.getColumnIndex(), 0);
+        Assert.assertTrue(c1.isLowCardinalityDisabled());
+        Assert.assertFalse(c2.isLowCardinalityDisabled());
+        Assert.assertEquals(ClickHouseColumn.of("b", type), c2);
+        Assert.assertNotSame(ClickHouseColumn.of("b", type), c2);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> ClickHouseColumn.of("x", "Unknown(Type)"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ClickHouseColumn.of("x", "Unknown(Type)"));
+    }
 }
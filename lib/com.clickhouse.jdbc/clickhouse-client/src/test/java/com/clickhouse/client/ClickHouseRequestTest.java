@@ -379,6 +379,28 @@ public class ClickHouseRequestTest {
         Assert.assertThrows(IllegalStateException.class, () -> sealed.write());
     }
 
+    @Test(groups = { "unit" })
+    public void testProgressListener() {
+        ClickHouseRequest<?> request = ClickHouseClient.newInstance().connect(ClickHouseNode.builder().build());
+        Assert.assertNull(request.getProgressListener());
+        Assert.assertNull(request.seal().queryId);
+
+        ClickHouseProgressListener listener = ClickHouseProgressListener.of(1L, 0L);
+        request.query("select 1").setProgressListener(listener);
+        Assert.assertEquals(request.copy().getProgressListener(), listener);
+
+        ClickHouseRequest<?> sealed = request.seal();
+        Assert.assertEquals(sealed.getProgressListener(), listener);
+        Assert.assertNotNull(sealed.queryId, "Should have query id for cancellation");
+        Assert.assertNull(request.queryId);
+
+        request.query("select 2", "query_id2");
+        Assert.assertEquals(request.seal().queryId, "query_id2");
+
+        request.reset();
+        Assert.assertNull(request.getProgressListener());
+    }
+
     @Test(groups = { "unit" })
     public void testSession() {
         String sessionId = UUID.randomUUID().toString();
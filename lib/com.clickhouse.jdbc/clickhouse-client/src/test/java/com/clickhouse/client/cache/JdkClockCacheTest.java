@@ -0,0 +1,114 @@
+package com.clickhouse.client.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.clickhouse.client.ClickHouseCache;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class JdkClockCacheTest {
+    @Test(groups = { "unit" })
+    public void testCache() {
+        int capacity = 3;
+        ClickHouseCache<String, String> cache = JdkClockCache.create(capacity, 0L, (k) -> k);
+        Assert.assertNotNull(cache);
+
+        JdkClockCache<String, String> c = (JdkClockCache<String, String>) cache.unwrap(JdkClockCache.class);
+        Assert.assertSame(c, cache);
+        Assert.assertEquals(c.getCapacity(), capacity);
+        Assert.assertEquals(c.size(), 0);
+        Assert.assertEquals(cache.unwrap(Map.class).size(), 0);
+
+        Assert.assertEquals(cache.get("A"), "A");
+        Assert.assertEquals(cache.get("B"), "B");
+        Assert.assertEquals(cache.get("C"), "C");
+        Assert.assertEquals(c.size(), 3);
+        Assert.assertEquals(c.getMissCount(), 3L);
+        Assert.assertEquals(c.getHitCount(), 0L);
+        Assert.assertEquals(c.getEvictionCount(), 0L);
+
+        // A, B and C get second chance
+        Assert.assertEquals(cache.get("A"), "A");
+        Assert.assertEquals(cache.get("B"), "B");
+        Assert.assertEquals(cache.get("C"), "C");
+        Assert.assertEquals(c.getHitCount(), 3L);
+
+        Assert.assertEquals(cache.get("D"), "D");
+        Assert.assertEquals(c.size(), 3);
+        Assert.assertEquals(c.getMissCount(), 4L);
+        Assert.assertEquals(c.getEvictionCount(), 1L);
+
+        c.clear();
+        Assert.assertEquals(c.size(), 0);
+        Assert.assertEquals(c.getMissCount(), 4L);
+
+        Assert.assertEquals(JdkClockCache.create(0, 0L, (k) -> k).unwrap(JdkClockCache.class).getCapacity(),
+                ClickHouseCache.DEFAULT_CACHE_SIZE);
+        Assert.assertThrows(NullPointerException.class, () -> JdkClockCache.create(1, 0L, null));
+    }
+
+    @Test(groups = { "unit" })
+    public void testExpiration() {
+        AtomicInteger counter = new AtomicInteger();
+        ClickHouseCache<String, Integer> cache = JdkClockCache.create(3, 1L, (k) -> counter.incrementAndGet());
+        JdkClockCache<?, ?> c = cache.unwrap(JdkClockCache.class);
+
+        Assert.assertEquals(cache.get("A"), 1);
+        Assert.assertEquals(cache.get("A"), 1);
+        Assert.assertEquals(cache.get("B"), 2);
+        Assert.assertEquals(c.getHitCount(), 1L);
+
+        try {
+            Thread.sleep(1500L);
+        } catch (InterruptedException e) {
+            Assert.fail("Sleep was interrupted", e);
+        }
+
+        Assert.assertEquals(cache.get("A"), 3);
+        Assert.assertEquals(c.getEvictionCount(), 1L);
+        Assert.assertEquals(cache.get("A"), 3);
+        Assert.assertEquals(cache.get("C"), 4);
+        Assert.assertEquals(cache.get("D"), 5);
+        // A was accessed recently, so expired B is evicted
+        Assert.assertEquals(c.size(), 3);
+        Assert.assertEquals(c.getEvictionCount(), 2L);
+        Assert.assertEquals(cache.get("A"), 3);
+        Assert.assertEquals(cache.get("C"), 4);
+        Assert.assertEquals(cache.get("D"), 5);
+    }
+
+    @Test(groups = { "unit" })
+    public void testConcurrentAccess() throws Exception {
+        final int capacity = 64;
+        final int keys = 256;
+        final int threads = 8;
+        final int iterations = 20000;
+
+        ClickHouseCache<Integer, String> cache = JdkClockCache.create(capacity, 60L, String::valueOf);
+        JdkClockCache<?, ?> c = cache.unwrap(JdkClockCache.class);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            final int seed = i;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < iterations; j++) {
+                    // mostly hot keys, with some cold ones
+                    int key = (j % 10 == 0) ? (j * 31 + seed) % keys : j % (capacity / 2);
+                    Assert.assertEquals(cache.get(key), String.valueOf(key));
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+        // eviction is skipped when another thread is evicting
+        Assert.assertTrue(c.size() <= capacity + threads, "Size should not exceed capacity: " + c);
+        Assert.assertEquals(c.getHitCount() + c.getMissCount(), (long) threads * iterations);
+        Assert.assertTrue(c.getHitCount() > c.getMissCount(), "Hot keys should stay in cache: " + c);
+        Assert.assertTrue(c.getEvictionCount() > 0L);
+    }
+}
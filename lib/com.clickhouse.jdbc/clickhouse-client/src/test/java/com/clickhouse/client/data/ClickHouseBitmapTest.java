@@ -1,6 +1,11 @@
 package com.clickhouse.client.data;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
 import com.clickhouse.client.ClickHouseDataType;
+import com.clickhouse.client.ClickHouseInputStream;
 
 import org.roaringbitmap.RoaringBitmap;
 import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
@@ -54,4 +59,64 @@ public class ClickHouseBitmapTest {
             }
         }
     }
+
+    @Test(groups = "unit")
+    public void testDeserializeBitmap32() throws IOException {
+        for (ClickHouseDataType t : new ClickHouseDataType[] { ClickHouseDataType.Int8, ClickHouseDataType.UInt8,
+                ClickHouseDataType.Int16, ClickHouseDataType.UInt16, ClickHouseDataType.Int32,
+                ClickHouseDataType.UInt32 }) {
+            int[] values = BinaryStreamUtilsTest.newBitmapValues(t, 100);
+            byte[] bytes = ClickHouseBitmap.wrap(RoaringBitmap.bitmapOf(values), t).toBytes();
+
+            ClickHouseBitmap view = ClickHouseBitmap.deserialize(ClickHouseInputStream.of(bytes), t, false);
+            Assert.assertTrue(view.unwrap() instanceof ImmutableRoaringBitmap);
+            Assert.assertFalse(view.unwrap() instanceof MutableRoaringBitmap);
+            ClickHouseBitmap copy = ClickHouseBitmap.deserialize(ClickHouseInputStream.of(bytes), t, true);
+            Assert.assertTrue(copy.unwrap() instanceof RoaringBitmap);
+            for (ClickHouseBitmap b : new ClickHouseBitmap[] { view, copy,
+                    ClickHouseBitmap.deserialize(new ByteArrayInputStream(bytes), t) }) {
+                Assert.assertEquals(b.getCardinality(), values.length);
+                Assert.assertEquals(b.toIntArray(), RoaringBitmap.bitmapOf(values).toArray());
+                Assert.assertEquals(b.toBytes(), bytes);
+            }
+        }
+
+        // view shares bytes with the input stream
+        int[] values = BinaryStreamUtilsTest.newBitmapValues(ClickHouseDataType.UInt32, 100);
+        byte[] bytes = ClickHouseBitmap.wrap(values).toBytes();
+        ClickHouseBitmap view = ClickHouseBitmap.deserialize(ClickHouseInputStream.of(bytes), ClickHouseDataType.UInt32,
+                false);
+        ClickHouseBitmap copy = ClickHouseBitmap.deserialize(ClickHouseInputStream.of(bytes),
+                ClickHouseDataType.UInt32, true);
+        Arrays.fill(bytes, (byte) 0);
+        Assert.assertNotEquals(view.toIntArray(), values);
+        Assert.assertEquals(copy.toIntArray(), values);
+    }
+
+    @Test(groups = "unit")
+    public void testDeserializeBitmap64() throws IOException {
+        for (ClickHouseDataType t : new ClickHouseDataType[] { ClickHouseDataType.Int64,
+                ClickHouseDataType.UInt64 }) {
+            long[] values = BinaryStreamUtilsTest.newBitmap64Values(t, 100);
+            long[] expected = Roaring64NavigableMap.bitmapOf(values).toArray();
+            byte[] bytes = ClickHouseBitmap.wrap(Roaring64NavigableMap.bitmapOf(values), t).toBytes();
+
+            ClickHouseBitmap view = ClickHouseBitmap.deserialize(ClickHouseInputStream.of(bytes), t, false);
+            Assert.assertEquals(view.getClass(), ClickHouseBitmap.ClickHouseImmutableRoaring64Bitmap.class);
+            Assert.assertEquals(view, ClickHouseBitmap.deserialize(ClickHouseInputStream.of(bytes), t, false));
+            ClickHouseBitmap copy = ClickHouseBitmap.deserialize(ClickHouseInputStream.of(bytes), t, true);
+            Assert.assertEquals(copy.getClass(), ClickHouseBitmap.ClickHouseRoaring64NavigableMap.class);
+            for (ClickHouseBitmap b : new ClickHouseBitmap[] { view, copy,
+                    ClickHouseBitmap.deserialize(new ByteArrayInputStream(bytes), t) }) {
+                Assert.assertFalse(b.isEmpty());
+                Assert.assertEquals(b.getLongCardinality(), values.length);
+                Assert.assertEquals(b.toLongArray(), expected);
+                Assert.assertEquals(b.serializedSizeInBytesAsLong(), copy.serializedSizeInBytesAsLong());
+                Assert.assertEquals(b.toBytes(), bytes);
+            }
+            // materialized on demand
+            Assert.assertEquals(view.unwrap(), copy.unwrap());
+            Assert.assertSame(view.unwrap(), view.unwrap());
+        }
+    }
 }
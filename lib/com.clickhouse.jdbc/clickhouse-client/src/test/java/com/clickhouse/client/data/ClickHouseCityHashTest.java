@@ -0,0 +1,60 @@
+package com.clickhouse.client.data;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ClickHouseCityHashTest {
+    @DataProvider(name = "hashes")
+    private Object[][] getHashes() {
+        // calculated by the original byte-by-byte implementation
+        return new Object[][] {
+                { 0, 0x3DF09DFC64C09A2BL, 0x3CB540C392E51E29L },
+                { 1, 0x8BE55B379CCE0E40L, 0x05AB4744478B1CBAL },
+                { 2, 0x701C733AEE3382D4L, 0xBA4EAE41E0E6DC7AL },
+                { 3, 0xE407DEDA7BB0F294L, 0x0A3A0D146E27F1BDL },
+                { 4, 0x905DCB2063AE124FL, 0x57FD5B5954A593C5L },
+                { 5, 0x69A56895D9AC3DDCL, 0x955B14EC8AC620D5L },
+                { 7, 0xD7BA2459AB7C2913L, 0x53DD430B513CA460L },
+                { 8, 0xF5A4CA47208136A0L, 0x3DD4575B3D46E5ABL },
+                { 9, 0x338434C54A2565E1L, 0x1001BBB07BD33771L },
+                { 12, 0x8450AAB120E0CCDCL, 0x8A990D2011469548L },
+                { 15, 0xD956065C63D9AB15L, 0x9623CAADD0037B73L },
+                { 16, 0x3F3A3275564B7F48L, 0xB48A2A7A16BAC60BL },
+                { 17, 0xAEE34BF68BB2E0A2L, 0xE0D6910555F00B87L },
+                { 24, 0x5ADFE1A6EAB14C05L, 0xF76C0804FE96ED75L },
+                { 31, 0x9B7F93E5ECFAED63L, 0xD646E40154FB0D6BL },
+                { 32, 0x250E8C8007BFAD61L, 0xE42486B6776AE8DBL },
+                { 33, 0x4E495B057AF3B520L, 0xABAE1D24F18410B5L },
+                { 63, 0x361DB35B3402A110L, 0x51BF6FFF2D8235C5L },
+                { 64, 0xE225CF33B373DC02L, 0x8D252CE5152D6D96L },
+                { 65, 0xFD6AC7F899CFA4DEL, 0x4DC66FA894D30552L },
+                { 127, 0xC244DC8A06CE8C41L, 0xF30E2CF6B33629A6L },
+                { 128, 0xBA863C0C70F32346L, 0x24B156FC6F3C170AL },
+                { 129, 0x238598064C8EE2F1L, 0x6C89B9263EF7410BL },
+                { 191, 0x2F4F8BA535AA5F81L, 0xB5694954EFDB1784L },
+                { 255, 0xC87D0F456F6A514BL, 0xF35B13EC94EB8A52L },
+                { 256, 0xB1CFA883F958DCFAL, 0x39F0DFB3BE182292L },
+                { 257, 0xD4CB7B11F9EF2055L, 0xAE5243F6DBCD4C28L },
+                { 1000, 0x597FF4957972AD7EL, 0x7F39A4ABD7C010E1L },
+                { 4096, 0x1BD11ECFD108678FL, 0x723D5024904233BBL },
+                { 65536, 0x7F5977AD52D073A6L, 0xCAB9827CE49D68EBL },
+        };
+    }
+
+    @Test(dataProvider = "hashes", groups = { "unit" })
+    public void testCityHash128(int length, long low, long high) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31 + 7);
+        }
+        Assert.assertEquals(ClickHouseCityHash.cityHash128(bytes, 0, length), new long[] { low, high });
+
+        // same result regardless of offset and trailing bytes
+        for (int offset : new int[] { 1, 3, 8 }) {
+            byte[] b = new byte[offset + length + 5];
+            System.arraycopy(bytes, 0, b, offset, length);
+            Assert.assertEquals(ClickHouseCityHash.cityHash128(b, offset, length), new long[] { low, high });
+        }
+    }
+}
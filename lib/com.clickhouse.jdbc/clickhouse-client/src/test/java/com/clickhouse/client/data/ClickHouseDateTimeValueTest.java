@@ -1,5 +1,10 @@
 package com.clickhouse.client.data;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.Inet4Address;
@@ -8,17 +13,31 @@ import java.net.UnknownHostException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Arrays;
+import java.util.TimeZone;
 import java.util.UUID;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import com.clickhouse.client.BaseClickHouseValueTest;
 import com.clickhouse.client.ClickHouseDataType;
+import com.clickhouse.client.ClickHouseValue;
 import com.clickhouse.client.ClickHouseValues;
 
 public class ClickHouseDateTimeValueTest extends BaseClickHouseValueTest {
+    @SuppressWarnings("unchecked")
+    private static <T extends ClickHouseValue> T roundTrip(T value) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(value);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return (T) ois.readObject();
+        }
+    }
+
     @Test(groups = { "unit" })
     public void testUpdate() {
         Assert.assertEquals(ClickHouseDateTimeValue.ofNull(0, ClickHouseValues.UTC_TIMEZONE).update(-1L).getValue(),
@@ -209,4 +228,71 @@ public class ClickHouseDateTimeValueTest extends BaseClickHouseValueTest {
         Assert.assertEquals(ClickHouseDateTimeValue.of(dateTime, 3, ClickHouseValues.UTC_TIMEZONE).asBigDecimal(4),
                 BigDecimal.valueOf(0.1234D));
     }
+
+    @Test(groups = { "unit" })
+    public void testEpochValue() {
+        ClickHouseDateTimeValue v = ClickHouseDateTimeValue.ofNull(3, ClickHouseValues.UTC_TIMEZONE);
+        Assert.assertEquals(v.asEpochMilli(), 0L);
+        Assert.assertEquals(v.asEpochNano(), 0L);
+        Assert.assertNull(v.getValue());
+
+        v.updateEpochSecond(-1L, 999000000);
+        Assert.assertEquals(v.getValue(), LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999000000));
+        Assert.assertEquals(v.asEpochMilli(), -1L);
+        Assert.assertEquals(v.asEpochNano(), -1000000L);
+
+        TimeZone tz = TimeZone.getTimeZone("Asia/Chongqing");
+        LocalDateTime dt = LocalDateTime.of(2022, 10, 18, 12, 34, 56, 123456789);
+        long epochSecond = dt.atZone(ZoneId.of("Asia/Chongqing")).toEpochSecond();
+        v = ClickHouseDateTimeValue.of(dt, 9, tz);
+        Assert.assertEquals(v.getEpochSecond(), epochSecond);
+        Assert.assertEquals(v.getNanos(), 123456789);
+        Assert.assertEquals(v.asEpochMilli(), epochSecond * 1000L + 123L);
+        Assert.assertEquals(v.asEpochNano(), epochSecond * 1000000000L + 123456789L);
+        Assert.assertEquals(v.asInstant().getEpochSecond(), epochSecond);
+        Assert.assertEquals(v.asDateTime(), dt);
+        Assert.assertEquals(v.asOffsetDateTime().toLocalDateTime(), dt);
+        Assert.assertEquals(v.asOffsetDateTime().getOffset(), ZoneOffset.ofHours(8));
+        Assert.assertEquals(v.asZonedDateTime().getZone(), ZoneId.of("Asia/Chongqing"));
+
+        // same local date time, different instant
+        ClickHouseDateTimeValue utc = ClickHouseDateTimeValue.ofNull(9, ClickHouseValues.UTC_TIMEZONE).update(v);
+        Assert.assertEquals(utc.getEpochSecond(), epochSecond + 8L * 3600L);
+        Assert.assertEquals(utc.asDateTime(), dt);
+        Assert.assertEquals(utc.copy(false).asEpochNano(), v.asEpochNano() + 8L * 3600L * 1000000000L);
+        Assert.assertEquals(ClickHouseDateTimeValue.ofNull(9, tz).update(v).asEpochNano(), v.asEpochNano());
+
+        v.updateEpochSecond(epochSecond + 1L, 0);
+        Assert.assertEquals(v.asDateTime(), dt.withNano(0).plusSeconds(1L));
+        Assert.assertEquals(v.asEpochMilli(), (epochSecond + 1L) * 1000L);
+        Assert.assertThrows(ArithmeticException.class,
+                () -> ClickHouseDateTimeValue.of(LocalDateTime.of(2300, 1, 1, 0, 0), 9, ClickHouseValues.UTC_TIMEZONE)
+                        .asEpochNano());
+    }
+
+    @Test(groups = { "unit" })
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        ClickHouseDateTimeValue v = roundTrip(
+                ClickHouseDateTimeValue.of("2020-01-01 00:00:00", 0, ClickHouseValues.UTC_TIMEZONE));
+        Assert.assertEquals(v.getValue(), LocalDateTime.of(2020, 1, 1, 0, 0));
+        Assert.assertSame(v.getZoneRules(), ClickHouseZoneRules.UTC);
+
+        TimeZone tz = TimeZone.getTimeZone("Asia/Chongqing");
+        LocalDateTime dt = LocalDateTime.of(2022, 10, 18, 12, 34, 56, 123456789);
+        v = roundTrip(ClickHouseDateTimeValue.of(dt, 9, tz));
+        Assert.assertEquals(v.getValue(), dt);
+        Assert.assertEquals(v.getScale(), 9);
+        Assert.assertEquals(v.getZoneRules().getZoneId(), ZoneId.of("Asia/Chongqing"));
+        Assert.assertEquals(v.asOffsetDateTime().getOffset(), ZoneOffset.ofHours(8));
+        v.update(dt.plusDays(1L));
+        Assert.assertEquals(v.getEpochSecond(), dt.plusDays(1L).atZone(ZoneId.of("Asia/Chongqing")).toEpochSecond());
+
+        v = roundTrip(ClickHouseDateTimeValue.ofNull(3, tz));
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertEquals(v.update(dt).getValue(), dt);
+
+        ClickHouseOffsetDateTimeValue o = roundTrip(ClickHouseOffsetDateTimeValue.of(dt, 9, tz));
+        Assert.assertEquals(o.getValue().toLocalDateTime(), dt);
+        Assert.assertEquals(o.getValue().getOffset(), ZoneOffset.ofHours(8));
+    }
 }
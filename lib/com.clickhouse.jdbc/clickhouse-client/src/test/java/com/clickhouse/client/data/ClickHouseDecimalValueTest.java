@@ -0,0 +1,112 @@
+package com.clickhouse.client.data;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.clickhouse.client.ClickHouseValues;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseDecimalValueTest {
+    @Test(groups = { "unit" })
+    public void testNullValue() {
+        ClickHouseDecimalValue v = ClickHouseDecimalValue.ofNull(2);
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertEquals(v.getScale(), 2);
+        Assert.assertNull(v.asBigDecimal());
+        Assert.assertNull(v.asObject());
+        Assert.assertNull(v.asString());
+        Assert.assertEquals(v.toSqlExpression(), "NULL");
+        Assert.assertEquals(v.asLong(), 0L);
+        Assert.assertEquals(v.asDouble(), 0D);
+
+        Assert.assertFalse(v.resetToDefault().isNullOrEmpty());
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal("0.00"));
+        Assert.assertTrue(v.resetToNullOrEmpty().isNullOrEmpty());
+        Assert.assertEquals(v.getScale(), 2);
+        Assert.assertTrue(v.update((BigDecimal) null).isNullOrEmpty());
+    }
+
+    @Test(groups = { "unit" })
+    public void testUnscaledValue() {
+        ClickHouseDecimalValue v = ClickHouseDecimalValue.of(-12345L, 2);
+        Assert.assertFalse(v.isNullOrEmpty());
+        Assert.assertEquals(v.getUnscaledValue(), -12345L);
+        Assert.assertEquals(v.asLong(), -123L);
+        Assert.assertEquals(v.asInteger(), -123);
+        Assert.assertEquals(v.asDouble(), -123.45D);
+        Assert.assertEquals(v.asFloat(), -123.45F);
+        Assert.assertEquals(v.asString(), "-123.45");
+        Assert.assertEquals(v.toSqlExpression(), "-123.45");
+        BigDecimal d = v.asBigDecimal();
+        Assert.assertEquals(d, new BigDecimal("-123.45"));
+        Assert.assertSame(v.asBigDecimal(), d);
+        Assert.assertEquals(v.asBigDecimal(3), new BigDecimal("-123.450"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> v.asBigInteger());
+
+        Assert.assertSame(v.updateUnscaled(500L), v);
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal("5.00"));
+        Assert.assertEquals(v.asBigInteger(), BigInteger.valueOf(5L));
+        Assert.assertSame(ClickHouseDecimalValue.of(v, 1L, 3), v);
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal("0.001"));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> ClickHouseDecimalValue.ofNull(19));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ClickHouseDecimalValue.of(1L, -1));
+    }
+
+    @Test(groups = { "unit" })
+    public void testUpdate() {
+        ClickHouseDecimalValue v = ClickHouseDecimalValue.ofNull(2);
+        Assert.assertEquals(v.update(3).getUnscaledValue(), 300L);
+        Assert.assertEquals(v.update(-7L).getUnscaledValue(), -700L);
+        Assert.assertThrows(ArithmeticException.class, () -> v.update(Long.MAX_VALUE));
+        Assert.assertEquals(v.update(true).getUnscaledValue(), 100L);
+
+        Assert.assertEquals(v.update(12.5D).getUnscaledValue(), 1250L);
+        Assert.assertEquals(v.update(0.07D).getUnscaledValue(), 7L);
+        Assert.assertEquals(v.update(-1.005D).getUnscaledValue(), -100L);
+        // product is rounded to an integer, which must not be taken as is
+        for (double d : new double[] { 50000000000000.125D, 7.86014179411451E13D, -6.6308520601302445E13D,
+                45035996273704.97D }) {
+            Assert.assertEquals(v.update(d).getUnscaledValue(),
+                    BigDecimal.valueOf(d).setScale(2, ClickHouseValues.ROUNDING_MODE).unscaledValue().longValue(),
+                    "Unexpected unscaled value of " + d);
+        }
+        Assert.assertEquals(v.update(7.86014179411451E13D).getUnscaledValue(), 7860141794114510L);
+        Assert.assertEquals(ClickHouseDecimalValue.ofNull(4).update(7.7044863492644E11D).getUnscaledValue(),
+                7704486349264400L);
+        Assert.assertEquals(v.update(0.1F).getUnscaledValue(), 10L);
+
+        BigDecimal d = new BigDecimal("1.23");
+        Assert.assertEquals(v.update(d).getUnscaledValue(), 123L);
+        Assert.assertSame(v.asBigDecimal(), d);
+        Assert.assertEquals(v.update(new BigDecimal("1.239")).getUnscaledValue(), 123L);
+        Assert.assertEquals(v.update(new BigDecimal("-4")).getUnscaledValue(), -400L);
+        Assert.assertEquals(v.update(BigInteger.TEN).getUnscaledValue(), 1000L);
+        Assert.assertEquals(v.update("-0.5").getUnscaledValue(), -50L);
+        Assert.assertThrows(IllegalArgumentException.class, () -> v.update(new BigDecimal("1E+20")));
+
+        Assert.assertEquals(v.update(ClickHouseDecimalValue.of(42L, 2)).getUnscaledValue(), 42L);
+        Assert.assertEquals(v.update(ClickHouseDecimalValue.of(42L, 1)).getUnscaledValue(), 420L);
+        Assert.assertEquals(v.update(ClickHouseBigDecimalValue.of(new BigDecimal("9.99"))).getUnscaledValue(),
+                999L);
+        Assert.assertTrue(v.update(ClickHouseBigDecimalValue.ofNull()).isNullOrEmpty());
+        Assert.assertEquals(v.update((Object) new BigDecimal("2")).getUnscaledValue(), 200L);
+    }
+
+    @Test(groups = { "unit" })
+    public void testCopy() {
+        ClickHouseDecimalValue v = ClickHouseDecimalValue.of(123L, 1);
+        ClickHouseDecimalValue c = v.copy(true);
+        Assert.assertNotSame(c, v);
+        Assert.assertEquals(c, v);
+        Assert.assertEquals(c.hashCode(), v.hashCode());
+        Assert.assertNotEquals(ClickHouseDecimalValue.of(123L, 2), v);
+        Assert.assertNotEquals(ClickHouseDecimalValue.ofNull(1), ClickHouseDecimalValue.of(0L, 1));
+
+        c.updateUnscaled(1L);
+        Assert.assertEquals(v.asBigDecimal(), new BigDecimal("12.3"));
+        Assert.assertEquals(c.asBigDecimal(), new BigDecimal("0.1"));
+    }
+}
@@ -0,0 +1,146 @@
+package com.clickhouse.client.data;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.clickhouse.client.BaseClickHouseValueTest;
+import com.clickhouse.client.ClickHouseByteBuffer;
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.config.ClickHouseClientOption;
+
+public class ClickHouseFlatMapValueTest extends BaseClickHouseValueTest {
+    @Test(groups = { "unit" })
+    public void testIsSupported() {
+        ClickHouseConfig config = new ClickHouseConfig();
+        Assert.assertTrue(ClickHouseFlatMapValue.isSupported(config, ClickHouseColumn.of("k", "String"),
+                ClickHouseColumn.of("v", "Float64")));
+        Assert.assertTrue(ClickHouseFlatMapValue.isSupported(config, ClickHouseColumn.of("k", "Int64"),
+                ClickHouseColumn.of("v", "String")));
+        Assert.assertFalse(ClickHouseFlatMapValue.isSupported(config, ClickHouseColumn.of("k", "Float32"),
+                ClickHouseColumn.of("v", "Int8")));
+        Assert.assertFalse(ClickHouseFlatMapValue.isSupported(config, ClickHouseColumn.of("k", "String"),
+                ClickHouseColumn.of("v", "Nullable(Int8)")));
+        Assert.assertFalse(ClickHouseFlatMapValue.isSupported(config, ClickHouseColumn.of("k", "FixedString(2)"),
+                ClickHouseColumn.of("v", "Int8")));
+        Assert.assertFalse(ClickHouseFlatMapValue.isSupported(config, ClickHouseColumn.of("k", "String"),
+                ClickHouseColumn.of("v", "Array(Int8)")));
+
+        config = new ClickHouseConfig(Collections.singletonMap(ClickHouseClientOption.USE_BINARY_STRING, true));
+        Assert.assertFalse(ClickHouseFlatMapValue.isSupported(config, ClickHouseColumn.of("k", "String"),
+                ClickHouseColumn.of("v", "Int8")));
+        Assert.assertTrue(ClickHouseFlatMapValue.isSupported(config, ClickHouseColumn.of("k", "Int32"),
+                ClickHouseColumn.of("v", "Int8")));
+
+        config = new ClickHouseConfig(Collections.singletonMap(ClickHouseClientOption.USE_FLAT_MAP, true));
+        Assert.assertTrue(ClickHouseColumn.of("m", "Map(String, Int32)").newValue(config)
+                instanceof ClickHouseFlatMapValue);
+        Assert.assertFalse(ClickHouseColumn.of("m", "Map(String, Array(Int32))").newValue(config)
+                instanceof ClickHouseFlatMapValue);
+        Assert.assertFalse(ClickHouseColumn.of("m", "Map(String, Int32)").newValue(new ClickHouseConfig())
+                instanceof ClickHouseFlatMapValue);
+    }
+
+    @Test(groups = { "unit" })
+    public void testAddAndGet() {
+        ClickHouseFlatMapValue v = ClickHouseFlatMapValue.ofEmpty(String.class, Double.class);
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertEquals(v.size(), 0);
+        Assert.assertTrue(v.asMap().isEmpty());
+
+        v.reset(2);
+        v.addKey(ClickHouseByteBuffer.of("a".getBytes())).addValue(ClickHouseDoubleValue.of(1.5D));
+        v.addKey(ClickHouseStringValue.of("b")).addValue(ClickHouseIntegerValue.of(2));
+        Assert.assertFalse(v.isNullOrEmpty());
+        Assert.assertEquals(v.size(), 2);
+        Assert.assertEquals(v.keyAt(0), "a");
+        Assert.assertEquals(v.valueAt(0), 1.5D);
+        Assert.assertEquals(v.doubleValueAt(1), 2D);
+        Assert.assertEquals(v.longValueAt(0), 1L);
+        Assert.assertEquals(v.indexOf("b"), 1);
+        Assert.assertEquals(v.indexOf("c"), -1);
+        Assert.assertEquals(v.indexOf(1), -1);
+        Assert.assertEquals(v.get("a"), 1.5D);
+        Assert.assertNull(v.get("c"));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> v.keyAt(2));
+        Assert.assertThrows(IllegalStateException.class, () -> v.longKeyAt(0));
+        Assert.assertThrows(IllegalStateException.class, () -> v.addValue(ClickHouseByteBuffer.of(new byte[1])));
+        Assert.assertEquals(v.asString(), "{a:1.5,b:2.0}");
+        Assert.assertEquals(v.toSqlExpression(), "{'a' : 1.5,'b' : 2.0}");
+
+        Map<Object, Object> map = v.asMap();
+        Assert.assertEquals(map, buildMap(new String[] { "a", "b" }, new Double[] { 1.5D, 2D }));
+        Assert.assertSame(v.asMap(), map);
+        Assert.assertEquals(v.asMap(String.class, Double.class), map);
+
+        // reused for next row
+        v.reset(1).addKey(ClickHouseStringValue.of("c")).addValue(ClickHouseDoubleValue.of(3D));
+        Assert.assertEquals(v.size(), 1);
+        Assert.assertNotSame(v.asMap(), map);
+        Assert.assertEquals(v.asMap(), Collections.singletonMap("c", 3D));
+        Assert.assertEquals(v.indexOf("a"), -1);
+
+        v.resetToNullOrEmpty();
+        Assert.assertEquals(v.size(), 0);
+    }
+
+    @Test(groups = { "unit" })
+    public void testLookup() {
+        ClickHouseFlatMapValue v = ClickHouseFlatMapValue.ofEmpty(Integer.class, String.class);
+        int count = 1000;
+        v.reset(1);
+        for (int i = 0; i < count; i++) {
+            v.addKey(ClickHouseIntegerValue.of(i)).addValue(ClickHouseStringValue.of("v" + i));
+        }
+        // duplicated key, last one wins
+        v.addKey(ClickHouseIntegerValue.of(3)).addValue(ClickHouseStringValue.of("x"));
+        Assert.assertEquals(v.size(), count + 1);
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(v.get(i), i == 3 ? "x" : "v" + i);
+        }
+        Assert.assertEquals(v.indexOf(3), count);
+        Assert.assertEquals(v.longKeyAt(5), 5L);
+        Assert.assertEquals(v.keyAt(5), 5);
+        Assert.assertEquals(v.get((short) 7), "v7");
+        Assert.assertNull(v.get(count));
+        Assert.assertNull(v.get("1"));
+        Assert.assertEquals(v.asMap().size(), count);
+        Assert.assertEquals(v.asMap().get(3), "x");
+
+        ClickHouseFlatMapValue s = ClickHouseFlatMapValue.ofEmpty(String.class, Long.class);
+        s.reset(count);
+        for (int i = 0; i < count; i++) {
+            s.addKey(ClickHouseStringValue.of("k" + i)).addValue(ClickHouseLongValue.of(i, false));
+        }
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(s.get("k" + i), (long) i);
+        }
+        Assert.assertNull(s.get("k"));
+    }
+
+    @Test(groups = { "unit" })
+    public void testUpdateAndCopy() {
+        ClickHouseFlatMapValue v = ClickHouseFlatMapValue.ofEmpty(Long.class, Float.class);
+        v.update(buildMap(new Long[] { 1L, 2L }, new Float[] { 1.5F, 2.5F }));
+        Assert.assertEquals(v.size(), 2);
+        Assert.assertEquals(v.get(2L), 2.5F);
+
+        ClickHouseFlatMapValue c = v.copy(true);
+        v.update(Collections.singletonMap(3L, 3F));
+        Assert.assertEquals(v.asMap(), Collections.singletonMap(3L, 3F));
+        Assert.assertEquals(c.asMap(), buildMap(new Long[] { 1L, 2L }, new Float[] { 1.5F, 2.5F }));
+
+        ClickHouseMapValue m = ClickHouseMapValue.of(buildMap(new Long[] { 5L }, new Float[] { 5F }), Long.class,
+                Float.class);
+        v.update(m);
+        Assert.assertEquals(v.asMap(), Collections.singletonMap(5L, 5F));
+        m.update(c);
+        Assert.assertEquals(m.asMap(), buildMap(new Long[] { 1L, 2L }, new Float[] { 1.5F, 2.5F }));
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> ClickHouseFlatMapValue.ofEmpty(Object.class, String.class));
+    }
+}
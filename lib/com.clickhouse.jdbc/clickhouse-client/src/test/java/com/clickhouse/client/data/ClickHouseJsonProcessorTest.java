@@ -0,0 +1,299 @@
+package com.clickhouse.client.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.clickhouse.client.ClickHouseColumn;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseDataProcessor;
+import com.clickhouse.client.ClickHouseDataStreamFactory;
+import com.clickhouse.client.ClickHouseFormat;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.ClickHouseRecord;
+import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.config.ClickHouseOption;
+import com.clickhouse.client.data.array.ClickHouseIntArrayValue;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseJsonProcessorTest {
+    private static ClickHouseConfig newConfig(ClickHouseFormat format) {
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseClientOption.FORMAT, format);
+        options.put(ClickHouseClientOption.USE_JSON_PROCESSOR, true);
+        return new ClickHouseConfig(options, null, null, null);
+    }
+
+    private static ClickHouseInputStream newInput(String str, int chunkSize) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0, len = str.length(); i < len; i += chunkSize) {
+            chunks.add(str.substring(i, Math.min(i + chunkSize, len)));
+        }
+        return ClickHouseInputStream.of(chunks, String.class, s -> s.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    private static List<String[]> readAll(ClickHouseDataProcessor p) {
+        List<String[]> list = new ArrayList<>();
+        int len = p.getColumns().size();
+        for (ClickHouseRecord r : p.records()) {
+            String[] values = new String[len];
+            for (int i = 0; i < len; i++) {
+                values[i] = r.getValue(i).asString();
+            }
+            list.add(values);
+        }
+        return list;
+    }
+
+    private static String toString(List<ClickHouseColumn> columns) {
+        StringBuilder builder = new StringBuilder();
+        for (ClickHouseColumn c : columns) {
+            builder.append(c.getColumnName()).append(' ').append(c.getOriginalTypeName()).append(',');
+        }
+        return builder.toString();
+    }
+
+    @Test(groups = { "unit" })
+    public void testFactory() throws IOException {
+        ClickHouseConfig config = newConfig(ClickHouseFormat.JSONEachRow);
+        Assert.assertEquals(ClickHouseDataStreamFactory.getInstance()
+                .getProcessor(config, newInput("{\"a\":1}\n", 8), null, null, null).getClass(),
+                ClickHouseJsonProcessor.class);
+
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseClientOption.FORMAT, ClickHouseFormat.JSONEachRow);
+        config = new ClickHouseConfig(options, null, null, null);
+        Assert.assertEquals(ClickHouseDataStreamFactory.getInstance()
+                .getProcessor(config, newInput("{\"a\":1}\n", 8), null, null, null).getClass(),
+                ClickHouseTabSeparatedProcessor.class);
+
+        Assert.assertTrue(ClickHouseJsonProcessor.isSupported(ClickHouseFormat.NDJSON));
+        Assert.assertTrue(ClickHouseJsonProcessor.isSupported(ClickHouseFormat.JSONCompactStringsEachRowWithNames));
+        Assert.assertFalse(ClickHouseJsonProcessor.isSupported(ClickHouseFormat.JSON));
+        Assert.assertFalse(ClickHouseJsonProcessor.isSupported(null));
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadEachRow() throws IOException {
+        String json = "{\"a\":1,\"b\":\"x\\\"y\\\\z\\n\\u00e9\\ud83d\\ude00\",\"c\":null,\"d\":[1,[2,\"]\"]],\"e\":true}\n"
+                + "{\"b\" : \"你好\" , \"a\" : -2.5e3, \"unknown\": {\"x\": [1]}, \"e\":false}\r\n"
+                + "\n{}\n";
+        for (int chunkSize : new int[] { 1, 3, 7, 1024 }) {
+            ClickHouseJsonProcessor p = new ClickHouseJsonProcessor(newConfig(ClickHouseFormat.JSONEachRow),
+                    newInput(json, chunkSize), null, null, null);
+            Assert.assertEquals(toString(p.getColumns()), "a Nullable(String),b Nullable(String),"
+                    + "c Nullable(String),d Nullable(String),e Nullable(String),");
+            List<String[]> rows = readAll(p);
+            Assert.assertEquals(rows.size(), 3);
+            Assert.assertEquals(rows.get(0),
+                    new String[] { "1", "x\"y\\z\né😀", null, "[1,[2,\"]\"]]", "true" });
+            Assert.assertEquals(rows.get(1), new String[] { "-2.5e3", "你好", null, null, "false" });
+            Assert.assertEquals(rows.get(2), new String[] { null, null, null, null, null });
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadTypedValues() throws IOException {
+        List<ClickHouseColumn> columns = ClickHouseColumn.parse("i Int8, u UInt64, f Float64, d Decimal(10,2), "
+                + "dt Date, ts DateTime64(3), s String, n Nullable(Int32), b Bool");
+        String json = "{\"i\":-1,\"u\":\"18446744073709551615\",\"f\":1.5,\"d\":-0.01,\"dt\":\"2022-03-04\","
+                + "\"ts\":\"2022-03-04 05:06:07.123\",\"s\":\"a\\tb\",\"n\":null,\"b\":true}\n"
+                + "{\"s\":\"\",\"i\":127}\n";
+        ClickHouseJsonProcessor p = new ClickHouseJsonProcessor(newConfig(ClickHouseFormat.JSONEachRow),
+                newInput(json, 10), null, columns, null);
+        Iterator<ClickHouseRecord> it = p.records().iterator();
+        ClickHouseRecord r = it.next();
+        Assert.assertEquals(r.getValue(0).asByte(), (byte) -1);
+        Assert.assertEquals(r.getValue(1).asString(), "18446744073709551615");
+        Assert.assertEquals(r.getValue(2).asDouble(), 1.5D);
+        Assert.assertEquals(r.getValue(3).asBigDecimal(), new BigDecimal("-0.01"));
+        Assert.assertEquals(r.getValue(4).asDate(), LocalDate.of(2022, 3, 4));
+        Assert.assertEquals(r.getValue(5).asDateTime(), LocalDateTime.of(2022, 3, 4, 5, 6, 7, 123000000));
+        Assert.assertEquals(r.getValue(6).asString(), "a\tb");
+        Assert.assertTrue(r.getValue(7).isNullOrEmpty());
+        Assert.assertEquals(r.getValue(8).asBoolean(), true);
+
+        // missing keys
+        r = it.next();
+        Assert.assertEquals(r.getValue(0).asByte(), (byte) 127);
+        Assert.assertEquals(r.getValue(1).asLong(), 0L);
+        Assert.assertEquals(r.getValue(6).asString(), "");
+        Assert.assertTrue(r.getValue(7).isNullOrEmpty());
+        Assert.assertFalse(it.hasNext());
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadCompact() throws IOException {
+        String json = "[\"a\",\"b\\u0021\"]\n[\"UInt8\",\"Nullable(String)\"]\n[1,\"x\"]\n[2,null]\n";
+        ClickHouseJsonProcessor p = new ClickHouseJsonProcessor(
+                newConfig(ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes), newInput(json, 5), null, null,
+                null);
+        Assert.assertEquals(toString(p.getColumns()), "a UInt8,b! Nullable(String),");
+        List<String[]> rows = readAll(p);
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(0), new String[] { "1", "x" });
+        Assert.assertEquals(rows.get(1), new String[] { "2", null });
+
+        p = new ClickHouseJsonProcessor(newConfig(ClickHouseFormat.JSONCompactStringsEachRow),
+                newInput("[\"1\",\"2\",\"3\"]\n[\"4\",\"5\",\"6\"]", 4), null, null, null);
+        Assert.assertEquals(toString(p.getColumns()), "c1 Nullable(String),c2 Nullable(String),c3 Nullable(String),");
+        List<String> values = new ArrayList<>();
+        for (ClickHouseValue v : p.values()) {
+            values.add(v.asString());
+        }
+        Assert.assertEquals(values, Arrays.asList("1", "2", "3", "4", "5", "6"));
+
+        p = new ClickHouseJsonProcessor(newConfig(ClickHouseFormat.JSONCompactEachRowWithNames),
+                newInput("", 4), null, null, null);
+        Assert.assertEquals(p.getColumns(), Collections.emptyList());
+        Assert.assertFalse(p.records().iterator().hasNext());
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadInvalidJson() throws IOException {
+        for (String json : new String[] { "{\"a\":1,}", "{\"a\":1 \"b\":2}", "{\"a\" 1}", "[1,2", "{\"a\":\"1}" }) {
+            ClickHouseJsonProcessor p = new ClickHouseJsonProcessor(newConfig(ClickHouseFormat.JSONEachRow),
+                    newInput(json, 3), null, ClickHouseColumn.parse("a String, b String"), null);
+            Assert.assertThrows(UncheckedIOException.class, () -> p.records().iterator().next());
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testWrite() throws IOException {
+        List<ClickHouseColumn> columns = ClickHouseColumn.parse("a Int32, b Nullable(String), c Float64, d Bool");
+        ClickHouseValue[] values = new ClickHouseValue[] { ClickHouseIntegerValue.of(-1),
+                ClickHouseStringValue.of("x\"\\\n\u0001你"), ClickHouseDoubleValue.of(Double.NaN),
+                ClickHouseBoolValue.of(true), ClickHouseIntegerValue.of(2), ClickHouseStringValue.ofNull(),
+                ClickHouseDoubleValue.of(0.5D), ClickHouseBoolValue.of(false) };
+        String[][] expected = new String[][] {
+                { ClickHouseFormat.JSONEachRow.name(), "{\"a\":-1,\"b\":\"x\\\"\\\\\\n\\u0001你\",\"c\":\"nan\","
+                        + "\"d\":true}\n{\"a\":2,\"b\":null,\"c\":0.5,\"d\":false}\n" },
+                { ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes.name(),
+                        "[\"a\",\"b\",\"c\",\"d\"]\n[\"Int32\",\"Nullable(String)\",\"Float64\",\"Bool\"]\n"
+                                + "[-1,\"x\\\"\\\\\\n\\u0001你\",\"nan\",true]\n[2,null,0.5,false]\n" },
+                { ClickHouseFormat.JSONStringsEachRow.name(), "{\"a\":\"-1\",\"b\":\"x\\\"\\\\\\n\\u0001你\","
+                        + "\"c\":\"NaN\",\"d\":\"true\"}\n{\"a\":\"2\",\"b\":null,\"c\":\"0.5\",\"d\":\"false\"}\n" } };
+        for (String[] pair : expected) {
+            ClickHouseFormat format = ClickHouseFormat.valueOf(pair[0]);
+            ClickHouseConfig config = newConfig(format);
+            try (ByteArrayOutputStream bas = new ByteArrayOutputStream();
+                    ClickHouseOutputStream out = ClickHouseOutputStream.of(bas, 3)) {
+                ClickHouseJsonProcessor p = new ClickHouseJsonProcessor(config, null, out, columns, null);
+                for (ClickHouseValue v : values) {
+                    p.write(v);
+                }
+                out.flush();
+                String json = new String(bas.toByteArray(), StandardCharsets.UTF_8);
+                Assert.assertEquals(json, pair[1]);
+
+                // read it back
+                p = new ClickHouseJsonProcessor(config, newInput(json, 6), null, columns, null);
+                if (ClickHouseJsonProcessor.hasNames(format)) {
+                    // header is only skipped when columns are read from input
+                    p = new ClickHouseJsonProcessor(config, newInput(json, 6), null, null, null);
+                }
+                List<String[]> rows = readAll(p);
+                Assert.assertEquals(rows.size(), 2);
+                Assert.assertEquals(rows.get(0)[1], "x\"\\\n\u0001你");
+                Assert.assertEquals(rows.get(1)[0], "2");
+                Assert.assertNull(rows.get(1)[1]);
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadNestedTypes() throws IOException {
+        String json = "[\"a\",\"b\",\"c\",\"d\",\"e\",\"f\",\"g\"]\n"
+                + "[\"Array(Int32)\",\"Map(String,Int32)\",\"Tuple(Int8,String)\",\"Float64\","
+                + "\"Array(Array(Nullable(String)))\",\"Tuple(x Int8, y Map(UInt8,Array(Float32)))\",\"Point\"]\n"
+                + "[[1,2],{\"x\":1,\"y\\u0021\":-2},[3,\"s\"],\"nan\",[[\"a\",null],[],[\"]\"]],"
+                + "{\"y\":{\"1\":[\"inf\",0.5]},\"x\":-1},[1.5,-2]]\n"
+                + "[[], {}, [0, \"\"], \"-inf\", [], [2, {}], [0, 0]]\n";
+        for (int chunkSize : new int[] { 1, 5, 1024 }) {
+            ClickHouseJsonProcessor p = new ClickHouseJsonProcessor(
+                    newConfig(ClickHouseFormat.JSONCompactEachRowWithNamesAndTypes), newInput(json, chunkSize), null,
+                    null, null);
+            Iterator<ClickHouseRecord> it = p.records().iterator();
+            ClickHouseRecord r = it.next();
+            Assert.assertEquals(r.getValue(0).asArray(), new Integer[] { 1, 2 });
+            Map<Object, Object> map = new LinkedHashMap<>();
+            map.put("x", 1);
+            map.put("y!", -2);
+            Assert.assertEquals(r.getValue(1).asMap(), map);
+            Assert.assertEquals(r.getValue(2).asTuple(), Arrays.asList((byte) 3, "s"));
+            Assert.assertTrue(Double.isNaN(r.getValue(3).asDouble()));
+            Assert.assertEquals(r.getValue(4).asObject(),
+                    new String[][] { new String[] { "a", null }, new String[0], new String[] { "]" } });
+            List<Object> tuple = r.getValue(5).asTuple();
+            Assert.assertEquals(tuple.get(0), (byte) -1);
+            Map<?, ?> nestedMap = (Map<?, ?>) tuple.get(1);
+            Assert.assertEquals(((Number) nestedMap.keySet().iterator().next()).intValue(), 1);
+            Assert.assertEquals(nestedMap.values().iterator().next(), new float[] { Float.POSITIVE_INFINITY, 0.5F });
+            Assert.assertEquals(r.getValue(6).asObject(), new double[] { 1.5D, -2D });
+
+            r = it.next();
+            Assert.assertEquals(r.getValue(0).asArray().length, 0);
+            Assert.assertEquals(r.getValue(1).asMap(), Collections.emptyMap());
+            Assert.assertEquals(r.getValue(2).asTuple(), Arrays.asList((byte) 0, ""));
+            Assert.assertEquals(r.getValue(3).asDouble(), Double.NEGATIVE_INFINITY);
+            Assert.assertEquals(r.getValue(4).asArray().length, 0);
+            Assert.assertEquals(r.getValue(5).asTuple().get(0), (byte) 2);
+            Assert.assertEquals(r.getValue(5).asTuple().get(1), Collections.emptyMap());
+            Assert.assertEquals(r.getValue(6).asObject(), new double[] { 0D, 0D });
+            Assert.assertFalse(it.hasNext());
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testWriteNestedTypes() throws IOException {
+        List<ClickHouseColumn> columns = ClickHouseColumn.parse("a Array(Int32), b Map(String,Int32), "
+                + "c Tuple(Int8,String), d Float64, e Array(Array(Nullable(String))), f Ring");
+        ClickHouseConfig config = newConfig(ClickHouseFormat.JSONEachRow);
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("x", 1);
+        map.put("\"", 2);
+        ClickHouseValue[] values = new ClickHouseValue[] { ClickHouseIntArrayValue.of(new int[] { 1, 2 }),
+                ClickHouseMapValue.of(map, String.class, Integer.class), ClickHouseTupleValue.of((byte) 1, "s"),
+                ClickHouseDoubleValue.of(Double.POSITIVE_INFINITY),
+                ClickHouseArrayValue.of(new String[][] { new String[] { "a", null }, new String[0] }),
+                ClickHouseGeoRingValue.of(new double[][] { new double[] { 1D, 2D }, new double[] { -0.5D, 0D } }) };
+        try (ByteArrayOutputStream bas = new ByteArrayOutputStream();
+                ClickHouseOutputStream out = ClickHouseOutputStream.of(bas, 3)) {
+            ClickHouseJsonProcessor p = new ClickHouseJsonProcessor(config, null, out, columns, null);
+            for (ClickHouseValue v : values) {
+                p.write(v);
+            }
+            out.flush();
+            String json = new String(bas.toByteArray(), StandardCharsets.UTF_8);
+            Assert.assertEquals(json, "{\"a\":[1,2],\"b\":{\"x\":1,\"\\\"\":2},\"c\":[1,\"s\"],\"d\":\"inf\","
+                    + "\"e\":[[\"a\",null],[]],\"f\":[[1.0,2.0],[-0.5,0.0]]}\n");
+
+            // read it back
+            p = new ClickHouseJsonProcessor(config, newInput(json, 4), null, columns, null);
+            ClickHouseRecord r = p.records().iterator().next();
+            Assert.assertEquals(r.getValue(0).asArray(), new Integer[] { 1, 2 });
+            Assert.assertEquals(r.getValue(1).asMap(), map);
+            Assert.assertEquals(r.getValue(2).asTuple(), Arrays.asList((byte) 1, "s"));
+            Assert.assertEquals(r.getValue(3).asDouble(), Double.POSITIVE_INFINITY);
+            Assert.assertEquals(r.getValue(4).asObject(), values[4].asObject());
+            Assert.assertEquals(r.getValue(5).asObject(), values[5].asObject());
+        }
+    }
+}
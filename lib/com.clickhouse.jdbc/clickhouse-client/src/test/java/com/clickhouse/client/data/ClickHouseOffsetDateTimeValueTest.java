@@ -228,4 +228,29 @@ public class ClickHouseOffsetDateTimeValueTest extends BaseClickHouseValueTest {
         Assert.assertEquals(v.asOffsetDateTime(0), ZonedDateTime.of(dateTime, tz.toZoneId()).toOffsetDateTime());
         Assert.assertEquals(ClickHouseValues.convertToSqlExpression(v.asOffsetDateTime()), v.toSqlExpression());
     }
+
+    @Test(groups = { "unit" })
+    public void testEpochValue() {
+        TimeZone tz = TimeZone.getTimeZone("America/Los_Angeles");
+        ClickHouseOffsetDateTimeValue v = ClickHouseOffsetDateTimeValue.ofNull(6, tz);
+        Assert.assertEquals(v.asEpochMilli(), 0L);
+        Assert.assertEquals(v.asEpochNano(), 0L);
+        Assert.assertNull(v.getValue());
+
+        // 2022-03-13 02:30 does not exist in America/Los_Angeles
+        long epochSecond = ZonedDateTime.of(2022, 3, 13, 10, 30, 0, 0, ZoneOffset.UTC).toEpochSecond();
+        v.updateEpochSecond(epochSecond, 123456000);
+        Assert.assertEquals(v.getValue(),
+                OffsetDateTime.of(2022, 3, 13, 3, 30, 0, 123456000, ZoneOffset.ofHours(-7)));
+        Assert.assertEquals(v.asEpochMilli(), epochSecond * 1000L + 123L);
+        Assert.assertEquals(v.asEpochNano(), epochSecond * 1000000000L + 123456000L);
+        Assert.assertEquals(v.asInstant().getEpochSecond(), epochSecond);
+        Assert.assertEquals(v.asDateTime(), LocalDateTime.of(2022, 3, 13, 3, 30, 0, 123456000));
+
+        v.updateEpochSecond(epochSecond - 3600L, 0);
+        Assert.assertEquals(v.getValue(), OffsetDateTime.of(2022, 3, 13, 1, 30, 0, 0, ZoneOffset.ofHours(-8)));
+        Assert.assertEquals(v.copy(false).getEpochSecond(), epochSecond - 3600L);
+        Assert.assertEquals(ClickHouseOffsetDateTimeValue.ofNull(6, null).update(v).asEpochMilli(),
+                (epochSecond - 3600L) * 1000L);
+    }
 }
@@ -1,7 +1,9 @@
 package com.clickhouse.client.data;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.util.Arrays;
@@ -16,10 +18,16 @@ import org.testng.annotations.Test;
 import com.clickhouse.client.ClickHouseColumn;
 import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseDataProcessor;
+import com.clickhouse.client.ClickHouseDeserializer;
 import com.clickhouse.client.ClickHouseInputStream;
 import com.clickhouse.client.ClickHouseOutputStream;
 import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.config.ClickHouseClientOption;
 import com.clickhouse.client.data.array.ClickHouseByteArrayValue;
+import com.clickhouse.client.data.array.ClickHouseDoubleArrayValue;
+import com.clickhouse.client.data.array.ClickHouseFloatArrayValue;
+import com.clickhouse.client.data.array.ClickHouseIntArrayValue;
+import com.clickhouse.client.data.array.ClickHouseLongArrayValue;
 import com.clickhouse.client.data.array.ClickHouseShortArrayValue;
 
 public class ClickHouseRowBinaryProcessorTest extends BaseDataProcessorTest {
@@ -326,6 +334,82 @@ public class ClickHouseRowBinaryProcessorTest extends BaseDataProcessorTest {
         Assert.assertEquals(l.get(1), UnsignedShort.valueOf((short) 1));
     }
 
+    @Test(groups = { "unit" })
+    public void testLongDecimal() throws IOException {
+        ClickHouseConfig config = new ClickHouseConfig(
+                Collections.singletonMap(ClickHouseClientOption.USE_LONG_DECIMAL, true));
+        ClickHouseColumn column = ClickHouseColumn.of("d", "Decimal64(2)");
+        ClickHouseValue value = deserialize(null, config, column,
+                BinaryStreamUtilsTest.generateInput(0xC7, 0xCF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF));
+        Assert.assertEquals(value.getClass(), ClickHouseDecimalValue.class);
+        Assert.assertEquals(((ClickHouseDecimalValue) value).getUnscaledValue(), -12345L);
+        Assert.assertEquals(value.asBigDecimal(), new BigDecimal("-123.45"));
+
+        column = ClickHouseColumn.of("d", "Nullable(Decimal(9,3))");
+        value = deserialize(null, config, column, BinaryStreamUtilsTest.generateInput(0, 0xD2, 0x04, 0, 0));
+        Assert.assertEquals(value.getClass(), ClickHouseDecimalValue.class);
+        Assert.assertEquals(value.asBigDecimal(), new BigDecimal("1.234"));
+
+        // wider decimals and default config still use BigDecimal
+        Assert.assertEquals(ClickHouseColumn.of("d", "Decimal128(2)").newValue(config).getClass(),
+                ClickHouseBigDecimalValue.class);
+        Assert.assertEquals(ClickHouseColumn.of("d", "Decimal64(2)").newValue(new ClickHouseConfig()).getClass(),
+                ClickHouseBigDecimalValue.class);
+
+        ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        ClickHouseOutputStream out = ClickHouseOutputStream.of(bas);
+        column = ClickHouseColumn.of("d", "Decimal32(2)");
+        value = column.newValue(config).update(new BigDecimal("12.34"));
+        serialize(value, config, column, out);
+        // different scale
+        serialize(ClickHouseDecimalValue.of(5L, 1), config, column, out);
+        serialize(ClickHouseBigDecimalValue.of(new BigDecimal("-0.019")), config, column, out);
+        out.flush();
+        Assert.assertEquals(bas.toByteArray(),
+                BinaryStreamUtilsTest.generateBytes(0xD2, 0x04, 0, 0, 0x32, 0, 0, 0, 0xFF, 0xFF, 0xFF, 0xFF));
+
+        ClickHouseColumn c = column;
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> serialize(ClickHouseDecimalValue.of(1000000000L, 2), config, c,
+                        ClickHouseOutputStream.of(new ByteArrayOutputStream())));
+    }
+
+    @Test(groups = { "unit" })
+    public void testWideInteger() throws IOException {
+        ClickHouseConfig config = new ClickHouseConfig(
+                Collections.singletonMap(ClickHouseClientOption.USE_PRIMITIVES_FOR_WIDE_INTEGERS, true));
+        ClickHouseColumn column = ClickHouseColumn.of("i", "Int128");
+        ClickHouseValue value = deserialize(null, config, column, BinaryStreamUtilsTest.generateInput(0xFE, 0xFF,
+                0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF));
+        Assert.assertEquals(value.getClass(), ClickHouseWideIntegerValue.class);
+        Assert.assertEquals(value.asBigInteger(), BigInteger.valueOf(-2L));
+
+        column = ClickHouseColumn.of("i", "UInt256");
+        value = deserialize(null, config, column, BinaryStreamUtilsTest.generateInput(0xFE, 0xFF, 0xFF, 0xFF, 0xFF,
+                0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF,
+                0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF));
+        Assert.assertEquals(value.getClass(), ClickHouseWideIntegerValue.class);
+        Assert.assertEquals(value.asBigInteger(), BinaryStreamUtils.U_INT256_MAX.subtract(BigInteger.ONE));
+
+        // disabled by default
+        Assert.assertEquals(column.newValue(new ClickHouseConfig()).getClass(), ClickHouseBigIntegerValue.class);
+
+        ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        ClickHouseOutputStream out = ClickHouseOutputStream.of(bas);
+        column = ClickHouseColumn.of("i", "UInt128");
+        serialize(column.newValue(config).update(BinaryStreamUtils.U_INT128_MAX), config, column, out);
+        serialize(ClickHouseWideIntegerValue.ofNull(128, false).update(2L), config, column, out);
+        out.flush();
+        Assert.assertEquals(bas.toByteArray(), BinaryStreamUtilsTest.generateBytes(0xFF, 0xFF, 0xFF, 0xFF, 0xFF,
+                0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0));
+
+        ClickHouseColumn c = column;
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> serialize(ClickHouseWideIntegerValue.ofNull(128, false).update(-1L), config, c,
+                        ClickHouseOutputStream.of(new ByteArrayOutputStream())));
+    }
+
     @Test(groups = { "unit" })
     public void testSerializeArray() throws IOException {
         ClickHouseConfig config = new ClickHouseConfig();
@@ -383,6 +467,64 @@ public class ClickHouseRowBinaryProcessorTest extends BaseDataProcessorTest {
                         0x63, 0, 2, 1, 0));
     }
 
+    @Test(groups = { "unit" })
+    public void testSerializePrimitiveArrays() throws IOException {
+        ClickHouseConfig config = new ClickHouseConfig();
+        int len = 5000;
+        short[] shorts = new short[len];
+        int[] ints = new int[len];
+        long[] longs = new long[len];
+        float[] floats = new float[len];
+        double[] doubles = new double[len];
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        BinaryStreamUtils.writeVarInt(expected, len);
+        for (int i = 0; i < len; i++) {
+            shorts[i] = (short) (i - 100);
+            BinaryStreamUtils.writeInt16(expected, shorts[i]);
+        }
+        BinaryStreamUtils.writeVarInt(expected, len);
+        for (int i = 0; i < len; i++) {
+            ints[i] = i * -65537;
+            BinaryStreamUtils.writeInt32(expected, ints[i]);
+        }
+        BinaryStreamUtils.writeVarInt(expected, len);
+        for (int i = 0; i < len; i++) {
+            longs[i] = i * 4294967311L;
+            BinaryStreamUtils.writeInt64(expected, longs[i]);
+        }
+        BinaryStreamUtils.writeVarInt(expected, len);
+        for (int i = 0; i < len; i++) {
+            floats[i] = i / 3F;
+            BinaryStreamUtils.writeFloat32(expected, floats[i]);
+        }
+        BinaryStreamUtils.writeVarInt(expected, len);
+        for (int i = 0; i < len; i++) {
+            doubles[i] = i / -7D;
+            BinaryStreamUtils.writeFloat64(expected, doubles[i]);
+        }
+
+        String[] types = new String[] { "Array(Int16)", "Array(UInt32)", "Array(Int64)", "Array(Float32)",
+                "Array(Float64)" };
+        Object[] arrays = new Object[] { shorts, ints, longs, floats, doubles };
+        ByteArrayOutputStream bas = new ByteArrayOutputStream();
+        try (ClickHouseOutputStream out = ClickHouseOutputStream.of(bas)) {
+            serialize(ClickHouseShortArrayValue.of(shorts), config, ClickHouseColumn.of("a", types[0]), out);
+            serialize(ClickHouseIntArrayValue.of(ints), config, ClickHouseColumn.of("a", types[1]), out);
+            serialize(ClickHouseLongArrayValue.of(longs), config, ClickHouseColumn.of("a", types[2]), out);
+            serialize(ClickHouseFloatArrayValue.of(floats), config, ClickHouseColumn.of("a", types[3]), out);
+            serialize(ClickHouseDoubleArrayValue.of(doubles), config, ClickHouseColumn.of("a", types[4]), out);
+        }
+        Assert.assertEquals(bas.toByteArray(), expected.toByteArray());
+
+        try (ClickHouseInputStream in = ClickHouseInputStream.of(new ByteArrayInputStream(bas.toByteArray()), 7)) {
+            for (int i = 0; i < types.length; i++) {
+                Assert.assertEquals(deserialize(null, config, ClickHouseColumn.of("a", types[i]), in).asObject(),
+                        arrays[i]);
+            }
+            Assert.assertEquals(in.read(), -1);
+        }
+    }
+
     @Test(groups = { "unit" })
     public void testSerializeBoolean() throws IOException {
         ClickHouseConfig config = new ClickHouseConfig();
@@ -431,6 +573,145 @@ public class ClickHouseRowBinaryProcessorTest extends BaseDataProcessorTest {
         Assert.assertEquals(map.get("1"), UnsignedInteger.ONE);
     }
 
+    @Test(groups = { "unit" })
+    public void testDeserializeLowCardinalityString() throws IOException {
+        ClickHouseConfig config = new ClickHouseConfig(
+                Collections.singletonMap(ClickHouseClientOption.MAX_DICTIONARY_SIZE, 16));
+        ClickHouseColumn column = ClickHouseColumn.of("s", "LowCardinality(String)");
+        ClickHouseInputStream input = BinaryStreamUtilsTest.generateInput(1, 0x61, 1, 0x62, 1, 0x61, 0);
+        ClickHouseDeserializer d = getDataProcessor(config, column, input, null).getDeserializer(config, column);
+        ClickHouseValue value = column.newValue(config);
+        Assert.assertTrue(value instanceof ClickHouseLowCardinalityStringValue);
+        ClickHouseLowCardinalityStringValue v1 = (ClickHouseLowCardinalityStringValue) d.deserialize(value, input);
+        String a = v1.asString();
+        Assert.assertEquals(a, "a");
+        Assert.assertEquals(v1.getDictionaryId(), 0);
+        ClickHouseLowCardinalityStringValue v2 = (ClickHouseLowCardinalityStringValue) d
+                .deserialize(v1.copy(), input);
+        Assert.assertEquals(v2.asString(), "b");
+        Assert.assertEquals(v2.getDictionaryId(), 1);
+        Assert.assertSame(d.deserialize(v2, input).asString(), a);
+        Assert.assertEquals(v2.getDictionaryId(), 0);
+        Assert.assertEquals(d.deserialize(v2, input).asString(), "");
+        Assert.assertEquals(v2.getDictionaryId(), 2);
+        v2.update("x");
+        Assert.assertEquals(v2.getDictionaryId(), -1);
+
+        // dictionary is full
+        config = new ClickHouseConfig(Collections.singletonMap(ClickHouseClientOption.MAX_DICTIONARY_SIZE, 1));
+        input = BinaryStreamUtilsTest.generateInput(1, 0x61, 1, 0x62, 1, 0x62);
+        d = getDataProcessor(config, column, input, null).getDeserializer(config, column);
+        value = column.newValue(config);
+        Assert.assertEquals(((ClickHouseLowCardinalityStringValue) d.deserialize(value, input)).getDictionaryId(), 0);
+        String b = d.deserialize(value, input).asString();
+        Assert.assertEquals(((ClickHouseLowCardinalityStringValue) value).getDictionaryId(), -1);
+        Assert.assertEquals(d.deserialize(value, input).asString(), b);
+        Assert.assertNotSame(value.asString(), b);
+
+        // disabled by default
+        value = deserialize(null, new ClickHouseConfig(), column, BinaryStreamUtilsTest.generateInput(1, 0x61));
+        Assert.assertEquals(value.getClass(), ClickHouseStringValue.class);
+        Assert.assertEquals(value.asString(), "a");
+    }
+
+    @Test(groups = { "unit" })
+    public void testDeserializeMultiDimensionalArray() throws IOException {
+        ClickHouseConfig config = new ClickHouseConfig();
+        // [[1.5], [], [-2.0, 1.5]]
+        ClickHouseValue value = deserialize(null, config,
+                ClickHouseColumn.of("a", "Array(Array(Float32))"),
+                BinaryStreamUtilsTest.generateInput(3, 1, 0, 0, 0xC0, 0x3F, 0, 2, 0, 0, 0, 0xC0, 0, 0, 0xC0,
+                        0x3F));
+        Assert.assertTrue(value instanceof ClickHouseArrayValue);
+        Assert.assertEquals(value.asObject(),
+                new float[][] { new float[] { 1.5F }, new float[0], new float[] { -2F, 1.5F } });
+
+        // [[[1], [2]], [[3]]], inner arrays of same length must not be shared
+        value = deserialize(null, config,
+                ClickHouseColumn.of("a", "Array(Array(Array(Int16)))"),
+                BinaryStreamUtilsTest.generateInput(2, 2, 1, 1, 0, 1, 2, 0, 1, 1, 3, 0));
+        Assert.assertTrue(value instanceof ClickHouseArrayValue);
+        Assert.assertEquals(value.asObject(), new short[][][] {
+                new short[][] { new short[] { 1 }, new short[] { 2 } }, new short[][] { new short[] { 3 } } });
+
+        value = deserialize(null, config,
+                ClickHouseColumn.of("a", "Array(Array(Int64))"), BinaryStreamUtilsTest.generateInput(0));
+        Assert.assertTrue(value.isNullOrEmpty());
+    }
+
+    @Test(groups = { "unit" })
+    public void testDeserializeNullablePrimitiveArray() throws IOException {
+        ClickHouseConfig config = new ClickHouseConfig(
+                Collections.singletonMap(ClickHouseClientOption.USE_PRIMITIVES_IN_NULLABLE_ARRAYS, true));
+        // [1, NULL, -1]
+        ClickHouseValue value = deserialize(null, config,
+                ClickHouseColumn.of("a", "Array(Nullable(Int64))"),
+                BinaryStreamUtilsTest.generateInput(3, 0, 1, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0xFF, 0xFF, 0xFF, 0xFF,
+                        0xFF, 0xFF, 0xFF, 0xFF));
+        Assert.assertTrue(value instanceof ClickHouseLongArrayValue);
+        ClickHouseLongArrayValue longArray = (ClickHouseLongArrayValue) value;
+        Assert.assertEquals(longArray.getValue(), new long[] { 1L, 0L, -1L });
+        Assert.assertFalse(longArray.isNull(0));
+        Assert.assertTrue(longArray.isNull(1));
+        Assert.assertEquals(value.asObject(), new Long[] { 1L, null, -1L });
+        Assert.assertEquals(value.toSqlExpression(), "[1,NULL,-1]");
+
+        // [NULL, 1.5]
+        value = deserialize(null, config,
+                ClickHouseColumn.of("a", "Array(Nullable(Float32))"),
+                BinaryStreamUtilsTest.generateInput(2, 1, 0, 0, 0, 0xC0, 0x3F));
+        Assert.assertTrue(value instanceof ClickHouseFloatArrayValue);
+        Assert.assertEquals(value.asObject(), new Float[] { null, 1.5F });
+
+        // fall back to Object[]
+        value = deserialize(null, config,
+                ClickHouseColumn.of("a", "Array(Nullable(Int8))"),
+                BinaryStreamUtilsTest.generateInput(2, 1, 0, 2));
+        Assert.assertTrue(value instanceof ClickHouseArrayValue);
+        Assert.assertEquals(value.asObject(), new Byte[] { null, (byte) 2 });
+
+        value = deserialize(null, new ClickHouseConfig(),
+                ClickHouseColumn.of("a", "Array(Nullable(Int64))"),
+                BinaryStreamUtilsTest.generateInput(1, 1));
+        Assert.assertTrue(value instanceof ClickHouseArrayValue);
+        Assert.assertEquals(value.asObject(), new Long[] { null });
+    }
+
+    @Test(groups = { "unit" })
+    public void testDeserializeFlatMap() throws IOException {
+        ClickHouseConfig config = new ClickHouseConfig(
+                Collections.singletonMap(ClickHouseClientOption.USE_FLAT_MAP, true));
+        ClickHouseValue value = deserialize(null, config,
+                ClickHouseColumn.of("m", "Map(Int8, Int32)"),
+                BinaryStreamUtilsTest.generateInput(2, 2, 2, 0, 0, 0, 1, 1, 0, 0, 0));
+        Assert.assertTrue(value instanceof ClickHouseFlatMapValue);
+        ClickHouseFlatMapValue flatMap = (ClickHouseFlatMapValue) value;
+        Assert.assertEquals(flatMap.size(), 2);
+        Assert.assertEquals(flatMap.longKeyAt(0), 2L);
+        Assert.assertEquals(flatMap.longValueAt(1), 1L);
+        Assert.assertEquals(flatMap.get((byte) 2), 2);
+        Map<?, ?> map = flatMap.asMap();
+        Assert.assertEquals(map.size(), 2);
+        Assert.assertEquals(map.get((byte) 1), 1);
+
+        value = deserialize(null, config,
+                ClickHouseColumn.of("m", "Map(String, String)"),
+                BinaryStreamUtilsTest.generateInput(2, 1, 0x32, 1, 0x62, 1, 0x31, 0));
+        Assert.assertTrue(value instanceof ClickHouseFlatMapValue);
+        flatMap = (ClickHouseFlatMapValue) value;
+        Assert.assertEquals(flatMap.size(), 2);
+        Assert.assertEquals(flatMap.get("2"), "b");
+        Assert.assertEquals(flatMap.get("1"), "");
+        Assert.assertEquals(flatMap.keyAt(1), "1");
+
+        // unsupported value type
+        value = deserialize(null, config,
+                ClickHouseColumn.of("m", "Map(String, Nullable(Int32))"),
+                BinaryStreamUtilsTest.generateInput(1, 1, 0x31, 1));
+        Assert.assertFalse(value instanceof ClickHouseFlatMapValue);
+        Assert.assertEquals(value.asMap(), Collections.singletonMap("1", null));
+    }
+
     @Test(groups = { "unit" })
     public void testSerializeMap() throws IOException {
         ClickHouseConfig config = new ClickHouseConfig();
@@ -3,9 +3,13 @@ package com.clickhouse.client.data;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -178,6 +182,45 @@ public class ClickHouseTabSeparatedProcessorTest extends BaseDataProcessorTest {
         Assert.assertEquals(count, rows);
     }
 
+    @Test(groups = { "unit" })
+    public void testReadTypedValues() throws IOException {
+        String result = "a\tb\tc\td\te\tf\tg\th\n"
+                + "Int8\tUInt32\tInt64\tFloat64\tDecimal(10,2)\tDate\tDateTime64(3)\tNullable(String)\n"
+                + "-1\t4294967295\t-9\t1.5\t-0.01\t2022-03-04\t2022-03-04 05:06:07.123\ta\\tb\n"
+                + "127\t0\t9\t\\N\t1E+2\t2022-02-30\t2022-03-04 05:06:07\t\\N\n"
+                + "1\t2\t1e0\t4\t5\t2022-03-04\t2022-03-04 05:06:07\t\\N\n";
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseClientOption.FORMAT, ClickHouseFormat.TabSeparatedWithNamesAndTypes);
+        ClickHouseConfig config = new ClickHouseConfig(options, null, null, null);
+        ClickHouseInputStream input = ClickHouseInputStream.of(Collections.singletonList(result), String.class,
+                s -> s.getBytes(), null);
+        ClickHouseTabSeparatedProcessor p = new ClickHouseTabSeparatedProcessor(config, input, null, null, null);
+        Iterator<ClickHouseRecord> it = p.records().iterator();
+        ClickHouseRecord r = it.next();
+        Assert.assertEquals(r.getValue(0).asByte(), (byte) -1);
+        Assert.assertEquals(r.getValue(1).asLong(), 4294967295L);
+        Assert.assertEquals(r.getValue(2).asLong(), -9L);
+        Assert.assertEquals(r.getValue(3).asDouble(), 1.5D);
+        Assert.assertEquals(r.getValue(4).asBigDecimal(), new BigDecimal("-0.01"));
+        Assert.assertEquals(r.getValue(5).asDate(), LocalDate.of(2022, 3, 4));
+        Assert.assertEquals(r.getValue(6).asDateTime(), LocalDateTime.of(2022, 3, 4, 5, 6, 7, 123000000));
+        Assert.assertEquals(r.getValue(7).asString(), "a\tb");
+
+        // fall back to string for anything else
+        r = it.next();
+        Assert.assertEquals(r.getValue(0).asByte(), (byte) 127);
+        Assert.assertEquals(r.getValue(1).asLong(), 0L);
+        Assert.assertEquals(r.getValue(2).asLong(), 9L);
+        Assert.assertTrue(r.getValue(3).isNullOrEmpty());
+        Assert.assertEquals(r.getValue(4).asBigDecimal(), new BigDecimal("1E+2"));
+        Assert.assertEquals(r.getValue(5).asDate(), LocalDate.of(2022, 2, 28));
+        Assert.assertEquals(r.getValue(6).asDateTime(), LocalDateTime.of(2022, 3, 4, 5, 6, 7));
+        Assert.assertNull(r.getValue(7).asString());
+
+        // same as before, exponent is not allowed for Int64
+        Assert.assertThrows(NumberFormatException.class, () -> it.next());
+    }
+
     @Test(groups = { "unit" })
     public void testWriteTsv() throws IOException {
         List<ClickHouseColumn> list = ClickHouseColumn.parse("a String, b Nullable(Int32)");
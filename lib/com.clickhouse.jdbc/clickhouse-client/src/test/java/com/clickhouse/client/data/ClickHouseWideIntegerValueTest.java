@@ -0,0 +1,76 @@
+package com.clickhouse.client.data;
+
+import java.math.BigInteger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseWideIntegerValueTest {
+    @Test(groups = { "unit" })
+    public void testNullValue() {
+        ClickHouseWideIntegerValue v = ClickHouseWideIntegerValue.ofNull(128, false);
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertEquals(v.getBitWidth(), 128);
+        Assert.assertNull(v.asBigInteger());
+        Assert.assertNull(v.asObject());
+        Assert.assertNull(v.asString());
+        Assert.assertNull(v.toHexString());
+        Assert.assertEquals(v.toSqlExpression(), "NULL");
+
+        Assert.assertEquals(v.resetToDefault().asString(), "0");
+        Assert.assertEquals(v.toHexString(), "0");
+        Assert.assertTrue(v.update((BigInteger) null).isNullOrEmpty());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> ClickHouseWideIntegerValue.ofNull(64, false));
+    }
+
+    @Test(groups = { "unit" })
+    public void testConversion() {
+        BigInteger[] values = new BigInteger[] { BigInteger.ZERO, BigInteger.ONE, BigInteger.valueOf(-1L),
+                BigInteger.valueOf(Long.MAX_VALUE), BigInteger.valueOf(Long.MIN_VALUE),
+                BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE),
+                BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE),
+                new BigInteger("1000000000000000000000000000"), new BigInteger("-999999999999999999999999999"),
+                BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE), BigInteger.ONE.shiftLeft(127).negate() };
+        for (int bits : new int[] { 128, 256 }) {
+            for (BigInteger b : values) {
+                ClickHouseWideIntegerValue v = ClickHouseWideIntegerValue.of(b, bits, false);
+                ClickHouseWideIntegerValue c = ClickHouseWideIntegerValue.ofNull(bits, false).update(b.toString());
+                Assert.assertEquals(c.asBigInteger(), b);
+                Assert.assertEquals(c, v);
+                Assert.assertEquals(c.asString(), b.toString());
+                Assert.assertEquals(c.toHexString(), b.toString(16));
+                Assert.assertEquals(c.asLong(), b.longValue());
+                Assert.assertEquals(c.asDouble(), b.doubleValue());
+            }
+        }
+
+        BigInteger max = BinaryStreamUtils.U_INT256_MAX;
+        ClickHouseWideIntegerValue v = ClickHouseWideIntegerValue.of(max, 256, true);
+        Assert.assertEquals(v.asString(), max.toString());
+        Assert.assertEquals(v.toHexString(), max.toString(16));
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(v.getLong(i), -1L);
+        }
+        Assert.assertEquals(v.copy(true).asBigInteger(), max);
+        Assert.assertThrows(IllegalArgumentException.class, () -> v.update(max.add(BigInteger.ONE)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> v.update(BigInteger.valueOf(-1L)));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> ClickHouseWideIntegerValue.of(BigInteger.ONE.shiftLeft(127), 128, false));
+    }
+
+    @Test(groups = { "unit" })
+    public void testCompare() {
+        ClickHouseWideIntegerValue a = ClickHouseWideIntegerValue.ofNull(128, false).update(-1L);
+        ClickHouseWideIntegerValue b = ClickHouseWideIntegerValue.ofNull(128, false).update(1L);
+        ClickHouseWideIntegerValue c = ClickHouseWideIntegerValue.of(BigInteger.ONE.shiftLeft(100), 128, false);
+        Assert.assertTrue(a.compareTo(b) < 0);
+        Assert.assertTrue(c.compareTo(b) > 0);
+        Assert.assertEquals(c.compareTo(c.copy(true)), 0);
+        Assert.assertTrue(a.compareTo(ClickHouseWideIntegerValue.ofNull(128, false)) > 0);
+
+        ClickHouseWideIntegerValue u = ClickHouseWideIntegerValue.of(BinaryStreamUtils.U_INT128_MAX, 128, true);
+        Assert.assertTrue(u.compareTo(ClickHouseWideIntegerValue.ofNull(128, true).update(1L)) > 0);
+        Assert.assertTrue(u.compareTo(a) > 0);
+        Assert.assertTrue(ClickHouseWideIntegerValue.ofNull(256, false).update(1L).compareTo(c) < 0);
+    }
+}
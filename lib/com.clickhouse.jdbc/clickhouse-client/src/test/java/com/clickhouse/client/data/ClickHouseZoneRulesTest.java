@@ -0,0 +1,130 @@
+package com.clickhouse.client.data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Random;
+import java.util.TimeZone;
+
+import com.clickhouse.client.ClickHouseValues;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseZoneRulesTest {
+    private void checkInstant(ClickHouseZoneRules r, ZoneRules rules, long epochSecond) {
+        Assert.assertEquals(r.getOffset(epochSecond),
+                rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds(),
+                r.getZoneId() + "@" + epochSecond);
+        Assert.assertEquals(r.toLocalDateTime(epochSecond, 123),
+                LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, 123), r.getZoneId()));
+    }
+
+    private void checkLocal(ClickHouseZoneRules r, long localSecond) {
+        LocalDateTime dt = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+        Assert.assertEquals(r.toEpochSecond(dt), dt.atZone(r.getZoneId()).toEpochSecond(),
+                r.getZoneId() + "@" + dt);
+    }
+
+    private void checkDate(ClickHouseZoneRules r, long epochDay) {
+        LocalDate d = LocalDate.ofEpochDay(epochDay);
+        Assert.assertEquals(r.getStartOfDay(epochDay), d.atStartOfDay(r.getZoneId()).toEpochSecond(),
+                r.getZoneId() + "@" + d);
+        Assert.assertEquals(r.convertEpochDay(epochDay, ClickHouseZoneRules.UTC),
+                d.atStartOfDay(ClickHouseValues.UTC_ZONE).withZoneSameInstant(r.getZoneId()).toLocalDate()
+                        .toEpochDay());
+        Assert.assertEquals(ClickHouseZoneRules.UTC.convertEpochDay(epochDay, r),
+                d.atStartOfDay(r.getZoneId()).withZoneSameInstant(ClickHouseValues.UTC_ZONE).toLocalDate()
+                        .toEpochDay());
+    }
+
+    @Test(groups = { "unit" })
+    public void testCache() {
+        Assert.assertSame(ClickHouseZoneRules.of((TimeZone) null), ClickHouseZoneRules.UTC);
+        Assert.assertSame(ClickHouseZoneRules.of((ZoneId) null), ClickHouseZoneRules.UTC);
+        Assert.assertSame(ClickHouseZoneRules.of(ClickHouseValues.UTC_TIMEZONE), ClickHouseZoneRules.UTC);
+        Assert.assertSame(ClickHouseZoneRules.of(ClickHouseValues.SYS_TIMEZONE), ClickHouseZoneRules.SYSTEM);
+        Assert.assertSame(ClickHouseZoneRules.of(TimeZone.getTimeZone("Asia/Chongqing")),
+                ClickHouseZoneRules.of(ZoneId.of("Asia/Chongqing")));
+        Assert.assertTrue(ClickHouseZoneRules.UTC.isFixedOffset());
+        Assert.assertFalse(ClickHouseZoneRules.of(ZoneId.of("Europe/Berlin")).isFixedOffset());
+
+        // mutable time zone should not be used as cache key
+        TimeZone tz = TimeZone.getTimeZone("Asia/Chongqing");
+        Assert.assertEquals(ClickHouseZoneRules.of(tz).getZoneId(), ZoneId.of("Asia/Chongqing"));
+        tz.setID("Europe/Berlin");
+        Assert.assertEquals(ClickHouseZoneRules.of(tz).getZoneId(), ZoneId.of("Europe/Berlin"));
+
+        // more zones than cache capacity
+        for (String id : ZoneId.getAvailableZoneIds()) {
+            Assert.assertEquals(ClickHouseZoneRules.of(ZoneId.of(id)).getZoneId(), ZoneId.of(id));
+        }
+        Assert.assertSame(ClickHouseZoneRules.of(ClickHouseValues.UTC_ZONE), ClickHouseZoneRules.UTC);
+        Assert.assertSame(ClickHouseZoneRules.of(ClickHouseValues.SYS_ZONE), ClickHouseZoneRules.SYSTEM);
+    }
+
+    @Test(groups = { "unit" })
+    public void testOutOfRange() {
+        ClickHouseZoneRules r = ClickHouseZoneRules.of(ZoneId.of("America/Los_Angeles"));
+        ZoneRules rules = r.getZoneId().getRules();
+        for (long epochSecond : new long[] { ClickHouseZoneRules.MIN_EPOCH_SECOND - 1L,
+                ClickHouseZoneRules.MIN_EPOCH_SECOND, ClickHouseZoneRules.MAX_EPOCH_SECOND - 1L,
+                ClickHouseZoneRules.MAX_EPOCH_SECOND, -5000000000000L, 5000000000000L }) {
+            checkInstant(r, rules, epochSecond);
+            checkLocal(r, epochSecond);
+            checkDate(r, Math.floorDiv(epochSecond, 86400L));
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testAllZones() {
+        final long minSecond = BinaryStreamUtils.DATETIME64_MIN;
+        final long maxSecond = BinaryStreamUtils.DATETIME64_MAX;
+        final Random random = new Random(20221018L);
+
+        for (String id : ZoneId.getAvailableZoneIds()) {
+            ClickHouseZoneRules r = ClickHouseZoneRules.of(ZoneId.of(id));
+            ZoneRules rules = r.getZoneId().getRules();
+
+            // around each transition
+            ZoneOffsetTransition t = rules.nextTransition(Instant.ofEpochSecond(minSecond));
+            while (t != null && t.toEpochSecond() < maxSecond) {
+                long epochSecond = t.toEpochSecond();
+                for (long s = epochSecond - 1L; s <= epochSecond + 1L; s++) {
+                    checkInstant(r, rules, s);
+                }
+                long local = t.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC);
+                long after = t.getDateTimeAfter().toEpochSecond(ZoneOffset.UTC);
+                for (long s : new long[] { local - 1L, local, local + 1L, after - 1L, after, after + 1L,
+                        (local + after) / 2 }) {
+                    checkLocal(r, s);
+                }
+                long day = Math.floorDiv(local, 86400L);
+                checkDate(r, day);
+                checkDate(r, day + 1L);
+                t = rules.nextTransition(t.getInstant());
+            }
+
+            // random instants, access pattern is not sequential on purpose
+            for (int i = 0; i < 500; i++) {
+                long s = minSecond + (long) (random.nextDouble() * (maxSecond - minSecond));
+                checkInstant(r, rules, s);
+                checkLocal(r, s);
+                checkDate(r, Math.floorDiv(s, 86400L));
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testSequentialAccess() {
+        ClickHouseZoneRules r = ClickHouseZoneRules.of(ZoneId.of("Europe/Moscow"));
+        ZoneRules rules = r.getZoneId().getRules();
+        for (long s = 0L; s < BinaryStreamUtils.U_INT32_MAX; s += 7199L) {
+            checkInstant(r, rules, s);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.clickhouse.client.data.array;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.BitSet;
 
 import org.junit.Assert;
 import org.testng.annotations.Test;
 
+import com.clickhouse.client.data.ClickHouseArrayValue;
+import com.clickhouse.client.data.ClickHouseLongValue;
+
 public class ClickHouseLongArrayValueTest {
     @Test(groups = { "unit" })
     public void testConvertToBigInteger() {
@@ -22,4 +27,44 @@ public class ClickHouseLongArrayValueTest {
         v.update(new BigInteger[] { BigInteger.ONE, new BigInteger("9223372036854775808") });
         Assert.assertArrayEquals(v.getValue(), new long[] { 1L, -9223372036854775808L });
     }
+
+    @Test(groups = { "unit" })
+    public void testNullableArray() {
+        ClickHouseLongArrayValue v = ClickHouseLongArrayValue.ofNullableEmpty();
+        Assert.assertTrue(v.isNullOrEmpty());
+        Assert.assertArrayEquals((Object[]) v.asObject(), new Long[0]);
+
+        BitSet nulls = new BitSet();
+        nulls.set(1);
+        Assert.assertSame(ClickHouseLongArrayValue.ofNullable(v, new long[] { 1L, 0L, 3L }, nulls), v);
+        Assert.assertTrue(v.isNull(1));
+        Assert.assertFalse(v.isNull(2));
+        Assert.assertArrayEquals((Object[]) v.asObject(), new Long[] { 1L, null, 3L });
+        Assert.assertArrayEquals(v.asArray(Long.class), new Long[] { 1L, null, 3L });
+        Assert.assertEquals(v.asString(), "[1, null, 3]");
+        Assert.assertEquals(v.toSqlExpression(), "[1,NULL,3]");
+        Assert.assertTrue(v.getValue(1, ClickHouseLongValue.of(5L)).isNullOrEmpty());
+        Assert.assertEquals(v.getValue(2, ClickHouseLongValue.ofNull()).asLong(), 3L);
+
+        ClickHouseLongArrayValue copy = v.copy(true);
+        Assert.assertEquals(copy, v);
+        v.setValue(1, ClickHouseLongValue.of(2L));
+        v.setValue(0, ClickHouseLongValue.ofNull());
+        Assert.assertArrayEquals((Object[]) v.asObject(), new Long[] { null, 2L, 3L });
+        Assert.assertArrayEquals((Object[]) copy.asObject(), new Long[] { 1L, null, 3L });
+        Assert.assertNotEquals(copy, v);
+
+        v.update(Arrays.asList(null, 5L));
+        Assert.assertArrayEquals((Object[]) v.asObject(), new Long[] { null, 5L });
+        v.update("[6,NULL]");
+        Assert.assertArrayEquals((Object[]) v.asObject(), new Long[] { 6L, null });
+        v.update(new long[] { 7L });
+        Assert.assertFalse(v.isNull(0));
+        v.update(copy);
+        Assert.assertArrayEquals((Object[]) v.asObject(), new Long[] { 1L, null, 3L });
+        v.update(ClickHouseArrayValue.of(new Long[] { null, 8L }));
+        Assert.assertArrayEquals((Object[]) v.asObject(), new Long[] { null, 8L });
+        v.allocate(2);
+        Assert.assertFalse(v.isNull(0));
+    }
 }
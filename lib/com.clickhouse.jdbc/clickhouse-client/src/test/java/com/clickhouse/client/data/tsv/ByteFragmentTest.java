@@ -0,0 +1,82 @@
+package com.clickhouse.client.data.tsv;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.clickhouse.client.ClickHouseValues;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ByteFragmentTest {
+    @Test(groups = { "unit" })
+    public void testAsString() {
+        Assert.assertNull(ByteFragment.fromString("\\N").asString(true, new byte[2]));
+        Assert.assertEquals(ByteFragment.fromString("\\N").asString(false, null), "\\N");
+        Assert.assertEquals(ByteFragment.fromString("a\\tb").asString(true, null), "a\tb");
+        Assert.assertEquals(ByteFragment.fromString("a\\tb").asString(true, new byte[1]), "a\tb");
+        byte[] buffer = new byte[10];
+        Assert.assertEquals(ByteFragment.fromString("a\\tb\\\\").asString(true, buffer), "a\tb\\");
+        Assert.assertEquals(ByteFragment.fromString("你好").asString(true, buffer), "你好");
+        Assert.assertEquals(ByteFragment.fromString("x\\ny").unescape(buffer), 3);
+    }
+
+    @Test(groups = { "unit" })
+    public void testAsNumber() {
+        for (String s : new String[] { "0", "-0", "+1", "-1", "123456789012345678", "-9223372036854775808",
+                "9223372036854775807" }) {
+            Assert.assertEquals(ByteFragment.fromString(s).asLong(), Long.parseLong(s));
+        }
+        for (String s : new String[] { "", "-", "1.0", "1a", "9223372036854775808" }) {
+            Assert.assertThrows(NumberFormatException.class, () -> ByteFragment.fromString(s).asLong());
+        }
+        Assert.assertEquals(ByteFragment.fromString("18446744073709551615").asUnsignedLong(), -1L);
+        Assert.assertEquals(ByteFragment.fromString("+7").asUnsignedLong(), 7L);
+        Assert.assertThrows(NumberFormatException.class, () -> ByteFragment.fromString("-1").asUnsignedLong());
+
+        for (String s : new String[] { "0", "-0", "0.0", "-0.0", "1.", ".5", "0.1", "-123.456", "3.14159265358979",
+                "1.7976931348623157E308", "12345678901234567890", "1e-3", "inf", "-inf", "nan", "0.000000000000000000001",
+                "9007199254740993" }) {
+            if ("nan".equals(s) || s.endsWith("inf")) {
+                String str = s.replace("nan", "NaN").replace("inf", "Infinity");
+                Assert.assertEquals(ByteFragment.fromString(s).asDouble(), Double.parseDouble(str), s);
+                Assert.assertEquals(ByteFragment.fromString(s).asFloat(), Float.parseFloat(str), s);
+            } else {
+                Assert.assertEquals(ByteFragment.fromString(s).asDouble(), Double.parseDouble(s), s);
+                Assert.assertEquals(ByteFragment.fromString(s).asFloat(), Float.parseFloat(s), s);
+            }
+        }
+        Assert.assertTrue(Double.isNaN(ByteFragment.fromString("-nan").asDouble()));
+        Assert.assertEquals(ByteFragment.fromString("+Infinity").asDouble(), Double.POSITIVE_INFINITY);
+        Assert.assertEquals(ByteFragment.fromString("NaN").asFloat(), Float.NaN);
+        Assert.assertThrows(NumberFormatException.class, () -> ByteFragment.fromString("nand").asDouble());
+
+        for (String s : new String[] { "0", "-0", "1.50", "-0.001", "+12.3", "123456789.123456789",
+                "1234567890123456789.5", "1E+3" }) {
+            BigDecimal d = ByteFragment.fromString(s).asBigDecimal();
+            Assert.assertEquals(d, new BigDecimal(s));
+            Assert.assertEquals(d.scale(), new BigDecimal(s).scale());
+        }
+        Assert.assertThrows(NumberFormatException.class, () -> ByteFragment.fromString("1.2.3").asBigDecimal());
+    }
+
+    @Test(groups = { "unit" })
+    public void testAsDateTime() {
+        Assert.assertEquals(ByteFragment.fromString("2022-03-04").asDate(), LocalDate.of(2022, 3, 4));
+        Assert.assertEquals(ByteFragment.fromString("2022-02-30").asDate(),
+                LocalDate.parse("2022-02-30", ClickHouseValues.DATE_FORMATTER));
+        Assert.assertThrows(DateTimeException.class, () -> ByteFragment.fromString("2022-3-4").asDate());
+
+        Assert.assertEquals(ByteFragment.fromString("2022-03-04 05:06:07").asDateTime(),
+                LocalDateTime.of(2022, 3, 4, 5, 6, 7));
+        Assert.assertEquals(ByteFragment.fromString("2022-03-04 05:06:07.1").asDateTime(),
+                LocalDateTime.of(2022, 3, 4, 5, 6, 7, 100000000));
+        Assert.assertEquals(ByteFragment.fromString("2022-03-04 05:06:07.123456789").asDateTime(),
+                LocalDateTime.of(2022, 3, 4, 5, 6, 7, 123456789));
+        Assert.assertThrows(DateTimeException.class,
+                () -> ByteFragment.fromString("2022-03-04 25:06:07").asDateTime());
+        Assert.assertThrows(DateTimeException.class, () -> ByteFragment.fromString("2022-03-04").asDateTime());
+    }
+}
@@ -0,0 +1,180 @@
+package com.clickhouse.client.data.tsv;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ByteScannerTest {
+    private static int indexOf(byte[] array, byte target, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfAny(byte[] array, byte target1, byte target2, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (array[i] == target1 || array[i] == target2) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int count(byte[] array, byte target, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (array[i] == target) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test(groups = { "unit" })
+    public void testZeroBytes() {
+        Assert.assertEquals(ByteScanner.zeroBytes(-1L), 0L);
+        Assert.assertEquals(ByteScanner.zeroBytes(0L), 0x8080808080808080L);
+        // 0x0100 makes the classic approach report a false positive at the second byte
+        Assert.assertEquals(ByteScanner.zeroBytes(0xFFFFFFFFFFFF0100L), 0x80L);
+        Assert.assertEquals(ByteScanner.zeroBytes(0x0080FF7F01000000L), 0x8000000000808080L);
+        Assert.assertEquals(ByteScanner.broadcast((byte) 0x80), 0x8080808080808080L);
+    }
+
+    @Test(groups = { "unit" })
+    public void testSearch() {
+        byte[] bytes = new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, -1,
+                -128, 127, 9, 10 };
+        for (int start = 0; start <= bytes.length; start++) {
+            for (int end = start; end <= bytes.length; end++) {
+                for (int b = Byte.MIN_VALUE; b <= Byte.MAX_VALUE; b++) {
+                    Assert.assertEquals(ByteScanner.indexOf(bytes, (byte) b, start, end),
+                            indexOf(bytes, (byte) b, start, end));
+                    Assert.assertEquals(ByteScanner.count(bytes, (byte) b, start, end),
+                            count(bytes, (byte) b, start, end));
+                    Assert.assertEquals(ByteScanner.indexOfAny(bytes, (byte) b, (byte) 92, start, end),
+                            indexOfAny(bytes, (byte) b, (byte) 92, start, end));
+                    int[] indexes = new int[end - start];
+                    int n = ByteScanner.indexesOf(bytes, (byte) b, start, end, indexes);
+                    Assert.assertEquals(n, count(bytes, (byte) b, start, end));
+                    for (int i = 0, from = start; i < n; from = indexes[i++] + 1) {
+                        Assert.assertEquals(indexes[i], indexOf(bytes, (byte) b, from, end));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testRandomSearch() {
+        Random random = new Random(20221019L);
+        byte[] bytes = new byte[4099];
+        for (int k = 0; k < 200; k++) {
+            // mostly printable characters along with a few separators, like TSV
+            for (int i = 0; i < bytes.length; i++) {
+                int v = random.nextInt(100);
+                bytes[i] = v < 5 ? (byte) '\t' : (v < 6 ? (byte) '\n' : (v < 7 ? (byte) '\\' : (byte) (32 + v)));
+            }
+            if (k % 2 == 1) {
+                random.nextBytes(bytes);
+            }
+            int start = random.nextInt(64);
+            int end = bytes.length - random.nextInt(64);
+            for (byte b : new byte[] { '\t', '\n', '\\', 0, -1, (byte) 0x80 }) {
+                for (int from = start; from >= 0 && from < end; from = indexOf(bytes, b, from, end)) {
+                    Assert.assertEquals(ByteScanner.indexOf(bytes, b, from, end), indexOf(bytes, b, from, end));
+                    from = from + 1;
+                }
+                Assert.assertEquals(ByteScanner.count(bytes, b, start, end), count(bytes, b, start, end));
+                Assert.assertEquals(ByteScanner.indexOfAny(bytes, b, (byte) '\\', start, end),
+                        indexOfAny(bytes, b, (byte) '\\', start, end));
+                // stops when the array is full
+                int[] indexes = new int[3];
+                int n = ByteScanner.indexesOf(bytes, b, start, end, indexes);
+                Assert.assertEquals(n, Math.min(indexes.length, count(bytes, b, start, end)));
+                for (int i = 0, from = start; i < n; from = indexes[i++] + 1) {
+                    Assert.assertEquals(indexes[i], indexOf(bytes, b, from, end));
+                }
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testSplit() throws IOException {
+        Random random = new Random(1019L);
+        for (String str : new String[] { "", "\t", "a", "a\t", "\ta", "\t\t", "a\tb", "a\t\tb\t", "123\t\\N\t\\t" }) {
+            ByteFragment f = ByteFragment.fromString(str);
+            Assert.assertEquals(toStrings(f.split((byte) '\t')), toStrings(split(f, (byte) '\t')), str);
+        }
+        for (int k = 0; k < 100; k++) {
+            byte[] bytes = new byte[random.nextInt(200)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = random.nextInt(8) == 0 ? (byte) '\t' : (byte) ('a' + random.nextInt(26));
+            }
+            ByteFragment f = new ByteFragment(bytes, 0, bytes.length);
+            Assert.assertEquals(toStrings(f.split((byte) '\t')), toStrings(split(f, (byte) '\t')));
+        }
+
+        // fragment in the middle of a larger array
+        ByteFragment f = new ByteFragment("x\ta\tb\ty".getBytes(), 1, 5);
+        Assert.assertEquals(toStrings(f.split((byte) '\t')), Arrays.asList("", "a", "b", ""));
+    }
+
+    @Test(groups = { "unit" })
+    public void testStreamSplitter() throws IOException {
+        Random random = new Random(10L);
+        byte[] bytes = new byte[100000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = random.nextInt(50) == 0 ? (byte) '\n' : (byte) ('a' + random.nextInt(26));
+        }
+        List<String> expected = new ArrayList<>();
+        for (int i = 0, from = 0; i <= bytes.length; i++) {
+            if (i == bytes.length || bytes[i] == '\n') {
+                if (i > from || i < bytes.length) {
+                    expected.add(new String(bytes, from, i - from));
+                }
+                from = i + 1;
+            }
+        }
+        // small buffer to make sure it's shifted and resized many times
+        for (int buflen : new int[] { 1, 7, 64, 65536 }) {
+            StreamSplitter ss = new StreamSplitter(new ByteArrayInputStream(bytes), (byte) '\n', buflen);
+            List<String> list = new ArrayList<>();
+            ByteFragment f;
+            while ((f = ss.next()) != null) {
+                list.add(f.asString());
+            }
+            Assert.assertEquals(list, expected);
+        }
+    }
+
+    private static ByteFragment[] split(ByteFragment f, byte sep) throws IOException {
+        // how it used to be
+        StreamSplitter ss = new StreamSplitter(f, sep);
+        List<ByteFragment> list = new ArrayList<>();
+        ByteFragment next;
+        while ((next = ss.next()) != null) {
+            list.add(next);
+        }
+        if (list.size() == count(f.buf, sep, f.start, f.start + f.len)) {
+            list.add(ByteFragment.fromString(""));
+        }
+        return list.toArray(new ByteFragment[0]);
+    }
+
+    private static List<String> toStrings(ByteFragment[] fragments) {
+        List<String> list = new ArrayList<>(fragments.length);
+        for (ByteFragment f : fragments) {
+            list.add(f.asString());
+        }
+        return list;
+    }
+}
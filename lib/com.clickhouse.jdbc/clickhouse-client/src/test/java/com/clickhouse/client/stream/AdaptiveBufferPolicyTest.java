@@ -0,0 +1,135 @@
+package com.clickhouse.client.stream;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseDataStreamFactory;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHousePipedOutputStream;
+import com.clickhouse.client.config.ClickHouseClientOption;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class AdaptiveBufferPolicyTest {
+    @Test(groups = { "unit" })
+    public void testNormalize() {
+        Assert.assertEquals(AdaptiveBufferPolicy.normalize(0L, 1024, 65536), 1024);
+        Assert.assertEquals(AdaptiveBufferPolicy.normalize(1025L, 1024, 65536), 2048);
+        Assert.assertEquals(AdaptiveBufferPolicy.normalize(4096L, 1024, 65536), 4096);
+        Assert.assertEquals(AdaptiveBufferPolicy.normalize(40000L, 1024, 65536), 65536);
+        Assert.assertEquals(AdaptiveBufferPolicy.normalize(40000L, 1024, 50000), 50000);
+        Assert.assertEquals(AdaptiveBufferPolicy.normalize(Long.MAX_VALUE, 1024, 65536), 65536);
+    }
+
+    @Test(groups = { "unit" })
+    public void testOf() {
+        Assert.assertNull(AdaptiveBufferPolicy.of(null));
+        Assert.assertNull(AdaptiveBufferPolicy.of(new ClickHouseConfig()));
+
+        AdaptiveBufferPolicy policy = AdaptiveBufferPolicy.of(
+                new ClickHouseConfig(Collections.singletonMap(ClickHouseClientOption.ADAPTIVE_BUFFER, true)));
+        Assert.assertNotNull(policy);
+        Assert.assertEquals(policy.getBufferSize(), (int) ClickHouseClientOption.MIN_BUFFER_SIZE.getDefaultValue());
+        Assert.assertEquals(policy.getQueueCapacity(), 1);
+    }
+
+    @Test(groups = { "unit" })
+    public void testQueueCapacity() {
+        AdaptiveBufferPolicy policy = new AdaptiveBufferPolicy(1024, 65536, 3, 2, 10);
+        Assert.assertEquals(policy.getQueueCapacity(), 1);
+        Assert.assertTrue(policy.ensureCapacity(0));
+        Assert.assertFalse(policy.ensureCapacity(1));
+        Assert.assertTrue(policy.ensureCapacity(1));
+        Assert.assertEquals(policy.getQueueCapacity(), 2);
+        Assert.assertFalse(policy.ensureCapacity(2));
+        Assert.assertTrue(policy.ensureCapacity(2));
+        Assert.assertEquals(policy.getQueueCapacity(), 3);
+        // bounded by max queue length
+        for (int i = 0; i < 5; i++) {
+            Assert.assertFalse(policy.ensureCapacity(3));
+        }
+        Assert.assertEquals(policy.getQueueCapacity(), 3);
+        Assert.assertEquals(policy.getQueueResizes(), 2);
+
+        // consumer catches up
+        Assert.assertTrue(policy.ensureCapacity(0));
+        Assert.assertTrue(policy.ensureCapacity(0));
+        Assert.assertEquals(policy.getQueueCapacity(), 2);
+        Assert.assertTrue(policy.ensureCapacity(1));
+        Assert.assertTrue(policy.ensureCapacity(0));
+        Assert.assertTrue(policy.ensureCapacity(0));
+        Assert.assertEquals(policy.getQueueCapacity(), 1);
+        Assert.assertTrue(policy.ensureCapacity(0));
+        Assert.assertTrue(policy.ensureCapacity(0));
+        Assert.assertEquals(policy.getQueueCapacity(), 1);
+        Assert.assertEquals(policy.getQueueResizes(), 4);
+    }
+
+    @Test(groups = { "unit" })
+    public void testBufferSize() {
+        AdaptiveBufferPolicy policy = new AdaptiveBufferPolicy(1024, 1024 * 1024, 0, 0, 10);
+        Assert.assertEquals(policy.getBufferSize(), 1024);
+
+        long ms = TimeUnit.MILLISECONDS.toNanos(1L);
+        long t = System.nanoTime() + TimeUnit.SECONDS.toNanos(1L);
+        // nothing written yet
+        Assert.assertEquals(policy.update(0, false, t), 1024);
+        Assert.assertEquals(policy.getBufferResizes(), 0);
+
+        // no decision within sampling period
+        Assert.assertEquals(policy.update(409600, false, t + 20 * ms), 1024);
+        // 10MB/s means 100KB in 10ms
+        Assert.assertEquals(policy.update(0, false, t + 40 * ms), 131072);
+        Assert.assertEquals(policy.getThroughput(), 10240000L);
+        Assert.assertEquals(policy.getBufferResizes(), 1);
+
+        // do not grow when consumer is behind
+        Assert.assertEquals(policy.update(4096000, true, t + 80 * ms), 131072);
+        Assert.assertEquals(policy.getBufferResizes(), 1);
+        Assert.assertEquals(policy.getWaits(), 1);
+        Assert.assertEquals(policy.update(4096000, false, t + 120 * ms), 1024 * 1024);
+        Assert.assertEquals(policy.getBufferResizes(), 2);
+
+        // shrink when throughput drops
+        Assert.assertEquals(policy.update(1000, false, t + 160 * ms), 1024);
+        Assert.assertEquals(policy.getBufferResizes(), 3);
+        Assert.assertEquals(policy.getTotalBytes(), 409600L + 4096000L * 2 + 1000L);
+        Assert.assertTrue(policy.toString().startsWith("AdaptiveBufferPolicy(bufferSize=1024"));
+    }
+
+    @Test(groups = { "unit" })
+    public void testPipedStreams() throws IOException {
+        byte[] bytes = new byte[300000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        for (ClickHousePipedOutputStream out : new ClickHousePipedOutputStream[] {
+                new BlockingPipedOutputStream(0, 0, 0, new AdaptiveBufferPolicy(1, 65536, 0, 0, 1), null),
+                new NonBlockingPipedOutputStream(AdaptiveQueue.create(null), 0, 4, 0, null,
+                        new AdaptiveBufferPolicy(1, 65536, 0, 0, 1), null) }) {
+            AdaptiveBufferPolicy policy = out.getAdaptiveBufferPolicy().orElse(null);
+            Assert.assertNotNull(policy);
+            try (ClickHousePipedOutputStream o = out) {
+                for (int i = 0; i < bytes.length; i += 3) {
+                    o.writeBytes(bytes, i, Math.min(3, bytes.length - i));
+                }
+            }
+            Assert.assertEquals(policy.getTotalBytes(), bytes.length);
+            try (ClickHouseInputStream in = out.getInputStream()) {
+                Assert.assertEquals(in.readBytes(bytes.length), bytes);
+                Assert.assertEquals(in.read(), -1);
+            }
+        }
+
+        ClickHouseConfig config = new ClickHouseConfig(
+                Collections.singletonMap(ClickHouseClientOption.ADAPTIVE_BUFFER, true));
+        Assert.assertTrue(ClickHouseDataStreamFactory.getInstance().createPipedOutputStream(config, null)
+                .getAdaptiveBufferPolicy().isPresent());
+        Assert.assertFalse(ClickHouseDataStreamFactory.getInstance()
+                .createPipedOutputStream(new ClickHouseConfig(), null).getAdaptiveBufferPolicy().isPresent());
+    }
+}
@@ -283,4 +283,145 @@ public class BlockingPipedOutputStreamTest {
             }
         }
     }
+
+    @Test(groups = { "unit" })
+    public void testTransferByteBuffer() throws IOException {
+        BlockingPipedOutputStream stream = new BlockingPipedOutputStream(4, 0, 1, null);
+        ByteBuffer direct = ByteBuffer.allocateDirect(5).put(new byte[] { 1, 2, 3, 4, 5 });
+        ((Buffer) direct).flip();
+        ByteBuffer readOnly = ByteBuffer.wrap(new byte[] { 6, 7, 8 }).asReadOnlyBuffer();
+        ByteBuffer heap = ByteBuffer.wrap(new byte[] { 0, 9, 10, 11 }, 1, 3);
+
+        stream.write(0);
+        stream.transferBytes(direct, 2);
+        Assert.assertEquals(direct.position(), 2);
+        stream.transferBytes(direct, 3);
+        stream.transferBytes(readOnly, readOnly.remaining());
+        stream.transferBytes(heap, 2);
+        Assert.assertEquals(heap.position(), 3);
+        Assert.assertThrows(IllegalArgumentException.class, () -> stream.transferBytes(heap, 2));
+        stream.close();
+
+        // direct buffer is handed over without copying
+        Assert.assertEquals(stream.queue.size(), 6);
+        Assert.assertTrue(Arrays.asList(stream.queue.toArray(new ByteBuffer[0])).get(1).isDirect());
+        try (InputStream in = stream.getInputStream()) {
+            for (int i = 0; i <= 10; i++) {
+                Assert.assertEquals(in.read(), i);
+            }
+            Assert.assertEquals(in.read(), -1);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testSpillToDisk() throws IOException {
+        // queue can hold two buffers, the rest goes to disk
+        BlockingPipedOutputStream stream = new BlockingPipedOutputStream(4, 2, 100, null, 0L, null);
+        Assert.assertNotNull(stream.spill);
+        for (int i = 0; i < 100; i++) {
+            stream.write(i);
+        }
+        stream.close();
+        Assert.assertEquals(stream.queue.size(), 2);
+        Assert.assertEquals(stream.spill.getSize(), 92L);
+        Assert.assertEquals(stream.spill.getSpilledBytes(), 92L);
+
+        try (InputStream in = stream.getInputStream()) {
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(in.read(), i);
+            }
+            Assert.assertEquals(in.read(), -1);
+        }
+        Assert.assertEquals(stream.spill.getSize(), 0L);
+        Assert.assertEquals(stream.queue.size(), 0);
+
+        // disabled when max spill size is negative or queue is unbounded
+        Assert.assertNull(new BlockingPipedOutputStream(4, 2, 100, null, -1L, null).spill);
+        Assert.assertNull(new BlockingPipedOutputStream(4, 0, 100, null, 0L, null).spill);
+    }
+
+    @Test(groups = { "unit" })
+    public void testSpillLimit() throws IOException {
+        BlockingPipedOutputStream stream = new BlockingPipedOutputStream(4, 1, 100, null, 8L, null);
+        for (int i = 1; i <= 12; i++) {
+            stream.write(i);
+        }
+        Assert.assertEquals(stream.queue.size(), 1);
+        Assert.assertEquals(stream.spill.getSize(), 8L);
+
+        // space released by the reader is reused
+        InputStream in = stream.getInputStream();
+        for (int i = 1; i <= 5; i++) {
+            Assert.assertEquals(in.read(), i);
+        }
+        Assert.assertEquals(stream.spill.getSize(), 4L);
+        for (int i = 13; i <= 16; i++) {
+            stream.write(i);
+        }
+        stream.close();
+        Assert.assertEquals(stream.spill.getSize(), 8L);
+        for (int i = 6; i <= 16; i++) {
+            Assert.assertEquals(in.read(), i);
+        }
+        Assert.assertEquals(in.read(), -1);
+        in.close();
+
+        // writer waits for the reader once the file is full
+        BlockingPipedOutputStream s = new BlockingPipedOutputStream(4, 1, 100, null, 8L, null);
+        Assert.assertThrows(IOException.class, () -> {
+            for (int i = 1; i <= 16; i++) {
+                s.write(i);
+            }
+        });
+        Assert.assertEquals(s.spill.getSize(), 8L);
+        s.getInputStream().close();
+        Assert.assertEquals(s.spill.getSize(), 0L);
+
+        // writer fails fast once the reader has been closed
+        stream = new BlockingPipedOutputStream(4, 1, 0, null, 0L, null);
+        for (int i = 1; i <= 8; i++) {
+            stream.write(i);
+        }
+        Assert.assertEquals(stream.spill.getSize(), 4L);
+        stream.getInputStream().close();
+        Assert.assertEquals(stream.spill.getSize(), 0L);
+        try {
+            for (int i = 9; i <= 12; i++) {
+                stream.write(i);
+            }
+            Assert.fail("Write should fail");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().indexOf("closed") > 0);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testPipedStreamWithSpill() throws InterruptedException, IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int bufferSize : new int[] { 1, 3, 8 }) {
+                BlockingPipedOutputStream stream = new BlockingPipedOutputStream(bufferSize, 2, 10000, null, 64L,
+                        null);
+                final int count = 10000;
+                executor.execute(() -> {
+                    try {
+                        for (int i = 0; i < count; i++) {
+                            stream.write(i % 127);
+                        }
+                        stream.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                try (InputStream in = stream.getInputStream()) {
+                    for (int i = 0; i < count; i++) {
+                        Assert.assertEquals(in.read(), i % 127);
+                    }
+                    Assert.assertEquals(in.read(), -1);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -10,6 +10,7 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.net.URL;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -22,6 +23,7 @@ import java.util.function.BiFunction;
 import com.clickhouse.client.ClickHouseByteBuffer;
 import com.clickhouse.client.ClickHouseInputStream;
 import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.data.BinaryStreamUtils;
 
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -117,6 +119,15 @@ public class InputStreamImplTest {
         }
     }
 
+    private ByteBuffer generateDirectBuffer(int... bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        for (int b : bytes) {
+            buffer.put((byte) b);
+        }
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
     private URL generateTempUrl(int... bytes) {
         try {
             return generateTempFile(bytes).toURI().toURL();
@@ -153,6 +164,7 @@ public class InputStreamImplTest {
                 { ClickHouseInputStream.of(null, ByteBuffer.wrap(new byte[0])) },
                 { ClickHouseInputStream.of(ByteBuffer.wrap(new byte[0]), ByteBuffer.wrap(new byte[0])) },
                 { ClickHouseInputStream.of((ByteBuffer) null, (ByteBuffer) null) },
+                { ClickHouseInputStream.of(ByteBuffer.allocateDirect(0), ByteBuffer.allocate(0).asReadOnlyBuffer()) },
                 // files
                 { ClickHouseInputStream.of(new File[0]) },
                 { ClickHouseInputStream.of(generateTempFile()) },
@@ -232,6 +244,12 @@ public class InputStreamImplTest {
                         .of(new ByteBuffer[] { ByteBuffer.wrap(new byte[] { 0x64, 0x65, 0x66 }, 1, 1),
                                 ByteBuffer.wrap(new byte[] { 0x64, 0x65, 0x66, 0x67 }, 2, 2),
                                 ByteBuffer.wrap(new byte[] { 0x68, 0x69, 0x70, 0x71 }, 0, 3) }) },
+                { ClickHouseInputStream
+                        .of(new ByteBuffer[] { ByteBuffer
+                                .wrap(new byte[] { 0x64, 0x65, 0x66, 0x67, 0x68, 0x69, 0x70, 0x71 }, 1, 6).slice() }) },
+                { ClickHouseInputStream.of(generateDirectBuffer(0x65, 0x66, 0x67, 0x68, 0x69, 0x70)) },
+                { ClickHouseInputStream.of(generateDirectBuffer(0x65, 0x66), generateDirectBuffer(0x67),
+                        ByteBuffer.wrap(new byte[] { 0x68, 0x69, 0x70 }).asReadOnlyBuffer()) },
                 // files
                 { ClickHouseInputStream.of(generateTempFile(0x65, 0x66, 0x67, 0x68, 0x69, 0x70)) },
                 { ClickHouseInputStream.of(generateTempFile(0x65), generateTempFile(0x66), generateTempFile(0x67),
@@ -427,6 +445,25 @@ public class InputStreamImplTest {
         Assert.assertTrue(in.isClosed(), "Should have been closed");
     }
 
+    @Test(dataProvider = "inputStreamProvider", groups = { "unit" })
+    public void testReadByteBufferFromInputStream(ClickHouseInputStream in) throws IOException {
+        Assert.assertFalse(in.isClosed(), "Should be openned for read by default");
+        ByteBuffer[] buffers = new ByteBuffer[] { in.readByteBuffer(3), in.readByteBuffer(2),
+                in.readByteBuffer(0), in.readByteBuffer(1) };
+        Assert.assertFalse(in.isClosed(), "Should be still openning");
+        Assert.assertThrows(EOFException.class, () -> in.readByteBuffer(1));
+        Assert.assertTrue(in.isClosed(), "Should have been closed");
+
+        // content should not be changed by further reads
+        StringBuilder builder = new StringBuilder();
+        for (ByteBuffer b : buffers) {
+            while (b.hasRemaining()) {
+                builder.append((char) b.get());
+            }
+        }
+        Assert.assertEquals(builder.toString(), "efghip");
+    }
+
     @Test(dataProvider = "inputStreamProvider", groups = { "unit" })
     public void testReadCustomFromInputStream(ClickHouseInputStream in) throws IOException {
         Assert.assertFalse(in.isClosed(), "Should be openned for read by default");
@@ -765,4 +802,113 @@ public class InputStreamImplTest {
         Assert.assertEquals(in.read(), -1);
         Assert.assertEquals(((RestrictedInputStream) in).getRemaining(), 1);
     }
+
+    @Test(groups = { "unit" })
+    public void testReadPrimitivesFromByteBuffer() throws IOException {
+        int[] ints = new int[] { 0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE };
+        long[] longs = new long[] { 0L, 1L, 127L, 128L, Long.MAX_VALUE, -1L, Long.MIN_VALUE };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i : ints) {
+            BinaryStreamUtils.writeVarInt(out, i & Integer.MAX_VALUE);
+            BinaryStreamUtils.writeInt32(out, i);
+        }
+        for (long l : longs) {
+            BinaryStreamUtils.writeVarInt(out, l & Long.MAX_VALUE);
+            BinaryStreamUtils.writeInt64(out, l);
+        }
+        BinaryStreamUtils.writeString(out, "efghip");
+        byte[] bytes = out.toByteArray();
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        ((Buffer) direct.put(bytes)).flip();
+        for (ClickHouseInputStream in : new ClickHouseInputStream[] { ClickHouseInputStream.of(bytes),
+                ClickHouseInputStream.of(direct),
+                ClickHouseInputStream.of(ByteBuffer.wrap(bytes).asReadOnlyBuffer()) }) {
+            try (ClickHouseInputStream input = in) {
+                for (int i : ints) {
+                    Assert.assertEquals(input.readVarInt(), i & Integer.MAX_VALUE);
+                    Assert.assertEquals(BinaryStreamUtils.readInt32(input), i);
+                }
+                for (long l : longs) {
+                    Assert.assertEquals(input.readVarLong(), l & Long.MAX_VALUE);
+                    Assert.assertEquals(BinaryStreamUtils.readInt64(input), l);
+                }
+                Assert.assertEquals(input.readUnicodeString(), "efghip");
+                Assert.assertEquals(input.read(), -1);
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testReadPrimitiveArrays() throws IOException {
+        int len = 3000;
+        short[] shorts = new short[len];
+        int[] ints = new int[len];
+        long[] longs = new long[len];
+        float[] floats = new float[len];
+        double[] doubles = new double[len];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < len; i++) {
+            shorts[i] = (short) (i * 31 - 7);
+            ints[i] = i * 1000003 - 5;
+            longs[i] = i * 1000000007L * 31 - 3;
+            floats[i] = i * 1.5F - 0.25F;
+            doubles[i] = i * -3.75D + 0.125D;
+        }
+        out.write(9);
+        for (int i = 0; i < len; i++) {
+            BinaryStreamUtils.writeInt16(out, shorts[i]);
+        }
+        for (int i = 0; i < len; i++) {
+            BinaryStreamUtils.writeInt32(out, ints[i]);
+        }
+        for (int i = 0; i < len; i++) {
+            BinaryStreamUtils.writeInt64(out, longs[i]);
+        }
+        for (int i = 0; i < len; i++) {
+            BinaryStreamUtils.writeFloat32(out, floats[i]);
+        }
+        for (int i = 0; i < len; i++) {
+            BinaryStreamUtils.writeFloat64(out, doubles[i]);
+        }
+        BinaryStreamUtils.writeInt32(out, 1);
+        byte[] bytes = out.toByteArray();
+
+        // split into small chunks so that some elements span across buffers
+        byte[][] chunks = new byte[(bytes.length + 6) / 7][];
+        ByteBuffer[] buffers = new ByteBuffer[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = Arrays.copyOfRange(bytes, i * 7, Math.min(bytes.length, i * 7 + 7));
+            buffers[i] = ByteBuffer.allocateDirect(chunks[i].length);
+            ((Buffer) buffers[i].put(chunks[i])).flip();
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        ((Buffer) direct.put(bytes)).flip();
+        for (ClickHouseInputStream in : new ClickHouseInputStream[] { ClickHouseInputStream.of(bytes),
+                ClickHouseInputStream.of(chunks), ClickHouseInputStream.of(direct), ClickHouseInputStream.of(buffers),
+                ClickHouseInputStream.of(new ByteArrayInputStream(bytes), 5) }) {
+            try (ClickHouseInputStream input = in) {
+                Assert.assertEquals(input.readByte(), (byte) 9);
+                short[] s = new short[len + 2];
+                input.readInt16Array(s, 1, len);
+                Assert.assertEquals(Arrays.copyOfRange(s, 1, len + 1), shorts);
+                int[] i = new int[len];
+                input.readInt32Array(i, 0, len);
+                Assert.assertEquals(i, ints);
+                long[] l = new long[len];
+                input.readInt64Array(l, 0, 0);
+                input.readInt64Array(l, 0, len);
+                Assert.assertEquals(l, longs);
+                float[] f = new float[len];
+                input.readFloat32Array(f, 0, len);
+                Assert.assertEquals(f, floats);
+                double[] d = new double[len];
+                input.readFloat64Array(d, 0, len);
+                Assert.assertEquals(d, doubles);
+                Assert.assertThrows(IndexOutOfBoundsException.class, () -> input.readInt32Array(i, 1, len));
+                Assert.assertThrows(IOException.class, () -> input.readInt64Array(l, 0, 1));
+                Assert.assertTrue(input.isClosed());
+            }
+        }
+    }
 }
@@ -9,7 +9,16 @@ import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.client.config.ClickHouseChecksumMode;
+import com.clickhouse.client.data.BinaryStreamUtils;
 
 public class Lz4InputStreamTest {
     private InputStream generateInputStream(String prefix, int samples, StringBuilder builder) throws IOException {
@@ -192,4 +201,98 @@ public class Lz4InputStreamTest {
             Assert.assertEquals(new String(buf, 0, read), sb.toString());
         }
     }
+
+    private static byte[] toByteArray(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] bytes = new byte[1000];
+        int len;
+        while ((len = in.read(bytes)) != -1) {
+            out.write(bytes, 0, len);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] compress(int blockSize, int blocks) throws IOException {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
+                Lz4OutputStream lz4Out = new Lz4OutputStream(out, blockSize, null)) {
+            for (int i = 0; i < blocks; i++) {
+                for (int j = 0; j < blockSize; j++) {
+                    lz4Out.write(j % 7 + i);
+                }
+            }
+            lz4Out.flush();
+            return out.toByteArray();
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testChecksumMode() throws IOException {
+        byte[] compressed = compress(1024, 10);
+        for (ClickHouseChecksumMode mode : ClickHouseChecksumMode.values()) {
+            try (Lz4InputStream in = new Lz4InputStream(null, new ByteArrayInputStream(compressed), mode, null)) {
+                byte[] bytes = toByteArray(in);
+                Assert.assertEquals(bytes.length, 10240);
+                for (int i = 0; i < 10; i++) {
+                    for (int j = 0; j < 1024; j++) {
+                        Assert.assertEquals(bytes[i * 1024 + j], (byte) (j % 7 + i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testAsyncChecksumInSharedPool() throws Exception {
+        byte[] compressed = compress(1024, 10);
+        // occupy all threads of the shared pool with readers waiting for checksum
+        int count = Runtime.getRuntime().availableProcessors() * 4;
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try (Lz4InputStream in = new Lz4InputStream(null, new ByteArrayInputStream(compressed),
+                        ClickHouseChecksumMode.ASYNC, null)) {
+                    return toByteArray(in).length;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, ClickHouseClient.getExecutorService()));
+        }
+        for (CompletableFuture<Integer> future : futures) {
+            Assert.assertEquals(future.get(30, TimeUnit.SECONDS), 10240);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testCorruptedData() throws IOException {
+        byte[] compressed = compress(1024, 3);
+        // flip one bit of the checksum in the second block
+        int second = 16 + BinaryStreamUtils.toInt32(compressed, 17);
+        compressed[second] ^= 1;
+
+        for (ClickHouseChecksumMode mode : new ClickHouseChecksumMode[] { ClickHouseChecksumMode.SYNC,
+                ClickHouseChecksumMode.ASYNC }) {
+            try (Lz4InputStream in = new Lz4InputStream(null, new ByteArrayInputStream(compressed), mode, null)) {
+                Assert.assertEquals(in.readBuffer(1024).length(), 1024);
+                IOException e = Assert.expectThrows(IOException.class, () -> toByteArray(in));
+                Assert.assertEquals(e.getMessage(), Lz4InputStream.ERROR_CHECKSUM_MISMATCH);
+            }
+        }
+
+        try (Lz4InputStream in = new Lz4InputStream(null, new ByteArrayInputStream(compressed),
+                ClickHouseChecksumMode.NONE, null)) {
+            Assert.assertEquals(toByteArray(in).length, 3072);
+        }
+
+        // corrupted compressed data is detected by safe decompressor or checksum
+        compressed = compress(1024, 3);
+        compressed[second + Lz4InputStream.HEADER_LENGTH] ^= 0x7F;
+        for (ClickHouseChecksumMode mode : ClickHouseChecksumMode.values()) {
+            try (Lz4InputStream in = new Lz4InputStream(null, new ByteArrayInputStream(compressed), mode, null)) {
+                toByteArray(in);
+                Assert.assertEquals(mode, ClickHouseChecksumMode.NONE, "Should fail unless checksum is skipped");
+            } catch (IOException e) {
+                Assert.assertNotNull(e.getMessage());
+            }
+        }
+    }
 }
@@ -3,14 +3,56 @@ package com.clickhouse.client.stream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
+import com.clickhouse.client.ClickHouseInputStream;
 import com.clickhouse.client.data.BinaryStreamUtilsTest;
 
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 public class Lz4OutputStreamTest {
+    private static void writeSamples(Lz4OutputStream out, int length) throws IOException {
+        byte[] bytes = new byte[Math.max(length / 7, 1)];
+        for (int i = 0, batch = 0; i < length; batch++) {
+            int len = Math.min(bytes.length, length - i);
+            for (int j = 0; j < len; j++) {
+                bytes[j] = (byte) ((i + j) % 13 == 0 ? (i + j) * 31 : (i + j) / 5);
+            }
+            switch (batch % 3) {
+                case 0:
+                    out.write(bytes, 0, len);
+                    break;
+                case 1:
+                    // same array is reused for next batch right after the transfer
+                    out.transferBytes(bytes, 0, len);
+                    break;
+                default:
+                    for (int j = 0; j < len; j++) {
+                        out.write(bytes[j]);
+                    }
+                    break;
+            }
+            i += len;
+        }
+    }
+
+    private static byte[] decompress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Lz4InputStream in = new Lz4InputStream(new ByteArrayInputStream(bytes))) {
+            ClickHouseInputStream.pipe(in, out, 1024);
+        }
+        return out.toByteArray();
+    }
+
+    @DataProvider(name = "parallelSettings")
+    private Object[][] getParallelSettings() {
+        return new Object[][] { { 1, 2, 0L }, { 3, 2, 0L }, { 1024, 4, 0L }, { 1024, 4, 1L }, { 1024, 3, 8192L },
+                { 65536, 8, 0L } };
+    }
+
     private byte[] genCompressedByts(int b, int length, int blockSize) throws IOException {
         ByteArrayOutputStream bas = new ByteArrayOutputStream(blockSize * 512);
         try (Lz4OutputStream out = new Lz4OutputStream(bas, blockSize, null)) {
@@ -234,4 +276,54 @@ public class Lz4OutputStreamTest {
             bas.close();
         }
     }
+
+    @Test(dataProvider = "parallelSettings", groups = { "unit" })
+    public void testParallelCompress(int blockSize, int parallelism, long memoryLimit) throws IOException {
+        for (int length : new int[] { 0, 1, blockSize - 1, blockSize, blockSize + 1, blockSize * 10 + 7, 20000 }) {
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            try (Lz4OutputStream out = new Lz4OutputStream(expected, blockSize, null)) {
+                writeSamples(out, length);
+            }
+            byte[] bytes = decompress(expected.toByteArray());
+            Assert.assertEquals(bytes.length, length);
+
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            try (Lz4OutputStream out = new Lz4OutputStream(null, actual, blockSize, parallelism, memoryLimit,
+                    null)) {
+                writeSamples(out, length);
+                out.flush();
+                Assert.assertEquals(decompress(actual.toByteArray()), bytes);
+                writeSamples(out, length);
+            }
+
+            byte[] twice = new byte[length * 2];
+            System.arraycopy(bytes, 0, twice, 0, length);
+            System.arraycopy(bytes, 0, twice, length, length);
+            Assert.assertEquals(decompress(actual.toByteArray()), twice);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testParallelCompressFailure() throws IOException {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("fake error");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("fake error");
+            }
+        };
+
+        Lz4OutputStream out = new Lz4OutputStream(null, failing, 16, 2, 0L, null);
+        IOException error = Assert.expectThrows(IOException.class, () -> {
+            for (int i = 0; i < 1024; i++) {
+                out.write(i);
+            }
+            out.flush();
+        });
+        Assert.assertEquals(error.getMessage(), "fake error");
+    }
 }
@@ -7,7 +7,9 @@ import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import com.clickhouse.client.ClickHouseByteBuffer;
+import com.clickhouse.client.ClickHouseInputStream;
 import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.data.BinaryStreamUtils;
 
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -92,4 +94,60 @@ public class OutputStreamImplTest {
             Assert.assertEquals(bas.toByteArray(), new byte[] { Byte.MAX_VALUE });
         }
     }
+
+    @Test(dataProvider = "bufferSizeProvider", groups = { "unit" })
+    public void testWritePrimitiveArrays(int bufferSize) throws IOException {
+        int len = 3000;
+        short[] shorts = new short[len];
+        int[] ints = new int[len];
+        long[] longs = new long[len];
+        float[] floats = new float[len];
+        double[] doubles = new double[len];
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < len; i++) {
+            shorts[i] = (short) (i * 31 - 7);
+            ints[i] = i * 1000003 - 5;
+            longs[i] = i * 1000000007L * 31 - 3;
+            floats[i] = i * 1.5F - 0.25F;
+            doubles[i] = i * -3.75D + 0.125D;
+        }
+        for (int i = 1; i < len; i++) {
+            BinaryStreamUtils.writeInt16(expected, shorts[i]);
+        }
+        for (int i = 0; i < len - 1; i++) {
+            BinaryStreamUtils.writeInt32(expected, ints[i]);
+        }
+        for (int i = 2; i < len - 2; i++) {
+            BinaryStreamUtils.writeInt64(expected, longs[i]);
+        }
+        for (int i = 0; i < len; i++) {
+            BinaryStreamUtils.writeFloat32(expected, floats[i]);
+        }
+        for (int i = 0; i < len; i++) {
+            BinaryStreamUtils.writeFloat64(expected, doubles[i]);
+        }
+
+        for (int size : new int[] { bufferSize, 8192 }) {
+            try (ByteArrayOutputStream bas = new ByteArrayOutputStream()) {
+                try (ClickHouseOutputStream out = new WrappedOutputStream(null, bas, size, null)) {
+                    out.writeByte((byte) 9).writeInt16Array(shorts, 1, len - 1).writeInt32Array(ints, 0, len - 1)
+                            .writeInt64Array(longs, 2, len - 4).writeFloat32Array(floats, 0, len)
+                            .writeFloat64Array(doubles, 0, len).writeInt32Array(ints, 0, 0);
+                    Assert.assertThrows(IndexOutOfBoundsException.class, () -> out.writeInt32Array(ints, 1, len));
+                }
+                byte[] bytes = bas.toByteArray();
+                Assert.assertEquals(bytes[0], (byte) 9);
+                Assert.assertEquals(Arrays.copyOfRange(bytes, 1, bytes.length), expected.toByteArray());
+            }
+        }
+
+        // default implementation
+        BlockingPipedOutputStream out = new BlockingPipedOutputStream(bufferSize, 0, 0, null);
+        out.writeInt16Array(shorts, 1, len - 1).writeInt32Array(ints, 0, len - 1).writeInt64Array(longs, 2, len - 4)
+                .writeFloat32Array(floats, 0, len).writeFloat64Array(doubles, 0, len).close();
+        try (ClickHouseInputStream in = out.getInputStream()) {
+            Assert.assertEquals(in.readBytes(expected.size()), expected.toByteArray());
+            Assert.assertEquals(in.read(), -1);
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package com.clickhouse.client.stream;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.config.ClickHouseWaitStrategy;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class QueueWaiterTest {
+    @DataProvider(name = "strategies")
+    private Object[][] getWaitStrategies() {
+        return new Object[][] { { ClickHouseWaitStrategy.SPIN }, { ClickHouseWaitStrategy.YIELD },
+                { ClickHouseWaitStrategy.PARK } };
+    }
+
+    @Test(groups = { "unit" })
+    public void testAwait() {
+        Assert.assertEquals(new QueueWaiter(null).getStrategy(), ClickHouseWaitStrategy.PARK);
+
+        QueueWaiter waiter = new QueueWaiter(ClickHouseWaitStrategy.SPIN);
+        Assert.assertEquals(waiter.await(0), 1);
+        Assert.assertEquals(waiter.await(QueueWaiter.SPIN_ATTEMPTS), QueueWaiter.SPIN_ATTEMPTS);
+
+        waiter = new QueueWaiter(ClickHouseWaitStrategy.YIELD);
+        Assert.assertEquals(waiter.await(QueueWaiter.SPIN_ATTEMPTS), QueueWaiter.SPIN_ATTEMPTS + 1);
+        Assert.assertEquals(waiter.await(QueueWaiter.YIELD_ATTEMPTS), QueueWaiter.YIELD_ATTEMPTS);
+
+        waiter = new QueueWaiter(ClickHouseWaitStrategy.PARK);
+        // first call registers current thread without parking
+        long startTime = System.nanoTime();
+        Assert.assertEquals(waiter.await(QueueWaiter.YIELD_ATTEMPTS), QueueWaiter.YIELD_ATTEMPTS);
+        // permit is consumed by next park
+        waiter.signal();
+        Assert.assertEquals(waiter.await(QueueWaiter.YIELD_ATTEMPTS), QueueWaiter.YIELD_ATTEMPTS);
+        Assert.assertTrue(System.nanoTime() - startTime < QueueWaiter.MAX_PARK_NANOS * 10);
+        waiter.reset();
+        waiter.signal(); // no-op
+    }
+
+    @Test(groups = { "unit" })
+    public void testSignal() throws Exception {
+        QueueWaiter waiter = new QueueWaiter(ClickHouseWaitStrategy.PARK);
+        AtomicBoolean ready = new AtomicBoolean(false);
+        CompletableFuture<Integer> future = ClickHouseClient.submit(() -> {
+            int attempts = 0;
+            while (!ready.get()) {
+                attempts = waiter.await(attempts);
+            }
+            waiter.reset();
+            return attempts;
+        });
+
+        Thread.sleep(100L);
+        ready.set(true);
+        waiter.signal();
+        Assert.assertEquals(future.get(5L, TimeUnit.SECONDS).intValue(), QueueWaiter.YIELD_ATTEMPTS);
+    }
+
+    @Test(dataProvider = "strategies", groups = { "unit" })
+    public void testPipedStream(ClickHouseWaitStrategy strategy) throws Exception {
+        final int samples = 100000;
+        // small buffer and queue so that both reader and writer have to wait
+        NonBlockingPipedOutputStream stream = new NonBlockingPipedOutputStream(7, 2, 10000,
+                CapacityPolicy.fixedCapacity(2), strategy, null);
+        CompletableFuture<Integer> future = ClickHouseClient.submit(() -> {
+            try (ClickHouseOutputStream out = stream) {
+                for (int i = 0; i < samples; i++) {
+                    out.writeByte((byte) i);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return samples;
+        });
+
+        try (ClickHouseInputStream in = stream.getInputStream()) {
+            for (int i = 0; i < samples; i++) {
+                Assert.assertEquals(in.readByte(), (byte) i);
+            }
+            Assert.assertEquals(in.read(), -1);
+        }
+        Assert.assertEquals(future.get(10L, TimeUnit.SECONDS).intValue(), samples);
+    }
+}
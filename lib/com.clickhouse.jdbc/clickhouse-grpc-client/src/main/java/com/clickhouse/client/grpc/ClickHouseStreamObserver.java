@@ -6,6 +6,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.protobuf.ByteString;
 import io.grpc.Status;
 import io.grpc.StatusException;
 import io.grpc.stub.StreamObserver;
@@ -154,7 +155,9 @@ public class ClickHouseStreamObserver implements StreamObserver<Result> {
             if (updateStatus(value)) {
                 try {
                     // TODO close output stream if value.getOutput().isEmpty()?
-                    stream.transferBytes(value.getOutput().toByteArray());
+                    // piped stream takes the read-only buffer as is, without copying
+                    ByteString output = value.getOutput();
+                    stream.transferBytes(output.asReadOnlyByteBuffer(), output.size());
                 } catch (IOException e) {
                     onError(e);
                 }
@@ -0,0 +1,588 @@
+package com.clickhouse.client.http;
+
+import com.clickhouse.client.ClickHouseChecker;
+import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseFormat;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.ClickHouseRequest;
+import com.clickhouse.client.ClickHouseSslContextProvider;
+import com.clickhouse.client.ClickHouseUtils;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.config.ClickHouseSslMode;
+import com.clickhouse.client.data.ClickHouseExternalTable;
+import com.clickhouse.client.http.config.ClickHouseHttpOption;
+import com.clickhouse.client.logging.Logger;
+import com.clickhouse.client.logging.LoggerFactory;
+import com.clickhouse.client.stream.AdaptiveQueue;
+import com.clickhouse.client.stream.NonBlockingPipedOutputStream;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.AsyncRequestProducer;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.entity.BasicAsyncEntityProducer;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.http.nio.support.AsyncRequestBuilder;
+import org.apache.hc.core5.http.nio.support.classic.AbstractClassicEntityProducer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+
+/**
+ * HTTP connection based on Apache HttpAsyncClient 5. Unlike other
+ * implementations, no thread is blocked while waiting for server to respond:
+ * response body is read by a few I/O threads and passed to
+ * {@link ClickHouseInputStream} through a non-blocking queue, with back
+ * pressure applied when the reader is slow. All plain HTTP connections share
+ * the same I/O reactor, and SSL/TLS connections share one for each distinct SSL
+ * config.
+ */
+public class ApacheHttpAsyncConnectionImpl extends ClickHouseHttpConnection {
+    private static final Logger log = LoggerFactory.getLogger(ApacheHttpAsyncConnectionImpl.class);
+
+    // connection pool is shared, so it's more about a safe guard than a limit
+    static final int MAX_CONNECTIONS = 10000;
+
+    static final class SharedClient {
+        static final AsyncClient INSTANCE = new AsyncClient(null);
+
+        private SharedClient() {
+        }
+    }
+
+    // clients for SSL/TLS connections, one for each distinct SSL config
+    static final Map<List<Object>, AsyncClient> sslClients = new ConcurrentHashMap<>();
+
+    /**
+     * Async client shared by connections, along with connect timeout of each
+     * target host, which is part of connection config instead of request config.
+     */
+    static final class AsyncClient {
+        private final Map<String, ConnectionConfig> connectionConfigs;
+
+        final CloseableHttpAsyncClient client;
+
+        AsyncClient(TlsStrategy tlsStrategy) {
+            connectionConfigs = new ConcurrentHashMap<>();
+
+            ConnectionConfig defaultConfig = ConnectionConfig.custom()
+                    .setConnectTimeout(Timeout.ofMilliseconds(
+                            (int) ClickHouseClientOption.CONNECTION_TIMEOUT.getDefaultValue()))
+                    .build();
+            PoolingAsyncClientConnectionManagerBuilder builder = PoolingAsyncClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(MAX_CONNECTIONS).setMaxConnPerRoute(MAX_CONNECTIONS)
+                    .setConnectionConfigResolver(route -> connectionConfigs
+                            .getOrDefault(route.getTargetHost().toHostString(), defaultConfig))
+                    .setDefaultTlsConfig(TlsConfig.custom().setVersionPolicy(HttpVersionPolicy.FORCE_HTTP_1).build());
+            if (tlsStrategy != null) {
+                builder.setTlsStrategy(tlsStrategy);
+            }
+            // one I/O thread per processor by default
+            client = HttpAsyncClients.custom().setConnectionManager(builder.build())
+                    .setIOReactorConfig(IOReactorConfig.custom().setTcpNoDelay(true).build())
+                    .disableAutomaticRetries().disableRedirectHandling().disableCookieManagement().build();
+            client.start();
+        }
+
+        void setConnectTimeout(String target, int timeout) {
+            ConnectionConfig config = connectionConfigs.get(target);
+            if (config == null || config.getConnectTimeout().toMilliseconds() != timeout) {
+                connectionConfigs.put(target,
+                        ConnectionConfig.custom().setConnectTimeout(Timeout.ofMilliseconds(timeout)).build());
+            }
+        }
+    }
+
+    static AsyncClient getSslClient(ClickHouseConfig config) throws IOException {
+        // same as what's being used by default SSL context provider
+        List<Object> key = Arrays.asList(config.getSslMode(), config.getSslCert(), config.getSslKey(),
+                config.getSslRootCert());
+        AsyncClient client = sslClients.get(key);
+        if (client == null) {
+            SSLContext sslContext = ClickHouseSslContextProvider.getProvider().getSslContext(SSLContext.class, config)
+                    .orElse(null);
+            AsyncClient newClient = new AsyncClient(ClientTlsStrategyBuilder.create()
+                    .setSslContext(sslContext != null ? sslContext : SSLContexts.createDefault())
+                    .setHostnameVerifier(config.getSslMode() == ClickHouseSslMode.STRICT
+                            ? HttpsURLConnection.getDefaultHostnameVerifier()
+                            : NoopHostnameVerifier.INSTANCE)
+                    .build());
+            if ((client = sslClients.putIfAbsent(key, newClient)) == null) {
+                client = newClient;
+            } else {
+                newClient.client.close(CloseMode.IMMEDIATE);
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Queue notifying the I/O reactor to read more data whenever a buffer is
+     * taken away by the reader.
+     */
+    static final class ResponseQueue implements AdaptiveQueue<byte[]> {
+        private final AdaptiveQueue<byte[]> queue;
+        private final long initialCapacity;
+        // capacity released before the channel is available
+        private final AtomicLong pendingCapacity;
+
+        private volatile CapacityChannel channel;
+
+        ResponseQueue(long initialCapacity) {
+            this.queue = AdaptiveQueue.create(null);
+            this.initialCapacity = initialCapacity;
+            this.pendingCapacity = new AtomicLong(0L);
+            this.channel = null;
+        }
+
+        void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+            long increment = pendingCapacity.getAndSet(0L);
+            if (channel == null) {
+                increment += initialCapacity;
+            }
+            channel = capacityChannel;
+            if (increment > 0L) {
+                capacityChannel.update((int) Math.min(increment, Integer.MAX_VALUE));
+            }
+        }
+
+        @Override
+        public void add(byte[] e) {
+            queue.add(e);
+        }
+
+        @Override
+        public void clear() {
+            queue.clear();
+        }
+
+        @Override
+        public boolean offer(byte[] e) {
+            return queue.offer(e);
+        }
+
+        @Override
+        public byte[] poll() {
+            byte[] b = queue.poll();
+            if (b != null && b.length > 0) {
+                CapacityChannel c = channel;
+                if (c == null) {
+                    pendingCapacity.addAndGet(b.length);
+                } else {
+                    try {
+                        c.update(b.length);
+                    } catch (IOException e) {
+                        // the exchange will be failed by the I/O reactor anyway
+                        log.debug("Failed to update capacity due to: %s", e.getMessage());
+                    }
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Response consumer running on I/O threads, so it must never block.
+     */
+    static final class ResponseConsumer implements AsyncResponseConsumer<HttpResponse> {
+        private final CompletableFuture<HttpResponse> head;
+        private final ResponseQueue queue;
+        private final NonBlockingPipedOutputStream stream;
+        private final AtomicReference<IOException> errorRef;
+
+        private volatile FutureCallback<HttpResponse> resultCallback;
+        private volatile HttpResponse response;
+        private volatile Future<HttpResponse> future;
+        private volatile boolean completed;
+
+        ResponseConsumer(ClickHouseConfig config) {
+            this.head = new CompletableFuture<>();
+            this.queue = new ResponseQueue(
+                    (long) config.getReadBufferSize() * Math.max(config.getMaxQueuedBuffers(), 1));
+            // unbounded queue, so that the writer never waits, and buffers are reused
+            // once taken by the reader
+            this.stream = new NonBlockingPipedOutputStream(queue, config.getReadBufferSize(),
+                    Math.max(config.getMaxQueuedBuffers(), 2) + 1, config.getSocketTimeout(),
+                    config.getQueueWaitStrategy(), null);
+            this.errorRef = new AtomicReference<>(null);
+        }
+
+        private void finish() {
+            completed = true;
+            try {
+                stream.close();
+            } catch (IOException e) {
+                errorRef.compareAndSet(null, e);
+            }
+        }
+
+        ClickHouseInputStream getInputStream(Runnable postCloseAction) {
+            return stream.getInputStream(() -> {
+                Future<HttpResponse> f = future;
+                if (!completed && f != null) { // closed before reaching end of the stream
+                    f.cancel(true);
+                }
+                IOException exp = errorRef.get();
+                if (postCloseAction != null) {
+                    postCloseAction.run();
+                }
+                if (exp != null) {
+                    throw new UncheckedIOException(exp);
+                }
+            });
+        }
+
+        void setFuture(Future<HttpResponse> future) {
+            this.future = future;
+        }
+
+        HttpResponse getResponse(long timeout) throws IOException {
+            try {
+                return timeout > 0L ? head.get(timeout, TimeUnit.MILLISECONDS) : head.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Thread was interrupted while waiting for response", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            } catch (TimeoutException e) {
+                throw new SocketTimeoutException(ClickHouseUtils.format("Read timed out after %d ms", timeout));
+            }
+        }
+
+        @Override
+        public void consumeResponse(HttpResponse response, EntityDetails entityDetails, HttpContext context,
+                FutureCallback<HttpResponse> resultCallback) throws IOException {
+            this.response = response;
+            this.resultCallback = resultCallback;
+            if (entityDetails == null) {
+                finish();
+                if (resultCallback != null) {
+                    resultCallback.completed(response);
+                }
+            }
+            head.complete(response);
+        }
+
+        @Override
+        public void informationResponse(HttpResponse response, HttpContext context) {
+            // ignore 1xx responses
+        }
+
+        @Override
+        public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+            queue.updateCapacity(capacityChannel);
+        }
+
+        @Override
+        public void consume(ByteBuffer src) throws IOException {
+            int length = src.remaining();
+            if (length < 1) {
+                return;
+            }
+
+            // copy into reusable buffer of the stream, as src will be reused by the I/O reactor
+            if (src.hasArray()) {
+                stream.writeBytes(src.array(), src.arrayOffset() + src.position(), length);
+                ((Buffer) src).position(src.limit());
+            } else {
+                byte[] bytes = new byte[length];
+                src.get(bytes);
+                stream.writeBytes(bytes, 0, length);
+            }
+            // hand over partially filled buffer only when the reader is waiting for data
+            if (queue.size() == 0) {
+                stream.flush();
+            }
+        }
+
+        @Override
+        public void streamEnd(List<? extends Header> trailers) {
+            finish();
+            FutureCallback<HttpResponse> callback = resultCallback;
+            if (callback != null) {
+                callback.completed(response);
+            }
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            IOException exp = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            errorRef.compareAndSet(null, exp);
+            finish();
+            head.completeExceptionally(exp);
+            FutureCallback<HttpResponse> callback = resultCallback;
+            if (callback != null) {
+                callback.failed(cause);
+            }
+        }
+
+        @Override
+        public void releaseResources() {
+            // nothing to release, stream will be closed by the reader
+        }
+    }
+
+    private final AsyncClient asyncClient;
+    private final CloseableHttpAsyncClient client;
+    private final String target;
+    private final ExecutorService executor;
+
+    protected ApacheHttpAsyncConnectionImpl(ClickHouseNode server, ClickHouseRequest<?> request,
+            ExecutorService executor) throws IOException, URISyntaxException {
+        super(server, request);
+
+        asyncClient = config.isSsl() ? getSslClient(config) : SharedClient.INSTANCE;
+        client = asyncClient.client;
+        target = new HttpHost(server.getHost(), server.getPort()).toHostString();
+        this.executor = executor != null ? executor : ClickHouseClient.getExecutorService();
+    }
+
+    private HttpClientContext createContext(ClickHouseConfig config) {
+        asyncClient.setConnectTimeout(target, config.getConnectionTimeout());
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(
+                RequestConfig.custom().setResponseTimeout(Timeout.ofMilliseconds(config.getSocketTimeout())).build());
+        return context;
+    }
+
+    private AsyncEntityProducer createEntityProducer(ClickHouseHttpEntity entity, ClickHouseConfig config)
+            throws IOException {
+        ContentType contentType = ContentType.parse(entity.getContentType());
+        if (!entity.isChunked()) { // query only
+            long length = entity.getContentLength();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length >= 0L ? (int) length : config.getBufferSize());
+            entity.writeTo(out);
+            return new BasicAsyncEntityProducer(out.toByteArray(), contentType);
+        }
+
+        // data may come from a blocking source, so write it in a worker thread
+        return new AbstractClassicEntityProducer(config.getWriteBufferSize(), contentType, executor) {
+            @Override
+            protected void produceData(ContentType contentType, OutputStream outputStream) throws IOException {
+                entity.writeTo(outputStream);
+            }
+
+            @Override
+            public String getContentEncoding() {
+                return entity.getContentEncoding();
+            }
+        };
+    }
+
+    private String getResponseHeader(HttpResponse response, String header, String defaultValue) {
+        Header h = response.getFirstHeader(header);
+        return h == null ? defaultValue : h.getValue();
+    }
+
+    private List<String> getResponseHeaders(HttpResponse response, String header) {
+        Header[] headers = response.getHeaders(header);
+        List<String> values = new ArrayList<>(headers.length);
+        for (Header h : headers) {
+            values.add(h.getValue());
+        }
+        return values;
+    }
+
+    private void checkResponse(HttpResponse response, ResponseConsumer consumer, ClickHouseConfig config)
+            throws IOException {
+        if (response.getCode() == 200) {
+            return;
+        }
+
+        String errorCode = getResponseHeader(response, "X-ClickHouse-Exception-Code", "");
+        String serverName = getResponseHeader(response, "X-ClickHouse-Server-Display-Name", server.getHost());
+
+        int bufferSize = (int) ClickHouseClientOption.BUFFER_SIZE.getDefaultValue();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bufferSize);
+        try (InputStream in = consumer.getInputStream(null)) {
+            ClickHouseInputStream.pipe(in, output, bufferSize);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        byte[] bytes = output.toByteArray();
+        if (bytes.length == 0 && ClickHouseChecker.isNullOrEmpty(errorCode)) {
+            throw new ConnectException(
+                    ClickHouseUtils.format("HTTP response %d, %s", response.getCode(), response.getReasonPhrase()));
+        }
+
+        String errorMsg;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                ClickHouseClient.getResponseInputStream(config, new ByteArrayInputStream(bytes), null),
+                StandardCharsets.UTF_8))) {
+            StringBuilder builder = new StringBuilder();
+            while ((errorMsg = reader.readLine()) != null) {
+                builder.append(errorMsg).append('\n');
+            }
+            errorMsg = builder.toString();
+        } catch (IOException e) {
+            log.debug("Failed to read error message[code=%s] from server [%s] due to: %s", errorCode, serverName,
+                    e.getMessage());
+            throw e;
+        }
+        throw new IOException(errorMsg);
+    }
+
+    private ClickHouseHttpResponse buildResponse(HttpResponse response, ResponseConsumer consumer,
+            ClickHouseConfig config, Runnable postCloseAction) throws IOException {
+        String displayName = getResponseHeader(response, "X-ClickHouse-Server-Display-Name", server.getHost());
+        String queryId = getResponseHeader(response, "X-ClickHouse-Query-Id", "");
+        String summary = getResponseHeader(response, "X-ClickHouse-Summary", "{}");
+        List<String> progress = getResponseHeaders(response, "X-ClickHouse-Progress");
+
+        ClickHouseConfig c = config;
+        ClickHouseFormat format = c.getFormat();
+        TimeZone timeZone = c.getServerTimeZone();
+        boolean hasOutputFile = output != null && output.getUnderlyingFile().isAvailable();
+        boolean hasQueryResult = false;
+        // queryId, format and timeZone are only available for queries
+        if (!ClickHouseChecker.isNullOrEmpty(queryId)) {
+            String value = getResponseHeader(response, "X-ClickHouse-Format", "");
+            if (!ClickHouseChecker.isNullOrEmpty(value)) {
+                format = ClickHouseFormat.valueOf(value);
+                hasQueryResult = true;
+            }
+            value = getResponseHeader(response, "X-ClickHouse-Timezone", "");
+            timeZone = !ClickHouseChecker.isNullOrEmpty(value) ? TimeZone.getTimeZone(value) : timeZone;
+        }
+
+        final InputStream source;
+        final Runnable action;
+        if (output != null) {
+            source = ClickHouseInputStream.empty();
+            action = () -> {
+                try (OutputStream o = output; InputStream in = consumer.getInputStream(null)) {
+                    ClickHouseInputStream.pipe(in, o, c.getWriteBufferSize());
+                    if (postCloseAction != null) {
+                        postCloseAction.run();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to redirect response to given output stream", e);
+                }
+            };
+        } else {
+            source = consumer.getInputStream(null);
+            action = postCloseAction;
+        }
+        return new ClickHouseHttpResponse(this,
+                hasOutputFile ? ClickHouseInputStream.of(source, c.getReadBufferSize(), action)
+                        : (hasQueryResult ? ClickHouseClient.getAsyncResponseInputStream(c, source, action)
+                                : ClickHouseClient.getResponseInputStream(c, source, action)),
+                displayName, queryId, summary, progress, format, timeZone);
+    }
+
+    @Override
+    protected boolean isReusable() {
+        return true;
+    }
+
+    @Override
+    protected ClickHouseHttpResponse post(String sql, ClickHouseInputStream data, List<ClickHouseExternalTable> tables,
+            String url, Map<String, String> headers, ClickHouseConfig config, Runnable postCloseAction)
+            throws IOException {
+        final ClickHouseConfig c = config != null ? config : this.config;
+        ClickHouseHttpEntity entity = ApacheHttpConnectionImpl.createEntity(sql, data, tables, headers, c, rm);
+
+        AsyncRequestBuilder builder = AsyncRequestBuilder.post(url == null ? this.url : url);
+        for (Map.Entry<String, String> header : mergeHeaders(headers).entrySet()) {
+            builder.setHeader(header.getKey(), header.getValue());
+        }
+        builder.setHeader("Content-Type", entity.getContentType());
+        AsyncRequestProducer producer = builder.setEntity(createEntityProducer(entity, c)).build();
+
+        ResponseConsumer consumer = new ResponseConsumer(c);
+        Future<HttpResponse> future = client.execute(producer, consumer, createContext(c), null);
+        consumer.setFuture(future);
+        final HttpResponse response;
+        try {
+            response = consumer.getResponse(c.getConnectionTimeout() + (long) c.getSocketTimeout());
+            checkResponse(response, consumer, c);
+        } catch (IOException e) {
+            future.cancel(true);
+            throw e;
+        }
+        return buildResponse(response, consumer, c, postCloseAction);
+    }
+
+    @Override
+    public boolean ping(int timeout) {
+        String url = getBaseUrl().concat("ping");
+        SimpleHttpRequest request = SimpleRequestBuilder.get(url).build();
+        request.setConfig(RequestConfig.custom().setResponseTimeout(Timeout.ofMilliseconds(timeout)).build());
+        try {
+            SimpleHttpResponse response = client.execute(request, null).get(timeout, TimeUnit.MILLISECONDS);
+            String ok = config.getStrOption(ClickHouseHttpOption.DEFAULT_RESPONSE);
+            return response.getCode() == 200 && Objects.equals(ok, response.getBodyText());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.debug("Interrupted while pinging url %s", url);
+        } catch (Exception e) {
+            log.debug("Failed to ping url %s due to: %s", url, e.getMessage());
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // client is shared by connections, so nothing to close
+    }
+}
@@ -7,6 +7,7 @@ import com.clickhouse.client.ClickHouseFormat;
 import com.clickhouse.client.ClickHouseInputStream;
 import com.clickhouse.client.ClickHouseNode;
 import com.clickhouse.client.ClickHouseRequest;
+import com.clickhouse.client.ClickHouseRequestManager;
 import com.clickhouse.client.ClickHouseSslContextProvider;
 import com.clickhouse.client.ClickHouseUtils;
 import com.clickhouse.client.config.ClickHouseClientOption;
@@ -115,6 +116,7 @@ public class ApacheHttpConnectionImpl extends ClickHouseHttpConnection {
         String displayName = getResponseHeader(response, "X-ClickHouse-Server-Display-Name", server.getHost());
         String queryId = getResponseHeader(response, "X-ClickHouse-Query-Id", "");
         String summary = getResponseHeader(response, "X-ClickHouse-Summary", "{}");
+        List<String> progress = getResponseHeaders(response, "X-ClickHouse-Progress");
 
         ClickHouseConfig c = config;
         ClickHouseFormat format = c.getFormat();
@@ -155,7 +157,7 @@ public class ApacheHttpConnectionImpl extends ClickHouseHttpConnection {
                 hasOutputFile ? ClickHouseInputStream.of(source, c.getReadBufferSize(), action)
                         : (hasQueryResult ? ClickHouseClient.getAsyncResponseInputStream(c, source, action)
                         : ClickHouseClient.getResponseInputStream(c, source, action)),
-                displayName, queryId, summary, format, timeZone);
+                displayName, queryId, summary, progress, format, timeZone);
     }
 
     private String getResponseHeader(CloseableHttpResponse response, String header, String defaultValue) {
@@ -163,6 +165,15 @@ public class ApacheHttpConnectionImpl extends ClickHouseHttpConnection {
         return h == null ? defaultValue : h.getValue();
     }
 
+    private List<String> getResponseHeaders(CloseableHttpResponse response, String header) {
+        Header[] headers = response.getHeaders(header);
+        List<String> values = new ArrayList<>(headers.length);
+        for (Header h : headers) {
+            values.add(h.getValue());
+        }
+        return values;
+    }
+
     private void setHeaders(HttpRequest request, Map<String, String> headers) {
         headers = mergeHeaders(headers);
 
@@ -212,21 +223,22 @@ public class ApacheHttpConnectionImpl extends ClickHouseHttpConnection {
         throw new IOException(errorMsg);
     }
 
-    @Override
-    protected boolean isReusable() {
-        return true;
-    }
-
-    protected ClickHouseHttpResponse post(String sql, ClickHouseInputStream data, List<ClickHouseExternalTable> tables,
-                                          String url, Map<String, String> headers, ClickHouseConfig config,
-                                          Runnable postCloseAction)
-            throws IOException {
-        // Connection is reusable, ensure that only one request is on fly.
-        if (!isBusy.compareAndSet(false, true))
-            throw new IOException("Connection is busy");
-
-        HttpPost post = new HttpPost(url == null ? this.url : url);
-        setHeaders(post, headers);
+    /**
+     * Creates request entity, which is either plain query followed by optional
+     * data, or multipart form data for external tables.
+     *
+     * @param sql     non-null query
+     * @param data    optional input stream for batch updating
+     * @param tables  optional external tables
+     * @param headers optional request headers
+     * @param config  non-null configuration
+     * @param rm      non-null request manager for generating boundary
+     * @return non-null request entity
+     * @throws IOException when failed to check available bytes of input stream
+     */
+    static ClickHouseHttpEntity createEntity(String sql, ClickHouseInputStream data,
+            List<ClickHouseExternalTable> tables, Map<String, String> headers, ClickHouseConfig config,
+            ClickHouseRequestManager rm) throws IOException {
         byte[] boundary = null;
         String contentType = "text/plain; charset=UTF-8";
 
@@ -236,8 +248,6 @@ public class ApacheHttpConnectionImpl extends ClickHouseHttpConnection {
             boundary = uuid.getBytes(StandardCharsets.US_ASCII);
         }
 
-        post.setHeader("Content-Type", contentType);
-
         final boolean hasFile = data != null && data.getUnderlyingFile().isAvailable();
         final boolean hasInput = data != null || boundary != null;
 
@@ -257,7 +267,7 @@ public class ApacheHttpConnectionImpl extends ClickHouseHttpConnection {
             head.add(SUFFIX_QUERY);
             head.add(sqlBytes);
 
-            inputParts.add(new ByteArraysInputStream(head));
+            inputParts.add(ClickHouseInputStream.of(head, byte[].class, null, null));
 
             for (ClickHouseExternalTable t : tables) {
                 byte[] tableName = t.getName().getBytes(utf8);
@@ -284,7 +294,7 @@ public class ApacheHttpConnectionImpl extends ClickHouseHttpConnection {
                 }
                 tableHead.add(HEADER_OCTET_STREAM);
                 tableHead.add(HEADER_BINARY_ENCODING);
-                inputParts.add(new ByteArraysInputStream(tableHead));
+                inputParts.add(ClickHouseInputStream.of(tableHead, byte[].class, null, null));
 
                 // table content
                 inputParts.add(t.getContent());
@@ -295,7 +305,7 @@ public class ApacheHttpConnectionImpl extends ClickHouseHttpConnection {
             tail.add(boundary);
             tail.add(DOUBLE_DASH);
             tail.add(LINE_SUFFIX);
-            inputParts.add(new ByteArraysInputStream(tail));
+            inputParts.add(ClickHouseInputStream.of(tail, byte[].class, null, null));
 
         } else {
             List<byte[]> content = new ArrayList<>();
@@ -305,19 +315,39 @@ public class ApacheHttpConnectionImpl extends ClickHouseHttpConnection {
                 if (sqlBytes.length > 0 && sqlBytes[sqlBytes.length - 1] != (byte) '\n') {
                     content.add(new byte[] {'\n'});
                 }
-                inputParts.add(new ByteArraysInputStream(content));
+                inputParts.add(ClickHouseInputStream.of(content, byte[].class, null, null));
                 inputParts.add(data);
             } else {
-                inputParts.add(new ByteArraysInputStream(content));
+                inputParts.add(ClickHouseInputStream.of(content, byte[].class, null, null));
             }
         }
 
         ClickHouseInputStream input = ClickHouseInputStream.of(inputParts, InputStream.class, null, null);
 
         String contentEncoding = headers == null ? null : headers.getOrDefault("content-encoding", null);
-        ClickHouseHttpEntity postBody =
-                new ClickHouseHttpEntity(input, config, contentType, contentEncoding, hasFile, hasInput);
+        // length of the query is known as long as it's not compressed
+        long contentLength = hasInput || (config != null && config.isRequestCompressed()) ? -1L : sqlBytes.length;
+        return new ClickHouseHttpEntity(input, config, contentType, contentEncoding, hasFile, hasInput,
+                contentLength);
+    }
 
+    @Override
+    protected boolean isReusable() {
+        return true;
+    }
+
+    protected ClickHouseHttpResponse post(String sql, ClickHouseInputStream data, List<ClickHouseExternalTable> tables,
+                                          String url, Map<String, String> headers, ClickHouseConfig config,
+                                          Runnable postCloseAction)
+            throws IOException {
+        // Connection is reusable, ensure that only one request is on fly.
+        if (!isBusy.compareAndSet(false, true))
+            throw new IOException("Connection is busy");
+
+        HttpPost post = new HttpPost(url == null ? this.url : url);
+        setHeaders(post, headers);
+        ClickHouseHttpEntity postBody = createEntity(sql, data, tables, headers, config, rm);
+        post.setHeader("Content-Type", postBody.getContentType());
         post.setEntity(postBody);
         CloseableHttpResponse response = client.execute(post);
 
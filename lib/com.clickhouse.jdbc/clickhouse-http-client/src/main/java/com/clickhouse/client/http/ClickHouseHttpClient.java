@@ -13,10 +13,12 @@ import com.clickhouse.client.AbstractClient;
 import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseException;
 import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.ClickHouseProgressListener;
 import com.clickhouse.client.ClickHouseProtocol;
 import com.clickhouse.client.ClickHouseRequest;
 import com.clickhouse.client.ClickHouseResponse;
 import com.clickhouse.client.ClickHouseTransaction;
+import com.clickhouse.client.ClickHouseUtils;
 import com.clickhouse.client.config.ClickHouseOption;
 import com.clickhouse.client.data.ClickHouseStreamResponse;
 import com.clickhouse.client.http.config.ClickHouseHttpOption;
@@ -85,6 +87,25 @@ public class ClickHouseHttpClient extends AbstractClient<ClickHouseHttpConnectio
         return builder.toString();
     }
 
+    /**
+     * Kills the given query on server side. It's best effort and any error will
+     * be logged and ignored.
+     *
+     * @param sealedRequest non-null sealed request of the query
+     * @param queryId       non-empty query id
+     */
+    protected void killQuery(ClickHouseRequest<?> sealedRequest, String queryId) {
+        try {
+            connect(sealedRequest.getServer()).options(sealedRequest.getConfig().getAllOptions()).clearSession()
+                    .query(ClickHouseUtils.format("KILL QUERY WHERE query_id='%s' ASYNC",
+                            ClickHouseUtils.escape(queryId, '\'')))
+                    .executeAndWait().close();
+            log.debug("Killed query [%s]", queryId);
+        } catch (Exception e) {
+            log.warn("Failed to kill query [%s] due to: %s", queryId, e.getMessage());
+        }
+    }
+
     @Override
     protected ClickHouseResponse send(ClickHouseRequest<?> sealedRequest) throws ClickHouseException, IOException {
         ClickHouseHttpConnection conn = getConnection(sealedRequest);
@@ -123,7 +144,29 @@ public class ClickHouseHttpClient extends AbstractClient<ClickHouseHttpConnectio
             httpResponse = conn.post(sql, sealedRequest.getInputStream().orElse(null),
                     sealedRequest.getExternalTables(), null, null, config, postAction);
         }
-        return ClickHouseStreamResponse.of(httpResponse.getConfig(sealedRequest), httpResponse.getInputStream(),
+
+        ClickHouseProgressListener listener = sealedRequest.getProgressListener();
+        String queryId = !httpResponse.queryId.isEmpty() ? httpResponse.queryId
+                : sealedRequest.getQueryId().orElse("");
+        Runnable cancelAction = queryId.isEmpty() ? null : () -> killQuery(sealedRequest, queryId);
+        if (!httpResponse.notifyProgress(listener)) {
+            try {
+                httpResponse.getInputStream().close();
+            } catch (Exception e) {
+                log.debug("Failed to close response of cancelled query [%s] due to: %s", queryId, e.getMessage());
+            }
+            if (cancelAction != null) {
+                cancelAction.run();
+            }
+            throw new ClickHouseException(ClickHouseException.ERROR_CANCELLED,
+                    ClickHouseUtils.format("Query [%s] was cancelled by progress listener: %s", queryId,
+                            httpResponse.summary),
+                    sealedRequest.getServer());
+        }
+        // server stops sending progress headers once the body starts, so keep
+        // asking the listener while the body is being consumed
+        return ClickHouseStreamResponse.of(httpResponse.getConfig(sealedRequest),
+                httpResponse.getInputStream(listener, config.getReadBufferSize(), cancelAction),
                 sealedRequest.getSettings(), null, httpResponse.summary);
     }
 
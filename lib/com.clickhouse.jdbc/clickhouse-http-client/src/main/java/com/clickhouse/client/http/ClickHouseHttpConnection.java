@@ -104,6 +104,17 @@ public abstract class ClickHouseHttpConnection implements AutoCloseable {
         if (!settings.containsKey(settingKey)) {
             appendQueryParameter(builder, settingKey, "0");
         }
+        if (request.getProgressListener() != null || config.getBoolOption(ClickHouseHttpOption.SEND_PROGRESS)) {
+            settingKey = ClickHouseHttpOption.SEND_PROGRESS.getKey();
+            if (!settings.containsKey(settingKey)) {
+                appendQueryParameter(builder, settingKey, "1");
+            }
+            settingKey = ClickHouseHttpOption.SEND_PROGRESS_INTERVAL.getKey();
+            if (!settings.containsKey(settingKey)) {
+                appendQueryParameter(builder, settingKey,
+                        String.valueOf(config.getIntOption(ClickHouseHttpOption.SEND_PROGRESS_INTERVAL)));
+            }
+        }
 
         Optional<String> optionalValue = request.getSessionId();
         if (optionalValue.isPresent()) {
@@ -17,7 +17,9 @@ public final class ClickHouseHttpConnectionFactory {
         try {
             return provider == null || provider == HttpConnectionProvider.HTTP_URL_CONNECTION
                     ? new HttpUrlConnectionImpl(server, request, executor)
-                    : new ApacheHttpConnectionImpl(server, request, executor);
+                    : provider == HttpConnectionProvider.APACHE_HTTP_ASYNC_CLIENT
+                            ? new ApacheHttpAsyncConnectionImpl(server, request, executor)
+                            : new ApacheHttpConnectionImpl(server, request, executor);
         } catch (IOException e) {
             throw e;
         } catch (Throwable t) {
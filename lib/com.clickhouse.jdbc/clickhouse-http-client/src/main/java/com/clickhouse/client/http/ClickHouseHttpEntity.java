@@ -29,15 +29,25 @@ public class ClickHouseHttpEntity extends AbstractHttpEntity {
      * Indicate that there is extra data which comes from external tables.
      */
     private final boolean hasInput;
+    /**
+     * Length of the content, or -1 when unknown.
+     */
+    private final long contentLength;
 
     public ClickHouseHttpEntity(ClickHouseInputStream in, ClickHouseConfig config, String contentType,
                                 String contentEncoding,
                                 boolean hasFile, boolean hasInput) {
+        this(in, config, contentType, contentEncoding, hasFile, hasInput, -1L);
+    }
+
+    public ClickHouseHttpEntity(ClickHouseInputStream in, ClickHouseConfig config, String contentType,
+                                String contentEncoding, boolean hasFile, boolean hasInput, long contentLength) {
         super(contentType, contentEncoding, hasInput);
         this.in = in;
         this.config = config;
         this.hasFile = hasFile;
         this.hasInput = hasInput;
+        this.contentLength = hasInput ? -1L : contentLength;
     }
 
     @Override
@@ -47,7 +57,7 @@ public class ClickHouseHttpEntity extends AbstractHttpEntity {
 
     @Override
     public long getContentLength() {
-        return -1;
+        return contentLength;
     }
 
     @Override
@@ -58,18 +68,14 @@ public class ClickHouseHttpEntity extends AbstractHttpEntity {
     @Override
     public void writeTo(OutputStream outStream) throws IOException {
         Objects.requireNonNull(outStream, "outStream");
-        try {
-            OutputStream wrappedOut = hasFile
-                    ? ClickHouseOutputStream.of(outStream, config.getWriteBufferSize())
-                    : (hasInput
-                    ? ClickHouseClient.getAsyncRequestOutputStream(config, outStream, null)
-                    : ClickHouseClient.getRequestOutputStream(config, outStream, null)
-            );
-            final byte[] buffer = new byte[config.getBufferSize()];
-            int readLen;
-            while ((readLen = in.read(buffer)) != -1) {
-                wrappedOut.write(buffer, 0, readLen);
-            }
+        // buffers of the input stream are handed over to the socket or compressor
+        // as is, and closing the wrapped stream waits for async writing
+        try (ClickHouseOutputStream wrappedOut = hasFile
+                ? ClickHouseOutputStream.of(outStream, config.getWriteBufferSize())
+                : (hasInput
+                        ? ClickHouseClient.getAsyncRequestOutputStream(config, outStream, null)
+                        : ClickHouseClient.getRequestOutputStream(config, outStream, null))) {
+            in.pipe(wrappedOut);
             wrappedOut.flush();
         } finally {
             in.close();
@@ -1,7 +1,13 @@
 package com.clickhouse.client.http;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 
@@ -9,6 +15,7 @@ import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseFormat;
 import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseProgressListener;
 import com.clickhouse.client.ClickHouseRequest;
 import com.clickhouse.client.ClickHouseResponseSummary;
 import com.clickhouse.client.ClickHouseUtils;
@@ -16,6 +23,131 @@ import com.clickhouse.client.config.ClickHouseClientOption;
 import com.clickhouse.client.config.ClickHouseOption;
 
 public class ClickHouseHttpResponse {
+    /**
+     * Response body which updates summary of the query with bytes, and rows when
+     * the format has one row per line, received from server, and then notifies
+     * progress listener after reading each chunk.
+     */
+    final class ProgressInputStream extends FilterInputStream {
+        private final ClickHouseProgressListener listener;
+        private final Runnable cancelAction;
+        // progress from headers, which is the lower bound
+        private final ClickHouseResponseSummary.Progress initial;
+        private final boolean countRows;
+
+        private boolean cancelled;
+        private long readBytes;
+        private long readRows;
+        // lines of header to skip when counting rows
+        private int headerLines;
+
+        ProgressInputStream(ClickHouseProgressListener listener, Runnable cancelAction) {
+            super(input);
+
+            this.listener = listener;
+            this.cancelAction = cancelAction;
+            this.initial = summary.getProgress();
+            this.countRows = isLineBased(format);
+
+            this.cancelled = false;
+            this.readBytes = 0L;
+            this.readRows = 0L;
+            this.headerLines = countRows && format.hasHeader() ? (format.name().endsWith("AndTypes") ? 2 : 1) : 0;
+        }
+
+        private void countLine() {
+            if (headerLines > 0) {
+                headerLines--;
+            } else {
+                readRows++;
+            }
+        }
+
+        private void updateSummary() {
+            summary.update(new ClickHouseResponseSummary.Progress(Math.max(initial.getReadRows(), readRows),
+                    Math.max(initial.getReadBytes(), readBytes), initial.getTotalRowsToRead(),
+                    initial.getWrittenRows(), initial.getWrittenBytes()));
+            summary.update();
+        }
+
+        private void checkProgress() throws IOException {
+            if (!cancelled) {
+                updateSummary();
+                if (!listener.onProgress(queryId, summary)) {
+                    cancelled = true;
+                    try {
+                        in.close();
+                    } catch (Exception e) {
+                        // ignore
+                    }
+                    if (cancelAction != null) {
+                        cancelAction.run();
+                    }
+                }
+            }
+            if (cancelled) {
+                throw new IOException(ClickHouseUtils.format("Query [%s] was cancelled by progress listener: %s",
+                        queryId, summary));
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (cancelled) {
+                checkProgress();
+            }
+
+            int result = super.read();
+            if (result >= 0) {
+                readBytes++;
+                if (countRows && result == '\n') {
+                    countLine();
+                }
+                checkProgress();
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (cancelled) {
+                checkProgress();
+            }
+
+            int result = super.read(b, off, len);
+            if (result > 0) {
+                readBytes += result;
+                if (countRows) {
+                    for (int i = off, end = off + result; i < end; i++) {
+                        if (b[i] == (byte) '\n') {
+                            countLine();
+                        }
+                    }
+                }
+                checkProgress();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Checks whether each row of the given format takes exactly one line, so that
+     * rows can be counted by line breaks. Line breaks in values are escaped in
+     * these formats.
+     *
+     * @param format format of response body, could be null
+     * @return true if rows can be counted by line breaks; false otherwise
+     */
+    static boolean isLineBased(ClickHouseFormat format) {
+        if (format == null || format.isBinary() || !format.isRowBased()) {
+            return false;
+        }
+
+        String name = format.name();
+        return name.startsWith("TabSeparated") || name.startsWith("TSV")
+                || (name.startsWith("JSON") && name.contains("EachRow") && !name.endsWith("WithProgress"));
+    }
+
     private static long getLongValue(Map<String, String> map, String key) {
         String value = map.get(key);
         if (value != null) {
@@ -28,6 +160,15 @@ public class ClickHouseHttpResponse {
         return 0L;
     }
 
+    private static ClickHouseResponseSummary.Progress parseProgress(String json) {
+        // {"read_rows":"0","read_bytes":"0","written_rows":"0","written_bytes":"0","total_rows_to_read":"0"}
+        Map<String, String> map = (Map<String, String>) ClickHouseUtils
+                .parseJson(!ClickHouseChecker.isNullOrEmpty(json) ? json : "{}");
+        return new ClickHouseResponseSummary.Progress(getLongValue(map, "read_rows"),
+                getLongValue(map, "read_bytes"), getLongValue(map, "total_rows_to_read"),
+                getLongValue(map, "written_rows"), getLongValue(map, "written_bytes"));
+    }
+
     private final ClickHouseHttpConnection connection;
     private final ClickHouseInputStream input;
 
@@ -37,6 +178,7 @@ public class ClickHouseHttpResponse {
     protected final TimeZone timeZone;
 
     protected final ClickHouseResponseSummary summary;
+    protected final List<ClickHouseResponseSummary.Progress> progress;
 
     protected ClickHouseConfig getConfig(ClickHouseRequest<?> request) {
         ClickHouseConfig config = request.getConfig();
@@ -52,6 +194,12 @@ public class ClickHouseHttpResponse {
 
     public ClickHouseHttpResponse(ClickHouseHttpConnection connection, ClickHouseInputStream input,
             String serverDisplayName, String queryId, String summary, ClickHouseFormat format, TimeZone timeZone) {
+        this(connection, input, serverDisplayName, queryId, summary, Collections.emptyList(), format, timeZone);
+    }
+
+    public ClickHouseHttpResponse(ClickHouseHttpConnection connection, ClickHouseInputStream input,
+            String serverDisplayName, String queryId, String summary, List<String> progress, ClickHouseFormat format,
+            TimeZone timeZone) {
         if (connection == null || input == null) {
             throw new IllegalArgumentException("Non-null connection and input stream are required");
         }
@@ -62,15 +210,16 @@ public class ClickHouseHttpResponse {
         this.serverDisplayName = !ClickHouseChecker.isNullOrEmpty(serverDisplayName) ? serverDisplayName
                 : connection.server.getHost();
         this.queryId = !ClickHouseChecker.isNullOrEmpty(queryId) ? queryId : "";
-        // {"read_rows":"0","read_bytes":"0","written_rows":"0","written_bytes":"0","total_rows_to_read":"0"}
-        Map<String, String> map = (Map<String, String>) ClickHouseUtils
-                .parseJson(!ClickHouseChecker.isNullOrEmpty(summary) ? summary : "{}");
-        // discard those X-ClickHouse-Progress headers
-        this.summary = new ClickHouseResponseSummary(
-                new ClickHouseResponseSummary.Progress(getLongValue(map, "read_rows"), getLongValue(map, "read_bytes"),
-                        getLongValue(map, "total_rows_to_read"), getLongValue(map, "written_rows"),
-                        getLongValue(map, "written_bytes")),
-                null);
+        this.summary = new ClickHouseResponseSummary(parseProgress(summary), null);
+        if (progress == null || progress.isEmpty()) {
+            this.progress = Collections.emptyList();
+        } else {
+            List<ClickHouseResponseSummary.Progress> list = new ArrayList<>(progress.size());
+            for (String p : progress) {
+                list.add(parseProgress(p));
+            }
+            this.progress = Collections.unmodifiableList(list);
+        }
 
         this.format = format != null ? format : connection.config.getFormat();
         this.timeZone = timeZone != null ? timeZone : connection.config.getServerTimeZone();
@@ -79,4 +228,49 @@ public class ClickHouseHttpResponse {
     public ClickHouseInputStream getInputStream() {
         return input;
     }
+
+    /**
+     * Gets input stream of the response body, which calls the given listener
+     * after reading each chunk from server. Before that, read bytes of the summary
+     * is updated to the number of bytes received, if it's larger than the one
+     * from headers. Same for read rows, but only when the format has one row per
+     * line, see {@link #isLineBased(ClickHouseFormat)}. When the listener returns
+     * {@code false}, the response is closed, the given cancel action is
+     * performed, and further reading fails with {@link IOException}.
+     *
+     * @param listener     progress listener, null value means no check
+     * @param bufferSize   buffer size
+     * @param cancelAction optional action to perform when the query is cancelled
+     * @return non-null input stream
+     */
+    public ClickHouseInputStream getInputStream(ClickHouseProgressListener listener, int bufferSize,
+            Runnable cancelAction) {
+        return listener == null ? input
+                : ClickHouseInputStream.of(new ProgressInputStream(listener, cancelAction), bufferSize);
+    }
+
+    /**
+     * Notifies the given listener about query progress. Progress from
+     * {@code X-ClickHouse-Progress} headers are applied to the summary one after
+     * another, followed by the one from {@code X-ClickHouse-Summary} header.
+     *
+     * @param listener progress listener, null value will be simply ignored
+     * @return false if the listener wants to cancel the query; true otherwise
+     */
+    public boolean notifyProgress(ClickHouseProgressListener listener) {
+        if (listener == null) {
+            return true;
+        }
+
+        ClickHouseResponseSummary.Progress last = summary.getProgress();
+        for (ClickHouseResponseSummary.Progress p : progress) {
+            summary.update(p);
+            summary.update();
+            if (!listener.onProgress(queryId, summary)) {
+                return false;
+            }
+        }
+        summary.update(last);
+        return listener.onProgress(queryId, summary);
+    }
 }
@@ -31,6 +31,7 @@ import java.net.Proxy;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
@@ -75,6 +76,7 @@ public class HttpUrlConnectionImpl extends ClickHouseHttpConnection {
         String displayName = getResponseHeader("X-ClickHouse-Server-Display-Name", server.getHost());
         String queryId = getResponseHeader("X-ClickHouse-Query-Id", "");
         String summary = getResponseHeader("X-ClickHouse-Summary", "{}");
+        List<String> progress = getResponseHeaders("X-ClickHouse-Progress");
 
         ClickHouseConfig c = config;
         ClickHouseFormat format = c.getFormat();
@@ -115,7 +117,7 @@ public class HttpUrlConnectionImpl extends ClickHouseHttpConnection {
                 hasOutputFile ? ClickHouseInputStream.of(source, c.getReadBufferSize(), action)
                         : (hasQueryResult ? ClickHouseClient.getAsyncResponseInputStream(c, source, action)
                                 : ClickHouseClient.getResponseInputStream(c, source, action)),
-                displayName, queryId, summary, format, timeZone);
+                displayName, queryId, summary, progress, format, timeZone);
     }
 
     private HttpURLConnection newConnection(String url, boolean post) throws IOException {
@@ -156,6 +158,18 @@ public class HttpUrlConnectionImpl extends ClickHouseHttpConnection {
         return value != null ? value : defaultValue;
     }
 
+    private List<String> getResponseHeaders(String header) {
+        List<String> values = new ArrayList<>();
+        // keep the order, which is not guaranteed by getHeaderFields()
+        String key;
+        for (int i = 1; (key = conn.getHeaderFieldKey(i)) != null; i++) {
+            if (header.equalsIgnoreCase(key)) {
+                values.add(conn.getHeaderField(i));
+            }
+        }
+        return values;
+    }
+
     private void setHeaders(HttpURLConnection conn, Map<String, String> headers) {
         headers = mergeHeaders(headers);
 
@@ -235,18 +249,19 @@ public class HttpUrlConnectionImpl extends ClickHouseHttpConnection {
         ClickHouseConfig c = config;
         final boolean hasFile = data != null && data.getUnderlyingFile().isAvailable();
         final boolean hasInput = data != null || boundary != null;
+        Charset utf8 = StandardCharsets.UTF_8;
+        byte[] sqlBytes = hasFile ? new byte[0] : sql.getBytes(utf8);
         if (hasInput) {
             conn.setChunkedStreamingMode(config.getRequestChunkSize());
-        } else {
-            // TODO conn.setFixedLengthStreamingMode(contentLength);
+        } else if (c == null || !c.isRequestCompressed()) {
+            // no need to buffer the whole request in HttpURLConnection for computing its length
+            conn.setFixedLengthStreamingMode(sqlBytes.length);
         }
         try (ClickHouseOutputStream out = hasFile
                 ? ClickHouseOutputStream.of(conn.getOutputStream(), config.getWriteBufferSize())
                 : (hasInput
                         ? ClickHouseClient.getAsyncRequestOutputStream(config, conn.getOutputStream(), null) // latch::countDown)
                         : ClickHouseClient.getRequestOutputStream(c, conn.getOutputStream(), null))) {
-            Charset utf8 = StandardCharsets.UTF_8;
-            byte[] sqlBytes = hasFile ? new byte[0] : sql.getBytes(utf8);
             if (boundary != null) {
                 out.writeBytes(LINE_PREFIX);
                 out.writeBytes(boundary);
@@ -284,7 +299,7 @@ public class HttpUrlConnectionImpl extends ClickHouseHttpConnection {
                 out.writeBytes(DOUBLE_DASH);
                 out.writeBytes(LINE_SUFFIX);
             } else {
-                out.writeBytes(sqlBytes);
+                out.transferBytes(sqlBytes);
                 if (data != null && data.available() > 0) {
                     // append \n
                     if (sqlBytes.length > 0 && sqlBytes[sqlBytes.length - 1] != (byte) '\n') {
@@ -13,7 +13,8 @@ public enum ClickHouseHttpOption implements ClickHouseOption {
      * HTTP connection provider.
      */
     CONNECTION_PROVIDER("http_connection_provider", HttpConnectionProvider.HTTP_URL_CONNECTION,
-            "HTTP connection provider. HTTP_CLIENT is only supported in JDK 11 or above."),
+            "HTTP connection provider. HTTP_CLIENT is only supported in JDK 11 or above, "
+                    + "and APACHE_HTTP_ASYNC_CLIENT shares a few I/O threads among all connections."),
     /**
      * Custom HTTP headers.
      */
@@ -39,10 +40,17 @@ public enum ClickHouseHttpOption implements ClickHouseOption {
      */
     RECEIVE_QUERY_PROGRESS("receive_query_progress", true,
             "Whether to receive information about the progress of a query in response headers."),
-    // SEND_PROGRESS("send_progress_in_http_headers", false,
-    // "Enables or disables X-ClickHouse-Progress HTTP response headers in
-    // clickhouse-server responses."),
-    // SEND_PROGRESS_INTERVAL("http_headers_progress_interval_ms", 3000, ""),
+    /**
+     * Whether to ask server to send X-ClickHouse-Progress headers. It's enabled
+     * automatically when the request has a progress listener.
+     */
+    SEND_PROGRESS("send_progress_in_http_headers", false,
+            "Enables or disables X-ClickHouse-Progress HTTP response headers in clickhouse-server responses."),
+    /**
+     * Minimum interval in milliseconds between two X-ClickHouse-Progress headers.
+     */
+    SEND_PROGRESS_INTERVAL("http_headers_progress_interval_ms", 3000,
+            "Minimum interval in milliseconds between two X-ClickHouse-Progress headers."),
     // WAIT_END_OF_QUERY("wait_end_of_query", false, ""),
     /**
      * Web context.
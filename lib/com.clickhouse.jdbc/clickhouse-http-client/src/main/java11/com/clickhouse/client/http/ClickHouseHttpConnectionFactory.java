@@ -19,7 +19,9 @@ public final class ClickHouseHttpConnectionFactory {
                     ? new HttpUrlConnectionImpl(server, request, executor)
                     : provider == HttpConnectionProvider.HTTP_CLIENT
                         ? new HttpClientConnectionImpl(server, request, executor)
-                        : new ApacheHttpConnectionImpl(server, request, executor);
+                        : provider == HttpConnectionProvider.APACHE_HTTP_ASYNC_CLIENT
+                            ? new ApacheHttpAsyncConnectionImpl(server, request, executor)
+                            : new ApacheHttpConnectionImpl(server, request, executor);
         } catch (IOException e) {
             throw e;
         } catch (Throwable t) {
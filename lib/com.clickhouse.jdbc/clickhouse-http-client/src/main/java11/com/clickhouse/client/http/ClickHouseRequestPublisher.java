@@ -0,0 +1,292 @@
+package com.clickhouse.client.http;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.clickhouse.client.ClickHouseByteBuffer;
+import com.clickhouse.client.ClickHouseDataUpdater;
+import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.ClickHouseUtils;
+import com.clickhouse.client.config.ClickHouseClientOption;
+
+/**
+ * Output stream for writing request body, which publishes written buffers to
+ * {@link java.net.http.HttpClient} as they are. Comparing to
+ * {@code BodyPublishers.ofInputStream()} on top of a piped stream, there's no
+ * extra thread, and written bytes are copied only once into buffers owned by
+ * the publisher. Since most input streams reuse their buffers right after
+ * piping, {@link #transferBytes(byte[], int, int)} copies as well, and only
+ * arrays passed to {@link #publishBytes(byte[])} are sent without copying.
+ */
+public class ClickHouseRequestPublisher extends ClickHouseOutputStream implements Flow.Publisher<ByteBuffer> {
+    final class BufferSubscription implements Subscription {
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand;
+        private final AtomicInteger pending;
+
+        private volatile boolean cancelled;
+
+        BufferSubscription(Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong();
+            this.pending = new AtomicInteger();
+            this.cancelled = false;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        void drain() {
+            if (pending.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                ByteBuffer b;
+                while (!cancelled && (b = buffers.peek()) != null) {
+                    if (b == ClickHouseByteBuffer.EMPTY_BUFFER) {
+                        cancelled = true;
+                        buffers.clear();
+                        subscriber.onComplete();
+                    } else if (demand.get() > 0L) {
+                        demand.decrementAndGet();
+                        subscriber.onNext(buffers.poll());
+                    } else {
+                        break;
+                    }
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+
+            long current;
+            long next;
+            do {
+                current = demand.get();
+                next = current + n;
+                if (next < 0L) { // overflow
+                    next = Long.MAX_VALUE;
+                }
+            } while (!demand.compareAndSet(current, next));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            // unblock writer, following writes will be discarded
+            buffers.clear();
+        }
+    }
+
+    private final BlockingQueue<ByteBuffer> buffers;
+    private final AtomicBoolean subscribed;
+    private final int bufferSize;
+    private final int timeout;
+
+    private volatile BufferSubscription subscription;
+
+    private byte[] buffer;
+    private int position;
+
+    private void publish(ByteBuffer b) throws IOException {
+        BufferSubscription s = subscription;
+        if (s != null && s.isCancelled()) {
+            return;
+        }
+
+        try {
+            if (timeout > 0) {
+                if (!buffers.offer(b, timeout, TimeUnit.MILLISECONDS)) {
+                    throw new IOException(ClickHouseUtils.format("Write timed out after %d ms", timeout));
+                }
+            } else {
+                buffers.put(b);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Thread was interrupted when publishing request body", e);
+        }
+
+        if ((s = subscription) != null) {
+            s.drain();
+        }
+    }
+
+    private void updateBuffer() throws IOException {
+        if (position > 0) {
+            byte[] b = buffer;
+            int len = position;
+            // the buffer is owned by http client from now on
+            buffer = new byte[bufferSize];
+            position = 0;
+            publish(ByteBuffer.wrap(b, 0, len));
+        }
+    }
+
+    ClickHouseRequestPublisher(int bufferSize, int queueLength, int timeout, Runnable postCloseAction) {
+        super(null, postCloseAction);
+
+        this.buffers = queueLength > 1 ? new ArrayBlockingQueue<>(queueLength) : new LinkedBlockingQueue<>();
+        this.subscribed = new AtomicBoolean();
+        this.bufferSize = ClickHouseUtils.getBufferSize(bufferSize,
+                (int) ClickHouseClientOption.BUFFER_SIZE.getDefaultValue(),
+                (int) ClickHouseClientOption.MAX_BUFFER_SIZE.getDefaultValue());
+        this.timeout = timeout;
+
+        this.subscription = null;
+        this.buffer = new byte[this.bufferSize];
+        this.position = 0;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // ignore
+                }
+
+                @Override
+                public void cancel() {
+                    // ignore
+                }
+            });
+            subscriber.onError(new IllegalStateException("Request body can be only subscribed once"));
+            return;
+        }
+
+        BufferSubscription s = new BufferSubscription(subscriber);
+        subscriber.onSubscribe(s);
+        subscription = s;
+        s.drain();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+
+        updateBuffer();
+    }
+
+    /**
+     * Publishes the given byte array without copying. Unlike
+     * {@link #transferBytes(byte[], int, int)}, the array is handed over to http
+     * client, so it must not be changed afterwards.
+     *
+     * @param bytes non-null byte array owned by the publisher from now on
+     * @return this publisher
+     * @throws IOException when failed to publish the bytes
+     */
+    ClickHouseRequestPublisher publishBytes(byte[] bytes) throws IOException {
+        if (bytes == null) {
+            throw new NullPointerException();
+        } else if (bytes.length == 0) {
+            return this;
+        }
+        ensureOpen();
+
+        updateBuffer();
+        publish(ByteBuffer.wrap(bytes));
+        return this;
+    }
+
+    @Override
+    public ClickHouseOutputStream transferBytes(byte[] bytes, int offset, int length) throws IOException {
+        // the array is usually reused by caller as soon as this method returns
+        return writeBytes(bytes, offset, length);
+    }
+
+    @Override
+    public ClickHouseOutputStream writeByte(byte b) throws IOException {
+        ensureOpen();
+
+        buffer[position++] = b;
+        if (position >= buffer.length) {
+            updateBuffer();
+        }
+        return this;
+    }
+
+    @Override
+    public ClickHouseOutputStream writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        if (bytes == null) {
+            throw new NullPointerException();
+        } else if (offset < 0 || length < 0 || length > bytes.length - offset) {
+            throw new IndexOutOfBoundsException();
+        } else if (length == 0) {
+            return this;
+        }
+        ensureOpen();
+
+        while (length > 0) {
+            int limit = buffer.length;
+            int remain = limit - position;
+            if (length < remain) {
+                System.arraycopy(bytes, offset, buffer, position, length);
+                position += length;
+                length = 0;
+            } else {
+                System.arraycopy(bytes, offset, buffer, position, remain);
+                position = limit;
+                offset += remain;
+                length -= remain;
+                updateBuffer();
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public ClickHouseOutputStream writeCustom(ClickHouseDataUpdater writer) throws IOException {
+        ensureOpen();
+
+        int written = 0;
+        while ((written = writer.update(buffer, position, buffer.length)) < 0) {
+            position = buffer.length;
+            updateBuffer();
+        }
+        position += written;
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            updateBuffer();
+        } finally {
+            closed = true;
+            buffer = ClickHouseByteBuffer.EMPTY_BYTES;
+            // end of stream
+            publish(ClickHouseByteBuffer.EMPTY_BUFFER);
+            if (postCloseAction != null) {
+                postCloseAction.run();
+            }
+        }
+    }
+}
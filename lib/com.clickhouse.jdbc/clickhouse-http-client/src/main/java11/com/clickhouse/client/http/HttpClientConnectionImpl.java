@@ -3,12 +3,10 @@ package com.clickhouse.client.http;
 import com.clickhouse.client.ClickHouseChecker;
 import com.clickhouse.client.ClickHouseClient;
 import com.clickhouse.client.ClickHouseConfig;
-import com.clickhouse.client.ClickHouseDataStreamFactory;
 import com.clickhouse.client.ClickHouseFormat;
 import com.clickhouse.client.ClickHouseInputStream;
 import com.clickhouse.client.ClickHouseNode;
 import com.clickhouse.client.ClickHouseOutputStream;
-import com.clickhouse.client.ClickHousePipedOutputStream;
 import com.clickhouse.client.ClickHouseRequest;
 import com.clickhouse.client.ClickHouseSslContextProvider;
 import com.clickhouse.client.ClickHouseUtils;
@@ -107,6 +105,7 @@ public class HttpClientConnectionImpl extends ClickHouseHttpConnection {
         String displayName = headers.firstValue("X-ClickHouse-Server-Display-Name").orElse(server.getHost());
         String queryId = headers.firstValue("X-ClickHouse-Query-Id").orElse("");
         String summary = headers.firstValue("X-ClickHouse-Summary").orElse("{}");
+        List<String> progress = headers.allValues("X-ClickHouse-Progress");
 
         ClickHouseFormat format = config.getFormat();
         TimeZone timeZone = config.getServerTimeZone();
@@ -150,8 +149,9 @@ public class HttpClientConnectionImpl extends ClickHouseHttpConnection {
         return new ClickHouseHttpResponse(this,
                 hasOutputFile ? ClickHouseInputStream.of(source, config.getReadBufferSize(), action)
                         : ClickHouseInputStream.wrap(null, source, config.getReadBufferSize(), action,
-                                config.getResponseCompressAlgorithm(), config.getResponseCompressLevel()),
-                displayName, queryId, summary, format, timeZone);
+                                config.getResponseCompressAlgorithm(), config.getResponseCompressLevel(),
+                                config.getResponseChecksumMode()),
+                displayName, queryId, summary, progress, format, timeZone);
     }
 
     private HttpResponse<InputStream> checkResponse(ClickHouseConfig config, HttpResponse<InputStream> r)
@@ -235,9 +235,10 @@ public class HttpClientConnectionImpl extends ClickHouseHttpConnection {
         ClickHouseConfig c = config;
         final boolean hasFile = data != null && data.getUnderlyingFile().isAvailable();
 
-        ClickHousePipedOutputStream stream = ClickHouseDataStreamFactory.getInstance().createPipedOutputStream(c,
-                null);
-        reqBuilder.POST(HttpRequest.BodyPublishers.ofInputStream(stream::getInputStream));
+        // buffers are handed over to http client without an intermediate piped stream
+        ClickHouseRequestPublisher stream = new ClickHouseRequestPublisher(c.getWriteBufferSize(),
+                c.getMaxQueuedBuffers(), c.getSocketTimeout(), null);
+        reqBuilder.POST(HttpRequest.BodyPublishers.fromPublisher(stream));
         // running in async is necessary to avoid deadlock of the piped stream
         CompletableFuture<HttpResponse<InputStream>> f = postRequest(reqBuilder.build());
 
@@ -283,7 +284,7 @@ public class HttpClientConnectionImpl extends ClickHouseHttpConnection {
                 out.writeBytes(DOUBLE_DASH);
                 out.writeBytes(LINE_SUFFIX);
             } else {
-                out.writeBytes(sqlBytes);
+                stream.publishBytes(sqlBytes);
                 if (data != null && data.available() > 0) {
                     // append \n
                     if (sqlBytes.length > 0 && sqlBytes[sqlBytes.length - 1] != (byte) '\n') {
@@ -0,0 +1,247 @@
+package com.clickhouse.client.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.client.ClickHouseFormat;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.ClickHouseProtocol;
+import com.clickhouse.client.ClickHouseRecord;
+import com.clickhouse.client.ClickHouseRequest;
+import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.config.ClickHouseSslMode;
+import com.clickhouse.client.http.config.ClickHouseHttpOption;
+import com.clickhouse.client.http.config.HttpConnectionProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.hc.core5.reactor.IOReactorStatus;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class ApacheHttpAsyncConnectionImplTest {
+    private static final int CONCURRENT_QUERIES = 100;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CountDownLatch arrived;
+
+    private static String readRequest(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            ClickHouseInputStream.pipe(in, out, 1024);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    // emulates response of ClickHouse server
+    private static void respond(HttpExchange exchange, int code, String format, String... chunks)
+            throws IOException {
+        exchange.getResponseHeaders().add("X-ClickHouse-Server-Display-Name", "stub");
+        exchange.getResponseHeaders().add("X-ClickHouse-Query-Id", "stub-query");
+        exchange.getResponseHeaders().add("X-ClickHouse-Timezone", "UTC");
+        if (format != null) {
+            exchange.getResponseHeaders().add("X-ClickHouse-Format", format);
+        }
+        exchange.getResponseHeaders().add("X-ClickHouse-Summary",
+                "{\"read_rows\":\"1\",\"read_bytes\":\"1\",\"written_rows\":\"0\",\"written_bytes\":\"0\","
+                        + "\"total_rows_to_read\":\"1\"}");
+        exchange.sendResponseHeaders(code, 0L);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String chunk : chunks) {
+                out.write(chunk.getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+    }
+
+    @BeforeClass(groups = { "unit" })
+    public void startServer() throws IOException {
+        arrived = new CountDownLatch(CONCURRENT_QUERIES);
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", exchange -> respond(exchange, 200, null, "Ok.\n"));
+        server.createContext("/", exchange -> {
+            String sql = readRequest(exchange);
+            if (sql.startsWith("select 1")) {
+                respond(exchange, 200, "TabSeparatedWithNamesAndTypes", "1\nUInt8\n1\n");
+            } else if (sql.startsWith("select slow")) {
+                // send headers and first row, then wait until all queries are in-flight
+                exchange.getResponseHeaders().add("X-ClickHouse-Query-Id", "slow");
+                exchange.sendResponseHeaders(200, 0L);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write("1\n".getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                    arrived.countDown();
+                    arrived.await(30L, TimeUnit.SECONDS);
+                    out.write("2\n".getBytes(StandardCharsets.US_ASCII));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else if (sql.startsWith("select large")) {
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < 100000; i++) {
+                    builder.append(i).append('\n');
+                }
+                respond(exchange, 200, null, builder.toString());
+            } else if (sql.startsWith("insert")) {
+                respond(exchange, 200, null, sql.substring(sql.indexOf('\n') + 1));
+            } else {
+                exchange.getResponseHeaders().add("X-ClickHouse-Exception-Code", "62");
+                respond(exchange, 500, null, "Code: 62. DB::Exception: Syntax error");
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterClass(groups = { "unit" })
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (serverExecutor != null) {
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    private ClickHouseRequest<?> newRequest(ClickHouseClient client) {
+        ClickHouseNode node = ClickHouseNode.builder().host("localhost")
+                .port(ClickHouseProtocol.HTTP, server.getAddress().getPort()).build();
+        return client.connect(node)
+                .option(ClickHouseHttpOption.CONNECTION_PROVIDER, HttpConnectionProvider.APACHE_HTTP_ASYNC_CLIENT)
+                .option(ClickHouseClientOption.COMPRESS, false).option(ClickHouseClientOption.SOCKET_TIMEOUT, 60000);
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream i = in) {
+            ClickHouseInputStream.pipe(i, out, 1024);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test(groups = { "unit" })
+    public void testQuery() throws Exception {
+        try (ClickHouseClient client = ClickHouseClient.newInstance(ClickHouseProtocol.HTTP)) {
+            ClickHouseRequest<?> request = newRequest(client);
+            ClickHouseHttpConnection conn = ClickHouseHttpConnectionFactory.createConnection(request.getServer(),
+                    request, null);
+            Assert.assertTrue(conn.ping(3000));
+            conn.close();
+
+            try (ClickHouseResponse response = request.format(ClickHouseFormat.TabSeparatedWithNamesAndTypes)
+                    .query("select 1").executeAndWait()) {
+                List<String> values = new ArrayList<>();
+                for (ClickHouseRecord r : response.records()) {
+                    values.add(r.getValue(0).asString());
+                }
+                Assert.assertEquals(values.size(), 1);
+                Assert.assertEquals(values.get(0), "1");
+            }
+
+            try {
+                request.query("select error").executeAndWait();
+                Assert.fail("Should fail");
+            } catch (Exception e) {
+                Assert.assertTrue(e.getMessage().contains("Syntax error"), e.getMessage());
+            }
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testLargeResponseAndInput() throws Exception {
+        try (ClickHouseClient client = ClickHouseClient.newInstance(ClickHouseProtocol.HTTP)) {
+            // small window so that flow control kicks in
+            ClickHouseRequest<?> request = newRequest(client).option(ClickHouseClientOption.BUFFER_SIZE, 1024)
+                    .option(ClickHouseClientOption.MAX_QUEUED_BUFFERS, 2);
+            ClickHouseHttpConnection conn = ClickHouseHttpConnectionFactory.createConnection(request.getServer(),
+                    request, null);
+            Assert.assertTrue(conn instanceof ApacheHttpAsyncConnectionImpl);
+
+            ClickHouseHttpResponse response = conn.post("select large", null, null, null, null, null, null);
+            Thread.sleep(100L); // let the I/O thread fill the window
+            String result = readAll(response.getInputStream());
+            String[] lines = result.split("\n");
+            Assert.assertEquals(lines.length, 100000);
+            Assert.assertEquals(lines[99999], "99999");
+
+            response = conn.update("insert into x format TSV",
+                    ClickHouseInputStream.of(new String[] { "a\n", "b\n" }, String.class,
+                            s -> s.getBytes(StandardCharsets.US_ASCII), null));
+            Assert.assertEquals(readAll(response.getInputStream()), "a\nb\n");
+            conn.close();
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testSharedSslClient() throws Exception {
+        try (ClickHouseClient client = ClickHouseClient.newInstance(ClickHouseProtocol.HTTP)) {
+            ClickHouseRequest<?> request = newRequest(client).option(ClickHouseClientOption.SSL, true)
+                    .option(ClickHouseClientOption.SSL_MODE, ClickHouseSslMode.NONE);
+            ApacheHttpAsyncConnectionImpl.AsyncClient sslClient = ApacheHttpAsyncConnectionImpl
+                    .getSslClient(request.getConfig());
+            Assert.assertNotSame(sslClient, ApacheHttpAsyncConnectionImpl.SharedClient.INSTANCE);
+            // same SSL config, regardless of other options
+            Assert.assertSame(ApacheHttpAsyncConnectionImpl.getSslClient(newRequest(client)
+                    .option(ClickHouseClientOption.SSL, true).option(ClickHouseClientOption.SSL_MODE,
+                            ClickHouseSslMode.NONE)
+                    .option(ClickHouseClientOption.SOCKET_TIMEOUT, 1000).getConfig()), sslClient);
+            Assert.assertNotSame(ApacheHttpAsyncConnectionImpl.getSslClient(newRequest(client)
+                    .option(ClickHouseClientOption.SSL, true)
+                    .option(ClickHouseClientOption.SSL_MODE, ClickHouseSslMode.STRICT).getConfig()), sslClient);
+
+            ClickHouseHttpConnection conn = ClickHouseHttpConnectionFactory.createConnection(request.getServer(),
+                    request, null);
+            conn.close();
+            // closing connection does not close the shared client
+            Assert.assertSame(ApacheHttpAsyncConnectionImpl.getSslClient(request.getConfig()), sslClient);
+            Assert.assertEquals(sslClient.client.getStatus(), IOReactorStatus.ACTIVE);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testConcurrentQueries() throws Exception {
+        try (ClickHouseClient client = ClickHouseClient.newInstance(ClickHouseProtocol.HTTP)) {
+            ClickHouseRequest<?> request = newRequest(client);
+            ClickHouseHttpConnection conn = ClickHouseHttpConnectionFactory.createConnection(request.getServer(),
+                    request, null);
+
+            // all queries are in-flight at the same time, without a thread for each of them
+            List<ClickHouseHttpResponse> responses = new ArrayList<>(CONCURRENT_QUERIES);
+            for (int i = 0; i < CONCURRENT_QUERIES; i++) {
+                responses.add(conn.post("select slow", null, null, null, null, null, null));
+            }
+            Assert.assertTrue(arrived.await(30L, TimeUnit.SECONDS));
+
+            int ioThreads = 0;
+            for (Thread t : Thread.getAllStackTraces().keySet()) {
+                if (t.getName().startsWith("httpclient-dispatch")) {
+                    ioThreads++;
+                }
+            }
+            Assert.assertTrue(ioThreads > 0 && ioThreads <= Runtime.getRuntime().availableProcessors(),
+                    "Too many I/O threads: " + ioThreads);
+
+            for (ClickHouseHttpResponse response : responses) {
+                Assert.assertEquals(readAll(response.getInputStream()), "1\n2\n");
+            }
+            conn.close();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.clickhouse.client.ClickHouseConfig;
 import com.clickhouse.client.ClickHouseFormat;
 import com.clickhouse.client.ClickHouseInputStream;
 import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.ClickHouseProgressListener;
 import com.clickhouse.client.ClickHouseProtocol;
 import com.clickhouse.client.ClickHouseRequest;
 import com.clickhouse.client.data.ClickHouseExternalTable;
@@ -94,6 +95,29 @@ public class ClickHouseHttpConnectionTest {
                 "http://localhost:8123/./?compress=1&extremes=0");
     }
 
+    @Test(groups = { "unit" })
+    public void testBuildUrlWithProgress() {
+        ClickHouseNode server = ClickHouseNode.builder().port(ClickHouseProtocol.HTTP).build();
+        ClickHouseRequest<?> request = ClickHouseClient.newInstance().connect(server);
+        Assert.assertEquals(ClickHouseHttpConnection.buildUrl(server.getBaseUri(),
+                request.option(ClickHouseHttpOption.SEND_PROGRESS, true)),
+                "http://localhost:8123/?compress=1&extremes=0&send_progress_in_http_headers=1"
+                        + "&http_headers_progress_interval_ms=3000");
+        Assert.assertEquals(ClickHouseHttpConnection.buildUrl(server.getBaseUri(),
+                request.option(ClickHouseHttpOption.SEND_PROGRESS, false)
+                        .option(ClickHouseHttpOption.SEND_PROGRESS_INTERVAL, 100)
+                        .setProgressListener(ClickHouseProgressListener.of(1L, 0L))),
+                "http://localhost:8123/?compress=1&extremes=0&send_progress_in_http_headers=1"
+                        + "&http_headers_progress_interval_ms=100");
+        Assert.assertEquals(ClickHouseHttpConnection.buildUrl(server.getBaseUri(),
+                request.set("http_headers_progress_interval_ms", 200)),
+                "http://localhost:8123/?compress=1&extremes=0&send_progress_in_http_headers=1"
+                        + "&http_headers_progress_interval_ms=200");
+        Assert.assertEquals(ClickHouseHttpConnection.buildUrl(server.getBaseUri(),
+                request.setProgressListener(null).removeSetting("http_headers_progress_interval_ms")),
+                "http://localhost:8123/?compress=1&extremes=0");
+    }
+
     @Test(groups = { "unit" })
     public void testDefaultHeaders() {
         ClickHouseNode server = ClickHouseNode.builder().build();
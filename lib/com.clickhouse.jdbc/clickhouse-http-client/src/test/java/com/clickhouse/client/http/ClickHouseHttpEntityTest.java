@@ -0,0 +1,78 @@
+package com.clickhouse.client.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.clickhouse.client.ClickHouseConfig;
+import com.clickhouse.client.ClickHouseFormat;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseRequestManager;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.config.ClickHouseOption;
+import com.clickhouse.client.data.ClickHouseExternalTable;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseHttpEntityTest {
+    private static final ClickHouseRequestManager FIXED_BOUNDARY = new ClickHouseRequestManager() {
+        @Override
+        public String createUniqueId() {
+            return "b";
+        }
+    };
+
+    private static String write(ClickHouseHttpEntity entity) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entity.writeTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test(groups = { "unit" })
+    public void testContentLength() throws Exception {
+        ClickHouseConfig config = new ClickHouseConfig();
+        ClickHouseHttpEntity entity = ApacheHttpConnectionImpl.createEntity("select 1", null, null, null, config,
+                ClickHouseRequestManager.getInstance());
+        Assert.assertFalse(entity.isChunked());
+        Assert.assertEquals(entity.getContentLength(), 8L);
+        Assert.assertEquals(write(entity), "select 1");
+
+        entity = ApacheHttpConnectionImpl.createEntity("select 1", ClickHouseInputStream.of("1"), null, null, config,
+                ClickHouseRequestManager.getInstance());
+        Assert.assertTrue(entity.isChunked());
+        Assert.assertEquals(entity.getContentLength(), -1L);
+
+        Map<ClickHouseOption, Serializable> options = new HashMap<>();
+        options.put(ClickHouseClientOption.DECOMPRESS, true);
+        entity = ApacheHttpConnectionImpl.createEntity("select 1", null, null, null, new ClickHouseConfig(options),
+                ClickHouseRequestManager.getInstance());
+        Assert.assertEquals(entity.getContentLength(), -1L);
+    }
+
+    @Test(groups = { "unit" })
+    public void testWriteTo() throws Exception {
+        for (boolean async : new boolean[] { false, true }) {
+            ClickHouseConfig config = new ClickHouseConfig(
+                    Collections.singletonMap(ClickHouseClientOption.ASYNC, async));
+            ClickHouseHttpEntity entity = ApacheHttpConnectionImpl.createEntity("insert into t format CSV",
+                    ClickHouseInputStream.of(new byte[] { '1', ',' }, new byte[] { '2', '\n' }), null, null, config,
+                    ClickHouseRequestManager.getInstance());
+            Assert.assertEquals(write(entity), "insert into t format CSV\n1,2\n");
+
+            ClickHouseExternalTable table = ClickHouseExternalTable.builder().name("x").columns("s String")
+                    .format(ClickHouseFormat.CSV).content(ClickHouseInputStream.of("a\nb\n")).build();
+            entity = ApacheHttpConnectionImpl.createEntity("select * from x", null,
+                    Collections.singletonList(table), null, config, FIXED_BOUNDARY);
+            Assert.assertEquals(write(entity), "\r\n--b\r\ncontent-disposition: form-data; name=\"query\"\r\n\r\n"
+                    + "select * from x\r\n--b\r\ncontent-disposition: form-data; name=\"x_format\"\r\n\r\nCSV"
+                    + "\r\n--b\r\ncontent-disposition: form-data; name=\"x_structure\"\r\n\r\ns String"
+                    + "\r\n--b\r\ncontent-disposition: form-data; name=\"x\"; filename=\"x\"\r\n"
+                    + "content-type: application/octet-stream\r\ncontent-transfer-encoding: binary\r\n\r\n"
+                    + "a\nb\n\r\n--b--\r\n");
+        }
+    }
+}
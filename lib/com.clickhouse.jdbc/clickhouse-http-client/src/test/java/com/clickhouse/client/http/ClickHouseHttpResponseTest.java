@@ -0,0 +1,214 @@
+package com.clickhouse.client.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.clickhouse.client.ClickHouseClient;
+import com.clickhouse.client.ClickHouseException;
+import com.clickhouse.client.ClickHouseFormat;
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseNode;
+import com.clickhouse.client.ClickHouseProgressListener;
+import com.clickhouse.client.ClickHouseProtocol;
+import com.clickhouse.client.ClickHouseRequest;
+import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.client.ClickHouseResponseSummary;
+import com.clickhouse.client.config.ClickHouseClientOption;
+import com.clickhouse.client.http.config.ClickHouseHttpOption;
+import com.clickhouse.client.http.config.HttpConnectionProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ClickHouseHttpResponseTest {
+    private HttpServer server;
+    private List<String> queries;
+
+    private static String readRequest(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            ClickHouseInputStream.pipe(in, out, 1024);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String progress(long rows, long bytes) {
+        return "{\"read_rows\":\"" + rows + "\",\"read_bytes\":\"" + bytes
+                + "\",\"written_rows\":\"0\",\"written_bytes\":\"0\",\"total_rows_to_read\":\"30\"}";
+    }
+
+    @DataProvider(name = "connectionProvider")
+    private Object[][] getConnectionProviders() {
+        return new Object[][] { { HttpConnectionProvider.HTTP_URL_CONNECTION },
+                { HttpConnectionProvider.APACHE_HTTP_CLIENT }, { HttpConnectionProvider.APACHE_HTTP_ASYNC_CLIENT } };
+    }
+
+    @BeforeClass(groups = { "unit" })
+    public void startServer() throws IOException {
+        queries = new CopyOnWriteArrayList<>();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String sql = readRequest(exchange);
+            queries.add(exchange.getRequestURI().getRawQuery() + "|" + sql);
+            // emulates query progress sent by ClickHouse server
+            exchange.getResponseHeaders().add("X-ClickHouse-Query-Id",
+                    sql.startsWith("KILL QUERY") ? "kill" : "progress-query");
+            exchange.getResponseHeaders().add("X-ClickHouse-Progress", progress(10L, 100L));
+            exchange.getResponseHeaders().add("X-ClickHouse-Progress", progress(20L, 200L));
+            exchange.getResponseHeaders().add("X-ClickHouse-Summary", progress(30L, 300L));
+            exchange.sendResponseHeaders(200, 0L);
+            try (OutputStream out = exchange.getResponseBody()) {
+                // large response in many chunks
+                byte[] bytes = "1\n".getBytes(StandardCharsets.US_ASCII);
+                for (int i = 0, len = sql.startsWith("select numbers") ? 100000 : 1; i < len; i++) {
+                    out.write(bytes);
+                }
+            } catch (IOException e) {
+                // client may cancel the query and close connection
+            }
+        });
+        server.start();
+    }
+
+    @AfterClass(groups = { "unit" })
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private ClickHouseRequest<?> newRequest(ClickHouseClient client, HttpConnectionProvider provider) {
+        ClickHouseNode node = ClickHouseNode.builder().host("localhost")
+                .port(ClickHouseProtocol.HTTP, server.getAddress().getPort()).build();
+        return client.connect(node).option(ClickHouseHttpOption.CONNECTION_PROVIDER, provider)
+                .option(ClickHouseClientOption.COMPRESS, false);
+    }
+
+    @Test(groups = { "unit" })
+    public void testBudgetListener() {
+        ClickHouseProgressListener listener = ClickHouseProgressListener.of(20L, 0L);
+        Assert.assertTrue(listener.onProgress(null, new ClickHouseResponseSummary(
+                new ClickHouseResponseSummary.Progress(20L, Long.MAX_VALUE, 0L, 0L, 0L), null)));
+        Assert.assertFalse(listener.onProgress(null, new ClickHouseResponseSummary(
+                new ClickHouseResponseSummary.Progress(21L, 0L, 0L, 0L, 0L), null)));
+
+        listener = ClickHouseProgressListener.of(0L, 200L);
+        Assert.assertTrue(listener.onProgress(null, new ClickHouseResponseSummary(
+                new ClickHouseResponseSummary.Progress(Long.MAX_VALUE, 200L, 0L, 0L, 0L), null)));
+        Assert.assertFalse(listener.onProgress(null, new ClickHouseResponseSummary(
+                new ClickHouseResponseSummary.Progress(0L, 201L, 0L, 0L, 0L), null)));
+    }
+
+    @Test(dataProvider = "connectionProvider", groups = { "unit" })
+    public void testProgress(HttpConnectionProvider provider) throws Exception {
+        queries.clear();
+        List<Long> rows = new ArrayList<>();
+        try (ClickHouseClient client = ClickHouseClient.newInstance(ClickHouseProtocol.HTTP);
+                ClickHouseResponse response = newRequest(client, provider).query("select 1")
+                        .setProgressListener((queryId, summary) -> {
+                            Assert.assertEquals(queryId, "progress-query");
+                            rows.add(summary.getReadRows());
+                            return true;
+                        }).executeAndWait()) {
+            // headers, followed by the only chunk of the response
+            Assert.assertEquals(rows, Arrays.asList(10L, 20L, 30L, 30L));
+            Assert.assertEquals(response.getSummary().getReadRows(), 30L);
+            Assert.assertEquals(response.getSummary().getReadBytes(), 300L);
+            // received bytes and rows are below the ones from headers
+            Assert.assertEquals(response.getSummary().getUpdateCount(), 4);
+        }
+        Assert.assertEquals(queries.size(), 1);
+        Assert.assertTrue(queries.get(0).contains("send_progress_in_http_headers=1"), queries.get(0));
+        // query id is generated for the request with progress listener
+        Assert.assertTrue(queries.get(0).contains("query_id="), queries.get(0));
+    }
+
+    @Test(dataProvider = "connectionProvider", groups = { "unit" })
+    public void testCancel(HttpConnectionProvider provider) throws Exception {
+        queries.clear();
+        List<Long> rows = new ArrayList<>();
+        try (ClickHouseClient client = ClickHouseClient.newInstance(ClickHouseProtocol.HTTP)) {
+            ClickHouseRequest<?> request = newRequest(client, provider).query("select 1")
+                    .setProgressListener((queryId, summary) -> {
+                        rows.add(summary.getReadRows());
+                        return ClickHouseProgressListener.of(15L, 0L).onProgress(queryId, summary);
+                    });
+            try (ClickHouseResponse response = request.executeAndWait()) {
+                Assert.fail("Query should have been cancelled");
+            } catch (ClickHouseException e) {
+                Assert.assertEquals(e.getErrorCode(), ClickHouseException.ERROR_CANCELLED);
+            }
+        }
+        Assert.assertEquals(rows, Arrays.asList(10L, 20L));
+        Assert.assertEquals(queries.size(), 2);
+        Assert.assertFalse(queries.get(1).contains("send_progress_in_http_headers"), queries.get(1));
+        Assert.assertTrue(queries.get(1).endsWith("|KILL QUERY WHERE query_id='progress-query' ASYNC"),
+                queries.get(1));
+    }
+
+    @Test(dataProvider = "connectionProvider", groups = { "unit" })
+    public void testCancelWhileReading(HttpConnectionProvider provider) throws Exception {
+        queries.clear();
+        List<Long> rows = new ArrayList<>();
+        try (ClickHouseClient client = ClickHouseClient.newInstance(ClickHouseProtocol.HTTP);
+                ClickHouseResponse response = newRequest(client, provider).format(ClickHouseFormat.TabSeparated)
+                        .query("select numbers").option(ClickHouseClientOption.READ_BUFFER_SIZE, 1024)
+                        // headers report 30 rows, limit is reached in the middle of response body
+                        .setProgressListener((queryId, summary) -> {
+                            rows.add(summary.getReadRows());
+                            return ClickHouseProgressListener.of(5000L, 0L).onProgress(queryId, summary);
+                        }).executeAndWait()) {
+            Assert.assertEquals(rows.subList(0, 3), Arrays.asList(10L, 20L, 30L));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Assert.assertThrows(IOException.class, () -> ClickHouseInputStream.pipe(response.getInputStream(), out,
+                    1024));
+            Assert.assertTrue(rows.size() > 4, "Should check progress after each chunk");
+            long last = rows.get(rows.size() - 1);
+            Assert.assertTrue(last > 5000L && last <= 5000L + 1024L / 2, "Unexpected rows: " + last);
+            Assert.assertEquals(response.getSummary().getReadRows(), last);
+            Assert.assertTrue(out.size() < 100000 * 2, "Should not read the whole response");
+        }
+        Assert.assertEquals(queries.size(), 2);
+        Assert.assertFalse(queries.get(1).contains("send_progress_in_http_headers"), queries.get(1));
+        Assert.assertTrue(queries.get(1).endsWith("|KILL QUERY WHERE query_id='progress-query' ASYNC"),
+                queries.get(1));
+    }
+
+    @Test(dataProvider = "connectionProvider", groups = { "unit" })
+    public void testCancelByReadBytes(HttpConnectionProvider provider) throws Exception {
+        queries.clear();
+        List<Long> bytes = new ArrayList<>();
+        try (ClickHouseClient client = ClickHouseClient.newInstance(ClickHouseProtocol.HTTP);
+                ClickHouseResponse response = newRequest(client, provider).format(ClickHouseFormat.RowBinary)
+                        .query("select numbers").option(ClickHouseClientOption.READ_BUFFER_SIZE, 1024)
+                        // rows are not counted for binary format
+                        .setProgressListener((queryId, summary) -> {
+                            Assert.assertTrue(summary.getReadRows() <= 30L);
+                            bytes.add(summary.getReadBytes());
+                            return ClickHouseProgressListener.of(0L, 20000L).onProgress(queryId, summary);
+                        }).executeAndWait()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Assert.assertThrows(IOException.class, () -> ClickHouseInputStream.pipe(response.getInputStream(), out,
+                    1024));
+            long last = bytes.get(bytes.size() - 1);
+            Assert.assertTrue(last > 20000L && last <= 20000L + 1024L, "Unexpected bytes: " + last);
+            Assert.assertTrue(out.size() < 20000, "Should not read more than the limit");
+        }
+        Assert.assertEquals(queries.size(), 2);
+        Assert.assertTrue(queries.get(1).endsWith("|KILL QUERY WHERE query_id='progress-query' ASYNC"),
+                queries.get(1));
+    }
+}
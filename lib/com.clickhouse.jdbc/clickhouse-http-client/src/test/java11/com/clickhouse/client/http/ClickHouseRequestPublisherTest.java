@@ -0,0 +1,91 @@
+package com.clickhouse.client.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import com.clickhouse.client.ClickHouseInputStream;
+import com.clickhouse.client.ClickHouseOutputStream;
+import com.clickhouse.client.stream.CapacityPolicy;
+import com.clickhouse.client.stream.NonBlockingPipedOutputStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseRequestPublisherTest {
+    static class BytesSubscriber implements Flow.Subscriber<ByteBuffer> {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            byte[] bytes = new byte[item.remaining()];
+            item.get(bytes);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            future.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            future.complete(out.toByteArray());
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testPublishBytes() throws Exception {
+        byte[] sqlBytes = "select 1".getBytes();
+        ClickHouseRequestPublisher publisher = new ClickHouseRequestPublisher(4, 0, 0, null);
+        publisher.publishBytes(sqlBytes);
+        publisher.writeBytes(new byte[] { 10, 49, 10 });
+        publisher.close();
+
+        BytesSubscriber subscriber = new BytesSubscriber();
+        publisher.subscribe(subscriber);
+        Assert.assertEquals(new String(subscriber.future.get(5L, TimeUnit.SECONDS)), "select 1\n1\n");
+    }
+
+    @Test(groups = { "unit" })
+    public void testTransferReusedBuffers() throws Exception {
+        byte[] expected = new byte[10000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+        }
+
+        // small queue, so that buckets are recycled by the writer while the request
+        // body is not sent yet
+        NonBlockingPipedOutputStream stream = new NonBlockingPipedOutputStream(4, 3, 10000,
+                CapacityPolicy.fixedCapacity(3), null);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try (ClickHouseOutputStream out = stream) {
+                for (int i = 0; i < expected.length; i += 3) {
+                    out.writeBytes(expected, i, Math.min(3, expected.length - i));
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // nobody subscribes until the whole request body is published
+        ClickHouseRequestPublisher publisher = new ClickHouseRequestPublisher(8, 0, 0, null);
+        try (ClickHouseInputStream in = stream.getInputStream(); ClickHouseOutputStream out = publisher) {
+            Assert.assertEquals(in.pipe(out), expected.length);
+        }
+        writer.get(5L, TimeUnit.SECONDS);
+
+        BytesSubscriber subscriber = new BytesSubscriber();
+        publisher.subscribe(subscriber);
+        Assert.assertEquals(subscriber.future.get(5L, TimeUnit.SECONDS), expected);
+    }
+}
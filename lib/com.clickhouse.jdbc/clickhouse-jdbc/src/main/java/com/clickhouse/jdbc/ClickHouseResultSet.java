@@ -40,6 +40,8 @@ import com.clickhouse.client.ClickHouseRecord;
 import com.clickhouse.client.ClickHouseResponse;
 import com.clickhouse.client.ClickHouseUtils;
 import com.clickhouse.client.ClickHouseValue;
+import com.clickhouse.client.data.AbstractDateTimeValue;
+import com.clickhouse.client.data.ClickHouseZoneRules;
 
 public class ClickHouseResultSet extends AbstractResultSet {
     private ClickHouseRecord currentRow;
@@ -623,11 +625,21 @@ public class ClickHouseResultSet extends AbstractResultSet {
         }
 
         ClickHouseColumn column = columns.get(columnIndex - 1);
+        Calendar c = cal != null ? cal : defaultCalendar;
+        if (value instanceof AbstractDateTimeValue && ((AbstractDateTimeValue<?>) value)
+                .getZoneRules() == ClickHouseZoneRules.of(c.getTimeZone())) {
+            // same time zone, no need to convert local date time back and forth
+            AbstractDateTimeValue<?> v = (AbstractDateTimeValue<?>) value;
+            Timestamp timestamp = new Timestamp(v.getEpochSecond() * 1000L);
+            timestamp.setNanos(v.getNanos());
+            return timestamp;
+        }
+
         TimeZone tz = column.getTimeZone();
         LocalDateTime dt = tz == null ? value.asDateTime(column.getScale())
                 : value.asOffsetDateTime(column.getScale()).toLocalDateTime();
 
-        Calendar c = (Calendar) (cal != null ? cal : defaultCalendar).clone();
+        c = (Calendar) c.clone();
         c.set(dt.getYear(), dt.getMonthValue() - 1, dt.getDayOfMonth(), dt.getHour(), dt.getMinute(),
                 dt.getSecond());
         Timestamp timestamp = new Timestamp(c.getTimeInMillis());
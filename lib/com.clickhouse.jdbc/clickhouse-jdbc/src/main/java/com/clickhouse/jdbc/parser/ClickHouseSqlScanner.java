@@ -0,0 +1,807 @@
+package com.clickhouse.jdbc.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hand-written single-pass scanner for the most common statements, which are
+ * simple queries like {@code select a, b from t where c = ?} and insertions
+ * like {@code insert into t(a, b) values(?, ?)}. It produces exactly the same
+ * result as {@link ClickHouseSqlParser}, but without the overhead of the
+ * grammar. It gives up as soon as it comes across anything it does not fully
+ * understand, for example comments, JDBC escapes, macros, format, settings,
+ * with clause, sub-query or table function in from clause, and returns null so
+ * that the statement(s) will be parsed by the grammar instead.
+ */
+final class ClickHouseSqlScanner {
+    // thrown when the SQL is not simple enough for the scanner
+    static final class FallbackException extends RuntimeException {
+        private static final long serialVersionUID = -4305386125424426286L;
+
+        FallbackException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final FallbackException FALLBACK = new FallbackException();
+
+    // token types
+    private static final int EOF = 0;
+    private static final int SEMICOLON = 1;
+    private static final int WORD = 2;
+    private static final int QUOTED_NAME = 3;
+    private static final int STRING = 4;
+    private static final int NUMBER = 5;
+    private static final int QUERY = 6;
+    private static final int LPAREN = 7;
+    private static final int RPAREN = 8;
+    private static final int LBRACKET = 9;
+    private static final int RBRACKET = 10;
+    private static final int COMMA = 11;
+    private static final int DOT = 12;
+    private static final int ASTERISK = 13;
+    private static final int DASH = 14;
+    private static final int PLUS = 15;
+    private static final int OPERATOR = 16;
+
+    // states of an expression list
+    private static final int STATE_START = 0;
+    private static final int STATE_OPERAND = 1;
+    private static final int STATE_OPERATOR = 2;
+    private static final int STATE_COMMA = 3;
+
+    private static final int MAX_KEYWORD_LENGTH = 12;
+
+    // all keywords defined in the grammar
+    private static final Set<String> keywords = new HashSet<>(Arrays.asList("ALTER", "ATTACH", "CHECK", "CREATE",
+            "DELETE", "DESC", "DESCRIBE", "DETACH", "DROP", "EXISTS", "EXPLAIN", "GRANT", "INSERT", "KILL", "OPTIMIZE",
+            "RENAME", "REVOKE", "SELECT", "SET", "SHOW", "SYSTEM", "TRUNCATE", "UPDATE", "USE", "WATCH", "ALL", "AND",
+            "APPLY", "ARRAY", "AS", "ASOF", "BETWEEN", "CASE", "CLUSTER", "DATE", "DATABASE", "DATABASES",
+            "DICTIONARY", "DICTIONARIES", "DISTINCT", "ELSE", "END", "EXCEPT", "FINAL", "FORMAT", "FROM", "FULL",
+            "FUNCTION", "GLOBAL", "GROUP", "HAVING", "IF", "ILIKE", "IN", "INNER", "INPUT", "INTERVAL", "INTO", "IS",
+            "JOIN", "LEFT", "LIKE", "LIMIT", "LIVE", "MATERIALIZED", "NOT", "OFFSET", "ON", "OR", "ORDER", "OUTFILE",
+            "POLICY", "PREWHERE", "PROFILE", "QUOTA", "REPLACE", "ROLE", "ROW", "RIGHT", "SAMPLE", "SETTINGS",
+            "TEMPORARY", "TABLE", "TABLES", "THEN", "TIES", "TIMESTAMP", "TOP", "TOTALS", "UNION", "USER", "USING",
+            "VALUES", "VIEW", "WHEN", "WHERE", "WITH", "SECOND", "MINUTE", "HOUR", "DAY", "WEEK", "MONTH", "QUARTER",
+            "YEAR", "INF", "NAN", "NULL"));
+    // keywords(besides the leading ones) that can be used as alias without AS
+    private static final Set<String> aliasKeywords = new HashSet<>(Arrays.asList("ALTER", "ATTACH", "CHECK",
+            "CREATE", "DELETE", "DESC", "DESCRIBE", "DETACH", "DROP", "EXISTS", "EXPLAIN", "GRANT", "INSERT", "KILL",
+            "OPTIMIZE", "RENAME", "REVOKE", "SELECT", "SET", "SHOW", "SYSTEM", "TRUNCATE", "UPDATE", "USE", "WATCH",
+            "CASE", "CLUSTER", "DATE", "DATABASE", "DATABASES", "DICTIONARY", "DICTIONARIES", "DISTINCT", "ELSE",
+            "END", "EXCEPT", "FUNCTION", "IF", "INTERVAL", "IS", "LIVE", "MATERIALIZED", "OUTFILE", "POLICY",
+            "PROFILE", "QUOTA", "REPLACE", "ROLE", "ROW", "TEMPORARY", "TABLE", "TABLES", "THEN", "TIES", "TIMESTAMP",
+            "TOP", "TOTALS", "VALUES", "VIEW", "WHEN", "USER", "SECOND", "MINUTE", "HOUR", "DAY", "WEEK", "MONTH",
+            "QUARTER", "YEAR", "INF", "NAN", "NULL"));
+    // keywords may change the result, which can only be handled by the grammar
+    private static final Set<String> unsupportedKeywords = new HashSet<>(
+            Arrays.asList("FORMAT", "INTO", "OUTFILE", "SAMPLE", "SETTINGS", "TOP", "TOTALS", "WITH"));
+
+    /**
+     * Scans the given SQL.
+     *
+     * @param sql     non-empty SQL
+     * @param handler optional parse handler
+     * @return parsed statements, or null when the SQL should be parsed by
+     *         {@link ClickHouseSqlParser}
+     */
+    static ClickHouseSqlStatement[] scan(String sql, ParseHandler handler) {
+        try {
+            return new ClickHouseSqlScanner(sql, handler).statements();
+        } catch (FallbackException e) {
+            return null;
+        }
+    }
+
+    static boolean isWordStart(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || ch == '_' || ch == '$';
+    }
+
+    static boolean isWordPart(char ch) {
+        return isWordStart(ch) || isDigit(ch);
+    }
+
+    static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private final String sql;
+    private final ParseHandler handler;
+
+    private int count;
+    private int[] types;
+    private int[] starts;
+    private int[] ends;
+
+    // current statement
+    private final StringBuilder builder;
+    private int copied;
+    private int index;
+    private int end;
+    private String database;
+    private String table;
+    private List<Integer> parameters;
+    private Map<String, Integer> positions;
+
+    private ClickHouseSqlScanner(String sql, ParseHandler handler) {
+        this.sql = sql;
+        this.handler = handler;
+
+        int size = sql.length() / 4 + 8;
+        this.count = 0;
+        this.types = new int[size];
+        this.starts = new int[size];
+        this.ends = new int[size];
+
+        this.builder = new StringBuilder(sql.length());
+    }
+
+    private void addToken(int type, int start, int end) {
+        if (count == types.length) {
+            int size = count + (count >> 1);
+            types = Arrays.copyOf(types, size);
+            starts = Arrays.copyOf(starts, size);
+            ends = Arrays.copyOf(ends, size);
+        }
+        types[count] = type;
+        starts[count] = start;
+        ends[count++] = end;
+    }
+
+    private int skipQuoted(int from, char quote) {
+        for (int i = from, len = sql.length(); i < len; i++) {
+            char ch = sql.charAt(i);
+            if (ch == '\\') {
+                i++;
+            } else if (ch == quote) {
+                if (i + 1 < len && sql.charAt(i + 1) == quote) {
+                    i++;
+                } else {
+                    return i + 1;
+                }
+            }
+        }
+        throw FALLBACK;
+    }
+
+    private void tokenize() {
+        int len = sql.length();
+        int i = 0;
+        while (i < len) {
+            int start = i;
+            char ch = sql.charAt(i++);
+            char next = i < len ? sql.charAt(i) : '\0';
+            int type;
+            switch (ch) {
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\r':
+                case '\u000b':
+                case '\f':
+                    continue;
+                case ';':
+                    type = SEMICOLON;
+                    break;
+                case '?':
+                    type = QUERY;
+                    break;
+                case '(':
+                    type = LPAREN;
+                    break;
+                case ')':
+                    type = RPAREN;
+                    break;
+                case '[':
+                    type = LBRACKET;
+                    break;
+                case ']':
+                    type = RBRACKET;
+                    break;
+                case ',':
+                    type = COMMA;
+                    break;
+                case '.':
+                    if (isDigit(next)) { // floating literal
+                        throw FALLBACK;
+                    }
+                    type = DOT;
+                    break;
+                case '*':
+                    type = ASTERISK;
+                    break;
+                case '+':
+                    type = PLUS;
+                    break;
+                case '-':
+                    if (next == '-') { // comment
+                        throw FALLBACK;
+                    } else if (next == '>') {
+                        i++;
+                        type = OPERATOR;
+                    } else {
+                        type = DASH;
+                    }
+                    break;
+                case '/':
+                    if (next == '/' || next == '*') { // comment
+                        throw FALLBACK;
+                    }
+                    type = OPERATOR;
+                    break;
+                case '%':
+                    type = OPERATOR;
+                    break;
+                case '=':
+                    if (next == '=') {
+                        i++;
+                    }
+                    type = OPERATOR;
+                    break;
+                case '<':
+                    if (next == '=' || next == '>') {
+                        i++;
+                    }
+                    type = OPERATOR;
+                    break;
+                case '>':
+                    if (next == '=') {
+                        i++;
+                    }
+                    type = OPERATOR;
+                    break;
+                case '!':
+                    if (next != '=') {
+                        throw FALLBACK;
+                    }
+                    i++;
+                    type = OPERATOR;
+                    break;
+                case '|':
+                    if (next != '|') {
+                        throw FALLBACK;
+                    }
+                    i++;
+                    type = OPERATOR;
+                    break;
+                case '\'':
+                    i = skipQuoted(i, ch);
+                    type = STRING;
+                    break;
+                case '`':
+                case '"':
+                    i = skipQuoted(i, ch);
+                    type = QUOTED_NAME;
+                    break;
+                default:
+                    if (isWordStart(ch)) {
+                        while (i < len && isWordPart(sql.charAt(i))) {
+                            i++;
+                        }
+                        type = WORD;
+                    } else if (isDigit(ch)) {
+                        while (i < len && isDigit(sql.charAt(i))) {
+                            i++;
+                        }
+                        if (i + 1 < len && sql.charAt(i) == '.' && isDigit(sql.charAt(i + 1))) {
+                            i += 2;
+                            while (i < len && isDigit(sql.charAt(i))) {
+                                i++;
+                            }
+                        }
+                        // hexadecimal, exponent, identifier starts with digit etc.
+                        if (i < len && (isWordPart(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                            throw FALLBACK;
+                        }
+                        type = NUMBER;
+                    } else { // comment, escape, macro, variable, unicode etc.
+                        throw FALLBACK;
+                    }
+                    break;
+            }
+            addToken(type, start, i);
+        }
+        addToken(EOF, len, len);
+    }
+
+    private String keyword(int i) {
+        int len = ends[i] - starts[i];
+        return types[i] == WORD && len <= MAX_KEYWORD_LENGTH
+                ? sql.substring(starts[i], ends[i]).toUpperCase(Locale.ROOT)
+                : null;
+    }
+
+    private boolean isKeyword(int i) {
+        String keyword = keyword(i);
+        return keyword != null && keywords.contains(keyword);
+    }
+
+    private boolean isWord(int i, String word) {
+        int len = word.length();
+        return i < end && types[i] == WORD && ends[i] - starts[i] == len
+                && sql.regionMatches(true, starts[i], word, 0, len);
+    }
+
+    private boolean isName(int i) {
+        return i < end && (types[i] == QUOTED_NAME || (types[i] == WORD && !isKeyword(i)));
+    }
+
+    private boolean isAnyName(int i) {
+        if (i >= end || (types[i] != QUOTED_NAME && types[i] != WORD)) {
+            return false;
+        }
+
+        String keyword = keyword(i);
+        return keyword == null || !unsupportedKeywords.contains(keyword);
+    }
+
+    private int type(int i) {
+        return i < end ? types[i] : EOF;
+    }
+
+    private void expect(int type) {
+        if (type(index) != type) {
+            throw FALLBACK;
+        }
+        index++;
+    }
+
+    private void copyTo(int position) {
+        if (position > copied) {
+            builder.append(sql, copied, position);
+            copied = position;
+        }
+    }
+
+    private int mark(int i) {
+        copyTo(starts[i]);
+        return builder.length();
+    }
+
+    private void parameter(int i) {
+        parameters.add(mark(i));
+
+        String replacement = handler != null
+                ? handler.handleParameter(null, database, table, parameters.size())
+                : null;
+        if (replacement != null && !replacement.isEmpty()) {
+            builder.append(replacement);
+            copied = ends[i];
+        }
+    }
+
+    /**
+     * Checks whether {@code ?} or {@code and}/{@code or} after an operand should
+     * be treated as binary operator, which is the case when followed by another
+     * operand.
+     *
+     * @param i index of the token
+     * @return true if it's a binary operator; false otherwise
+     */
+    private boolean isBinaryOperator(int i) {
+        switch (type(i + 1)) {
+            case DASH:
+            case PLUS:
+            case ASTERISK:
+                throw FALLBACK;
+            case WORD:
+            case QUOTED_NAME:
+            case STRING:
+            case NUMBER:
+            case QUERY:
+            case LPAREN:
+            case LBRACKET:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Validates a loose expression list, which is same as {@code anyExprList()}
+     * in the grammar, and extracts parameters.
+     *
+     * @param close type of closing token, {@link #EOF} means end of statement
+     */
+    private void anyExprList(int close) {
+        int state = STATE_START;
+        while (true) {
+            int type = type(index);
+            if (type == close) {
+                if (state == STATE_OPERATOR) {
+                    throw FALLBACK;
+                }
+                break;
+            }
+
+            switch (type) {
+                case COMMA:
+                    if (state == STATE_START || state == STATE_OPERATOR) {
+                        throw FALLBACK;
+                    }
+                    state = STATE_COMMA;
+                    index++;
+                    break;
+                case QUERY:
+                    if (state == STATE_OPERAND && isBinaryOperator(index)) { // ternary operator
+                        state = STATE_OPERATOR;
+                    } else {
+                        parameter(index);
+                        state = STATE_OPERAND;
+                    }
+                    index++;
+                    break;
+                case OPERATOR:
+                    if (state != STATE_OPERAND) {
+                        throw FALLBACK;
+                    }
+                    state = STATE_OPERATOR;
+                    index++;
+                    break;
+                case DASH:
+                    if (state != STATE_OPERAND) { // negative
+                        int next = type(index + 1);
+                        if (next == DASH || next == PLUS) {
+                            throw FALLBACK;
+                        }
+                    }
+                    state = STATE_OPERATOR;
+                    index++;
+                    break;
+                case PLUS:
+                    if (state != STATE_OPERAND && type(index + 1) != NUMBER) {
+                        throw FALLBACK;
+                    }
+                    state = STATE_OPERATOR;
+                    index++;
+                    break;
+                case ASTERISK:
+                    state = state == STATE_OPERAND ? STATE_OPERATOR : STATE_OPERAND;
+                    index++;
+                    break;
+                case STRING:
+                case NUMBER:
+                    state = STATE_OPERAND;
+                    index++;
+                    break;
+                case LPAREN:
+                    index++;
+                    anyExprList(RPAREN);
+                    index++;
+                    state = STATE_OPERAND;
+                    break;
+                case LBRACKET:
+                    index++;
+                    anyExprList(RBRACKET);
+                    index++;
+                    state = STATE_OPERAND;
+                    break;
+                case WORD:
+                case QUOTED_NAME:
+                    if (!isAnyName(index)) {
+                        throw FALLBACK;
+                    } else if (state == STATE_OPERAND && (isWord(index, "AND") || isWord(index, "OR"))
+                            && isBinaryOperator(index)) {
+                        state = STATE_OPERATOR;
+                        index++;
+                    } else {
+                        nestedIdentifier();
+                        state = STATE_OPERAND;
+                    }
+                    break;
+                default: // unbalanced brackets, dot or end of statement
+                    throw FALLBACK;
+            }
+        }
+    }
+
+    private void nestedIdentifier() {
+        index++;
+        while (type(index) == DOT) {
+            int next = type(++index);
+            if (next == WORD || next == QUOTED_NAME) {
+                index++;
+            } else if (next == ASTERISK) {
+                index++;
+                break;
+            } else {
+                throw FALLBACK;
+            }
+        }
+    }
+
+    private void functionArgs() {
+        expect(LPAREN);
+        anyExprList(RPAREN);
+        index++;
+    }
+
+    /**
+     * Parses an operand of a column expression, which is restricted to
+     * parameter, literal, identifier, function and expression in brackets.
+     */
+    private void operand() {
+        while (type(index) == DASH || isWord(index, "NOT")) {
+            index++;
+        }
+
+        switch (type(index)) {
+            case QUERY:
+                parameter(index++);
+                break;
+            case PLUS:
+                index++;
+                expect(NUMBER);
+                break;
+            case NUMBER:
+            case STRING:
+                index++;
+                break;
+            case LPAREN:
+                index++;
+                if (type(index) == RPAREN) {
+                    throw FALLBACK;
+                }
+                anyExprList(RPAREN);
+                index++;
+                break;
+            case LBRACKET:
+                index++;
+                anyExprList(RBRACKET);
+                index++;
+                break;
+            case WORD:
+            case QUOTED_NAME:
+                if (isWord(index, "NULL") && type(index + 1) != DOT) {
+                    index++;
+                } else if (!isName(index)) {
+                    throw FALLBACK;
+                } else if (type(index + 1) == LPAREN) { // function
+                    index++;
+                    functionArgs();
+                    if (type(index) == LPAREN) { // parametric function
+                        functionArgs();
+                    }
+                } else {
+                    index++;
+                    while (type(index) == DOT) {
+                        index++;
+                        if (!isAnyName(index)) {
+                            throw FALLBACK;
+                        }
+                        index++;
+                    }
+                }
+                break;
+            default:
+                throw FALLBACK;
+        }
+    }
+
+    private void columnExpr(boolean allowAlias) {
+        if (type(index) == ASTERISK) {
+            index++;
+            return;
+        }
+
+        operand();
+        while (true) {
+            int type = type(index);
+            if (type == OPERATOR || type == DASH || type == PLUS || type == ASTERISK || isWord(index, "AND")
+                    || isWord(index, "OR")) {
+                index++;
+                operand();
+            } else {
+                break;
+            }
+        }
+
+        if (allowAlias) {
+            if (isWord(index, "AS")) {
+                index++;
+                if (!isName(index)) {
+                    throw FALLBACK;
+                }
+                index++;
+            } else if (isName(index)) {
+                index++;
+            }
+        }
+    }
+
+    private void columnExprList(boolean allowAlias) {
+        columnExpr(allowAlias);
+        while (type(index) == COMMA) {
+            index++;
+            columnExpr(allowAlias);
+        }
+    }
+
+    private void tableIdentifier() {
+        if (!isAnyName(index)) {
+            throw FALLBACK;
+        } else if (type(index + 1) == DOT) {
+            database = ClickHouseSqlUtils.unescape(sql.substring(starts[index], ends[index]));
+            index += 2;
+            if (!isAnyName(index)) {
+                throw FALLBACK;
+            }
+        }
+        table = ClickHouseSqlUtils.unescape(sql.substring(starts[index], ends[index]));
+        index++;
+        if (type(index) == DOT) {
+            throw FALLBACK;
+        }
+    }
+
+    private void selectStmt() {
+        index++;
+        if (isWord(index, "DISTINCT")) {
+            index++;
+        }
+        columnExprList(true);
+
+        if (isWord(index, "FROM")) {
+            index++;
+            tableIdentifier();
+            if (type(index) == LPAREN) { // table function
+                throw FALLBACK;
+            }
+
+            // alias
+            if (isWord(index, "AS")) {
+                if (!isAnyName(index + 1)) {
+                    throw FALLBACK;
+                }
+                index += 2;
+            } else if (isName(index)) {
+                index++;
+            } else if (aliasKeywords.contains(keyword(index))) {
+                throw FALLBACK;
+            }
+            if (isWord(index, "FINAL")) {
+                index++;
+            }
+            // multiple tables
+            if (type(index) == COMMA) {
+                throw FALLBACK;
+            }
+
+            anyExprList(EOF);
+        } else if (index != end) {
+            throw FALLBACK;
+        }
+    }
+
+    private void insertStmt() {
+        index++;
+        if (!isWord(index++, "INTO") || isWord(index, "FUNCTION")) {
+            throw FALLBACK;
+        } else if (isWord(index, "TABLE")) {
+            index++;
+        }
+        tableIdentifier();
+
+        if (type(index) == LPAREN) {
+            positions.put(ClickHouseSqlStatement.KEYWORD_TABLE_COLUMNS_START, mark(index++));
+            do {
+                if (type(index) != WORD && type(index) != QUOTED_NAME) {
+                    throw FALLBACK;
+                } else if (type(index) == QUOTED_NAME) {
+                    String name = sql.substring(starts[index], ends[index]);
+                    if (name.indexOf('(') >= 0 || name.indexOf(')') >= 0) {
+                        throw FALLBACK;
+                    }
+                }
+                index++;
+            } while (type(index) == COMMA && ++index > 0);
+            if (type(index) != RPAREN) {
+                throw FALLBACK;
+            }
+            positions.put(ClickHouseSqlStatement.KEYWORD_TABLE_COLUMNS_END, mark(index++));
+        }
+
+        if (!isWord(index, "VALUES") || type(index + 1) != LPAREN) {
+            throw FALLBACK;
+        }
+        positions.put(ClickHouseSqlStatement.KEYWORD_VALUES, mark(index++));
+        positions.put(ClickHouseSqlStatement.KEYWORD_VALUES_START, mark(index++));
+        columnExprList(false);
+        if (type(index) != RPAREN) {
+            throw FALLBACK;
+        }
+        positions.put(ClickHouseSqlStatement.KEYWORD_VALUES_END, mark(index++));
+
+        boolean multiple = false;
+        while (type(index) == LPAREN || (type(index) == COMMA && type(index + 1) == LPAREN)) {
+            if (type(index) == COMMA) {
+                index++;
+            }
+            index++;
+            columnExprList(false);
+            expect(RPAREN);
+            multiple = true;
+        }
+        if (multiple) {
+            positions.remove(ClickHouseSqlStatement.KEYWORD_VALUES_START);
+            positions.remove(ClickHouseSqlStatement.KEYWORD_VALUES_END);
+        }
+
+        if (index != end) {
+            throw FALLBACK;
+        }
+    }
+
+    private ClickHouseSqlStatement statement(int from, int to) {
+        index = from;
+        end = to;
+        database = null;
+        table = null;
+        parameters = new ArrayList<>();
+        positions = new HashMap<>();
+
+        StatementType stmtType;
+        if (isWord(index, "SELECT")) {
+            stmtType = StatementType.SELECT;
+            selectStmt();
+        } else if (isWord(index, "INSERT")) {
+            stmtType = StatementType.INSERT;
+            insertStmt();
+        } else {
+            throw FALLBACK;
+        }
+
+        copyTo(starts[to]);
+        String sqlStmt = builder.toString();
+        builder.setLength(0);
+
+        ClickHouseSqlStatement s = null;
+        if (handler != null) {
+            s = handler.handleStatement(sqlStmt, stmtType, null, database, table, null, null, null, parameters,
+                    positions, Collections.emptyMap(), Collections.emptySet());
+        }
+        if (s == null) {
+            s = new ClickHouseSqlStatement(sqlStmt, stmtType, null, database, table, null, null, null, parameters,
+                    positions, null, null);
+        }
+        return s;
+    }
+
+    private ClickHouseSqlStatement[] statements() {
+        tokenize();
+        if (types[0] == SEMICOLON || types[0] == EOF) { // let the grammar deal with it
+            throw FALLBACK;
+        }
+
+        List<ClickHouseSqlStatement> list = new ArrayList<>(1);
+        int i = 0;
+        while (true) {
+            int from = i;
+            while (types[i] != SEMICOLON && types[i] != EOF) {
+                i++;
+            }
+            list.add(statement(from, i));
+            if (types[i] == EOF) {
+                break;
+            }
+
+            // semicolons are not part of the statement, but whitespaces between them are
+            copied = ends[i];
+            while (types[++i] == SEMICOLON) {
+                copyTo(starts[i]);
+                copied = ends[i];
+            }
+            if (types[i] == EOF) {
+                break;
+            }
+        }
+        return list.toArray(new ClickHouseSqlStatement[0]);
+    }
+}
@@ -1,5 +1,6 @@
 package com.clickhouse.jdbc.parser;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -62,7 +63,7 @@ public class ClickHouseSqlStatement {
         this.outfile = outfile;
 
         if (parameters != null && !parameters.isEmpty()) {
-            this.parameters = Collections.unmodifiableList(parameters);
+            this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
         } else {
             this.parameters = Collections.emptyList();
         }
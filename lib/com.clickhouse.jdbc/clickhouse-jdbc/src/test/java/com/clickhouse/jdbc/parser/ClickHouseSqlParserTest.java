@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -363,7 +364,8 @@ public class ClickHouseSqlParserTest {
         assertEquals(parse(sql = loadSql("issue-555_custom-format.sql")),
                 new ClickHouseSqlStatement[] {
                         new ClickHouseSqlStatement(sql, StatementType.SELECT, null, null, "wrd",
-                                null, "CSVWithNames", null, null, null, null, null) });
+                                null, "CSVWithNames", null,
+                                Arrays.asList(630, 797, 888, 982, 1295, 1331, 1372, 1408), null, null, null) });
         assertEquals(parse(sql = loadSql("with-clause.sql")),
                 new ClickHouseSqlStatement[] {
                         new ClickHouseSqlStatement(sql, StatementType.SELECT, null, null,
@@ -0,0 +1,145 @@
+package com.clickhouse.jdbc.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.clickhouse.client.ClickHouseConfig;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClickHouseSqlScannerTest {
+    static final ParseHandler handler = new ParseHandler() {
+        @Override
+        public String handleParameter(String cluster, String database, String table, int columnIndex) {
+            return "t2".equals(table) ? "(p" + columnIndex + ")" : null;
+        }
+
+        @Override
+        public ClickHouseSqlStatement handleStatement(String sql, StatementType stmtType, String cluster,
+                String database, String table, String input, String format, String outfile, List<Integer> parameters,
+                Map<String, Integer> positions, Map<String, String> settings, Set<String> tempTables) {
+            return "t3".equals(table)
+                    ? new ClickHouseSqlStatement(sql + " limit 1", stmtType, cluster, database, table, input, format,
+                            outfile, parameters, positions, settings, tempTables)
+                    : null;
+        }
+    };
+
+    static final String[] simpleStatements = new String[] { "select 1", "SELECT ?", " select  1 , 'a''b' ",
+            "select -1, +2, 3.5, null, [1, 2], (1, 'x'), -(?)", "select a from t", "select a AS x, b y from t",
+            "select `a`, \"b\" from `d`.\"t\"", "select * from db.t where a = ? and b != ?", "select distinct a from t",
+            "select count(*), sum(a) c from t2 where x in (?, ?) and y > ? group by z order by c desc limit ?",
+            "select quantile(0.5)(a) from t1 prewhere a > ? and c like ?", "select ?, a+? from t2 where b in [?, ?]",
+            "select a from t x final where a = ?", "select a from t as x left join u on x.id = u.id where u.v = ?",
+            "select t.a, t.b from system.tables t where name = 'a;b' and database = ?",
+            "select 1 from t where a = 1 union all select 2 from u where b = ?", "select a from t3 where b = ?",
+            "select 1; select 2", "select 1;;\n select 2 ;", "select ? from t2; ; select ? from t3",
+            "insert into t values(1)", "INSERT INTO t VALUES (?)", "insert into table db.t values (?, ?)",
+            "insert into t(a, b) values (?, ?)", "insert into `db`.\"t\" ( a,`b` ) values (? , now())",
+            "insert into t2(a, b) values (?, ?)", "insert into t2 values (?, -?, toDate(?), [?, ?], (?, ?))",
+            "insert into t values (1), (2)", "insert into t2 values (?, ?),(?, ?) ",
+            "insert into t3 values (?); insert into t2 values(?, ?)" };
+
+    static final String[] complexStatements = new String[] { "", " ", ";", ";select 1", "select 1 -- comment",
+            "select /* comment */ 1", "select {d '2021-11-01'}", "select #include('x')", "select 1 format CSV",
+            "select 1 settings max_threads=1", "with 1 as x select x", "select x > 2 ? 'a' : 'b' from t",
+            "select a from (select 1 a)", "select * from numbers(10)", "select * from t1, t2",
+            "select * from t sample 0.1", "select top 1 * from t", "select 1 from t with totals",
+            "select 1 into outfile 'x'", "select 测 from t", "select @@version", "select :x",
+            "select 1e3", "select 0x1F", "select .5", "select a.1 from t", "select a from t where a = ?:",
+            "insert into t select 1", "insert into t format RowBinary", "insert into t values",
+            "insert into function remote('x') values(1)", "insert into t settings a=1 values(1)",
+            "insert into t values (1) settings a=1", "update t set a = 1", "delete from t where a = ?",
+            "show tables", "SELECT 'unterminated" };
+
+    static final String[] fuzzTokens = new String[] { "select ", "from ", "t ", "t2 ", "db.t ", "a ", "b.c ", "? ",
+            "?", "(", ")", "[", "]", ",", "=", "!= ", "- ", "-", "+", "*", "/", "1 ", "2.5", "'s' ", "`q` ",
+            "\"d\" ", " and ", " or ", " not ", "null ", " in ", " as ", " x ", " limit ", " between ", " is ",
+            " where ", "f(", "now()", " values ", ";", "  ", "\n", "date ", " case ", " when ", " then ", " end ",
+            "(?)", "|| ", "->", " final ", " all ", " user ", " tables " };
+
+    private ClickHouseSqlStatement[] parseWithGrammar(String sql, ParseHandler handler) {
+        try {
+            return new ClickHouseSqlParser(sql, new ClickHouseConfig(), handler).sql();
+        } catch (Exception e) {
+            return new ClickHouseSqlStatement[] { new ClickHouseSqlStatement(sql, StatementType.UNKNOWN) };
+        }
+    }
+
+    private boolean compare(String sql) {
+        boolean scanned = false;
+        for (ParseHandler h : new ParseHandler[] { null, handler }) {
+            ClickHouseSqlStatement[] expected = parseWithGrammar(sql, h);
+            ClickHouseSqlStatement[] stmts = ClickHouseSqlScanner.scan(sql, h);
+            if (stmts != null) {
+                Assert.assertEquals(stmts, expected, "Scanner and grammar disagree on [" + sql + "]");
+                scanned = true;
+            }
+            if (!sql.isEmpty()) {
+                Assert.assertEquals(ClickHouseSqlParser.parse(sql, null, h), expected);
+            }
+        }
+        return scanned;
+    }
+
+    @Test(groups = { "unit" })
+    public void testSimpleStatements() {
+        for (String sql : simpleStatements) {
+            Assert.assertTrue(compare(sql), "Should be handled by scanner: " + sql);
+        }
+
+        ClickHouseSqlStatement[] stmts = ClickHouseSqlScanner.scan("insert into t2(a, b) values (?, ?)", handler);
+        Assert.assertEquals(stmts.length, 1);
+        Assert.assertEquals(stmts[0].getSQL(), "insert into t2(a, b) values ((p1), (p2))");
+        Assert.assertEquals(stmts[0].getParameters(), Arrays.asList(29, 35));
+        Assert.assertEquals(stmts[0].getPositions().get(ClickHouseSqlStatement.KEYWORD_VALUES_END), 39);
+
+        stmts = ClickHouseSqlScanner.scan("select 1;;\n select ? from db.t", null);
+        Assert.assertEquals(stmts.length, 2);
+        Assert.assertEquals(stmts[1].getSQL(), "\n select ? from db.t");
+        Assert.assertEquals(stmts[1].getDatabaseOrDefault(null), "db");
+        Assert.assertEquals(stmts[1].getTable(), "t");
+        Assert.assertEquals(stmts[1].getParameters(), Arrays.asList(9));
+    }
+
+    @Test(groups = { "unit" })
+    public void testComplexStatements() {
+        for (String sql : complexStatements) {
+            Assert.assertFalse(compare(sql), "Should be handled by grammar: " + sql);
+        }
+    }
+
+    @Test(groups = { "unit" })
+    public void testRandomStatements() {
+        Random random = new Random(20221018L);
+        List<String> accepted = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder builder = new StringBuilder();
+            switch (random.nextInt(3)) {
+                case 0:
+                    builder.append("select ");
+                    break;
+                case 1:
+                    builder.append("select a from t2 where ");
+                    break;
+                default:
+                    builder.append("insert into t2 values (");
+                    break;
+            }
+            for (int j = 0, len = random.nextInt(12); j < len; j++) {
+                builder.append(fuzzTokens[random.nextInt(fuzzTokens.length)]);
+            }
+
+            String sql = builder.toString();
+            if (compare(sql)) {
+                accepted.add(sql);
+            }
+        }
+        Assert.assertTrue(accepted.size() > 100, "Too few statements handled by scanner: " + accepted.size());
+    }
+}